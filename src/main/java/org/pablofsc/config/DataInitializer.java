@@ -4,6 +4,7 @@ import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import io.quarkus.elytron.security.common.BcryptUtil;
 import org.pablofsc.domain.entity.ClienteEntity;
@@ -19,6 +20,8 @@ import org.pablofsc.repository.ClienteRepository;
 import org.pablofsc.repository.InvestimentoRepository;
 import org.pablofsc.repository.ProdutoRepository;
 import org.pablofsc.repository.UsuarioRepository;
+import org.pablofsc.service.CatalogoProdutoService;
+import org.pablofsc.service.helper.AposTransacao;
 
 import java.time.LocalDate;
 
@@ -37,6 +40,12 @@ public class DataInitializer {
   @Inject
   UsuarioRepository usuarioRepository;
 
+  @Inject
+  CatalogoProdutoService catalogoProdutoService;
+
+  @Inject
+  TransactionSynchronizationRegistry transacoes;
+
   @Transactional
   void onStart(@Observes StartupEvent ev) {
     inicializarUsuarioAdmin();
@@ -98,6 +107,9 @@ public class DataInitializer {
         new ProdutoEntity(119L, "LCI Caixa Imobiliários", TipoProdutoEnum.RENDA_FIXA, 0.10, NivelRiscoEnum.BAIXO));
     produtoRepository.persist(
         new ProdutoEntity(120L, "LCA Caixa Agrícola", TipoProdutoEnum.RENDA_FIXA, 0.08, NivelRiscoEnum.MUITO_BAIXO));
+
+    // Catálogo em memória é reconstruído após o commit, já com os produtos inseridos
+    AposTransacao.executar(transacoes, catalogoProdutoService::invalidar);
   }
 
   private void inicializarClientes() {
@@ -194,7 +206,7 @@ public class DataInitializer {
       Double valor = 5000.0 + (i * 1000.0); // Valores crescentes
       LocalDate data = dataBase.plusDays(i * 5);
 
-      investimentoRepository.persist(InvestimentoEntity.builder()
+      investimentoRepository.inserir(InvestimentoEntity.builder()
           .cliente(cliente)
           .produto(produtoAleatorio)
           .valor(valor)
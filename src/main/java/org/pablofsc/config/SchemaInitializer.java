@@ -0,0 +1,48 @@
+package org.pablofsc.config;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Cria os índices únicos que o Hibernate não cria no SQLite.
+ * Com database.generation=update, o dialeto do SQLite ignora as restrições
+ * únicas das entidades, mas os upserts (INSERT ... ON CONFLICT) exigem um
+ * índice único nas colunas do conflito, e a telemetria consolidada depende
+ * dele para não gravar o mesmo período duas vezes.
+ */
+@ApplicationScoped
+public class SchemaInitializer {
+
+  @Inject
+  EntityManager entityManager;
+
+  /**
+   * Roda antes dos demais observadores da inicialização, que já gravam nessas tabelas.
+   */
+  @Transactional
+  void onStart(@Observes @Priority(Interceptor.Priority.APPLICATION) StartupEvent ev) {
+    criarIndiceUnico("uk_simulacoes_produto_dia_produto_data", "simulacoes_produto_dia", "produto_id, data");
+    criarIndiceUnico("uk_resumo_carteira_cliente_tipo", "resumo_carteira", "cliente_id, tipo");
+
+    // Sem o índice, compactações sobrepostas podiam gravar o mesmo período duas vezes; fica o primeiro
+    executar("DELETE FROM telemetrias_consolidadas WHERE id NOT IN (SELECT MIN(id) FROM telemetrias_consolidadas "
+        + "GROUP BY granularidade, timestamp, endpoint)");
+    executar("DROP INDEX IF EXISTS idx_telemetrias_consolidadas_granularidade_timestamp");
+    criarIndiceUnico("uk_telemetrias_consolidadas_granularidade_timestamp_endpoint", "telemetrias_consolidadas",
+        "granularidade, timestamp, endpoint");
+  }
+
+  private void criarIndiceUnico(String nome, String tabela, String colunas) {
+    executar("CREATE UNIQUE INDEX IF NOT EXISTS " + nome + " ON " + tabela + " (" + colunas + ")");
+  }
+
+  private void executar(String sql) {
+    entityManager.createNativeQuery(sql).executeUpdate();
+  }
+}
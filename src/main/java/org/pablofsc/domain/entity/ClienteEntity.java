@@ -7,6 +7,7 @@ import org.pablofsc.domain.enums.PreferenciaRentLiqEnum;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -22,6 +23,7 @@ import lombok.NoArgsConstructor;
  * Armazena preferências, comportamento financeiro e tolerância a risco.
  */
 @Entity
+@EntityListeners(ClienteEntityListener.class)
 @Table(name = "clientes")
 @Data
 @EqualsAndHashCode(callSuper = false)
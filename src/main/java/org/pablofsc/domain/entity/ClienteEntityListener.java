@@ -0,0 +1,27 @@
+package org.pablofsc.domain.entity;
+
+import io.quarkus.arc.Arc;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.pablofsc.service.PerfilRiscoService;
+import org.pablofsc.service.helper.AposTransacao;
+
+/**
+ * Descarta o perfil de risco em cache do cliente sempre que ele é alterado
+ * ou removido pelo Hibernate.
+ * Os callbacks rodam no flush, antes do commit; uma consulta nesse intervalo
+ * ainda lê a linha antiga. Por isso, dentro de uma transação o descarte é
+ * feito depois que ela termina.
+ */
+public class ClienteEntityListener {
+
+  @PostUpdate
+  @PostRemove
+  void invalidarPerfil(ClienteEntity cliente) {
+    Long clienteId = cliente.getId();
+    AposTransacao.executar(
+        Arc.container().instance(TransactionSynchronizationRegistry.class).get(),
+        () -> Arc.container().instance(PerfilRiscoService.class).get().invalidarPerfil(clienteId));
+  }
+}
@@ -3,9 +3,11 @@ package org.pablofsc.domain.entity;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -23,7 +25,9 @@ import java.time.LocalDate;
  * risco.
  */
 @Entity
-@Table(name = "investimentos")
+@Table(name = "investimentos", indexes = {
+    @Index(name = "idx_investimentos_cliente_data", columnList = "cliente_id, data")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -41,14 +45,14 @@ public class InvestimentoEntity extends PanacheEntityBase {
   /**
    * Cliente que realizou o investimento.
    */
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "cliente_id", nullable = false)
   private ClienteEntity cliente;
 
   /**
    * Produto de investimento escolhido pelo cliente.
    */
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "produto_id", nullable = false)
   private ProdutoEntity produto;
 
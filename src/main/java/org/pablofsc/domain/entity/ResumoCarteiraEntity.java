@@ -0,0 +1,78 @@
+package org.pablofsc.domain.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+/**
+ * Entidade com os totais investidos por um cliente em um tipo de produto.
+ * Atualizada de forma incremental a cada investimento gravado, para que o
+ * resumo da carteira não precise ler todos os investimentos do cliente.
+ * O índice único (cliente_id, tipo), exigido pelo upsert, é criado pelo
+ * SchemaInitializer, já que o Hibernate não o cria no SQLite.
+ */
+@Entity
+@Table(name = "resumo_carteira")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoCarteiraEntity extends PanacheEntityBase {
+
+  /**
+   * Identificador único do registro.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * Cliente dono dos investimentos.
+   */
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "cliente_id", nullable = false, foreignKey = @ForeignKey(name = "fk_resumo_carteira_cliente"))
+  private ClienteEntity cliente;
+
+  /**
+   * Tipo dos produtos investidos.
+   */
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  private TipoProdutoEnum tipo;
+
+  /**
+   * Quantidade de investimentos do cliente no tipo.
+   */
+  @Column(name = "quantidade_investimentos", nullable = false)
+  private Long quantidadeInvestimentos;
+
+  /**
+   * Soma dos valores investidos no tipo, em reais (R$).
+   */
+  @Column(name = "total_investido", nullable = false)
+  private Double totalInvestido;
+
+  /**
+   * Soma de valor × rentabilidade dos investimentos do tipo, base da média
+   * de rentabilidade ponderada pelo valor.
+   */
+  @Column(name = "soma_valor_rentabilidade", nullable = false)
+  private Double somaValorRentabilidade;
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,9 +23,14 @@ import java.time.ZonedDateTime;
 /**
  * Entidade que armazena o histórico de simulações de investimento realizadas.
  * Registra cliente, produto, valores e resultado da simulação.
+ * Os índices por cliente e por produto, seguidos da data, atendem as consultas
+ * filtradas do histórico.
  */
 @Entity
-@Table(name = "simulacoes")
+@Table(name = "simulacoes", indexes = {
+    @Index(name = "idx_simulacoes_cliente_data", columnList = "cliente_id, data_simulacao"),
+    @Index(name = "idx_simulacoes_produto_data", columnList = "produto_id, data_simulacao")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
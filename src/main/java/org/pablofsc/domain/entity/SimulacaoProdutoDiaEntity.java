@@ -0,0 +1,69 @@
+package org.pablofsc.domain.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Entidade com o total de simulações de um produto em um dia.
+ * Atualizada de forma incremental a cada simulação gravada, para que o
+ * relatório por produto e dia não precise ler todo o histórico.
+ * O índice único (produto_id, data), exigido pelo upsert, é criado pelo
+ * SchemaInitializer, já que o Hibernate não o cria no SQLite.
+ */
+@Entity
+@Table(name = "simulacoes_produto_dia")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulacaoProdutoDiaEntity extends PanacheEntityBase {
+
+  /**
+   * Identificador único do registro.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * Produto simulado.
+   */
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "produto_id", nullable = false, foreignKey = @ForeignKey(name = "fk_simulacao_produto_dia_produto"))
+  private ProdutoEntity produto;
+
+  /**
+   * Dia das simulações (data da simulação em UTC).
+   */
+  @Column(nullable = false)
+  private LocalDate data;
+
+  /**
+   * Quantidade de simulações do produto no dia.
+   */
+  @Column(name = "quantidade_simulacoes", nullable = false)
+  private Long quantidadeSimulacoes;
+
+  /**
+   * Soma dos valores finais das simulações do produto no dia, em reais (R$).
+   */
+  @Column(name = "soma_valor_final", nullable = false)
+  private Double somaValorFinal;
+}
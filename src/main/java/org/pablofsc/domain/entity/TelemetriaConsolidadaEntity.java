@@ -0,0 +1,103 @@
+package org.pablofsc.domain.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade com a telemetria consolidada de um endpoint em uma hora ou em um dia.
+ * Gerada pela compactação a partir dos registros de telemetria mais antigos
+ * (por hora) e, depois, das próprias horas consolidadas (por dia).
+ * Todos os tempos são somas em microssegundos.
+ * O índice único (granularidade, timestamp, endpoint), que impede gravar o
+ * mesmo período duas vezes, é criado pelo SchemaInitializer, já que o
+ * Hibernate não o cria no SQLite.
+ */
+@Entity
+@Table(name = "telemetrias_consolidadas")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelemetriaConsolidadaEntity extends PanacheEntityBase {
+
+  /**
+   * Identificador único do registro consolidado.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * Granularidade do registro (HORA ou DIA).
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private GranularidadeTelemetriaEnum granularidade;
+
+  /**
+   * Endpoint da API monitorado.
+   */
+  @Column(nullable = false)
+  private String endpoint;
+
+  /**
+   * Início da hora ou do dia consolidado.
+   */
+  @Column(nullable = false)
+  private LocalDateTime timestamp;
+
+  /**
+   * Quantidade de chamadas consolidadas.
+   */
+  @Column(nullable = false)
+  private Long quantidadeChamadas;
+
+  /**
+   * Quantidade de chamadas com tempos por fase (registros antigos não têm fases).
+   */
+  @Column(nullable = false)
+  private Long quantidadeComFases;
+
+  /**
+   * Soma dos tempos de resposta.
+   */
+  @Column(nullable = false)
+  private Long tempoRespostaUs;
+
+  /**
+   * Soma dos tempos de entrada das chamadas com fases.
+   */
+  private Long tempoEntradaUs;
+
+  /**
+   * Soma dos tempos de execução do recurso das chamadas com fases.
+   */
+  private Long tempoRecursoUs;
+
+  /**
+   * Soma dos tempos de serialização das chamadas com fases.
+   */
+  private Long tempoSerializacaoUs;
+
+  /**
+   * Histograma log-linear das latências consolidadas, apenas faixas não vazias.
+   */
+  @Column(columnDefinition = "TEXT", nullable = false)
+  private String histogramaUs;
+}
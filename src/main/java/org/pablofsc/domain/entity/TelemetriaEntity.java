@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,9 +19,11 @@ import java.time.LocalDateTime;
 /**
  * Entidade que registra métricas de telemetria dos endpoints da API.
  * Armazena volumes de chamadas e tempos de resposta para análise de desempenho.
+ * Cada registro agrega as chamadas de um endpoint em um intervalo de tempo;
+ * registros antigos, sem quantidade, representam uma única chamada.
  */
 @Entity
-@Table(name = "telemetrias")
+@Table(name = "telemetrias", indexes = @Index(name = "idx_telemetrias_endpoint_timestamp", columnList = "endpoint, timestamp"))
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -42,14 +45,84 @@ public class TelemetriaEntity extends PanacheEntityBase {
   private String endpoint;
 
   /**
-   * Data e hora do registro da métrica.
+   * Data e hora do registro da métrica (início do intervalo agregado).
    */
   @Column(nullable = false)
   private LocalDateTime timestamp;
 
   /**
    * Tempo de resposta da requisição, em milissegundos.
+   * Em registros agregados, soma dos tempos de todas as chamadas do intervalo.
+   * Mantido para registros antigos; a medição precisa está em tempoRespostaUs.
    */
   @Column(nullable = false)
   private Long tempoRespostaMs;
+
+  /**
+   * Quantidade de chamadas agregadas no registro (nulo equivale a uma chamada).
+   */
+  private Long quantidadeChamadas;
+
+  /**
+   * Soma dos tempos de resposta do intervalo, em microssegundos.
+   */
+  private Long tempoRespostaUs;
+
+  /**
+   * Menor tempo de resposta do intervalo, em microssegundos.
+   */
+  private Long tempoMinimoUs;
+
+  /**
+   * Maior tempo de resposta do intervalo, em microssegundos.
+   */
+  private Long tempoMaximoUs;
+
+  /**
+   * Soma do tempo entre a chegada da requisição e o início do método do
+   * recurso (filtros, roteamento e autenticação), em microssegundos.
+   */
+  private Long tempoEntradaUs;
+
+  /**
+   * Soma do tempo de execução dos métodos do recurso, em microssegundos.
+   */
+  private Long tempoRecursoUs;
+
+  /**
+   * Soma do tempo de serialização e escrita das respostas, em microssegundos.
+   */
+  private Long tempoSerializacaoUs;
+
+  /**
+   * Histograma log-linear das latências do intervalo em microssegundos,
+   * apenas faixas não vazias.
+   */
+  @Column(columnDefinition = "TEXT")
+  private String histogramaUs;
+
+  /**
+   * Cria registro de uma única chamada.
+   */
+  public TelemetriaEntity(Long id, String endpoint, LocalDateTime timestamp, Long tempoRespostaMs) {
+    this.id = id;
+    this.endpoint = endpoint;
+    this.timestamp = timestamp;
+    this.tempoRespostaMs = tempoRespostaMs;
+  }
+
+  /**
+   * Quantidade de chamadas representadas pelo registro.
+   */
+  public long quantidadeEfetiva() {
+    return quantidadeChamadas != null ? quantidadeChamadas : 1L;
+  }
+
+  /**
+   * Soma dos tempos de resposta em microssegundos; registros antigos, medidos
+   * apenas em milissegundos, são convertidos.
+   */
+  public long tempoRespostaUsEfetivo() {
+    return tempoRespostaUs != null ? tempoRespostaUs : tempoRespostaMs * 1000;
+  }
 }
@@ -0,0 +1,27 @@
+package org.pablofsc.domain.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularidade de agrupamento temporal do relatório de telemetria.
+ */
+public enum GranularidadeTelemetriaEnum {
+  TOTAL,
+  HORA,
+  DIA;
+
+  /**
+   * Início do intervalo ao qual o instante pertence.
+   *
+   * @param timestamp Instante do registro
+   * @return Início da hora ou do dia; nulo para TOTAL (intervalo único)
+   */
+  public LocalDateTime inicioIntervalo(LocalDateTime timestamp) {
+    return switch (this) {
+      case TOTAL -> null;
+      case HORA -> timestamp.truncatedTo(ChronoUnit.HOURS);
+      case DIA -> timestamp.truncatedTo(ChronoUnit.DAYS);
+    };
+  }
+}
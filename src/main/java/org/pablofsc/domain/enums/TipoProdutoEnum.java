@@ -14,4 +14,38 @@ public enum TipoProdutoEnum {
   RENDA_FIXA("Renda Fixa");
 
   private final String descricao;
+
+  public static TipoProdutoEnum fromDescricao(String descricao) {
+    if (descricao == null) {
+      return null;
+    }
+    return switch (descricao) {
+      case "CDB" -> CDB;
+      case "Fundo" -> FUNDO;
+      case "Renda Fixa" -> RENDA_FIXA;
+      default -> null;
+    };
+  }
+
+  /**
+   * Converte a descrição (ex: "Renda Fixa") ou o nome da constante (ex:
+   * RENDA_FIXA, renda fixa) no tipo de produto. Parâmetros de consulta e
+   * corpos de requisição que aceitam as duas grafias devem usar este método.
+   *
+   * @param valor Descrição ou nome do tipo
+   * @return Tipo correspondente ou null se não reconhecido
+   */
+  public static TipoProdutoEnum fromDescricaoOuNome(String valor) {
+    TipoProdutoEnum porDescricao = fromDescricao(valor);
+    if (porDescricao != null || valor == null) {
+      return porDescricao;
+    }
+    String nome = valor.trim().toUpperCase().replace(' ', '_');
+    for (TipoProdutoEnum tipo : values()) {
+      if (tipo.name().equals(nome)) {
+        return tipo;
+      }
+    }
+    return null;
+  }
 }
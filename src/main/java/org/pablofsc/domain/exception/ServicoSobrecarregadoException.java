@@ -0,0 +1,7 @@
+package org.pablofsc.domain.exception;
+
+public class ServicoSobrecarregadoException extends RuntimeException {
+  public ServicoSobrecarregadoException(String mensagem) {
+    super(mensagem);
+  }
+}
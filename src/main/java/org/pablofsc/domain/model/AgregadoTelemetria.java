@@ -0,0 +1,56 @@
+package org.pablofsc.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.pablofsc.domain.entity.TelemetriaEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totais de telemetria de um endpoint, calculados pelo banco.
+ * Os tempos são em microssegundos; somas sem registros podem ser nulas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgregadoTelemetria {
+
+  private String endpoint;
+  private LocalDateTime inicio;
+  private LocalDateTime fim;
+  private Long quantidadeChamadas;
+  private Long somaTempoRespostaUs;
+  private Long quantidadeComFases;
+  private Long somaEntradaUs;
+  private Long somaRecursoUs;
+  private Long somaSerializacaoUs;
+  private Long quantidadeSemHistograma;
+  private Long somaSemHistogramaUs;
+
+  /**
+   * Totais equivalentes a um único registro.
+   *
+   * @param telemetria Registro individual ou agregado
+   * @return Agregado com os totais do registro
+   */
+  public static AgregadoTelemetria de(TelemetriaEntity telemetria) {
+    long quantidade = telemetria.quantidadeEfetiva();
+    long somaUs = telemetria.tempoRespostaUsEfetivo();
+    boolean comFases = telemetria.getTempoRecursoUs() != null;
+    boolean semHistograma = telemetria.getHistogramaUs() == null;
+
+    return new AgregadoTelemetria(
+        telemetria.getEndpoint(),
+        telemetria.getTimestamp(),
+        telemetria.getTimestamp(),
+        quantidade,
+        somaUs,
+        comFases ? quantidade : 0L,
+        telemetria.getTempoEntradaUs(),
+        telemetria.getTempoRecursoUs(),
+        telemetria.getTempoSerializacaoUs(),
+        semHistograma ? quantidade : 0L,
+        semHistograma ? somaUs : 0L);
+  }
+}
@@ -0,0 +1,34 @@
+package org.pablofsc.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Filtros opcionais da consulta ao histórico de simulações.
+ * Campos nulos não restringem a consulta.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroSimulacao {
+
+  private Long clienteId;
+  private Long produtoId;
+  private TipoProdutoEnum tipo;
+
+  /**
+   * Início do período da simulação (inclusivo).
+   */
+  private ZonedDateTime de;
+
+  /**
+   * Fim do período da simulação (exclusivo).
+   */
+  private ZonedDateTime ate;
+}
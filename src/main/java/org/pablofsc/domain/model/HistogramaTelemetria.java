@@ -0,0 +1,20 @@
+package org.pablofsc.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Histograma serializado de um registro de telemetria.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramaTelemetria {
+
+  private String endpoint;
+  private LocalDateTime timestamp;
+  private String histogramaUs;
+}
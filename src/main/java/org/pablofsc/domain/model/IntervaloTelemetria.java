@@ -0,0 +1,17 @@
+package org.pablofsc.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntervaloTelemetria {
+
+  private LocalDateTime inicio;
+  private List<ServicoTelemetria> servicos;
+}
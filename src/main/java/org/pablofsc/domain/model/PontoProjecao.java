@@ -0,0 +1,14 @@
+package org.pablofsc.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PontoProjecao {
+
+  private Integer mes;
+  private Double valor;
+}
@@ -0,0 +1,17 @@
+package org.pablofsc.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjecaoPorTipo {
+
+  private TipoProdutoEnum tipo;
+  private Long quantidadeInvestimentos;
+  private Double totalInvestido;
+  private Double valorProjetado;
+}
@@ -12,4 +12,19 @@ public class ServicoTelemetria {
   private String nome;
   private Long quantidadeChamadas;
   private Long mediaTempoRespostaMs;
+  private Long mediaTempoRespostaUs;
+  private Long p50Us;
+  private Long p90Us;
+  private Long p99Us;
+  private Long p999Us;
+  private Long maximoUs;
+  private Long mediaEntradaUs;
+  private Long mediaRecursoUs;
+  private Long mediaSerializacaoUs;
+
+  public ServicoTelemetria(String nome, Long quantidadeChamadas, Long mediaTempoRespostaMs) {
+    this.nome = nome;
+    this.quantidadeChamadas = quantidadeChamadas;
+    this.mediaTempoRespostaMs = mediaTempoRespostaMs;
+  }
 }
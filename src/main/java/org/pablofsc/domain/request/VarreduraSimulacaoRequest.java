@@ -0,0 +1,30 @@
+package org.pablofsc.domain.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "VarreduraSimulacaoRequest", description = "Requisição para comparar um investimento em todos os produtos compatíveis e vários prazos")
+public class VarreduraSimulacaoRequest {
+
+  @Schema(description = "ID do cliente que fará o investimento", minimum = "1")
+  private Long clienteId;
+
+  @Schema(description = "Valor do investimento inicial em reais", minimum = "100.00")
+  private Double valor;
+
+  @Schema(description = "Prazos a comparar, em meses (1 a 360 cada)")
+  private List<Integer> prazosMeses;
+
+  @Schema(description = "Tipos de produto a comparar (ex: CDB, Fundo, Renda Fixa); vazio para todos")
+  private List<String> tiposProduto;
+
+  @Schema(description = "Se true, grava cada combinação de produto e prazo no histórico de simulações", defaultValue = "false")
+  private Boolean persistir;
+}
@@ -0,0 +1,37 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "EstatisticasCacheResponse", description = "Estatísticas de uso de um cache em memória")
+public class EstatisticasCacheResponse {
+
+  @Schema(description = "Quantidade de entradas atualmente em cache", minimum = "0")
+  private Integer tamanho;
+
+  @Schema(description = "Quantidade máxima de entradas", minimum = "1")
+  private Integer capacidade;
+
+  @Schema(description = "Consultas atendidas pelo cache", minimum = "0")
+  private Long acertos;
+
+  @Schema(description = "Consultas que precisaram recalcular (ausentes ou expiradas)", minimum = "0")
+  private Long falhas;
+
+  @Schema(description = "Proporção de acertos sobre o total de consultas (0 a 1)", minimum = "0", maximum = "1")
+  private Double taxaAcerto;
+
+  @Schema(description = "Entradas descartadas por falta de capacidade", minimum = "0")
+  private Long descartes;
+
+  @Schema(description = "Entradas removidas por expiração do TTL", minimum = "0")
+  private Long expiracoes;
+
+  @Schema(description = "Entradas removidas por invalidação explícita", minimum = "0")
+  private Long invalidacoes;
+}
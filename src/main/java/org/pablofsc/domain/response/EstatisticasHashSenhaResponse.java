@@ -0,0 +1,37 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "EstatisticasHashSenhaResponse", description = "Ocupação do pool de hash de senhas (Bcrypt)")
+public class EstatisticasHashSenhaResponse {
+
+  @Schema(description = "Custo do Bcrypt usado nos novos hashes (log2 das iterações)", minimum = "4", maximum = "31")
+  private Integer custo;
+
+  @Schema(description = "Quantidade de threads do pool", minimum = "1")
+  private Integer threads;
+
+  @Schema(description = "Threads calculando hash neste momento", minimum = "0")
+  private Integer ativas;
+
+  @Schema(description = "Tarefas aguardando uma thread livre", minimum = "0")
+  private Integer naFila;
+
+  @Schema(description = "Quantidade máxima de tarefas aguardando", minimum = "1")
+  private Integer capacidadeFila;
+
+  @Schema(description = "Maior quantidade de tarefas aguardando já observada", minimum = "0")
+  private Integer maiorFila;
+
+  @Schema(description = "Tarefas concluídas", minimum = "0")
+  private Long concluidas;
+
+  @Schema(description = "Tarefas recusadas por fila cheia", minimum = "0")
+  private Long rejeicoes;
+}
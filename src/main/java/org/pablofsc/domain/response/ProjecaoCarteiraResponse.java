@@ -0,0 +1,35 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.pablofsc.domain.model.ProjecaoPorTipo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ProjecaoCarteiraResponse", description = "Valor projetado da carteira atual de um cliente em uma data")
+public class ProjecaoCarteiraResponse {
+
+  @Schema(description = "ID do cliente", minimum = "1")
+  private Long clienteId;
+
+  @Schema(description = "Data para a qual a carteira foi projetada")
+  private LocalDate dataAlvo;
+
+  @Schema(description = "Quantidade de investimentos projetados", minimum = "0")
+  private Long quantidadeInvestimentos;
+
+  @Schema(description = "Soma dos valores investidos, em reais (R$)", minimum = "0")
+  private Double totalInvestido;
+
+  @Schema(description = "Soma dos valores projetados na data alvo, em reais (R$)", minimum = "0")
+  private Double valorProjetado;
+
+  @Schema(description = "Totais por tipo de produto, apenas dos tipos com investimentos")
+  private List<ProjecaoPorTipo> porTipo;
+}
@@ -0,0 +1,30 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.pablofsc.domain.model.PontoProjecao;
+import org.pablofsc.domain.model.Produto;
+import org.pablofsc.domain.model.Simulacao;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ProjecaoInvestimentoResponse", description = "Evolução mês a mês do valor de uma simulação de investimento")
+public class ProjecaoInvestimentoResponse {
+
+  @Schema(description = "Produto de investimento validado para a simulação")
+  private Produto produtoValidado;
+
+  @Schema(description = "Resultado da simulação no fim do prazo")
+  private Simulacao resultadoSimulacao;
+
+  @Schema(description = "Intervalo em meses entre os pontos da série", minimum = "1")
+  private Integer intervaloMeses;
+
+  @Schema(description = "Valor projetado no mês 0, a cada intervalo e no último mês do prazo")
+  private List<PontoProjecao> serie;
+}
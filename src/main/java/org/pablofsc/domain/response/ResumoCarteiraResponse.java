@@ -0,0 +1,31 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.pablofsc.domain.model.TotalPorTipo;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ResumoCarteiraResponse", description = "Totais da carteira de investimentos de um cliente")
+public class ResumoCarteiraResponse {
+
+  @Schema(description = "ID do cliente", minimum = "1")
+  private Long clienteId;
+
+  @Schema(description = "Quantidade de investimentos do cliente", minimum = "0")
+  private Long quantidadeInvestimentos;
+
+  @Schema(description = "Soma dos valores investidos, em reais (R$)", minimum = "0")
+  private Double totalInvestido;
+
+  @Schema(description = "Rentabilidade anual média ponderada pelo valor investido (ex: 0.11 = 11% a.a.); nula se não houver investimentos")
+  private Double rentabilidadeMedia;
+
+  @Schema(description = "Totais por tipo de produto, apenas dos tipos com investimentos")
+  private List<TotalPorTipo> porTipo;
+}
@@ -0,0 +1,43 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SimulacaoLoteResponse", description = "Resposta de simulação em lote com o resultado de cada item")
+public class SimulacaoLoteResponse {
+
+  @Schema(description = "Quantidade de simulações recebidas", minimum = "1")
+  private Integer quantidadeTotal;
+
+  @Schema(description = "Quantidade de simulações realizadas com sucesso", minimum = "0")
+  private Integer quantidadeSucesso;
+
+  @Schema(description = "Quantidade de simulações rejeitadas", minimum = "0")
+  private Integer quantidadeErro;
+
+  @Schema(description = "Resultado de cada simulação, na mesma ordem da requisição")
+  private List<ItemSimulacaoLote> itens;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Schema(name = "ItemSimulacaoLote", description = "Resultado de uma simulação do lote")
+  public static class ItemSimulacaoLote {
+
+    @Schema(description = "Posição da simulação na requisição (iniciando em 0)", minimum = "0")
+    private Integer indice;
+
+    @Schema(description = "Resultado da simulação, presente quando realizada com sucesso")
+    private SimulacaoInvestimentoResponse simulacao;
+
+    @Schema(description = "Erro da simulação, presente quando rejeitada")
+    private ErrorResponse erro;
+  }
+}
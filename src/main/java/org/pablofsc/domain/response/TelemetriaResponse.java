@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.pablofsc.domain.model.IntervaloTelemetria;
 import org.pablofsc.domain.model.Periodo;
 import org.pablofsc.domain.model.ServicoTelemetria;
 
@@ -20,4 +21,12 @@ public class TelemetriaResponse {
 
   @Schema(description = "Período de tempo coberto pelos dados de telemetria")
   private Periodo periodo;
+
+  @Schema(description = "Serviços monitorados por intervalo (hora ou dia), presente apenas quando solicitada granularidade")
+  private List<IntervaloTelemetria> intervalos;
+
+  public TelemetriaResponse(List<ServicoTelemetria> servicos, Periodo periodo) {
+    this.servicos = servicos;
+    this.periodo = periodo;
+  }
 }
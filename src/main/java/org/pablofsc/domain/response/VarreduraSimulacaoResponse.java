@@ -0,0 +1,41 @@
+package org.pablofsc.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.pablofsc.domain.model.Produto;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "VarreduraSimulacaoResponse", description = "Valores finais do investimento em cada produto compatível e prazo")
+public class VarreduraSimulacaoResponse {
+
+  @Schema(description = "ID do cliente")
+  private Long clienteId;
+
+  @Schema(description = "Valor do investimento inicial em reais")
+  private Double valor;
+
+  @Schema(description = "Prazos comparados, em meses, na ordem das colunas de valoresFinais")
+  private List<Integer> prazosMeses;
+
+  @Schema(description = "Produtos compatíveis, agrupados por tipo e ordenados por compatibilidade com o cliente")
+  private List<ProjecaoProduto> produtos;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Schema(name = "ProjecaoProduto", description = "Valores finais de um produto em cada prazo comparado")
+  public static class ProjecaoProduto {
+
+    @Schema(description = "Produto simulado")
+    private Produto produto;
+
+    @Schema(description = "Valor final em cada prazo, na mesma ordem de prazosMeses")
+    private List<Double> valoresFinais;
+  }
+}
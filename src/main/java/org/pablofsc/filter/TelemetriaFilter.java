@@ -8,7 +8,18 @@ import jakarta.ws.rs.ext.Provider;
 import org.pablofsc.service.TelemetriaService;
 
 import java.io.IOException;
+import java.util.function.Function;
 
+import static org.pablofsc.filter.TelemetriaRequestFilter.ENDPOINT;
+import static org.pablofsc.filter.TelemetriaRequestFilter.FIM_RECURSO;
+import static org.pablofsc.filter.TelemetriaRequestFilter.INICIO;
+import static org.pablofsc.filter.TelemetriaRequestFilter.INICIO_RECURSO;
+
+/**
+ * Filtro que encerra a medição do método do recurso.
+ * Respostas sem corpo são registradas aqui; as demais são registradas por
+ * {@link TelemetriaWriterInterceptor} após a serialização.
+ */
 @Provider
 public class TelemetriaFilter implements ContainerResponseFilter {
 
@@ -18,27 +29,55 @@ public class TelemetriaFilter implements ContainerResponseFilter {
   @Override
   public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
       throws IOException {
+    long fimRecurso = System.nanoTime();
+
     // Ignora requisições para /telemetria para evitar loop infinito
     String path = requestContext.getUriInfo().getPath();
     if (path.startsWith("/telemetria")) {
       return;
     }
 
+    if (requestContext.getProperty(INICIO) == null) {
+      // Sem o instante inicial não há o que medir (não deveria acontecer se RequestFilter rodou)
+      return;
+    }
+
     // Extrai nome do endpoint sem barras e path params
-    String nomeEndpoint = extrairNomeEndpoint(path);
+    requestContext.setProperty(ENDPOINT, extrairNomeEndpoint(path));
+    requestContext.setProperty(FIM_RECURSO, fimRecurso);
 
-    // Calcula o tempo de resposta em milissegundos
-    Long tempoInicio = (Long) requestContext.getProperty("tempoInicio");
-    if (tempoInicio == null) {
-      // Se não encontrar, calcula 0ms (não deveria acontecer se RequestFilter rodou)
+    if (!responseContext.hasEntity()) {
+      registrar(telemetriaService, requestContext::getProperty, fimRecurso);
+    }
+  }
+
+  /**
+   * Registra a requisição com as durações de cada fase.
+   * Requisições interrompidas antes do recurso (ex: 401) contam todo o tempo
+   * até a resposta como entrada.
+   *
+   * @param telemetriaService Serviço de telemetria
+   * @param propriedades Acesso às propriedades da requisição
+   * @param fim Instante (nanoTime) de término da resposta
+   */
+  static void registrar(TelemetriaService telemetriaService, Function<String, Object> propriedades, long fim) {
+    String endpoint = (String) propriedades.apply(ENDPOINT);
+    Long inicio = (Long) propriedades.apply(INICIO);
+    Long fimRecurso = (Long) propriedades.apply(FIM_RECURSO);
+    if (endpoint == null || inicio == null || fimRecurso == null) {
       return;
     }
 
-    Long tempoFim = System.currentTimeMillis();
-    Long tempoRespostaMs = tempoFim - tempoInicio;
+    Long inicioRecurso = (Long) propriedades.apply(INICIO_RECURSO);
+    if (inicioRecurso == null) {
+      inicioRecurso = fimRecurso;
+    }
 
-    // Registra o endpoint e tempo de resposta
-    telemetriaService.registrarTelemetria(nomeEndpoint, tempoRespostaMs);
+    telemetriaService.registrarTelemetria(
+        endpoint,
+        inicioRecurso - inicio,
+        fimRecurso - inicioRecurso,
+        fim - fimRecurso);
   }
 
   String extrairNomeEndpoint(String path) {
@@ -52,6 +91,32 @@ public class TelemetriaFilter implements ContainerResponseFilter {
       return "simulacoes/por-produto-dia";
     }
 
+    // Exportação em streaming tem duração própria; não mistura com a listagem paginada
+    if (path.startsWith("simulacoes/stream")) {
+      return "simulacoes/stream";
+    }
+
+    // Projeção mensal e comparação de produtos têm custo diferente da simulação simples
+    if (path.startsWith("simular-investimento/projecao")) {
+      return "simular-investimento/projecao";
+    }
+    if (path.startsWith("simular-investimento/varredura")) {
+      return "simular-investimento/varredura";
+    }
+
+    // Resumo e projeção da carteira têm custo próprio; não se misturam à listagem paginada
+    if (path.startsWith("investimentos/") && path.endsWith("/resumo")) {
+      return "investimentos/resumo";
+    }
+    if (path.startsWith("investimentos/") && path.endsWith("/projecao")) {
+      return "investimentos/projecao";
+    }
+
+    // Estatísticas do cache não se misturam às consultas de perfil por cliente
+    if (path.startsWith("perfil-risco/cache")) {
+      return "perfil-risco/cache";
+    }
+
     // Pega a primeira parte antes de qualquer barra ou número (path param)
     String[] partes = path.split("/");
     return partes[0];
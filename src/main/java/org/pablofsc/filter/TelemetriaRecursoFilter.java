@@ -0,0 +1,30 @@
+package org.pablofsc.filter;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+
+/**
+ * Filtro que marca o início da execução do método do recurso.
+ * Com a maior prioridade possível, é o último filtro de requisição a executar,
+ * separando o tempo de entrada (filtros, roteamento, autenticação) do tempo
+ * do recurso.
+ */
+@Provider
+@Priority(Integer.MAX_VALUE)
+public class TelemetriaRecursoFilter implements ContainerRequestFilter {
+
+  /**
+   * Registra o instante de início do recurso no contexto.
+   *
+   * @param requestContext Contexto da requisição
+   * @throws IOException Erro de I/O
+   */
+  @Override
+  public void filter(ContainerRequestContext requestContext) throws IOException {
+    requestContext.setProperty(TelemetriaRequestFilter.INICIO_RECURSO, System.nanoTime());
+  }
+}
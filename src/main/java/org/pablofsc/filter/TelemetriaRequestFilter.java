@@ -2,17 +2,32 @@ package org.pablofsc.filter;
 
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
 import jakarta.ws.rs.ext.Provider;
 
 import java.io.IOException;
 
 /**
  * Filtro que captura tempo de início de requisições HTTP.
- * Armazena timestamp para cálculo posterior de tempo de resposta.
+ * Executa antes do roteamento e armazena o instante monotônico (System.nanoTime)
+ * para cálculo posterior do tempo de resposta e de suas fases.
  */
 @Provider
+@PreMatching
 public class TelemetriaRequestFilter implements ContainerRequestFilter {
 
+  /** Instante de chegada da requisição (nanoTime). */
+  public static final String INICIO = "telemetria.inicio";
+
+  /** Instante de início do método do recurso (nanoTime). */
+  public static final String INICIO_RECURSO = "telemetria.inicioRecurso";
+
+  /** Instante de término do método do recurso (nanoTime). */
+  public static final String FIM_RECURSO = "telemetria.fimRecurso";
+
+  /** Nome do endpoint, definido quando a requisição deve ser registrada. */
+  public static final String ENDPOINT = "telemetria.endpoint";
+
   /**
    * Registra o tempo de início da requisição no contexto.
    *
@@ -22,6 +37,6 @@ public class TelemetriaRequestFilter implements ContainerRequestFilter {
   @Override
   public void filter(ContainerRequestContext requestContext) throws IOException {
     // Armazena o tempo de início da requisição
-    requestContext.setProperty("tempoInicio", System.currentTimeMillis());
+    requestContext.setProperty(INICIO, System.nanoTime());
   }
 }
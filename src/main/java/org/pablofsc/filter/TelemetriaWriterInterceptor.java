@@ -0,0 +1,30 @@
+package org.pablofsc.filter;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.pablofsc.service.TelemetriaService;
+
+import java.io.IOException;
+
+/**
+ * Interceptor que mede a serialização do corpo da resposta e registra a
+ * telemetria da requisição ao final da escrita.
+ */
+@Provider
+public class TelemetriaWriterInterceptor implements WriterInterceptor {
+
+  @Inject
+  TelemetriaService telemetriaService;
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+    try {
+      context.proceed();
+    } finally {
+      TelemetriaFilter.registrar(telemetriaService, context::getProperty, System.nanoTime());
+    }
+  }
+}
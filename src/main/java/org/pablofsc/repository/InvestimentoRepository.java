@@ -2,8 +2,96 @@ package org.pablofsc.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
 import org.pablofsc.domain.entity.InvestimentoEntity;
+import org.pablofsc.domain.model.Investimento;
+import org.pablofsc.domain.model.PosicaoInvestimento;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class InvestimentoRepository implements PanacheRepository<InvestimentoEntity> {
+
+  // Só as colunas exibidas na carteira, com tipo e rentabilidade do produto no mesmo SELECT
+  private static final String CARTEIRA = "select new org.pablofsc.domain.model.Investimento("
+      + "i.id, p.tipo, i.valor, p.rentabilidade, i.data) "
+      + "from InvestimentoEntity i left join i.produto p "
+      + "where i.cliente.id = :clienteId";
+
+  @Inject
+  ResumoCarteiraRepository resumoRepository;
+
+  /**
+   * Grava um investimento e o soma ao resumo da carteira do cliente, na
+   * mesma transação.
+   *
+   * @param investimento Investimento a gravar (com cliente e produto preenchidos)
+   */
+  @Transactional
+  public void inserir(InvestimentoEntity investimento) {
+    persistAndFlush(investimento);
+    resumoRepository.acumular(List.of(investimento));
+  }
+
+  /**
+   * Lista uma página da carteira do cliente em ordem de data e ID, por cursor
+   * (keyset), sem OFFSET. A consulta percorre o índice (cliente_id, data), que
+   * no SQLite também carrega o ID, então a ordenação sai do próprio índice e o
+   * custo não depende da posição da página.
+   *
+   * @param clienteId ID do cliente
+   * @param aposData Data do último investimento da página anterior, ou nulo para a primeira página
+   * @param aposId ID do último investimento da página anterior, ou nulo para a primeira página
+   * @param limite Quantidade máxima de investimentos
+   * @return Investimentos posteriores ao cursor, do mais antigo para o mais recente
+   */
+  public List<Investimento> listarPagina(Long clienteId, LocalDate aposData, Long aposId, int limite) {
+    String cursor = aposId != null ? " and (i.data > :aposData or (i.data = :aposData and i.id > :aposId))" : "";
+    TypedQuery<Investimento> query = getEntityManager()
+        .createQuery(CARTEIRA + cursor + " order by i.data, i.id", Investimento.class)
+        .setParameter("clienteId", clienteId)
+        .setMaxResults(limite);
+    if (aposId != null) {
+      query.setParameter("aposData", aposData).setParameter("aposId", aposId);
+    }
+    return query.getResultList();
+  }
+
+  /**
+   * Lista todas as posições do cliente com apenas os dados usados na
+   * projeção: tipo e rentabilidade do produto, valor e data do investimento.
+   *
+   * @param clienteId ID do cliente
+   * @return Posições do cliente, sem ordem definida
+   */
+  public List<PosicaoInvestimento> listarPosicoes(Long clienteId) {
+    return getEntityManager()
+        .createQuery("select new org.pablofsc.domain.model.PosicaoInvestimento("
+            + "p.tipo, i.valor, p.rentabilidade, i.data) "
+            + "from InvestimentoEntity i join i.produto p where i.cliente.id = :clienteId",
+            PosicaoInvestimento.class)
+        .setParameter("clienteId", clienteId)
+        .getResultList();
+  }
+
+  /**
+   * Data de um investimento do cliente, usada para posicionar o cursor.
+   *
+   * @param clienteId ID do cliente
+   * @param investimentoId ID do investimento
+   * @return Data do investimento, ou vazio se ele não existir ou for de outro cliente
+   */
+  public Optional<LocalDate> dataDoInvestimento(Long clienteId, Long investimentoId) {
+    return getEntityManager()
+        .createQuery("select i.data from InvestimentoEntity i where i.id = :id and i.cliente.id = :clienteId",
+            LocalDate.class)
+        .setParameter("id", investimentoId)
+        .setParameter("clienteId", clienteId)
+        .getResultStream()
+        .findFirst();
+  }
 }
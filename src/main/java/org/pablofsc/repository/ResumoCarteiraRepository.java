@@ -0,0 +1,127 @@
+package org.pablofsc.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import org.pablofsc.domain.entity.InvestimentoEntity;
+import org.pablofsc.domain.entity.ResumoCarteiraEntity;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class ResumoCarteiraRepository implements PanacheRepository<ResumoCarteiraEntity> {
+
+  // 5 parâmetros por linha; mantém cada comando abaixo do limite de 999 variáveis do SQLite
+  private static final int LINHAS_POR_UPSERT = 100;
+  private static final int INVESTIMENTOS_POR_PAGINA = 1000;
+
+  /**
+   * Lista os totais do cliente, um registro por tipo de produto investido.
+   *
+   * @param clienteId ID do cliente
+   * @return Totais por tipo (no máximo um por tipo de produto)
+   */
+  public List<ResumoCarteiraEntity> listarPorCliente(Long clienteId) {
+    return list("cliente.id", clienteId);
+  }
+
+  /**
+   * Soma os investimentos aos totais do seu cliente e tipo, na transação
+   * corrente. Os investimentos são agrupados antes, e cada cliente-tipo é
+   * atualizado com um único upsert (INSERT ... ON CONFLICT DO UPDATE).
+   *
+   * @param investimentos Investimentos gravados (com cliente e produto preenchidos)
+   */
+  public void acumular(Collection<InvestimentoEntity> investimentos) {
+    Map<ChaveClienteTipo, Totais> totais = new LinkedHashMap<>();
+    for (InvestimentoEntity investimento : investimentos) {
+      somar(totais, investimento.getCliente().getId(), investimento.getProduto().getTipo(),
+          investimento.getValor(), investimento.getProduto().getRentabilidade());
+    }
+    gravar(totais);
+  }
+
+  /**
+   * Reconstrói os totais a partir dos investimentos quando a tabela ainda
+   * está vazia (primeira execução após a sua criação). Os investimentos são
+   * lidos em páginas e apenas os totais por cliente-tipo ficam em memória.
+   */
+  @Transactional
+  public void reconstruirSeVazio() {
+    if (count() > 0) {
+      return;
+    }
+
+    Map<ChaveClienteTipo, Totais> totais = new LinkedHashMap<>();
+    long ultimoId = 0;
+    List<Object[]> pagina;
+    do {
+      pagina = getEntityManager()
+          .createQuery("select i.id, i.cliente.id, p.tipo, i.valor, p.rentabilidade from InvestimentoEntity i "
+              + "join i.produto p where i.id > :ultimoId order by i.id", Object[].class)
+          .setParameter("ultimoId", ultimoId)
+          .setMaxResults(INVESTIMENTOS_POR_PAGINA)
+          .getResultList();
+      for (Object[] linha : pagina) {
+        ultimoId = (Long) linha[0];
+        somar(totais, (Long) linha[1], (TipoProdutoEnum) linha[2], (Double) linha[3], (Double) linha[4]);
+      }
+    } while (pagina.size() == INVESTIMENTOS_POR_PAGINA);
+
+    gravar(totais);
+  }
+
+  private void somar(Map<ChaveClienteTipo, Totais> totais, Long clienteId, TipoProdutoEnum tipo, Double valor,
+      Double rentabilidade) {
+    Totais total = totais.computeIfAbsent(new ChaveClienteTipo(clienteId, tipo), c -> new Totais());
+    double investido = valor != null ? valor : 0.0;
+    total.quantidade++;
+    total.totalInvestido += investido;
+    total.somaValorRentabilidade += rentabilidade != null ? investido * rentabilidade : 0.0;
+  }
+
+  private void gravar(Map<ChaveClienteTipo, Totais> totais) {
+    List<Map.Entry<ChaveClienteTipo, Totais>> linhas = new ArrayList<>(totais.entrySet());
+    for (int inicio = 0; inicio < linhas.size(); inicio += LINHAS_POR_UPSERT) {
+      gravarBloco(linhas.subList(inicio, Math.min(inicio + LINHAS_POR_UPSERT, linhas.size())));
+    }
+  }
+
+  private void gravarBloco(List<Map.Entry<ChaveClienteTipo, Totais>> bloco) {
+    StringBuilder sql = new StringBuilder("INSERT INTO resumo_carteira "
+        + "(cliente_id, tipo, quantidade_investimentos, total_investido, soma_valor_rentabilidade) VALUES ");
+    for (int i = 0; i < bloco.size(); i++) {
+      sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+    }
+    sql.append(" ON CONFLICT (cliente_id, tipo) DO UPDATE SET "
+        + "quantidade_investimentos = quantidade_investimentos + excluded.quantidade_investimentos, "
+        + "total_investido = total_investido + excluded.total_investido, "
+        + "soma_valor_rentabilidade = soma_valor_rentabilidade + excluded.soma_valor_rentabilidade");
+
+    Query query = getEntityManager().createNativeQuery(sql.toString());
+    int posicao = 1;
+    for (Map.Entry<ChaveClienteTipo, Totais> linha : bloco) {
+      query.setParameter(posicao++, linha.getKey().clienteId());
+      query.setParameter(posicao++, linha.getKey().tipo().name());
+      query.setParameter(posicao++, linha.getValue().quantidade);
+      query.setParameter(posicao++, linha.getValue().totalInvestido);
+      query.setParameter(posicao++, linha.getValue().somaValorRentabilidade);
+    }
+    query.executeUpdate();
+  }
+
+  private record ChaveClienteTipo(Long clienteId, TipoProdutoEnum tipo) {
+  }
+
+  private static class Totais {
+    private long quantidade;
+    private double totalInvestido;
+    private double somaValorRentabilidade;
+  }
+}
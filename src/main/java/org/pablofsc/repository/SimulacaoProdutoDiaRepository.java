@@ -0,0 +1,121 @@
+package org.pablofsc.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.domain.entity.SimulacaoProdutoDiaEntity;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class SimulacaoProdutoDiaRepository implements PanacheRepository<SimulacaoProdutoDiaEntity> {
+
+  // 4 parâmetros por linha; mantém cada comando abaixo do limite de 999 variáveis do SQLite
+  private static final int LINHAS_POR_UPSERT = 100;
+  private static final int SIMULACOES_POR_PAGINA = 1000;
+
+  /**
+   * Lista os totais por produto e dia, já com o produto carregado.
+   *
+   * @return Totais de todos os produtos e dias
+   */
+  public List<SimulacaoProdutoDiaEntity> listarComProduto() {
+    return find("select a from SimulacaoProdutoDiaEntity a left join fetch a.produto").list();
+  }
+
+  /**
+   * Soma as simulações aos totais do seu produto e dia, na transação corrente.
+   * As simulações são agrupadas antes, e cada produto-dia é atualizado com um
+   * único upsert (INSERT ... ON CONFLICT DO UPDATE).
+   *
+   * @param simulacoes Simulações gravadas (com produto e data preenchidos)
+   */
+  public void acumular(Collection<SimulacaoEntity> simulacoes) {
+    Map<ChaveProdutoDia, Totais> totais = new LinkedHashMap<>();
+    for (SimulacaoEntity simulacao : simulacoes) {
+      somar(totais, simulacao.getProduto().getId(), simulacao.getDataSimulacao(), simulacao.getValorFinal());
+    }
+    gravar(totais);
+  }
+
+  /**
+   * Reconstrói os totais a partir do histórico quando a tabela ainda está
+   * vazia (primeira execução após a sua criação). O histórico é lido em
+   * páginas e apenas os totais por produto-dia ficam em memória.
+   */
+  @Transactional
+  public void reconstruirSeVazio() {
+    if (count() > 0) {
+      return;
+    }
+
+    Map<ChaveProdutoDia, Totais> totais = new LinkedHashMap<>();
+    long ultimoId = 0;
+    List<Object[]> pagina;
+    do {
+      pagina = getEntityManager()
+          .createQuery("select s.id, s.produto.id, s.dataSimulacao, s.valorFinal from SimulacaoEntity s "
+              + "where s.id > :ultimoId order by s.id", Object[].class)
+          .setParameter("ultimoId", ultimoId)
+          .setMaxResults(SIMULACOES_POR_PAGINA)
+          .getResultList();
+      for (Object[] linha : pagina) {
+        ultimoId = (Long) linha[0];
+        somar(totais, (Long) linha[1], (ZonedDateTime) linha[2], (Double) linha[3]);
+      }
+    } while (pagina.size() == SIMULACOES_POR_PAGINA);
+
+    gravar(totais);
+  }
+
+  private void somar(Map<ChaveProdutoDia, Totais> totais, Long produtoId, ZonedDateTime dataSimulacao, Double valorFinal) {
+    Totais total = totais.computeIfAbsent(
+        new ChaveProdutoDia(produtoId, dataSimulacao.toLocalDate()), c -> new Totais());
+    total.quantidade++;
+    total.somaValorFinal += valorFinal != null ? valorFinal : 0.0;
+  }
+
+  private void gravar(Map<ChaveProdutoDia, Totais> totais) {
+    List<Map.Entry<ChaveProdutoDia, Totais>> linhas = new ArrayList<>(totais.entrySet());
+    for (int inicio = 0; inicio < linhas.size(); inicio += LINHAS_POR_UPSERT) {
+      gravarBloco(linhas.subList(inicio, Math.min(inicio + LINHAS_POR_UPSERT, linhas.size())));
+    }
+  }
+
+  private void gravarBloco(List<Map.Entry<ChaveProdutoDia, Totais>> bloco) {
+    StringBuilder sql = new StringBuilder(
+        "INSERT INTO simulacoes_produto_dia (produto_id, data, quantidade_simulacoes, soma_valor_final) VALUES ");
+    for (int i = 0; i < bloco.size(); i++) {
+      sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+    }
+    sql.append(" ON CONFLICT (produto_id, data) DO UPDATE SET "
+        + "quantidade_simulacoes = quantidade_simulacoes + excluded.quantidade_simulacoes, "
+        + "soma_valor_final = soma_valor_final + excluded.soma_valor_final");
+
+    Query query = getEntityManager().createNativeQuery(sql.toString());
+    int posicao = 1;
+    for (Map.Entry<ChaveProdutoDia, Totais> linha : bloco) {
+      query.setParameter(posicao++, linha.getKey().produtoId());
+      query.setParameter(posicao++, linha.getKey().data());
+      query.setParameter(posicao++, linha.getValue().quantidade);
+      query.setParameter(posicao++, linha.getValue().somaValorFinal);
+    }
+    query.executeUpdate();
+  }
+
+  private record ChaveProdutoDia(Long produtoId, LocalDate data) {
+  }
+
+  private static class Totais {
+    private long quantidade;
+    private double somaValorFinal;
+  }
+}
@@ -2,9 +2,147 @@ package org.pablofsc.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.domain.model.FiltroSimulacao;
+import org.pablofsc.domain.model.SimulacaoHistorico;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class SimulacaoRepository implements PanacheRepositoryBase<SimulacaoEntity, Long> {
 
+  // 6 parâmetros por linha; mantém cada INSERT abaixo do limite de 999 variáveis do SQLite
+  private static final int LINHAS_POR_INSERT = 100;
+
+  // Linhas lidas do cursor por vez
+  private static final int LINHAS_POR_LEITURA = 500;
+
+  // Histórico com o nome do produto em um único SELECT; o ID do cliente vem da própria chave estrangeira
+  private static final String HISTORICO = "select new org.pablofsc.domain.model.SimulacaoHistorico("
+      + "s.id, s.cliente.id, coalesce(p.nome, 'Produto removido'), "
+      + "s.valorInvestido, s.valorFinal, s.prazoMeses, s.dataSimulacao) "
+      + "from SimulacaoEntity s left join s.produto p";
+
+  @Inject
+  SimulacaoProdutoDiaRepository produtoDiaRepository;
+
+  /**
+   * Grava uma simulação e a soma aos totais do seu produto e dia, na mesma transação.
+   *
+   * @param simulacao Simulação a gravar (com cliente e produto preenchidos)
+   */
+  @Transactional
+  public void inserir(SimulacaoEntity simulacao) {
+    persistAndFlush(simulacao);
+    produtoDiaRepository.acumular(List.of(simulacao));
+  }
+
+  /**
+   * Lista uma página do histórico por cursor (keyset) no ID, sem OFFSET: a
+   * consulta parte do índice da chave primária, então o custo não depende da
+   * posição da página. Cliente e nome do produto vêm do mesmo SELECT, sem
+   * carregar as associações LAZY linha a linha. Com filtro de cliente ou
+   * produto, a busca usa o índice composto com a data da simulação.
+   *
+   * @param filtro Filtros da consulta
+   * @param aposId ID da última simulação da página anterior, ou nulo para a primeira página
+   * @param limite Quantidade máxima de simulações
+   * @return Simulações filtradas com ID maior que o cursor, em ordem crescente de ID
+   */
+  public List<SimulacaoHistorico> listarPagina(FiltroSimulacao filtro, Long aposId, int limite) {
+    TypedQuery<SimulacaoHistorico> query = getEntityManager()
+        .createQuery(HISTORICO + " where s.id > :aposId" + condicoes(filtro) + " order by s.id", SimulacaoHistorico.class)
+        .setParameter("aposId", aposId != null ? aposId : 0L)
+        .setMaxResults(limite);
+    return parametros(query, filtro).getResultList();
+  }
+
+  /**
+   * Percorre o histórico filtrado em ordem de ID lendo de um cursor JDBC, sem
+   * carregar a lista em memória. Deve ser chamado dentro de uma transação.
+   * As linhas são projeções, não entidades, então nada se acumula no
+   * contexto de persistência.
+   *
+   * @param filtro Filtros da consulta
+   * @param consumidor Recebe cada simulação, na ordem de leitura
+   */
+  public void percorrer(FiltroSimulacao filtro, Consumer<SimulacaoHistorico> consumidor) {
+    TypedQuery<SimulacaoHistorico> query = getEntityManager()
+        .createQuery(HISTORICO + " where 1 = 1" + condicoes(filtro) + " order by s.id", SimulacaoHistorico.class)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, LINHAS_POR_LEITURA);
+    try (Stream<SimulacaoHistorico> simulacoes = parametros(query, filtro).getResultStream()) {
+      simulacoes.forEachOrdered(consumidor);
+    }
+  }
+
+  private String condicoes(FiltroSimulacao filtro) {
+    return (filtro.getClienteId() != null ? " and s.cliente.id = :clienteId" : "")
+        + (filtro.getProdutoId() != null ? " and s.produto.id = :produtoId" : "")
+        + (filtro.getTipo() != null ? " and p.tipo = :tipo" : "")
+        + (filtro.getDe() != null ? " and s.dataSimulacao >= :de" : "")
+        + (filtro.getAte() != null ? " and s.dataSimulacao < :ate" : "");
+  }
+
+  private <T> TypedQuery<T> parametros(TypedQuery<T> query, FiltroSimulacao filtro) {
+    if (filtro.getClienteId() != null) {
+      query.setParameter("clienteId", filtro.getClienteId());
+    }
+    if (filtro.getProdutoId() != null) {
+      query.setParameter("produtoId", filtro.getProdutoId());
+    }
+    if (filtro.getTipo() != null) {
+      query.setParameter("tipo", filtro.getTipo());
+    }
+    if (filtro.getDe() != null) {
+      query.setParameter("de", filtro.getDe());
+    }
+    if (filtro.getAte() != null) {
+      query.setParameter("ate", filtro.getAte());
+    }
+    return query;
+  }
+
+  /**
+   * Insere simulações com INSERTs de múltiplas linhas na transação corrente,
+   * ou em uma nova quando chamado fora de transação (gravação write-behind).
+   * O ID IDENTITY impede o batching JDBC do Hibernate, então cada bloco de
+   * até 100 simulações é gravado em um único comando. Os totais por produto
+   * e dia são atualizados na mesma transação.
+   *
+   * @param simulacoes Simulações a inserir (com cliente e produto preenchidos)
+   */
+  @Transactional
+  public void inserirEmLote(List<SimulacaoEntity> simulacoes) {
+    for (int inicio = 0; inicio < simulacoes.size(); inicio += LINHAS_POR_INSERT) {
+      inserirBloco(simulacoes.subList(inicio, Math.min(inicio + LINHAS_POR_INSERT, simulacoes.size())));
+    }
+    produtoDiaRepository.acumular(simulacoes);
+  }
+
+  private void inserirBloco(List<SimulacaoEntity> bloco) {
+    StringBuilder sql = new StringBuilder(
+        "INSERT INTO simulacoes (cliente_id, produto_id, valor_investido, valor_final, prazo_meses, data_simulacao) VALUES ");
+    for (int i = 0; i < bloco.size(); i++) {
+      sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+    }
+
+    Query query = getEntityManager().createNativeQuery(sql.toString());
+    int posicao = 1;
+    for (SimulacaoEntity simulacao : bloco) {
+      query.setParameter(posicao++, simulacao.getCliente().getId());
+      query.setParameter(posicao++, simulacao.getProduto().getId());
+      query.setParameter(posicao++, simulacao.getValorInvestido());
+      query.setParameter(posicao++, simulacao.getValorFinal());
+      query.setParameter(posicao++, simulacao.getPrazoMeses());
+      query.setParameter(posicao++, simulacao.getDataSimulacao());
+    }
+    query.executeUpdate();
+  }
 }
@@ -0,0 +1,153 @@
+package org.pablofsc.repository;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.pablofsc.domain.entity.TelemetriaConsolidadaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.HistogramaTelemetria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.pablofsc.repository.TelemetriaRepository.filtroJanela;
+import static org.pablofsc.repository.TelemetriaRepository.parametrosJanela;
+
+@ApplicationScoped
+public class TelemetriaConsolidadaRepository implements PanacheRepository<TelemetriaConsolidadaEntity> {
+
+  /**
+   * Grava os registros consolidados de uma hora ou de um dia em uma única
+   * transação, para que o limite da consolidação avance de uma só vez.
+   *
+   * @param consolidados Registros a gravar
+   */
+  @Transactional
+  public void persistirConsolidados(List<TelemetriaConsolidadaEntity> consolidados) {
+    persist(consolidados);
+  }
+
+  /**
+   * Fim (exclusivo) do período já consolidado por dia.
+   *
+   * @return Dia seguinte ao último dia consolidado, ou nulo se não houver
+   */
+  public LocalDateTime consolidadoDiaAte() {
+    LocalDateTime ultimoDia = ultimoTimestamp(GranularidadeTelemetriaEnum.DIA);
+    return ultimoDia != null ? ultimoDia.plusDays(1) : null;
+  }
+
+  /**
+   * Fim (exclusivo) do período já consolidado, por hora ou por dia. Registros
+   * de telemetria anteriores a este instante já estão consolidados e são
+   * ignorados nas consultas até serem excluídos.
+   *
+   * @return Instante seguinte à última hora ou dia consolidado, ou nulo se não houver
+   */
+  public LocalDateTime consolidadoHoraAte() {
+    LocalDateTime ultimaHora = ultimoTimestamp(GranularidadeTelemetriaEnum.HORA);
+    LocalDateTime horaAte = ultimaHora != null ? ultimaHora.plusHours(1) : null;
+    LocalDateTime diaAte = consolidadoDiaAte();
+    if (horaAte == null || (diaAte != null && diaAte.isAfter(horaAte))) {
+      return diaAte;
+    }
+    return horaAte;
+  }
+
+  /**
+   * Soma quantidade e tempos por endpoint dos registros consolidados na
+   * granularidade informada, dentro da janela.
+   *
+   * @param granularidade HORA ou DIA
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @param porRegistro Se true, agrupa também por timestamp do registro
+   * @return Totais por endpoint (e timestamp, se solicitado)
+   */
+  public List<AgregadoTelemetria> agregar(
+      GranularidadeTelemetriaEnum granularidade,
+      LocalDateTime de,
+      LocalDateTime ate,
+      boolean porRegistro) {
+    String jpql = "select new org.pablofsc.domain.model.AgregadoTelemetria("
+        + "t.endpoint, "
+        + (porRegistro ? "t.timestamp, t.timestamp, " : "min(t.timestamp), max(t.timestamp), ")
+        + "sum(t.quantidadeChamadas), sum(t.tempoRespostaUs), sum(t.quantidadeComFases), "
+        + "sum(t.tempoEntradaUs), sum(t.tempoRecursoUs), sum(t.tempoSerializacaoUs), 0L, 0L) "
+        + "from TelemetriaConsolidadaEntity t where t.granularidade = :granularidade" + filtroJanela(de, ate)
+        + (porRegistro ? " group by t.endpoint, t.timestamp" : " group by t.endpoint");
+
+    return parametrosJanela(getEntityManager().createQuery(jpql, AgregadoTelemetria.class), de, ate)
+        .setParameter("granularidade", granularidade)
+        .getResultList();
+  }
+
+  /**
+   * Lista os histogramas dos registros consolidados na granularidade
+   * informada, dentro da janela.
+   *
+   * @param granularidade HORA ou DIA
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @return Histogramas com endpoint e timestamp do registro
+   */
+  public List<HistogramaTelemetria> listarHistogramas(
+      GranularidadeTelemetriaEnum granularidade,
+      LocalDateTime de,
+      LocalDateTime ate) {
+    String jpql = "select new org.pablofsc.domain.model.HistogramaTelemetria(t.endpoint, t.timestamp, t.histogramaUs) "
+        + "from TelemetriaConsolidadaEntity t where t.granularidade = :granularidade" + filtroJanela(de, ate);
+
+    return parametrosJanela(getEntityManager().createQuery(jpql, HistogramaTelemetria.class), de, ate)
+        .setParameter("granularidade", granularidade)
+        .getResultList();
+  }
+
+  /**
+   * Primeiro timestamp consolidado na granularidade informada, dentro da janela.
+   *
+   * @param granularidade HORA ou DIA
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @return Menor timestamp da janela, ou nulo se não houver registros
+   */
+  public LocalDateTime primeiroTimestamp(GranularidadeTelemetriaEnum granularidade, LocalDateTime de, LocalDateTime ate) {
+    String jpql = "select min(t.timestamp) from TelemetriaConsolidadaEntity t where t.granularidade = :granularidade"
+        + filtroJanela(de, ate);
+
+    return parametrosJanela(getEntityManager().createQuery(jpql, LocalDateTime.class), de, ate)
+        .setParameter("granularidade", granularidade)
+        .getSingleResult();
+  }
+
+  /**
+   * Exclui, em uma transação curta, até a quantidade informada de registros
+   * consolidados anteriores ao limite.
+   *
+   * @param granularidade HORA ou DIA
+   * @param limite Registros com timestamp anterior a este instante são excluídos
+   * @param tamanhoLote Quantidade máxima de registros excluídos
+   * @return Quantidade de registros excluídos
+   */
+  @Transactional
+  public int excluirAnteriores(GranularidadeTelemetriaEnum granularidade, LocalDateTime limite, int tamanhoLote) {
+    List<Long> ids = getEntityManager()
+        .createQuery("select t.id from TelemetriaConsolidadaEntity t "
+            + "where t.granularidade = :granularidade and t.timestamp < :limite order by t.id", Long.class)
+        .setParameter("granularidade", granularidade)
+        .setParameter("limite", limite)
+        .setMaxResults(tamanhoLote)
+        .getResultList();
+
+    return ids.isEmpty() ? 0 : (int) delete("id in ?1", ids);
+  }
+
+  private LocalDateTime ultimoTimestamp(GranularidadeTelemetriaEnum granularidade) {
+    return getEntityManager()
+        .createQuery("select max(t.timestamp) from TelemetriaConsolidadaEntity t where t.granularidade = :granularidade",
+            LocalDateTime.class)
+        .setParameter("granularidade", granularidade)
+        .getSingleResult();
+  }
+}
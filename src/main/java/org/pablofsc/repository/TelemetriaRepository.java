@@ -2,8 +2,119 @@ package org.pablofsc.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
 import org.pablofsc.domain.entity.TelemetriaEntity;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.HistogramaTelemetria;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @ApplicationScoped
 public class TelemetriaRepository implements PanacheRepository<TelemetriaEntity> {
+
+  // Registros antigos não têm quantidade (uma chamada) nem tempo em microssegundos
+  private static final String QUANTIDADE = "coalesce(t.quantidadeChamadas, 1L)";
+  private static final String SOMA_US = "coalesce(t.tempoRespostaUs, t.tempoRespostaMs * 1000L)";
+
+  /**
+   * Grava registros agregados de telemetria em uma única transação.
+   *
+   * @param telemetrias Registros a gravar
+   */
+  @Transactional
+  public void persistirAgregados(List<TelemetriaEntity> telemetrias) {
+    persist(telemetrias);
+  }
+
+  /**
+   * Soma quantidade e tempos por endpoint no banco, dentro da janela informada.
+   *
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @param porRegistro Se true, agrupa também por timestamp do registro, para
+   *                    reagrupamento posterior em horas ou dias
+   * @return Totais por endpoint (e timestamp, se solicitado)
+   */
+  public List<AgregadoTelemetria> agregar(LocalDateTime de, LocalDateTime ate, boolean porRegistro) {
+    String jpql = "select new org.pablofsc.domain.model.AgregadoTelemetria("
+        + "t.endpoint, "
+        + (porRegistro ? "t.timestamp, t.timestamp, " : "min(t.timestamp), max(t.timestamp), ")
+        + "sum(" + QUANTIDADE + "), "
+        + "sum(" + SOMA_US + "), "
+        + "sum(case when t.tempoRecursoUs is not null then " + QUANTIDADE + " else 0L end), "
+        + "sum(t.tempoEntradaUs), sum(t.tempoRecursoUs), sum(t.tempoSerializacaoUs), "
+        + "sum(case when t.histogramaUs is null then " + QUANTIDADE + " else 0L end), "
+        + "sum(case when t.histogramaUs is null then " + SOMA_US + " else 0L end)) "
+        + "from TelemetriaEntity t where 1 = 1" + filtroJanela(de, ate)
+        + (porRegistro ? " group by t.endpoint, t.timestamp" : " group by t.endpoint");
+
+    return parametrosJanela(getEntityManager().createQuery(jpql, AgregadoTelemetria.class), de, ate)
+        .getResultList();
+  }
+
+  /**
+   * Lista os histogramas dos registros agregados dentro da janela informada.
+   *
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @return Histogramas com endpoint e timestamp do registro
+   */
+  public List<HistogramaTelemetria> listarHistogramas(LocalDateTime de, LocalDateTime ate) {
+    String jpql = "select new org.pablofsc.domain.model.HistogramaTelemetria(t.endpoint, t.timestamp, t.histogramaUs) "
+        + "from TelemetriaEntity t where t.histogramaUs is not null" + filtroJanela(de, ate);
+
+    return parametrosJanela(getEntityManager().createQuery(jpql, HistogramaTelemetria.class), de, ate)
+        .getResultList();
+  }
+
+  /**
+   * Primeiro timestamp registrado dentro da janela informada.
+   *
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @return Menor timestamp da janela, ou nulo se não houver registros
+   */
+  public LocalDateTime primeiroTimestamp(LocalDateTime de, LocalDateTime ate) {
+    String jpql = "select min(t.timestamp) from TelemetriaEntity t where 1 = 1" + filtroJanela(de, ate);
+
+    return parametrosJanela(getEntityManager().createQuery(jpql, LocalDateTime.class), de, ate)
+        .getSingleResult();
+  }
+
+  /**
+   * Exclui, em uma transação curta, até a quantidade informada de registros
+   * anteriores ao limite. Chamado repetidamente pela compactação, de modo que
+   * o bloqueio de escrita do SQLite não fique retido durante toda a limpeza.
+   *
+   * @param limite Registros com timestamp anterior a este instante são excluídos
+   * @param tamanhoLote Quantidade máxima de registros excluídos
+   * @return Quantidade de registros excluídos
+   */
+  @Transactional
+  public int excluirAnteriores(LocalDateTime limite, int tamanhoLote) {
+    List<Long> ids = getEntityManager()
+        .createQuery("select t.id from TelemetriaEntity t where t.timestamp < :limite order by t.id", Long.class)
+        .setParameter("limite", limite)
+        .setMaxResults(tamanhoLote)
+        .getResultList();
+
+    return ids.isEmpty() ? 0 : (int) delete("id in ?1", ids);
+  }
+
+  static String filtroJanela(LocalDateTime de, LocalDateTime ate) {
+    return (de != null ? " and t.timestamp >= :de" : "")
+        + (ate != null ? " and t.timestamp < :ate" : "");
+  }
+
+  static <T> TypedQuery<T> parametrosJanela(TypedQuery<T> query, LocalDateTime de, LocalDateTime ate) {
+    if (de != null) {
+      query.setParameter("de", de);
+    }
+    if (ate != null) {
+      query.setParameter("ate", ate);
+    }
+    return query;
+  }
 }
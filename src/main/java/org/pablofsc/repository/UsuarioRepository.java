@@ -2,6 +2,7 @@ package org.pablofsc.repository;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
 import org.pablofsc.domain.entity.UsuarioEntity;
 
 import java.util.Optional;
@@ -12,4 +13,18 @@ public class UsuarioRepository implements PanacheRepository<UsuarioEntity> {
   public Optional<UsuarioEntity> findByEmail(String email) {
     return find("email", email).firstResultOptional();
   }
+
+  /**
+   * Troca o hash da senha do usuário, desde que ele ainda seja o hash lido
+   * antes; uma troca de senha concorrente não é sobrescrita.
+   *
+   * @param id ID do usuário
+   * @param senhaAtual Hash lido antes do cálculo do novo hash
+   * @param novaSenha Novo hash
+   * @return true se o hash foi trocado
+   */
+  @Transactional
+  public boolean atualizarSenha(Long id, String senhaAtual, String novaSenha) {
+    return update("senha = ?1 where id = ?2 and senha = ?3", novaSenha, id, senhaAtual) > 0;
+  }
 }
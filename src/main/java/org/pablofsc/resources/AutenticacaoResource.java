@@ -1,7 +1,9 @@
 package org.pablofsc.resources;
 
 import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
@@ -14,8 +16,11 @@ import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.pablofsc.domain.enums.RoleUsuarioEnum;
+import org.pablofsc.domain.exception.ServicoSobrecarregadoException;
 import org.pablofsc.domain.request.LoginRequest;
 import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.EstatisticasHashSenhaResponse;
 import org.pablofsc.domain.response.LoginResponse;
 import org.pablofsc.domain.response.ValidationErrorResponse;
 import org.pablofsc.service.AutenticacaoService;
@@ -26,6 +31,9 @@ import org.pablofsc.service.AutenticacaoService;
 @Tag(name = "Autenticação", description = "Endpoints para autenticação e registro de usuários")
 public class AutenticacaoResource {
 
+  // Segundos sugeridos ao cliente antes de tentar de novo com o pool de hash saturado
+  private static final String RETRY_AFTER_SEGUNDOS = "1";
+
   @Inject
   AutenticacaoService autenticacaoService;
 
@@ -47,6 +55,7 @@ public class AutenticacaoResource {
             "timestamp": "2025-11-21T14:35:22-03:00",
             "path": "/auth/login"
           }"""))),
+      @APIResponse(responseCode = "503", description = "Muitas autenticações simultâneas; tente novamente após o tempo do cabeçalho Retry-After", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
       @APIResponse(responseCode = "422", description = "Dados de entrada inválidos", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ValidationErrorResponse.class), examples = @ExampleObject(name = "Erro de validação", value = """
           {
             "mensagem": "Erro ao validar requisição",
@@ -71,6 +80,8 @@ public class AutenticacaoResource {
     try {
       LoginResponse response = autenticacaoService.autenticar(request);
       return Response.ok(response).build();
+    } catch (ServicoSobrecarregadoException e) {
+      return sobrecarregado(e);
     } catch (Exception e) {
       return Response.status(Response.Status.UNAUTHORIZED)
           .entity(new ErrorResponse("Credenciais inválidas", "ERR_AUTH_401", e.getMessage()))
@@ -95,6 +106,7 @@ public class AutenticacaoResource {
             "path": "/auth/registrar"
           }"""))),
       @APIResponse(responseCode = "422", description = "Dados de entrada inválidos", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ValidationErrorResponse.class))),
+      @APIResponse(responseCode = "503", description = "Muitas autenticações simultâneas; tente novamente após o tempo do cabeçalho Retry-After", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
       @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
   })
   public Response registrar(LoginRequest request) {
@@ -103,6 +115,8 @@ public class AutenticacaoResource {
       return Response.status(Response.Status.CREATED)
           .entity(new MessageResponse("Usuário registrado com sucesso"))
           .build();
+    } catch (ServicoSobrecarregadoException e) {
+      return sobrecarregado(e);
     } catch (Exception e) {
       return Response.status(Response.Status.BAD_REQUEST)
           .entity(new ErrorResponse("Erro ao registrar usuário", "ERR_REGISTER_400", e.getMessage()))
@@ -110,6 +124,36 @@ public class AutenticacaoResource {
     }
   }
 
+  @GET
+  @Path("/bcrypt")
+  @RolesAllowed(RoleUsuarioEnum.ADMIN_ROLE)
+  @Operation(summary = "Estatísticas do hash de senhas", description = "Retorna o custo calibrado do Bcrypt e a ocupação do pool de hash de senhas: threads ativas, fila, maior fila, tarefas concluídas e recusadas")
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Estatísticas do pool", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = EstatisticasHashSenhaResponse.class), examples = @ExampleObject(name = "Estatísticas", value = """
+          {
+            "custo": 12,
+            "threads": 2,
+            "ativas": 2,
+            "naFila": 5,
+            "capacidadeFila": 64,
+            "maiorFila": 41,
+            "concluidas": 18230,
+            "rejeicoes": 17
+          }"""))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON))
+  })
+  public Response obterEstatisticasHash() {
+    return Response.ok(autenticacaoService.obterEstatisticasHash()).build();
+  }
+
+  private static Response sobrecarregado(ServicoSobrecarregadoException e) {
+    return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+        .header("Retry-After", RETRY_AFTER_SEGUNDOS)
+        .entity(new ErrorResponse("Serviço sobrecarregado", "ERR_OVERLOADED_503", e.getMessage()))
+        .build();
+  }
+
   public record MessageResponse(String mensagem) {
   }
 }
@@ -7,8 +7,10 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.ExampleObject;
@@ -18,9 +20,16 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.model.Investimento;
 import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.ProjecaoCarteiraResponse;
+import org.pablofsc.domain.response.ResumoCarteiraResponse;
 import org.pablofsc.service.InvestimentoService;
 
+import java.net.URI;
+import java.util.List;
+
 @Path("/investimentos")
 @Produces(MediaType.APPLICATION_JSON)
 @RolesAllowed(RoleUsuarioEnum.ADMIN_ROLE)
@@ -33,7 +42,7 @@ public class InvestimentoResource {
 
   @GET
   @Path("/{clienteId}")
-  @Operation(summary = "Obter investimentos por cliente", description = "Retorna lista de todos os investimentos de um cliente específico. Requer autenticação e role de ADMIN.")
+  @Operation(summary = "Obter investimentos por cliente", description = "Retorna uma página dos investimentos de um cliente específico, do mais antigo para o mais recente. Quando houver mais investimentos, o cabeçalho Link (rel=\"next\") aponta para a próxima página, usando o ID do último investimento como cursor. Requer autenticação e role de ADMIN.")
   @APIResponses({
       @APIResponse(responseCode = "200", description = "Investimentos encontrados", content = @Content(mediaType = MediaType.APPLICATION_JSON, examples = @ExampleObject(name = "Sucesso", value = """
           [
@@ -52,6 +61,12 @@ public class InvestimentoResource {
               "data": "2025-10-22"
             }
           ]"""))),
+      @APIResponse(responseCode = "400", description = "Parâmetros de paginação inválidos", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Limite inválido", value = """
+          {
+            "mensagem": "Parâmetro inválido",
+            "codigo": "ERR_INVALID_PARAMETER",
+            "detalhes": "Limite deve estar entre 1 e 1000"
+          }"""))),
       @APIResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Não encontrado", value = """
           {
             "mensagem": "Cliente não encontrado",
@@ -65,7 +80,114 @@ public class InvestimentoResource {
       @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
   })
   public Response obterInvestimentosPorCliente(
+      @Parameter(name = "clienteId", description = "Identificador único do cliente", example = "123", required = true) @PathParam("clienteId") Long clienteId,
+      @Parameter(name = "limit", description = "Quantidade máxima de investimentos na página (1 a 1000, padrão 100)", example = "100") @QueryParam("limit") Integer limit,
+      @Parameter(name = "after", description = "ID do último investimento da página anterior", example = "2") @QueryParam("after") Long after) {
+    int limite = limit != null ? limit : InvestimentoService.LIMITE_PADRAO;
+    try {
+      List<Investimento> investimentos = service.obterInvestimentosPorCliente(clienteId, after, limite);
+      Response.ResponseBuilder response = Response.ok(investimentos);
+      if (investimentos.size() == limite) {
+        response.link(proximaPagina(clienteId, investimentos.get(investimentos.size() - 1).getId(), limite), "next");
+      }
+      return response.build();
+    } catch (ParametroInvalidoException e) {
+      return parametroInvalido(e);
+    }
+  }
+
+  @GET
+  @Path("/{clienteId}/resumo")
+  @Operation(summary = "Obter resumo da carteira do cliente", description = "Retorna o total investido, a quantidade de investimentos e a rentabilidade média ponderada pelo valor, no geral e por tipo de produto. Os totais são mantidos a cada investimento gravado, sem percorrer a carteira. Requer autenticação e role de ADMIN.")
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Resumo da carteira", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ResumoCarteiraResponse.class), examples = @ExampleObject(name = "Sucesso", value = """
+          {
+            "clienteId": 123,
+            "quantidadeInvestimentos": 3,
+            "totalInvestido": 45000.00,
+            "rentabilidadeMedia": 0.1122,
+            "porTipo": [
+              {
+                "tipo": "CDB",
+                "quantidadeInvestimentos": 2,
+                "totalInvestido": 30000.00,
+                "rentabilidadeMedia": 0.12
+              },
+              {
+                "tipo": "FUNDO",
+                "quantidadeInvestimentos": 1,
+                "totalInvestido": 15000.00,
+                "rentabilidadeMedia": 0.0967
+              }
+            ]
+          }"""))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public Response obterResumo(
       @Parameter(name = "clienteId", description = "Identificador único do cliente", example = "123", required = true) @PathParam("clienteId") Long clienteId) {
-    return Response.ok(service.obterInvestimentosPorCliente(clienteId)).build();
+    return Response.ok(service.obterResumo(clienteId)).build();
+  }
+
+  @GET
+  @Path("/{clienteId}/projecao")
+  @Operation(summary = "Projetar carteira do cliente", description = "Projeta o valor de todos os investimentos atuais do cliente na data alvo, com juros compostos sobre os meses completos desde cada investimento, e soma os resultados por tipo de produto. Nada é gravado no histórico de simulações. Requer autenticação e role de ADMIN.")
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Carteira projetada", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ProjecaoCarteiraResponse.class), examples = @ExampleObject(name = "Sucesso", value = """
+          {
+            "clienteId": 123,
+            "dataAlvo": "2030-01-01",
+            "quantidadeInvestimentos": 2,
+            "totalInvestido": 40500.50,
+            "valorProjetado": 64870.12,
+            "porTipo": [
+              {
+                "tipo": "CDB",
+                "quantidadeInvestimentos": 1,
+                "totalInvestido": 15500.50,
+                "valorProjetado": 25102.33
+              },
+              {
+                "tipo": "RENDA_FIXA",
+                "quantidadeInvestimentos": 1,
+                "totalInvestido": 25000.00,
+                "valorProjetado": 39767.79
+              }
+            ]
+          }"""))),
+      @APIResponse(responseCode = "400", description = "Data alvo ausente ou inválida", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Data inválida", value = """
+          {
+            "mensagem": "Parâmetro inválido",
+            "codigo": "ERR_INVALID_PARAMETER",
+            "detalhes": "Parâmetro data deve estar no formato AAAA-MM-DD"
+          }"""))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public Response projetarCarteira(
+      @Parameter(name = "clienteId", description = "Identificador único do cliente", example = "123", required = true) @PathParam("clienteId") Long clienteId,
+      @Parameter(name = "data", description = "Data alvo da projeção, no formato AAAA-MM-DD", example = "2030-01-01", required = true) @QueryParam("data") String data) {
+    try {
+      return Response.ok(service.projetarCarteira(clienteId, ParametrosConsulta.data(data, "data"))).build();
+    } catch (ParametroInvalidoException e) {
+      return parametroInvalido(e);
+    }
+  }
+
+  private static URI proximaPagina(Long clienteId, Long aposId, int limite) {
+    return UriBuilder.fromPath("/investimentos/{clienteId}")
+        .queryParam("after", aposId)
+        .queryParam("limit", limite)
+        .build(clienteId);
+  }
+
+  private static Response parametroInvalido(ParametroInvalidoException e) {
+    ErrorResponse error = new ErrorResponse(
+        "Parâmetro inválido",
+        "ERR_INVALID_PARAMETER",
+        e.getMessage());
+    return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
   }
 }
@@ -0,0 +1,62 @@
+package org.pablofsc.resources;
+
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversão dos parâmetros de consulta compartilhados pelos recursos.
+ */
+final class ParametrosConsulta {
+
+  private ParametrosConsulta() {
+    // Classe utilitária
+  }
+
+  /**
+   * Converte data ou data e hora. Uma data sem hora no fim da janela inclui
+   * o dia inteiro.
+   *
+   * @param valor Valor no formato AAAA-MM-DD ou AAAA-MM-DDTHH:MM:SS
+   * @param nome Nome do parâmetro, usado na mensagem de erro
+   * @param fimDaJanela Se true, uma data sem hora vira o início do dia seguinte
+   * @return Data e hora, ou nulo se o valor estiver vazio
+   * @throws ParametroInvalidoException Se o valor estiver em outro formato
+   */
+  static LocalDateTime dataHora(String valor, String nome, boolean fimDaJanela) {
+    if (valor == null || valor.isBlank()) {
+      return null;
+    }
+    try {
+      if (valor.length() == 10) {
+        LocalDate data = LocalDate.parse(valor);
+        return fimDaJanela ? data.plusDays(1).atStartOfDay() : data.atStartOfDay();
+      }
+      return LocalDateTime.parse(valor);
+    } catch (DateTimeParseException e) {
+      throw new ParametroInvalidoException(
+          "Parâmetro " + nome + " deve estar no formato AAAA-MM-DD ou AAAA-MM-DDTHH:MM:SS");
+    }
+  }
+
+  /**
+   * Converte uma data.
+   *
+   * @param valor Valor no formato AAAA-MM-DD
+   * @param nome Nome do parâmetro, usado na mensagem de erro
+   * @return Data, ou nulo se o valor estiver vazio
+   * @throws ParametroInvalidoException Se o valor estiver em outro formato
+   */
+  static LocalDate data(String valor, String nome) {
+    if (valor == null || valor.isBlank()) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(valor);
+    } catch (DateTimeParseException e) {
+      throw new ParametroInvalidoException("Parâmetro " + nome + " deve estar no formato AAAA-MM-DD");
+    }
+  }
+}
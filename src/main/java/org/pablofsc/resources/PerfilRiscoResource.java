@@ -19,6 +19,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.EstatisticasCacheResponse;
 import org.pablofsc.domain.response.PerfilRiscoResponse;
 import org.pablofsc.service.PerfilRiscoService;
 
@@ -59,4 +60,26 @@ public class PerfilRiscoResource {
       @Parameter(name = "clienteId", description = "Identificador único do cliente", example = "123", required = true) @PathParam("clienteId") Long clienteId) {
     return Response.ok(service.obterPerfilRisco(clienteId)).build();
   }
+
+  @GET
+  @Path("/cache")
+  @Operation(summary = "Estatísticas do cache de perfis", description = "Retorna tamanho, acertos, falhas, taxa de acerto, descartes, expirações e invalidações do cache de perfis de risco por cliente")
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Estatísticas do cache", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = EstatisticasCacheResponse.class), examples = @ExampleObject(name = "Estatísticas", value = """
+          {
+            "tamanho": 2840,
+            "capacidade": 10000,
+            "acertos": 95210,
+            "falhas": 3120,
+            "taxaAcerto": 0.9683,
+            "descartes": 0,
+            "expiracoes": 280,
+            "invalidacoes": 12
+          }"""))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON))
+  })
+  public Response obterEstatisticasCache() {
+    return Response.ok(service.obterEstatisticasCache()).build();
+  }
 }
@@ -68,7 +68,7 @@ public class ProdutoRecomendadoResource {
       @Parameter(name = "perfil", description = "Perfil de cliente para o qual obter recomendações (CONSERVADOR, MODERADO, AGRESSIVO)", example = "MODERADO", required = true) @PathParam("perfil") String perfil) {
     try {
       PerfilCliente perfilEnum = PerfilCliente.valueOf(perfil.toUpperCase());
-      return Response.ok(service.obterProdutosRecomendados(perfilEnum)).build();
+      return Response.ok(service.obterProdutosRecomendadosJson(perfilEnum), MediaType.APPLICATION_JSON).build();
     } catch (IllegalArgumentException e) {
       ErrorResponse error = new ErrorResponse(
           "Perfil inválido. Use: CONSERVADOR, MODERADO ou AGRESSIVO",
@@ -6,9 +6,14 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriBuilder;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.ExampleObject;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
@@ -16,10 +21,19 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.model.FiltroSimulacao;
+import org.pablofsc.domain.model.SimulacaoHistorico;
 import org.pablofsc.domain.response.ErrorResponse;
 import org.pablofsc.service.SimulacaoHistoricoService;
 import org.pablofsc.service.SimulacaoPorProdutoDiaService;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
 @Path("/simulacoes")
 @Produces(MediaType.APPLICATION_JSON)
 @RolesAllowed(RoleUsuarioEnum.ADMIN_ROLE)
@@ -34,7 +48,7 @@ public class SimulacaoHistoricoResource {
   SimulacaoPorProdutoDiaService produtoDiaService;
 
   @GET
-  @Operation(summary = "Listar todas as simulações", description = "Retorna histórico completo de todas as simulações de investimento realizadas no sistema")
+  @Operation(summary = "Listar simulações", description = "Retorna uma página do histórico de simulações em ordem de ID, opcionalmente filtrada por cliente, produto, tipo de produto e período. Quando houver mais simulações, o cabeçalho Link (rel=\"next\") aponta para a próxima página, usando o ID da última simulação como cursor")
   @APIResponses({
       @APIResponse(responseCode = "200", description = "Simulações listadas com sucesso", content = @Content(mediaType = MediaType.APPLICATION_JSON, examples = @ExampleObject(name = "Lista de simulações", value = """
           [
@@ -57,12 +71,64 @@ public class SimulacaoHistoricoResource {
               "dataSimulacao": "2025-11-21T09:15:00-03:00"
             }
           ]"""))),
+      @APIResponse(responseCode = "400", description = "Limite, cursor ou filtros inválidos", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Limite inválido", value = """
+          {
+            "mensagem": "Parâmetro inválido",
+            "codigo": "ERR_INVALID_PARAMETER",
+            "detalhes": "Limite deve estar entre 1 e 1000"
+          }"""))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public Response listarSimulacoes(
+      @Parameter(name = "limit", description = "Quantidade máxima de simulações na página (1 a 1000, padrão 100)", example = "100") @QueryParam("limit") Integer limit,
+      @Parameter(name = "after", description = "ID da última simulação da página anterior", example = "2") @QueryParam("after") Long after,
+      @Parameter(name = "clienteId", description = "ID do cliente", example = "456") @QueryParam("clienteId") Long clienteId,
+      @Parameter(name = "produtoId", description = "ID do produto", example = "101") @QueryParam("produtoId") Long produtoId,
+      @Parameter(name = "tipo", description = "Tipo do produto: CDB, Fundo ou Renda Fixa", example = "CDB") @QueryParam("tipo") String tipo,
+      @Parameter(name = "from", description = "Início do período (inclusivo), no formato AAAA-MM-DD ou AAAA-MM-DDTHH:MM:SS", example = "2025-11-20") @QueryParam("from") String from,
+      @Parameter(name = "to", description = "Fim do período, no formato AAAA-MM-DD (dia inclusivo) ou AAAA-MM-DDTHH:MM:SS (exclusivo)", example = "2025-11-21") @QueryParam("to") String to) {
+    int limite = limit != null ? limit : SimulacaoHistoricoService.LIMITE_PADRAO;
+    try {
+      FiltroSimulacao filtro = filtro(clienteId, produtoId, tipo, from, to);
+      List<SimulacaoHistorico> simulacoes = service.listarSimulacoes(filtro, after, limite);
+      Response.ResponseBuilder response = Response.ok(simulacoes);
+      if (simulacoes.size() == limite) {
+        response.link(proximaPagina(simulacoes.get(simulacoes.size() - 1).getId(), limite,
+            clienteId, produtoId, tipo, from, to), "next");
+      }
+      return response.build();
+    } catch (ParametroInvalidoException e) {
+      return parametroInvalido(e);
+    }
+  }
+
+  @GET
+  @Path("/stream")
+  @Operation(summary = "Exportar todas as simulações", description = "Retorna o histórico completo, ou apenas as simulações que atendem aos filtros, como um array JSON escrito em streaming, à medida que as simulações são lidas do banco, sem carregar o histórico em memória")
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Simulações exportadas com sucesso", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = SimulacaoHistorico.class, type = SchemaType.ARRAY))),
+      @APIResponse(responseCode = "400", description = "Filtros inválidos", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
       @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
       @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
       @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
   })
-  public Response listarSimulacoes() {
-    return Response.ok(service.listarSimulacoes()).build();
+  public Response exportarSimulacoes(
+      @Parameter(name = "clienteId", description = "ID do cliente", example = "456") @QueryParam("clienteId") Long clienteId,
+      @Parameter(name = "produtoId", description = "ID do produto", example = "101") @QueryParam("produtoId") Long produtoId,
+      @Parameter(name = "tipo", description = "Tipo do produto: CDB, Fundo ou Renda Fixa", example = "CDB") @QueryParam("tipo") String tipo,
+      @Parameter(name = "from", description = "Início do período (inclusivo), no formato AAAA-MM-DD ou AAAA-MM-DDTHH:MM:SS", example = "2025-11-20") @QueryParam("from") String from,
+      @Parameter(name = "to", description = "Fim do período, no formato AAAA-MM-DD (dia inclusivo) ou AAAA-MM-DDTHH:MM:SS (exclusivo)", example = "2025-11-21") @QueryParam("to") String to) {
+    try {
+      FiltroSimulacao filtro = filtro(clienteId, produtoId, tipo, from, to);
+      // Validado antes de iniciar a resposta, que não pode mais virar 400 depois
+      service.validarFiltro(filtro);
+      StreamingOutput saida = output -> service.exportarSimulacoes(filtro, output);
+      return Response.ok(saida).build();
+    } catch (ParametroInvalidoException e) {
+      return parametroInvalido(e);
+    }
   }
 
   @GET
@@ -91,4 +157,57 @@ public class SimulacaoHistoricoResource {
   public Response listarSimulacoesPorProdutoDia() {
     return Response.ok(produtoDiaService.listarSimulacoesPorProdutoDia()).build();
   }
+
+  private static FiltroSimulacao filtro(Long clienteId, Long produtoId, String tipo, String from, String to) {
+    LocalDateTime de = ParametrosConsulta.dataHora(from, "from", false);
+    LocalDateTime ate = ParametrosConsulta.dataHora(to, "to", true);
+    return FiltroSimulacao.builder()
+        .clienteId(clienteId)
+        .produtoId(produtoId)
+        .tipo(tipoProduto(tipo))
+        .de(de != null ? de.atZone(ZoneId.systemDefault()) : null)
+        .ate(ate != null ? ate.atZone(ZoneId.systemDefault()) : null)
+        .build();
+  }
+
+  /**
+   * Aceita a descrição do tipo (ex: "Renda Fixa") ou o nome da constante (ex: RENDA_FIXA).
+   */
+  private static TipoProdutoEnum tipoProduto(String tipo) {
+    if (tipo == null || tipo.isBlank()) {
+      return null;
+    }
+    TipoProdutoEnum tipoProduto = TipoProdutoEnum.fromDescricaoOuNome(tipo);
+    if (tipoProduto == null) {
+      throw new ParametroInvalidoException("Tipo de produto deve ser CDB, Fundo ou Renda Fixa");
+    }
+    return tipoProduto;
+  }
+
+  private static URI proximaPagina(
+      Long aposId, int limite, Long clienteId, Long produtoId, String tipo, String from, String to) {
+    UriBuilder uri = UriBuilder.fromPath("/simulacoes")
+        .queryParam("after", aposId)
+        .queryParam("limit", limite);
+    adicionarSePresente(uri, "clienteId", clienteId);
+    adicionarSePresente(uri, "produtoId", produtoId);
+    adicionarSePresente(uri, "tipo", tipo);
+    adicionarSePresente(uri, "from", from);
+    adicionarSePresente(uri, "to", to);
+    return uri.build();
+  }
+
+  private static void adicionarSePresente(UriBuilder uri, String nome, Object valor) {
+    if (valor != null && !valor.toString().isBlank()) {
+      uri.queryParam(nome, valor);
+    }
+  }
+
+  private static Response parametroInvalido(ParametroInvalidoException e) {
+    ErrorResponse error = new ErrorResponse(
+        "Parâmetro inválido",
+        "ERR_INVALID_PARAMETER",
+        e.getMessage());
+    return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+  }
 }
@@ -7,12 +7,15 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.ExampleObject;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
@@ -22,10 +25,16 @@ import org.pablofsc.domain.exception.ClienteNaoEncontradoException;
 import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
 import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.request.VarreduraSimulacaoRequest;
 import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.ProjecaoInvestimentoResponse;
 import org.pablofsc.domain.response.SimulacaoInvestimentoResponse;
+import org.pablofsc.domain.response.SimulacaoLoteResponse;
+import org.pablofsc.domain.response.VarreduraSimulacaoResponse;
 import org.pablofsc.service.SimulacaoInvestimentoService;
 
+import java.util.List;
+
 @Path("/simular-investimento")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -107,4 +116,196 @@ public class SimulacaoInvestimentoResource {
       return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
     }
   }
+
+  @POST
+  @Path("/projecao")
+  @Operation(summary = "Projetar evolução do investimento", description = "Retorna o valor projetado mês a mês da simulação, do mês 0 até o fim do prazo, em uma única chamada. O intervalo opcional reduz a quantidade de pontos; o último mês do prazo é sempre incluído. A projeção não é gravada no histórico de simulações")
+  @RequestBody(description = "Parâmetros para simular o investimento", required = true, content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = SimulacaoInvestimentoRequest.class), examples = @ExampleObject(name = "Projeção válida", value = """
+      {
+        "clienteId": 2,
+        "valor": 10000.00,
+        "prazoMeses": 24,
+        "tipoProduto": "CDB"
+      }""")))
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Projeção realizada com sucesso", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ProjecaoInvestimentoResponse.class), examples = @ExampleObject(name = "Projeção a cada 12 meses", value = """
+          {
+            "produtoValidado": {
+              "id": 103,
+              "nome": "CDB Caixa Maneiro",
+              "tipo": "CDB",
+              "rentabilidade": 0.13,
+              "risco": "Baixo"
+            },
+            "resultadoSimulacao": {
+              "valorFinal": 12769.00,
+              "rentabilidadeEfetiva": 0.13,
+              "prazoMeses": 24
+            },
+            "intervaloMeses": 12,
+            "serie": [
+              { "mes": 0, "valor": 10000.00 },
+              { "mes": 12, "valor": 11300.00 },
+              { "mes": 24, "valor": 12769.00 }
+            ]
+          }"""))),
+      @APIResponse(responseCode = "400", description = "Parâmetros ou intervalo inválidos, ou produto não encontrado", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
+      @APIResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public Response projetarInvestimento(
+      SimulacaoInvestimentoRequest request,
+      @Parameter(name = "intervaloMeses", description = "Intervalo em meses entre os pontos da série (padrão 1, todos os meses)", example = "12") @QueryParam("intervaloMeses") Integer intervaloMeses) {
+    try {
+      return Response.ok(service.projetarInvestimento(request, intervaloMeses)).build();
+    } catch (ClienteNaoEncontradoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Cliente não encontrado",
+          "ERR_CLIENT_NOT_FOUND",
+          e.getMessage());
+      return Response.status(Response.Status.NOT_FOUND).entity(error).build();
+    } catch (ProdutoNaoEncontradoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Produto não encontrado",
+          "ERR_PRODUCT_NOT_FOUND",
+          e.getMessage());
+      return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    } catch (ParametroInvalidoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Parâmetro inválido",
+          "ERR_INVALID_PARAMETER",
+          e.getMessage());
+      return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    }
+  }
+
+  @POST
+  @Path("/varredura")
+  @Operation(summary = "Comparar produtos e prazos", description = "Calcula o valor final do investimento em todos os produtos compatíveis com o cliente (opcionalmente restritos a alguns tipos) e em cada prazo informado, em uma única chamada. Por padrão, nenhuma simulação é gravada no histórico")
+  @RequestBody(description = "Cliente, valor e prazos a comparar", required = true, content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = VarreduraSimulacaoRequest.class), examples = @ExampleObject(name = "Comparação de prazos", value = """
+      {
+        "clienteId": 2,
+        "valor": 10000.00,
+        "prazosMeses": [12, 24, 36],
+        "tiposProduto": ["CDB", "Renda Fixa"],
+        "persistir": false
+      }""")))
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Comparação realizada com sucesso", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = VarreduraSimulacaoResponse.class), examples = @ExampleObject(name = "Matriz de valores finais", value = """
+          {
+            "clienteId": 2,
+            "valor": 10000.00,
+            "prazosMeses": [12, 24, 36],
+            "produtos": [
+              {
+                "produto": {
+                  "id": 103,
+                  "nome": "CDB Caixa Maneiro",
+                  "tipo": "CDB",
+                  "rentabilidade": 0.13,
+                  "risco": "Baixo"
+                },
+                "valoresFinais": [11300.00, 12769.00, 14428.97]
+              }
+            ]
+          }"""))),
+      @APIResponse(responseCode = "400", description = "Parâmetros inválidos ou nenhum produto compatível", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
+      @APIResponse(responseCode = "404", description = "Cliente não encontrado", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public Response varrerSimulacoes(VarreduraSimulacaoRequest request) {
+    try {
+      return Response.ok(service.varrerSimulacoes(request)).build();
+    } catch (ClienteNaoEncontradoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Cliente não encontrado",
+          "ERR_CLIENT_NOT_FOUND",
+          e.getMessage());
+      return Response.status(Response.Status.NOT_FOUND).entity(error).build();
+    } catch (ProdutoNaoEncontradoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Produto não encontrado",
+          "ERR_PRODUCT_NOT_FOUND",
+          e.getMessage());
+      return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    } catch (ParametroInvalidoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Parâmetro inválido",
+          "ERR_INVALID_PARAMETER",
+          e.getMessage());
+      return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    }
+  }
+
+  @POST
+  @Path("/lote")
+  @Operation(summary = "Simular investimentos em lote", description = "Realiza várias simulações em uma única requisição e transação, retornando o resultado ou o erro de cada item na ordem recebida")
+  @RequestBody(description = "Lista de simulações (máximo de 1000 itens)", required = true, content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.ARRAY, implementation = SimulacaoInvestimentoRequest.class), examples = @ExampleObject(name = "Lote de simulações", value = """
+      [
+        {
+          "clienteId": 2,
+          "valor": 10000.00,
+          "prazoMeses": 12,
+          "tipoProduto": "CDB"
+        },
+        {
+          "clienteId": 999,
+          "valor": 5000.00,
+          "prazoMeses": 24,
+          "tipoProduto": "Renda Fixa"
+        }
+      ]""")))
+  @APIResponses({
+      @APIResponse(responseCode = "200", description = "Lote processado; cada item indica sucesso ou erro", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = SimulacaoLoteResponse.class), examples = @ExampleObject(name = "Resultado do lote", value = """
+          {
+            "quantidadeTotal": 2,
+            "quantidadeSucesso": 1,
+            "quantidadeErro": 1,
+            "itens": [
+              {
+                "indice": 0,
+                "simulacao": {
+                  "produtoValidado": {
+                    "id": 103,
+                    "nome": "CDB Caixa Maneiro",
+                    "tipo": "CDB",
+                    "rentabilidade": 0.13,
+                    "risco": "Baixo"
+                  },
+                  "resultadoSimulacao": {
+                    "valorFinal": 11300.00,
+                    "rentabilidadeEfetiva": 0.13,
+                    "prazoMeses": 12
+                  },
+                  "dataSimulacao": "2025-11-21T18:42:17Z"
+                }
+              },
+              {
+                "indice": 1,
+                "erro": {
+                  "mensagem": "Cliente não encontrado",
+                  "codigo": "ERR_CLIENT_NOT_FOUND",
+                  "detalhes": "Cliente com ID 999 não encontrado",
+                  "timestamp": "2025-11-21T15:42:17-03:00"
+                }
+              }
+            ]
+          }"""))),
+      @APIResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class))),
+      @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
+      @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public Response simularLote(List<SimulacaoInvestimentoRequest> requests) {
+    try {
+      return Response.ok(service.simularLote(requests)).build();
+    } catch (ParametroInvalidoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Parâmetro inválido",
+          "ERR_INVALID_PARAMETER",
+          e.getMessage());
+      return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    }
+  }
 }
@@ -6,16 +6,20 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.ExampleObject;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.response.ErrorResponse;
 import org.pablofsc.domain.response.TelemetriaResponse;
 import org.pablofsc.service.TelemetriaService;
@@ -31,7 +35,7 @@ public class TelemetriaResource {
   TelemetriaService service;
 
   @GET
-  @Operation(summary = "Obter telemetrias do sistema", description = "Retorna métricas operacionais e dados de monitoramento do sistema, incluindo performance, acessos e erros")
+  @Operation(summary = "Obter telemetrias do sistema", description = "Retorna métricas operacionais e dados de monitoramento do sistema, incluindo performance, acessos e erros, opcionalmente restritas a uma janela de tempo e agrupadas por hora ou dia. Para cada serviço, informa quantidade de chamadas, tempo médio, percentis de latência (p50, p90, p99, p99.9) e máximo em microssegundos, além do tempo médio de cada fase da requisição (entrada, recurso e serialização)")
   @APIResponses({
       @APIResponse(responseCode = "200", description = "Telemetrias obtidas com sucesso", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = TelemetriaResponse.class), examples = @ExampleObject(name = "Dados de telemetria", value = """
           {
@@ -39,17 +43,44 @@ public class TelemetriaResource {
               {
                 "nome": "API de Autenticação",
                 "quantidadeChamadas": 12543,
-                "mediaTempoRespostaMs": 145
+                "mediaTempoRespostaMs": 145,
+                "mediaTempoRespostaUs": 145412,
+                "p50Us": 132087,
+                "p90Us": 210311,
+                "p99Us": 390655,
+                "p999Us": 744023,
+                "maximoUs": 1210508,
+                "mediaEntradaUs": 96,
+                "mediaRecursoUs": 145275,
+                "mediaSerializacaoUs": 41
               },
               {
                 "nome": "API de Simulação",
                 "quantidadeChamadas": 8234,
-                "mediaTempoRespostaMs": 287
+                "mediaTempoRespostaMs": 287,
+                "mediaTempoRespostaUs": 287412,
+                "p50Us": 255087,
+                "p90Us": 446311,
+                "p99Us": 892655,
+                "p999Us": 1535023,
+                "maximoUs": 2210508,
+                "mediaEntradaUs": 96,
+                "mediaRecursoUs": 287275,
+                "mediaSerializacaoUs": 41
               },
               {
                 "nome": "API de Investimentos",
                 "quantidadeChamadas": 5421,
-                "mediaTempoRespostaMs": 198
+                "mediaTempoRespostaMs": 198,
+                "mediaTempoRespostaUs": 198412,
+                "p50Us": 176087,
+                "p90Us": 300311,
+                "p99Us": 574655,
+                "p999Us": 1023023,
+                "maximoUs": 1460508,
+                "mediaEntradaUs": 96,
+                "mediaRecursoUs": 198275,
+                "mediaSerializacaoUs": 41
               }
             ],
             "periodo": {
@@ -57,12 +88,43 @@ public class TelemetriaResource {
               "fim": "2025-11-21"
             }
           }"""))),
+      @APIResponse(responseCode = "400", description = "Parâmetros de janela ou granularidade inválidos", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Granularidade inválida", value = """
+          {
+            "mensagem": "Parâmetro inválido",
+            "codigo": "ERR_INVALID_PARAMETER",
+            "detalhes": "Granularidade deve ser TOTAL, HORA ou DIA"
+          }"""))),
       @APIResponse(responseCode = "401", description = "Não autorizado - Token inválido ou expirado", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
       @APIResponse(responseCode = "403", description = "Acesso proibido - Permissão insuficiente", content = @Content(mediaType = MediaType.APPLICATION_JSON)),
       @APIResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ErrorResponse.class)))
   })
-  public Response obterTelemetrias() {
-    TelemetriaResponse telemetria = service.obterTelemetrias();
-    return Response.ok(telemetria).build();
+  public Response obterTelemetrias(
+      @Parameter(name = "from", description = "Início da janela (inclusivo), no formato AAAA-MM-DD ou AAAA-MM-DDTHH:MM:SS", example = "2025-11-21") @QueryParam("from") String from,
+      @Parameter(name = "to", description = "Fim da janela, no formato AAAA-MM-DD (dia inclusivo) ou AAAA-MM-DDTHH:MM:SS (exclusivo)", example = "2025-11-21") @QueryParam("to") String to,
+      @Parameter(name = "granularity", description = "Agrupamento temporal adicional: TOTAL (padrão), HORA ou DIA", example = "HORA") @QueryParam("granularity") String granularity) {
+    try {
+      TelemetriaResponse telemetria = service.obterTelemetrias(
+          ParametrosConsulta.dataHora(from, "from", false),
+          ParametrosConsulta.dataHora(to, "to", true),
+          converterGranularidade(granularity));
+      return Response.ok(telemetria).build();
+    } catch (ParametroInvalidoException e) {
+      ErrorResponse error = new ErrorResponse(
+          "Parâmetro inválido",
+          "ERR_INVALID_PARAMETER",
+          e.getMessage());
+      return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    }
+  }
+
+  private GranularidadeTelemetriaEnum converterGranularidade(String valor) {
+    if (valor == null || valor.isBlank()) {
+      return GranularidadeTelemetriaEnum.TOTAL;
+    }
+    try {
+      return GranularidadeTelemetriaEnum.valueOf(valor.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new ParametroInvalidoException("Granularidade deve ser TOTAL, HORA ou DIA");
+    }
   }
 }
@@ -0,0 +1,114 @@
+package org.pablofsc.security;
+
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.pablofsc.service.helper.CacheLimitado;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.LongSupplier;
+
+/**
+ * Parser de JWT que reaproveita a verificação de tokens já vistos.
+ * O mesmo token de 24 horas chega em toda requisição autenticada, e a
+ * verificação da assinatura RS256 é feita só na primeira vez; as seguintes
+ * devolvem o {@link JsonWebToken} guardado, com os mesmos claims lidos por
+ * {@link JwtSecurityContext}.
+ * A chave do cache é o SHA-256 do token bruto, de tamanho fixo, e só o mesmo
+ * token, byte a byte, reaproveita a verificação. O {@link JsonWebToken}
+ * guardado ainda carrega o token bruto ({@code getRawToken()} e o claim
+ * raw_token), então cada token fica em memória enquanto estiver no cache.
+ * Cada token sai do cache no seu exp (tokens sem exp não são guardados), e os
+ * expirados são removidos periodicamente.
+ * Substitui o parser padrão do smallrye-jwt usado na autenticação.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class JwtParserComCache extends DefaultJWTParser {
+
+  private final CacheLimitado<String, JsonWebToken> cache;
+
+  @Inject
+  public JwtParserComCache(
+      @ConfigProperty(name = "autenticacao.jwt.cache.capacidade", defaultValue = "10000") int capacidade) {
+    this(criarCache(capacidade, System::currentTimeMillis));
+  }
+
+  // Construtor para testes
+  public JwtParserComCache(CacheLimitado<String, JsonWebToken> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Cache de tokens verificados que expira cada token no seu claim exp.
+   *
+   * @param capacidade Quantidade máxima de tokens em cache
+   * @param relogioMillis Hora atual em milissegundos desde a época (ex: System::currentTimeMillis)
+   * @return Cache vazio
+   */
+  public static CacheLimitado<String, JsonWebToken> criarCache(int capacidade, LongSupplier relogioMillis) {
+    return new CacheLimitado<>(capacidade, relogioMillis, (jwt, agora) -> jwt.getExpirationTime() * 1000);
+  }
+
+  /**
+   * Verifica o token, ou devolve a verificação em cache se o mesmo token já
+   * foi verificado e ainda não expirou.
+   *
+   * @param token Token JWT bruto
+   * @return Token verificado
+   * @throws ParseException Se a assinatura ou os claims forem inválidos
+   */
+  @Override
+  public JsonWebToken parse(String token) throws ParseException {
+    return obterOuVerificar(token, super::parse);
+  }
+
+  JsonWebToken obterOuVerificar(String token, Verificacao verificacao) throws ParseException {
+    String chave = sha256(token);
+    JsonWebToken jwt = cache.obter(chave);
+    if (jwt == null) {
+      jwt = verificacao.verificar(token);
+      cache.guardar(chave, jwt);
+    }
+    return jwt;
+  }
+
+  @Scheduled(every = "${autenticacao.jwt.cache.limpeza:1m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void removerExpirados() {
+    cache.removerExpirados();
+  }
+
+  /**
+   * Contadores do cache de tokens verificados.
+   *
+   * @return Estatísticas acumuladas desde a inicialização
+   */
+  public CacheLimitado.Estatisticas estatisticas() {
+    return cache.estatisticas();
+  }
+
+  private static String sha256(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 é obrigatório em toda JVM
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @FunctionalInterface
+  interface Verificacao {
+    JsonWebToken verificar(String token) throws ParseException;
+  }
+}
@@ -1,13 +1,21 @@
 package org.pablofsc.service;
 
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 import org.pablofsc.domain.entity.UsuarioEntity;
 import org.pablofsc.domain.enums.RoleUsuarioEnum;
+import org.pablofsc.domain.exception.ServicoSobrecarregadoException;
 import org.pablofsc.domain.request.LoginRequest;
+import org.pablofsc.domain.response.EstatisticasHashSenhaResponse;
 import org.pablofsc.domain.response.LoginResponse;
 import org.pablofsc.repository.UsuarioRepository;
+import org.pablofsc.service.helper.ExecutorHashSenha;
 import org.pablofsc.service.helper.TokenBuilder;
 
 import java.time.Duration;
@@ -15,26 +23,96 @@ import java.time.Duration;
 /**
  * Serviço de autenticação e autorização de usuários.
  * Responsável por validar credenciais e gerar tokens JWT para acesso.
+ * O Bcrypt roda em um pool próprio e limitado (ver {@link ExecutorHashSenha}),
+ * fora da thread da requisição; com o pool saturado o login é recusado com
+ * {@link ServicoSobrecarregadoException}. O custo do Bcrypt é calibrado para
+ * a latência alvo em segundo plano, logo após a inicialização (até lá vale o
+ * custo padrão), e senhas gravadas com custo menor são refeitas no próximo
+ * login bem-sucedido.
  */
 @ApplicationScoped
 public class AutenticacaoService {
 
+  private static final Logger LOG = Logger.getLogger(AutenticacaoService.class);
+
   private final UsuarioRepository usuarioRepository;
   private final TokenBuilder tokenBuilder;
+  private final ExecutorHashSenha executorHash;
+  private final Duration latenciaAlvo;
+  private final int custoMinimo;
+  private final int custoMaximo;
 
   @Inject
-  public AutenticacaoService(UsuarioRepository usuarioRepository) {
-    this.usuarioRepository = usuarioRepository;
-    this.tokenBuilder = new TokenBuilder(
-        "caixaverso-investimentos",
-        "caixaverso-investimentos",
-        Duration.ofHours(24));
+  public AutenticacaoService(
+      UsuarioRepository usuarioRepository,
+      @ConfigProperty(name = "autenticacao.bcrypt.threads", defaultValue = "2") int threads,
+      @ConfigProperty(name = "autenticacao.bcrypt.fila", defaultValue = "64") int capacidadeFila,
+      @ConfigProperty(name = "autenticacao.bcrypt.latencia-alvo", defaultValue = "250ms") Duration latenciaAlvo,
+      @ConfigProperty(name = "autenticacao.bcrypt.custo-minimo", defaultValue = "10") int custoMinimo,
+      @ConfigProperty(name = "autenticacao.bcrypt.custo-maximo", defaultValue = "12") int custoMaximo) {
+    this(
+        usuarioRepository,
+        new TokenBuilder("caixaverso-investimentos", "caixaverso-investimentos", Duration.ofHours(24)),
+        new ExecutorHashSenha(threads, capacidadeFila),
+        latenciaAlvo,
+        custoMinimo,
+        custoMaximo);
   }
 
   // Construtor para testes
   public AutenticacaoService(UsuarioRepository usuarioRepository, TokenBuilder tokenBuilder) {
+    this(usuarioRepository, tokenBuilder, new ExecutorHashSenha(1, 16));
+  }
+
+  // Construtor para testes
+  public AutenticacaoService(UsuarioRepository usuarioRepository, TokenBuilder tokenBuilder,
+      ExecutorHashSenha executorHash) {
+    this(usuarioRepository, tokenBuilder, executorHash, Duration.ofMillis(250),
+        TokenBuilder.CUSTO_BCRYPT_PADRAO, TokenBuilder.CUSTO_BCRYPT_PADRAO);
+  }
+
+  // Construtor para testes
+  public AutenticacaoService(UsuarioRepository usuarioRepository, TokenBuilder tokenBuilder,
+      ExecutorHashSenha executorHash, Duration latenciaAlvo, int custoMinimo, int custoMaximo) {
     this.usuarioRepository = usuarioRepository;
     this.tokenBuilder = tokenBuilder;
+    this.executorHash = executorHash;
+    this.latenciaAlvo = latenciaAlvo;
+    this.custoMinimo = custoMinimo;
+    this.custoMaximo = custoMaximo;
+  }
+
+  void aoIniciar(@Observes StartupEvent event) {
+    // Fora da thread de inicialização, que não espera as medições do Bcrypt
+    Thread.ofPlatform()
+        .name("calibracao-bcrypt")
+        .daemon(true)
+        .start(this::calibrarEmSegundoPlano);
+  }
+
+  void aoEncerrar(@Observes ShutdownEvent event) {
+    executorHash.encerrar();
+  }
+
+  /**
+   * Mede o Bcrypt nesta máquina e passa a usar o maior custo que cabe na
+   * latência alvo, entre o custo mínimo e o máximo configurados.
+   *
+   * @return Custo escolhido
+   */
+  public int calibrarCusto() {
+    int custo = TokenBuilder.calibrarCusto(latenciaAlvo, custoMinimo, custoMaximo);
+    tokenBuilder.setCustoBcrypt(custo);
+    LOG.infof("Custo do Bcrypt calibrado em %d (latência alvo %d ms)", custo, latenciaAlvo.toMillis());
+    return custo;
+  }
+
+  private void calibrarEmSegundoPlano() {
+    try {
+      calibrarCusto();
+    } catch (RuntimeException e) {
+      LOG.errorf(e, "Falha ao calibrar o custo do Bcrypt; mantido o custo %d", tokenBuilder.getCustoBcrypt());
+    }
   }
 
   /**
@@ -43,16 +121,22 @@ public class AutenticacaoService {
    *
    * @param request Requisição contendo email e senha
    * @return Resposta com token JWT, email e nome do usuário
+   * @throws ServicoSobrecarregadoException Se o pool de hash de senhas estiver saturado
    * @throws RuntimeException Se email não encontrado ou senha inválida
    */
   public LoginResponse autenticar(LoginRequest request) {
     UsuarioEntity usuario = usuarioRepository.findByEmail(request.getEmail())
         .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
-    if (!tokenBuilder.verificarSenha(request.getSenha(), usuario.getSenha())) {
+    String senhaArmazenada = usuario.getSenha();
+    if (!executorHash.executar(() -> tokenBuilder.verificarSenha(request.getSenha(), senhaArmazenada))) {
       throw new RuntimeException("Senha inválida");
     }
 
+    if (tokenBuilder.precisaRehash(senhaArmazenada)) {
+      refazerHash(usuario, request.getSenha());
+    }
+
     String token = tokenBuilder.buildToken(usuario);
 
     return new LoginResponse(token, usuario.getEmail(), usuario.getNome());
@@ -64,6 +148,7 @@ public class AutenticacaoService {
    *
    * @param request Requisição contendo email e senha
    * @return Entidade do usuário criado
+   * @throws ServicoSobrecarregadoException Se o pool de hash de senhas estiver saturado
    * @throws RuntimeException Se email já foi cadastrado
    */
   @Transactional
@@ -74,7 +159,7 @@ public class AutenticacaoService {
 
     UsuarioEntity usuario = UsuarioEntity.builder()
         .email(request.getEmail())
-        .senha(tokenBuilder.criptografarSenha(request.getSenha()))
+        .senha(executorHash.executar(() -> tokenBuilder.criptografarSenha(request.getSenha())))
         .nome(request.getEmail().split("@")[0])
         .role(RoleUsuarioEnum.USER)
         .build();
@@ -82,4 +167,37 @@ public class AutenticacaoService {
     usuarioRepository.persist(usuario);
     return usuario;
   }
+
+  /**
+   * Retorna a ocupação do pool de hash de senhas e o custo atual do Bcrypt.
+   *
+   * @return Estatísticas do pool
+   */
+  public EstatisticasHashSenhaResponse obterEstatisticasHash() {
+    ExecutorHashSenha.Estatisticas estatisticas = executorHash.estatisticas();
+    return new EstatisticasHashSenhaResponse(
+        tokenBuilder.getCustoBcrypt(),
+        estatisticas.threads(),
+        estatisticas.ativas(),
+        estatisticas.naFila(),
+        estatisticas.capacidadeFila(),
+        estatisticas.maiorFila(),
+        estatisticas.concluidas(),
+        estatisticas.rejeicoes());
+  }
+
+  /**
+   * Grava a senha com o custo atual. A senha já foi validada, então uma falha
+   * aqui não impede o login; o hash é refeito em um próximo login.
+   */
+  private void refazerHash(UsuarioEntity usuario, String senha) {
+    try {
+      String novoHash = executorHash.executar(() -> tokenBuilder.criptografarSenha(senha));
+      usuarioRepository.atualizarSenha(usuario.getId(), usuario.getSenha(), novoHash);
+    } catch (ServicoSobrecarregadoException e) {
+      LOG.debugf("Rehash da senha do usuário %d adiado: pool de hash saturado", usuario.getId());
+    } catch (RuntimeException e) {
+      LOG.warnf(e, "Falha ao refazer o hash da senha do usuário %d", usuario.getId());
+    }
+  }
 }
@@ -2,14 +2,40 @@ package org.pablofsc.service;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.model.PontoProjecao;
+import org.pablofsc.service.helper.TabelaFatoresCrescimento;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * Serviço de cálculo de simulação de investimento.
  * Utiliza fórmula de juros compostos para projetar valores finais.
+ * Os fatores de crescimento de cada taxa são pré-calculados uma vez para
+ * todos os prazos aceitos (ver {@link TabelaFatoresCrescimento}), então cada
+ * cálculo é uma consulta à tabela e uma multiplicação, sem Math.pow.
  */
 @ApplicationScoped
 public class CalculoSimulacaoService {
 
+  // Prazo máximo aceito na simulação (30 anos)
+  static final int PRAZO_MAXIMO_TABELA = 360;
+
+  // As taxas vêm do catálogo de produtos; o limite só protege contra taxas arbitrárias
+  static final int LIMITE_TABELAS = 256;
+
+  // Abaixo disso, dividir o cálculo entre threads custa mais do que calcular
+  static final int CELULAS_CALCULO_PARALELO = 8192;
+
+  // Posições calculadas por tarefa na soma por grupo; abaixo de dois blocos o cálculo é sequencial
+  static final int POSICOES_POR_BLOCO = 4096;
+
+  private final Map<Double, TabelaFatoresCrescimento> tabelas = new ConcurrentHashMap<>();
+
   /**
    * Calcula valor final usando juros compostos: M = C * (1 + i)^t.
    * C = capital, i = taxa anual, t = tempo em anos.
@@ -22,25 +48,204 @@ public class CalculoSimulacaoService {
    */
   public Double calcularValorFinal(Double valorInicial, Double rentabilidade, Integer prazoMeses,
       TipoProdutoEnum tipo) {
-    if (rentabilidade == null || rentabilidade <= 0) {
+    if (rentabilidade == null) {
+      return arredondar(valorInicial);
+    }
+
+    return calcularValorFinal(valorInicial.doubleValue(), rentabilidade.doubleValue(), prazoMeses.intValue());
+  }
+
+  /**
+   * Calcula valor final com tipos primitivos, sem boxing.
+   *
+   * @param valorInicial  Valor inicial investido (R$)
+   * @param rentabilidade Taxa de rentabilidade anual; zero ou negativa mantém o valor inicial
+   * @param prazoMeses    Prazo em meses
+   * @return Valor final arredondado a 2 casas decimais
+   */
+  public double calcularValorFinal(double valorInicial, double rentabilidade, int prazoMeses) {
+    if (rentabilidade <= 0) {
       return arredondar(valorInicial);
     }
+    return arredondar(valorInicial * fatorCrescimento(rentabilidade, prazoMeses));
+  }
+
+  /**
+   * Calcula vários valores finais em uma única chamada. Tuplas consecutivas
+   * com a mesma taxa reutilizam a mesma tabela de fatores, então ordenar a
+   * entrada por taxa evita até a consulta ao mapa de tabelas.
+   *
+   * @param valores Valores iniciais investidos (R$)
+   * @param taxas   Taxas de rentabilidade anuais
+   * @param prazos  Prazos em meses
+   * @return Valores finais arredondados a 2 casas decimais, na mesma ordem da entrada
+   * @throws IllegalArgumentException Se os arrays tiverem tamanhos diferentes
+   */
+  public double[] calcularValoresFinais(double[] valores, double[] taxas, int[] prazos) {
+    if (valores.length != taxas.length || valores.length != prazos.length) {
+      throw new IllegalArgumentException("Valores, taxas e prazos devem ter o mesmo tamanho");
+    }
+
+    double[] resultado = new double[valores.length];
+    TabelaFatoresCrescimento tabela = null;
+    for (int i = 0; i < valores.length; i++) {
+      double taxa = taxas[i];
+      if (taxa <= 0) {
+        resultado[i] = arredondar(valores[i]);
+        continue;
+      }
+      if (tabela == null || tabela.getTaxaAnual() != taxa) {
+        tabela = tabela(taxa);
+      }
+      resultado[i] = arredondar(valores[i] * tabela.fator(prazos[i]));
+    }
+    return resultado;
+  }
+
+  /**
+   * Calcula a matriz de valores finais de um mesmo valor investido em várias
+   * taxas (linhas) e prazos (colunas). Cada linha usa uma única tabela de
+   * fatores; com muitas células, as linhas são calculadas em paralelo.
+   *
+   * @param valorInicial Valor inicial investido (R$)
+   * @param taxas        Taxas de rentabilidade anuais, uma por linha
+   * @param prazos       Prazos em meses, um por coluna
+   * @return Matriz [taxa][prazo] de valores finais arredondados a 2 casas decimais
+   */
+  public double[][] calcularMatriz(double valorInicial, double[] taxas, int[] prazos) {
+    double[][] matriz = new double[taxas.length][];
+    IntStream linhas = IntStream.range(0, taxas.length);
+    if ((long) taxas.length * prazos.length >= CELULAS_CALCULO_PARALELO) {
+      linhas = linhas.parallel();
+    }
+    linhas.forEach(i -> matriz[i] = calcularLinha(valorInicial, taxas[i], prazos));
+    return matriz;
+  }
+
+  /**
+   * Calcula o valor final de cada posição e soma os resultados por grupo
+   * (ex: tipo de produto), sem guardar os valores individuais. As posições
+   * são divididas em blocos calculados em paralelo; cada bloco soma em seu
+   * próprio vetor de totais, e os vetores são somados no final.
+   *
+   * @param valores Valores iniciais investidos (R$)
+   * @param taxas   Taxas de rentabilidade anuais
+   * @param prazos  Prazos em meses
+   * @param grupos  Grupo de cada posição, de 0 a quantidadeGrupos - 1
+   * @param quantidadeGrupos Quantidade de grupos
+   * @return Soma dos valores finais (arredondados a 2 casas) de cada grupo
+   * @throws IllegalArgumentException Se os arrays tiverem tamanhos diferentes
+   */
+  public double[] somarValoresFinaisPorGrupo(double[] valores, double[] taxas, int[] prazos, int[] grupos,
+      int quantidadeGrupos) {
+    if (valores.length != taxas.length || valores.length != prazos.length || valores.length != grupos.length) {
+      throw new IllegalArgumentException("Valores, taxas, prazos e grupos devem ter o mesmo tamanho");
+    }
+
+    int blocos = (valores.length + POSICOES_POR_BLOCO - 1) / POSICOES_POR_BLOCO;
+    IntStream indices = IntStream.range(0, blocos);
+    if (blocos > 1) {
+      indices = indices.parallel();
+    }
+    return indices
+        .mapToObj(bloco -> somarBloco(valores, taxas, prazos, grupos, quantidadeGrupos,
+            bloco * POSICOES_POR_BLOCO, Math.min((bloco + 1) * POSICOES_POR_BLOCO, valores.length)))
+        .reduce(new double[quantidadeGrupos], CalculoSimulacaoService::somarTotais);
+  }
+
+  private double[] somarBloco(double[] valores, double[] taxas, int[] prazos, int[] grupos, int quantidadeGrupos,
+      int inicio, int fim) {
+    double[] totais = new double[quantidadeGrupos];
+    TabelaFatoresCrescimento tabela = null;
+    for (int i = inicio; i < fim; i++) {
+      double taxa = taxas[i];
+      double valorFinal;
+      if (taxa <= 0) {
+        valorFinal = arredondar(valores[i]);
+      } else {
+        if (tabela == null || tabela.getTaxaAnual() != taxa) {
+          tabela = tabela(taxa);
+        }
+        valorFinal = arredondar(valores[i] * tabela.fator(prazos[i]));
+      }
+      totais[grupos[i]] += valorFinal;
+    }
+    return totais;
+  }
+
+  private static double[] somarTotais(double[] a, double[] b) {
+    double[] soma = new double[a.length];
+    for (int i = 0; i < a.length; i++) {
+      soma[i] = a[i] + b[i];
+    }
+    return soma;
+  }
 
-    return calcularJurosCompostos(valorInicial, rentabilidade, prazoMeses);
+  private double[] calcularLinha(double valorInicial, double taxa, int[] prazos) {
+    double[] linha = new double[prazos.length];
+    if (taxa <= 0) {
+      Arrays.fill(linha, arredondar(valorInicial));
+      return linha;
+    }
+    TabelaFatoresCrescimento tabela = tabela(taxa);
+    for (int j = 0; j < prazos.length; j++) {
+      linha[j] = arredondar(valorInicial * tabela.fator(prazos[j]));
+    }
+    return linha;
   }
 
   /**
-   * Calcula valor com juros compostos: M = C * (1 + i)^t.
+   * Projeta a evolução mês a mês do valor investido. Cada mês é obtido do
+   * anterior multiplicando pelo fator mensal constante (1 + i)^(1/12), sem
+   * pow por mês. O último ponto é o mesmo valor de
+   * {@link #calcularValorFinal(double, double, int)}, então a série termina
+   * exatamente no resultado da simulação.
    *
-   * @param capital Capital inicial
-   * @param taxaAnual Taxa de juros anual (ex: 0.12 para 12%)
+   * @param valorInicial   Valor inicial investido (R$)
+   * @param rentabilidade  Taxa de rentabilidade anual; zero ou negativa mantém o valor inicial
+   * @param prazoMeses     Prazo em meses
+   * @param intervaloMeses Intervalo entre os pontos da série (1 = todos os meses)
+   * @return Pontos do mês 0, de cada múltiplo do intervalo e do último mês, arredondados a 2 casas
+   */
+  public List<PontoProjecao> projetarSerie(double valorInicial, double rentabilidade, int prazoMeses,
+      int intervaloMeses) {
+    List<PontoProjecao> serie = new ArrayList<>((prazoMeses + intervaloMeses - 1) / intervaloMeses + 1);
+    double fatorMensal = rentabilidade > 0 ? fatorCrescimento(rentabilidade, 1) : 1.0;
+    double valor = valorInicial;
+    for (int mes = 0; mes < prazoMeses; mes++) {
+      if (mes % intervaloMeses == 0) {
+        serie.add(new PontoProjecao(mes, arredondar(valor)));
+      }
+      valor *= fatorMensal;
+    }
+    serie.add(new PontoProjecao(prazoMeses, calcularValorFinal(valorInicial, rentabilidade, prazoMeses)));
+    return serie;
+  }
+
+  /**
+   * Fator de crescimento (1 + i)^(meses/12) de uma taxa anual.
+   *
+   * @param taxaAnual  Taxa de juros anual (ex: 0.12 para 12%)
    * @param prazoMeses Prazo em meses
-   * @return Montante final arredondado a 2 casas decimais
+   * @return Fator pelo qual o capital é multiplicado no prazo
    */
-  private Double calcularJurosCompostos(Double capital, Double taxaAnual, Integer prazoMeses) {
-    double tempoEmAnos = prazoMeses / 12.0;
-    double resultado = capital * Math.pow(1 + taxaAnual, tempoEmAnos);
-    return arredondar(resultado);
+  public double fatorCrescimento(double taxaAnual, int prazoMeses) {
+    return tabela(taxaAnual).fator(prazoMeses);
+  }
+
+  /**
+   * Tabela de fatores da taxa. Atingido o limite de tabelas guardadas, as
+   * novas taxas usam uma tabela vazia, que calcula cada fator diretamente.
+   */
+  private TabelaFatoresCrescimento tabela(double taxaAnual) {
+    TabelaFatoresCrescimento tabela = tabelas.get(taxaAnual);
+    if (tabela != null) {
+      return tabela;
+    }
+    if (tabelas.size() >= LIMITE_TABELAS) {
+      return new TabelaFatoresCrescimento(taxaAnual, -1);
+    }
+    return tabelas.computeIfAbsent(taxaAnual, taxa -> new TabelaFatoresCrescimento(taxa, PRAZO_MAXIMO_TABELA));
   }
 
   /**
@@ -49,7 +254,7 @@ public class CalculoSimulacaoService {
    * @param valor Valor a arredondar
    * @return Valor arredondado
    */
-  private Double arredondar(Double valor) {
+  private static double arredondar(double valor) {
     return Math.round(valor * 100.0) / 100.0;
   }
 }
@@ -0,0 +1,65 @@
+package org.pablofsc.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.pablofsc.repository.ProdutoRepository;
+import org.pablofsc.service.helper.CatalogoProdutoSnapshot;
+
+/**
+ * Serviço que mantém o catálogo de produtos em memória.
+ * Carrega o catálogo sob demanda e o reconstrói por inteiro após cada
+ * invalidação, publicando a nova versão de forma atômica.
+ */
+@ApplicationScoped
+public class CatalogoProdutoService {
+
+  private final ProdutoRepository produtoRepository;
+
+  private volatile CatalogoProdutoSnapshot snapshot;
+  private long ultimaVersao;
+
+  @Inject
+  public CatalogoProdutoService(ProdutoRepository produtoRepository) {
+    this.produtoRepository = produtoRepository;
+  }
+
+  /**
+   * Obtém a versão atual do catálogo, carregando-a do banco se necessário.
+   *
+   * @return Snapshot imutável do catálogo
+   */
+  public CatalogoProdutoSnapshot obterSnapshot() {
+    CatalogoProdutoSnapshot atual = snapshot;
+    if (atual != null) {
+      return atual;
+    }
+    return carregarSeNecessario();
+  }
+
+  /**
+   * Reconstrói o catálogo imediatamente a partir do banco de dados.
+   *
+   * @return Novo snapshot publicado
+   */
+  public synchronized CatalogoProdutoSnapshot recarregar() {
+    CatalogoProdutoSnapshot novo = new CatalogoProdutoSnapshot(++ultimaVersao, produtoRepository.listAll());
+    snapshot = novo;
+    return novo;
+  }
+
+  /**
+   * Descarta o catálogo atual. Deve ser chamado sempre que produtos forem
+   * inseridos, alterados ou removidos; a próxima leitura reconstrói o snapshot.
+   */
+  public synchronized void invalidar() {
+    snapshot = null;
+  }
+
+  private synchronized CatalogoProdutoSnapshot carregarSeNecessario() {
+    CatalogoProdutoSnapshot atual = snapshot;
+    if (atual != null) {
+      return atual;
+    }
+    return recarregar();
+  }
+}
@@ -1,40 +1,198 @@
 package org.pablofsc.service;
 
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
-import org.pablofsc.domain.mapper.EntityToModelMapper;
+import jakarta.transaction.Transactional;
+import org.pablofsc.domain.entity.ResumoCarteiraEntity;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
 import org.pablofsc.domain.model.Investimento;
+import org.pablofsc.domain.model.PosicaoInvestimento;
+import org.pablofsc.domain.model.ProjecaoPorTipo;
+import org.pablofsc.domain.model.TotalPorTipo;
+import org.pablofsc.domain.response.ProjecaoCarteiraResponse;
+import org.pablofsc.domain.response.ResumoCarteiraResponse;
 import org.pablofsc.repository.InvestimentoRepository;
+import org.pablofsc.repository.ResumoCarteiraRepository;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * Serviço de gerenciamento de investimentos do cliente.
- * Fornece acesso ao histórico de investimentos ordenado por data.
+ * Fornece acesso ao histórico de investimentos ordenado por data, paginado
+ * por cursor e ordenado pelo próprio banco, e ao resumo da carteira, lido dos
+ * totais por tipo mantidos a cada investimento gravado. Também projeta a
+ * carteira inteira para uma data, com o mesmo cálculo de juros compostos da
+ * simulação.
  */
 @ApplicationScoped
 public class InvestimentoService {
 
+  public static final int LIMITE_PADRAO = 100;
+  public static final int LIMITE_MAXIMO = 1000;
+
   private final InvestimentoRepository investimentoRepository;
+  private final ResumoCarteiraRepository resumoRepository;
+  private final CalculoSimulacaoService calculoSimulacaoService;
 
   @Inject
-  public InvestimentoService(InvestimentoRepository investimentoRepository) {
+  public InvestimentoService(
+      InvestimentoRepository investimentoRepository,
+      ResumoCarteiraRepository resumoRepository,
+      CalculoSimulacaoService calculoSimulacaoService) {
     this.investimentoRepository = investimentoRepository;
+    this.resumoRepository = resumoRepository;
+    this.calculoSimulacaoService = calculoSimulacaoService;
+  }
+
+  /**
+   * Preenche o resumo das carteiras a partir dos investimentos existentes na primeira execução.
+   */
+  void aoIniciar(@Observes StartupEvent event) {
+    resumoRepository.reconstruirSeVazio();
+  }
+
+  /**
+   * Obtém uma página dos investimentos de um cliente ordenados por data
+   * (e por ID entre investimentos do mesmo dia).
+   *
+   * @param clienteId ID do cliente
+   * @param aposId ID do último investimento da página anterior, ou nulo para a primeira página
+   * @param limite Quantidade máxima de investimentos (1 a 1000)
+   * @return Página de investimentos em ordem cronológica
+   * @throws ParametroInvalidoException Se o limite for inválido ou o cursor não for um investimento do cliente
+   */
+  @Transactional
+  public List<Investimento> obterInvestimentosPorCliente(Long clienteId, Long aposId, int limite) {
+    if (limite < 1 || limite > LIMITE_MAXIMO) {
+      throw new ParametroInvalidoException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+    }
+
+    LocalDate aposData = null;
+    if (aposId != null) {
+      aposData = investimentoRepository.dataDoInvestimento(clienteId, aposId)
+          .orElseThrow(() -> new ParametroInvalidoException("Cursor after não é um investimento do cliente"));
+    }
+
+    return investimentoRepository.listarPagina(clienteId, aposData, aposId, limite);
   }
 
   /**
-   * Obtém todos os investimentos de um cliente ordenados por data.
+   * Obtém os totais da carteira do cliente: valor investido, quantidade e
+   * rentabilidade média ponderada pelo valor, no geral e por tipo de produto.
+   * Lê no máximo um registro por tipo de produto, sem percorrer os investimentos.
    *
    * @param clienteId ID do cliente
-   * @return Lista de investimentos ordenada cronologicamente
+   * @return Resumo da carteira; zerado se o cliente não tiver investimentos
    */
-  public List<Investimento> obterInvestimentosPorCliente(Long clienteId) {
-    return investimentoRepository.find("cliente.id", clienteId)
-        .page(0, Integer.MAX_VALUE)
-        .list()
-        .stream()
-        .sorted((i1, i2) -> i1.getData().compareTo(i2.getData()))
-        .map(EntityToModelMapper::toInvestimentoModel)
+  @Transactional
+  public ResumoCarteiraResponse obterResumo(Long clienteId) {
+    List<ResumoCarteiraEntity> registros = new ArrayList<>(resumoRepository.listarPorCliente(clienteId));
+    registros.sort(Comparator.comparing(ResumoCarteiraEntity::getTipo));
+
+    long quantidade = 0;
+    double totalInvestido = 0.0;
+    double somaValorRentabilidade = 0.0;
+    List<TotalPorTipo> porTipo = new ArrayList<>(registros.size());
+    for (ResumoCarteiraEntity registro : registros) {
+      quantidade += registro.getQuantidadeInvestimentos();
+      totalInvestido += registro.getTotalInvestido();
+      somaValorRentabilidade += registro.getSomaValorRentabilidade();
+      porTipo.add(new TotalPorTipo(
+          registro.getTipo(),
+          registro.getQuantidadeInvestimentos(),
+          arredondar(registro.getTotalInvestido()),
+          media(registro.getSomaValorRentabilidade(), registro.getTotalInvestido())));
+    }
+
+    return new ResumoCarteiraResponse(
+        clienteId,
+        quantidade,
+        arredondar(totalInvestido),
+        media(somaValorRentabilidade, totalInvestido),
+        porTipo);
+  }
+
+  /**
+   * Projeta o valor de cada investimento do cliente na data alvo, aplicando
+   * juros compostos sobre os meses completos desde a data do investimento,
+   * e soma os resultados por tipo de produto. Nada é gravado no histórico de
+   * simulações. Investimentos feitos depois da data alvo ficam de fora.
+   *
+   * @param clienteId ID do cliente
+   * @param dataAlvo Data da projeção
+   * @return Totais investidos e projetados, no geral e por tipo de produto
+   * @throws ParametroInvalidoException Se a data alvo não for informada
+   */
+  @Transactional
+  public ProjecaoCarteiraResponse projetarCarteira(Long clienteId, LocalDate dataAlvo) {
+    if (dataAlvo == null) {
+      throw new ParametroInvalidoException("Informe a data alvo");
+    }
+
+    List<PosicaoInvestimento> posicoes = investimentoRepository.listarPosicoes(clienteId).stream()
+        .filter(posicao -> !posicao.getData().isAfter(dataAlvo))
         .toList();
+
+    int quantidade = posicoes.size();
+    double[] valores = new double[quantidade];
+    double[] taxas = new double[quantidade];
+    int[] prazos = new int[quantidade];
+    int[] tipos = new int[quantidade];
+    int quantidadeTipos = TipoProdutoEnum.values().length;
+    long[] quantidadePorTipo = new long[quantidadeTipos];
+    double[] investidoPorTipo = new double[quantidadeTipos];
+
+    for (int i = 0; i < quantidade; i++) {
+      PosicaoInvestimento posicao = posicoes.get(i);
+      valores[i] = posicao.getValor() != null ? posicao.getValor() : 0.0;
+      taxas[i] = posicao.getRentabilidade() != null ? posicao.getRentabilidade() : 0.0;
+      prazos[i] = (int) ChronoUnit.MONTHS.between(posicao.getData(), dataAlvo);
+      tipos[i] = posicao.getTipo().ordinal();
+      quantidadePorTipo[tipos[i]]++;
+      investidoPorTipo[tipos[i]] += valores[i];
+    }
+
+    double[] projetadoPorTipo = calculoSimulacaoService.somarValoresFinaisPorGrupo(
+        valores, taxas, prazos, tipos, quantidadeTipos);
+
+    double totalInvestido = 0.0;
+    double valorProjetado = 0.0;
+    List<ProjecaoPorTipo> porTipo = new ArrayList<>();
+    for (TipoProdutoEnum tipo : TipoProdutoEnum.values()) {
+      int indice = tipo.ordinal();
+      if (quantidadePorTipo[indice] == 0) {
+        continue;
+      }
+      totalInvestido += investidoPorTipo[indice];
+      valorProjetado += projetadoPorTipo[indice];
+      porTipo.add(new ProjecaoPorTipo(
+          tipo,
+          quantidadePorTipo[indice],
+          arredondar(investidoPorTipo[indice]),
+          arredondar(projetadoPorTipo[indice])));
+    }
+
+    return new ProjecaoCarteiraResponse(
+        clienteId,
+        dataAlvo,
+        (long) quantidade,
+        arredondar(totalInvestido),
+        arredondar(valorProjetado),
+        porTipo);
+  }
+
+  private static Double media(double somaValorRentabilidade, double totalInvestido) {
+    return totalInvestido > 0 ? somaValorRentabilidade / totalInvestido : null;
+  }
+
+  private static double arredondar(double valor) {
+    return Math.round(valor * 100.0) / 100.0;
   }
 }
@@ -2,33 +2,67 @@ package org.pablofsc.service;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.pablofsc.domain.entity.ClienteEntity;
 import org.pablofsc.domain.entity.ProdutoEntity;
 import org.pablofsc.domain.enums.NivelRiscoEnum;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
 import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
 import org.pablofsc.domain.model.PerfilCliente;
-import org.pablofsc.repository.ProdutoRepository;
+import org.pablofsc.service.helper.CatalogoProdutoSnapshot;
 import org.pablofsc.service.helper.CompatibilityScoreCalculator;
+import org.pablofsc.service.helper.SelecaoTopK;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Serviço responsável por recomendar produtos para clientes.
  * Utiliza algoritmo de compatibilidade para ordenar produtos por aderência ao perfil.
+ * Os filtros de tipo, perfil e risco são resolvidos pelos índices de bits do
+ * catálogo, e só os candidatos resultantes são pontuados; apenas os K melhores
+ * são mantidos em um heap limitado (ver {@link SelecaoTopK}), sem ordenar o
+ * catálogo inteiro.
+ * Os métodos não são transacionais: leem apenas a fotografia em memória do
+ * catálogo, e um {@link ProdutoNaoEncontradoException} não deve marcar para
+ * rollback a transação de quem chama (ex: um item inválido em um lote).
  */
 @ApplicationScoped
 public class MotorRecomendacaoService {
 
-  private final ProdutoRepository produtoRepository;
+  // Melhor primeiro: score do cliente, depois do perfil, depois ordem do catálogo
+  private static final Comparator<Candidato> ORDEM_CLIENTE = Comparator
+      .comparingDouble(Candidato::scoreCliente).reversed()
+      .thenComparing(Comparator.comparingDouble(Candidato::scorePerfil).reversed())
+      .thenComparingInt(Candidato::posicao);
+
+  private static final Comparator<Candidato> ORDEM_PERFIL = Comparator
+      .comparingDouble(Candidato::scorePerfil).reversed()
+      .thenComparingInt(Candidato::posicao);
+
+  private final CatalogoProdutoService catalogoProdutoService;
   private final PerfilRiscoService perfilRiscoService;
   private final CompatibilityScoreCalculator scoreCalculator;
+  private final int limiteListagem;
 
   @Inject
-  public MotorRecomendacaoService(ProdutoRepository produtoRepository, PerfilRiscoService perfilRiscoService) {
-    this.produtoRepository = produtoRepository;
+  public MotorRecomendacaoService(
+      CatalogoProdutoService catalogoProdutoService,
+      PerfilRiscoService perfilRiscoService,
+      @ConfigProperty(name = "recomendacao.listagem.limite", defaultValue = "100") int limiteListagem) {
+    this.catalogoProdutoService = catalogoProdutoService;
     this.perfilRiscoService = perfilRiscoService;
     this.scoreCalculator = new CompatibilityScoreCalculator();
+    this.limiteListagem = limiteListagem;
+  }
+
+  // Constructor for testing
+  public MotorRecomendacaoService(CatalogoProdutoService catalogoProdutoService, PerfilRiscoService perfilRiscoService) {
+    this(catalogoProdutoService, perfilRiscoService, Integer.MAX_VALUE);
   }
 
   /**
@@ -40,52 +74,119 @@ public class MotorRecomendacaoService {
    * @return Lista de produtos compatíveis ordenados por score de compatibilidade
    * @throws ProdutoNaoEncontradoException Se nenhum produto do tipo for encontrado
    */
-  @Transactional
   public List<ProdutoEntity> obterProdutosCompativeis(ClienteEntity cliente, String tipoProdutoDesejado) {
-    // Primeiro filtrar por perfil do cliente
-    PerfilCliente perfil = perfilRiscoService.classificarPerfil(cliente);
-    List<ProdutoEntity> produtosPorPerfil = obterProdutosPorPerfil(perfil);
+    return obterProdutosCompativeis(cliente, tipoProdutoDesejado, Integer.MAX_VALUE);
+  }
 
-    // Depois filtrar pelo tipo desejado
-    List<ProdutoEntity> produtos = produtosPorPerfil.stream()
-        .filter(p -> p.getTipo().getDescricao().equals(tipoProdutoDesejado))
-        .toList();
+  /**
+   * Retorna os produtos mais compatíveis com o cliente, limitados aos K primeiros.
+   *
+   * @param cliente Cliente para o qual buscar produtos
+   * @param tipoProdutoDesejado Tipo de produto desejado (ex: Renda Fixa, Ações)
+   * @param limite Quantidade máxima de produtos (K)
+   * @return Até K produtos compatíveis ordenados por score de compatibilidade
+   * @throws ProdutoNaoEncontradoException Se nenhum produto do tipo for encontrado
+   */
+  public List<ProdutoEntity> obterProdutosCompativeis(ClienteEntity cliente, String tipoProdutoDesejado, int limite) {
+    TipoProdutoEnum tipo = TipoProdutoEnum.fromDescricao(tipoProdutoDesejado);
+    if (tipo == null) {
+      throw new ProdutoNaoEncontradoException(tipoProdutoDesejado);
+    }
+
+    PerfilCliente perfil = perfilRiscoService.classificarPerfil(cliente);
+    List<ProdutoEntity> compativeis = selecionar(cliente, perfil, catalogoProdutoService.obterSnapshot(), tipo, limite);
 
-    if (produtos.isEmpty()) {
+    if (compativeis.isEmpty()) {
       throw new ProdutoNaoEncontradoException(tipoProdutoDesejado);
     }
+    return compativeis;
+  }
 
-    // Filtrar por risco aceitável do cliente
-    List<ProdutoEntity> filtrados = produtos.stream()
-        .filter(p -> p.getRisco().getNivel() <= cliente.getRiscoMaximoAceitavel().getNivel())
-        .toList();
+  /**
+   * Retorna os produtos compatíveis com o cliente para vários tipos de uma
+   * vez. O perfil do cliente é classificado uma única vez e todos os tipos
+   * usam a mesma fotografia do catálogo.
+   *
+   * @param cliente Cliente para o qual buscar produtos
+   * @param tipos Tipos de produto desejados
+   * @return Produtos compatíveis de cada tipo, ordenados por compatibilidade
+   *         decrescente, na ordem dos tipos informados; tipos sem produtos
+   *         compatíveis ficam de fora
+   */
+  public Map<TipoProdutoEnum, List<ProdutoEntity>> obterProdutosCompativeis(
+      ClienteEntity cliente,
+      Collection<TipoProdutoEnum> tipos) {
+    PerfilCliente perfil = perfilRiscoService.classificarPerfil(cliente);
+    CatalogoProdutoSnapshot snapshot = catalogoProdutoService.obterSnapshot();
+
+    Map<TipoProdutoEnum, List<ProdutoEntity>> porTipo = new LinkedHashMap<>();
+    for (TipoProdutoEnum tipo : tipos) {
+      List<ProdutoEntity> compativeis = selecionar(cliente, perfil, snapshot, tipo, Integer.MAX_VALUE);
+      if (!compativeis.isEmpty()) {
+        porTipo.put(tipo, compativeis);
+      }
+    }
+    return porTipo;
+  }
 
-    if (filtrados.isEmpty()) {
-      filtrados = produtos;
+  /**
+   * Seleciona os K produtos do tipo mais compatíveis com o cliente entre os
+   * aceitos pelo perfil. Dá preferência aos produtos dentro do risco aceitável
+   * do cliente; se nenhum estiver, usa os demais. Os candidatos vêm da
+   * interseção dos índices de tipo e risco do catálogo, então apenas eles são
+   * pontuados.
+   *
+   * @return Até K produtos, do mais para o menos compatível; vazio se não
+   *         houver produtos do tipo para o perfil
+   */
+  private List<ProdutoEntity> selecionar(
+      ClienteEntity cliente,
+      PerfilCliente perfil,
+      CatalogoProdutoSnapshot snapshot,
+      TipoProdutoEnum tipo,
+      int limite) {
+    NivelRiscoEnum riscoPerfil = riscoMaximoDoPerfil(perfil);
+    NivelRiscoEnum riscoCliente = cliente.getRiscoMaximoAceitavel();
+    NivelRiscoEnum riscoDentro = riscoCliente.getNivel() < riscoPerfil.getNivel() ? riscoCliente : riscoPerfil;
+
+    BitSet posicoes = snapshot.posicoes(tipo, riscoDentro);
+    if (posicoes.isEmpty()) {
+      // Nenhum produto dentro do risco aceitável: usa os demais aceitos pelo perfil
+      posicoes = snapshot.posicoes(tipo, riscoPerfil);
     }
 
-    // Ordenar por compatibilidade com cliente
-    return filtrados.stream()
-        .sorted((p1, p2) -> Double.compare(
-            scoreCalculator.calcularCompatibilidadeCliente(p2, cliente),
-            scoreCalculator.calcularCompatibilidadeCliente(p1, cliente)))
-        .toList();
+    List<ProdutoEntity> produtos = snapshot.getProdutos();
+    SelecaoTopK<Candidato> selecao = new SelecaoTopK<>(limite, ORDEM_CLIENTE);
+    for (int i = posicoes.nextSetBit(0); i >= 0; i = posicoes.nextSetBit(i + 1)) {
+      ProdutoEntity produto = produtos.get(i);
+      selecao.oferecer(new Candidato(
+          produto,
+          i,
+          scoreCalculator.calcularCompatibilidadePerfil(produto, perfil),
+          scoreCalculator.calcularCompatibilidadeCliente(produto, cliente)));
+    }
+    return produtos(selecao);
   }
 
   /**
    * Retorna produtos recomendados para um perfil, ordenados por compatibilidade decrescente.
    * Produtos conservadores para perfil conservador, moderados para moderado, etc.
+   * A lista é limitada aos primeiros recomendacao.listagem.limite produtos.
    *
    * @param perfil Perfil do cliente (CONSERVADOR, MODERADO ou AGRESSIVO)
    * @return Lista de produtos compatíveis com o perfil
    */
   public List<ProdutoEntity> obterProdutosPorPerfil(PerfilCliente perfil) {
-    return produtoRepository.listAll().stream()
-        .filter(p -> filtrarPorPerfil(p, perfil))
-        .sorted((p1, p2) -> Double.compare(
-            scoreCalculator.calcularCompatibilidadePerfil(p2, perfil),
-            scoreCalculator.calcularCompatibilidadePerfil(p1, perfil)))
-        .toList();
+    CatalogoProdutoSnapshot snapshot = catalogoProdutoService.obterSnapshot();
+    BitSet posicoes = snapshot.posicoes(riscoMaximoDoPerfil(perfil));
+
+    List<ProdutoEntity> produtos = snapshot.getProdutos();
+    SelecaoTopK<Candidato> selecao = new SelecaoTopK<>(limiteListagem, ORDEM_PERFIL);
+    for (int i = posicoes.nextSetBit(0); i >= 0; i = posicoes.nextSetBit(i + 1)) {
+      ProdutoEntity produto = produtos.get(i);
+      selecao.oferecer(new Candidato(produto, i, scoreCalculator.calcularCompatibilidadePerfil(produto, perfil), 0));
+    }
+    return produtos(selecao);
   }
 
   /**
@@ -97,18 +198,24 @@ public class MotorRecomendacaoService {
    * @return Entidade do produto mais compatível
    */
   public ProdutoEntity recomendarProduto(ClienteEntity cliente, String tipoProdutoDesejado, Integer prazoMeses) {
-    List<ProdutoEntity> compatíveis = obterProdutosCompativeis(cliente, tipoProdutoDesejado);
-    return compatíveis.get(0); // Primeiro é o mais compatível
+    List<ProdutoEntity> compatíveis = obterProdutosCompativeis(cliente, tipoProdutoDesejado, 1);
+    return compatíveis.get(0); // Único e mais compatível
   }
 
-  private boolean filtrarPorPerfil(ProdutoEntity produto, PerfilCliente perfil) {
-    int nivelRisco = produto.getRisco().getNivel();
+  private static List<ProdutoEntity> produtos(SelecaoTopK<Candidato> selecao) {
+    return selecao.resultado().stream()
+        .map(Candidato::produto)
+        .toList();
+  }
 
+  private NivelRiscoEnum riscoMaximoDoPerfil(PerfilCliente perfil) {
     return switch (perfil) {
-      case CONSERVADOR -> nivelRisco <= NivelRiscoEnum.BAIXO.getNivel();
-      case MODERADO -> nivelRisco <= NivelRiscoEnum.ALTO.getNivel();
-      case AGRESSIVO -> true;
+      case CONSERVADOR -> NivelRiscoEnum.BAIXO;
+      case MODERADO -> NivelRiscoEnum.ALTO;
+      case AGRESSIVO -> NivelRiscoEnum.MUITO_ALTO;
     };
   }
 
+  private record Candidato(ProdutoEntity produto, int posicao, double scorePerfil, double scoreCliente) {
+  }
 }
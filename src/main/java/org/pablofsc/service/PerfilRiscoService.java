@@ -2,44 +2,108 @@ package org.pablofsc.service;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.pablofsc.domain.entity.ClienteEntity;
 import org.pablofsc.domain.enums.FrequenciaMovimentacoesEnum;
 import org.pablofsc.domain.enums.NivelRiscoEnum;
 import org.pablofsc.domain.enums.PreferenciaRentLiqEnum;
 import org.pablofsc.domain.model.PerfilCliente;
+import org.pablofsc.domain.response.EstatisticasCacheResponse;
 import org.pablofsc.domain.response.PerfilRiscoResponse;
 import org.pablofsc.repository.ClienteRepository;
+import org.pablofsc.service.helper.CacheLimitado;
+
+import java.time.Duration;
 
 /**
  * Serviço de classificação de perfil de risco de clientes.
  * Calcula pontuação baseada em frequência, preferência, volume e risco aceito.
+ * O perfil de cada cliente consultado por ID fica em cache (LRU com TTL), o
+ * que evita a leitura do cliente no banco; alterações de cliente devem chamar
+ * {@link #invalidarPerfil(Long)}.
  */
 @ApplicationScoped
 public class PerfilRiscoService {
 
   private final ClienteRepository clienteRepository;
+  private final CacheLimitado<Long, PerfilCalculado> cache;
 
   @Inject
+  public PerfilRiscoService(
+      ClienteRepository clienteRepository,
+      @ConfigProperty(name = "perfil-risco.cache.capacidade", defaultValue = "10000") int capacidadeCache,
+      @ConfigProperty(name = "perfil-risco.cache.ttl", defaultValue = "10m") Duration ttlCache) {
+    this(clienteRepository, CacheLimitado.comTtl(capacidadeCache, ttlCache, System::nanoTime));
+  }
+
+  // Constructor for testing
   public PerfilRiscoService(ClienteRepository clienteRepository) {
+    this(clienteRepository, CacheLimitado.comTtl(10_000, Duration.ofMinutes(10), System::nanoTime));
+  }
+
+  // Constructor for testing
+  public PerfilRiscoService(ClienteRepository clienteRepository, CacheLimitado<Long, PerfilCalculado> cache) {
     this.clienteRepository = clienteRepository;
+    this.cache = cache;
   }
 
   public PerfilRiscoResponse obterPerfilRisco(Long clienteId) {
-    ClienteEntity cliente = clienteRepository.findById(clienteId);
-    if (cliente == null) {
-      return null;
+    PerfilCalculado calculado = cache.obter(clienteId);
+    if (calculado == null) {
+      // Lida antes do banco: se o cliente for invalidado durante a leitura, o perfil não é guardado
+      long geracao = cache.geracao();
+      ClienteEntity cliente = clienteRepository.findById(clienteId);
+      if (cliente == null) {
+        return null;
+      }
+      calculado = new PerfilCalculado(classificarPerfil(cliente), calcularPontuacao(cliente));
+      cache.guardar(clienteId, calculado, geracao);
     }
 
-    PerfilCliente perfil = classificarPerfil(cliente);
-    int pontuacao = calcularPontuacao(cliente);
-
+    PerfilCliente perfil = calculado.perfil();
     return new PerfilRiscoResponse(
         clienteId,
         perfil.getDescricao(),
-        pontuacao,
+        calculado.pontuacao(),
         perfil.getTexto());
   }
 
+  /**
+   * Descarta o perfil em cache do cliente. Deve ser chamado sempre que o
+   * cliente for alterado ou removido.
+   *
+   * @param clienteId ID do cliente
+   */
+  public void invalidarPerfil(Long clienteId) {
+    cache.invalidar(clienteId);
+  }
+
+  /**
+   * Descarta todos os perfis em cache (ex: após carga em lote de clientes).
+   */
+  public void invalidarPerfis() {
+    cache.invalidarTodos();
+  }
+
+  /**
+   * Estatísticas de uso do cache de perfis.
+   *
+   * @return Resposta com tamanho, acertos, falhas e descartes do cache
+   */
+  public EstatisticasCacheResponse obterEstatisticasCache() {
+    CacheLimitado.Estatisticas estatisticas = cache.estatisticas();
+    long consultas = estatisticas.acertos() + estatisticas.falhas();
+    return new EstatisticasCacheResponse(
+        estatisticas.tamanho(),
+        estatisticas.capacidade(),
+        estatisticas.acertos(),
+        estatisticas.falhas(),
+        consultas == 0 ? 0.0 : (double) estatisticas.acertos() / consultas,
+        estatisticas.descartes(),
+        estatisticas.expiracoes(),
+        estatisticas.invalidacoes());
+  }
+
   /**
    * Calcula pontuação total de perfil de risco do cliente (0-100).
    * Componentes: frequência (até 30), preferência (até 25), volume (até 20), risco (até 25).
@@ -140,4 +204,13 @@ public class PerfilRiscoService {
       return PerfilCliente.CONSERVADOR;
     }
   }
+
+  /**
+   * Perfil calculado de um cliente, guardado em cache.
+   *
+   * @param perfil Classificação do perfil
+   * @param pontuacao Pontuação de 0 a 100
+   */
+  public record PerfilCalculado(PerfilCliente perfil, int pontuacao) {
+  }
 }
@@ -1,25 +1,41 @@
 package org.pablofsc.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.pablofsc.domain.entity.ProdutoEntity;
 import org.pablofsc.domain.model.PerfilCliente;
 import org.pablofsc.domain.model.ProdutoRecomendado;
 
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Serviço de recomendação de produtos por perfil de cliente.
- * Utiliza motor de recomendação para buscar produtos compatíveis.
+ * Utiliza motor de recomendação para buscar produtos compatíveis e mantém,
+ * por perfil, o ranking pronto e sua representação JSON já serializada.
+ * O cache é descartado quando a versão do catálogo de produtos muda.
  */
 @ApplicationScoped
 public class ProdutoRecomendadoService {
 
   private final MotorRecomendacaoService motorRecomendacao;
+  private final CatalogoProdutoService catalogoProdutoService;
+  private final ObjectMapper objectMapper;
+
+  private volatile Map<PerfilCliente, RankingPerfil> rankings = new EnumMap<>(PerfilCliente.class);
 
   @Inject
-  public ProdutoRecomendadoService(MotorRecomendacaoService motorRecomendacao) {
+  public ProdutoRecomendadoService(
+      MotorRecomendacaoService motorRecomendacao,
+      CatalogoProdutoService catalogoProdutoService,
+      ObjectMapper objectMapper) {
     this.motorRecomendacao = motorRecomendacao;
+    this.catalogoProdutoService = catalogoProdutoService;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -27,12 +43,59 @@ public class ProdutoRecomendadoService {
    * Utiliza motor de recomendação para buscar e ordenar produtos compatíveis.
    *
    * @param perfil Perfil do cliente (CONSERVADOR, MODERADO ou AGRESSIVO)
-   * @return Lista de produtos recomendados com informações resumidas
+   * @return Lista imutável de produtos recomendados com informações resumidas
    */
   public List<ProdutoRecomendado> obterProdutosRecomendados(PerfilCliente perfil) {
-    return motorRecomendacao.obterProdutosPorPerfil(perfil).stream()
+    return obterRanking(perfil).produtos();
+  }
+
+  /**
+   * Retorna a lista de produtos recomendados já serializada em JSON.
+   * O array retornado é compartilhado entre requisições e não deve ser alterado.
+   *
+   * @param perfil Perfil do cliente (CONSERVADOR, MODERADO ou AGRESSIVO)
+   * @return Bytes UTF-8 do JSON da lista de produtos recomendados
+   */
+  public byte[] obterProdutosRecomendadosJson(PerfilCliente perfil) {
+    return obterRanking(perfil).json();
+  }
+
+  /**
+   * Obtém o ranking do perfil, recalculando-o se o catálogo mudou desde o
+   * último cálculo.
+   *
+   * @param perfil Perfil do cliente
+   * @return Ranking válido para a versão atual do catálogo
+   */
+  private RankingPerfil obterRanking(PerfilCliente perfil) {
+    long versao = catalogoProdutoService.obterSnapshot().getVersao();
+
+    RankingPerfil ranking = rankings.get(perfil);
+    if (ranking != null && ranking.versao() == versao) {
+      return ranking;
+    }
+
+    ranking = calcularRanking(perfil, versao);
+    publicar(perfil, ranking);
+    return ranking;
+  }
+
+  private RankingPerfil calcularRanking(PerfilCliente perfil, long versao) {
+    List<ProdutoRecomendado> produtos = motorRecomendacao.obterProdutosPorPerfil(perfil).stream()
         .map(this::toResponse)
         .toList();
+
+    try {
+      return new RankingPerfil(versao, produtos, objectMapper.writeValueAsBytes(produtos));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private synchronized void publicar(PerfilCliente perfil, RankingPerfil ranking) {
+    Map<PerfilCliente, RankingPerfil> copia = new EnumMap<>(rankings);
+    copia.put(perfil, ranking);
+    rankings = copia;
   }
 
   /**
@@ -49,4 +112,7 @@ public class ProdutoRecomendadoService {
         entity.getRentabilidade(),
         entity.getRisco());
   }
+
+  private record RankingPerfil(long versao, List<ProdutoRecomendado> produtos, byte[] json) {
+  }
 }
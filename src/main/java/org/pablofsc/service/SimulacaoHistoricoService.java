@@ -1,42 +1,96 @@
 package org.pablofsc.service;
 
-import io.quarkus.panache.common.Sort;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import org.pablofsc.domain.mapper.EntityToModelMapper;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.model.FiltroSimulacao;
 import org.pablofsc.domain.model.SimulacaoHistorico;
 import org.pablofsc.repository.SimulacaoRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Serviço de acesso ao histórico de simulações de investimento.
- * Fornece listagem completa de simulações realizadas.
+ * Fornece listagem paginada por cursor e exportação completa em streaming,
+ * sem carregar todo o histórico em memória.
  */
 @ApplicationScoped
 public class SimulacaoHistoricoService {
 
+  public static final int LIMITE_PADRAO = 100;
+  public static final int LIMITE_MAXIMO = 1000;
+
   private final SimulacaoRepository repository;
+  private final ObjectMapper objectMapper;
 
   @Inject
-  public SimulacaoHistoricoService(SimulacaoRepository repository) {
+  public SimulacaoHistoricoService(SimulacaoRepository repository, ObjectMapper objectMapper) {
     this.repository = repository;
+    this.objectMapper = objectMapper;
   }
 
   /**
-   * Lista todas as simulações realizadas ordenadas por ID ascendente.
+   * Lista uma página de simulações ordenadas por ID ascendente, lida com uma
+   * única consulta (sem carga LAZY de cliente e produto por linha).
    *
-   * @return Lista de históricos de simulação
+   * @param filtro Filtros por cliente, produto, tipo de produto e período
+   * @param aposId ID da última simulação da página anterior, ou nulo para a primeira página
+   * @param limite Quantidade máxima de simulações (1 a 1000)
+   * @return Página de históricos de simulação
+   * @throws ParametroInvalidoException Se o limite, o cursor ou o período forem inválidos
    */
   @Transactional
-  public List<SimulacaoHistorico> listarSimulacoes() {
-    return repository
-        .listAll(Sort.by("id").ascending())
-        .stream()
-        .filter(entity -> entity != null)
-        .map(EntityToModelMapper::toSimulacaoHistoricoModel)
-        .collect(Collectors.toList());
+  public List<SimulacaoHistorico> listarSimulacoes(FiltroSimulacao filtro, Long aposId, int limite) {
+    validarFiltro(filtro);
+    if (limite < 1 || limite > LIMITE_MAXIMO) {
+      throw new ParametroInvalidoException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+    }
+    if (aposId != null && aposId < 0) {
+      throw new ParametroInvalidoException("Cursor after não pode ser negativo");
+    }
+
+    return repository.listarPagina(filtro, aposId, limite);
+  }
+
+  /**
+   * Escreve todo o histórico como um array JSON, elemento a elemento, à
+   * medida que as simulações são lidas do cursor do banco.
+   *
+   * @param filtro Filtros por cliente, produto, tipo de produto e período
+   * @param saida Stream da resposta HTTP
+   */
+  @Transactional
+  public void exportarSimulacoes(FiltroSimulacao filtro, OutputStream saida) {
+    try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+      gerador.writeStartArray();
+      repository.percorrer(filtro, simulacao -> {
+        try {
+          gerador.writeObject(simulacao);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      gerador.writeEndArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Valida o período do filtro.
+   *
+   * @param filtro Filtros da consulta
+   * @throws ParametroInvalidoException Se o início não for anterior ao fim
+   */
+  public void validarFiltro(FiltroSimulacao filtro) {
+    if (filtro.getDe() != null && filtro.getAte() != null && !filtro.getDe().isBefore(filtro.getAte())) {
+      throw new ParametroInvalidoException("Início do período deve ser anterior ao fim");
+    }
   }
 }
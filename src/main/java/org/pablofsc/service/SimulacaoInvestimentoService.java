@@ -3,12 +3,35 @@ package org.pablofsc.service;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.pablofsc.domain.entity.ClienteEntity;
+import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.exception.ClienteNaoEncontradoException;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
+import org.pablofsc.domain.model.Simulacao;
 import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.request.VarreduraSimulacaoRequest;
+import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.ProjecaoInvestimentoResponse;
 import org.pablofsc.domain.response.SimulacaoInvestimentoResponse;
+import org.pablofsc.domain.response.SimulacaoLoteResponse;
+import org.pablofsc.domain.response.SimulacaoLoteResponse.ItemSimulacaoLote;
+import org.pablofsc.domain.response.VarreduraSimulacaoResponse;
+import org.pablofsc.domain.response.VarreduraSimulacaoResponse.ProjecaoProduto;
 import org.pablofsc.repository.ClienteRepository;
 import org.pablofsc.repository.SimulacaoRepository;
 import org.pablofsc.service.helper.SimulacaoOrchestrator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * Serviço de simulação de investimento end-to-end.
  * Coordena validação, recomendação de produtos, cálculo e persistência.
@@ -25,13 +48,15 @@ public class SimulacaoInvestimentoService {
       ClienteRepository clienteRepository,
       ValidacaoSimulacaoService validacaoService,
       CalculoSimulacaoService calculoService,
-      MotorRecomendacaoService motorRecomendacao) {
+      MotorRecomendacaoService motorRecomendacao,
+      SimulacaoWriteBehindService writeBehind) {
     this.validacaoService = validacaoService;
     this.orchestrator = new SimulacaoOrchestrator(
         clienteRepository,
         historicoRepository,
         motorRecomendacao,
-        calculoService);
+        calculoService,
+        writeBehind);
   }
 
   // Constructor for testing
@@ -90,4 +115,204 @@ public class SimulacaoInvestimentoService {
         resultadoSimulacao,
         dataSimulacao);
   }
+
+  /**
+   * Projeta a evolução mensal de uma simulação, do mês 0 até o fim do prazo.
+   * Usa a mesma validação e recomendação de produto da simulação, mas não
+   * grava histórico: a projeção serve para desenhar o gráfico de crescimento.
+   *
+   * @param request Requisição com clienteId, valor, prazo, tipoProduto
+   * @param intervaloMeses Intervalo entre os pontos da série; nulo para todos os meses
+   * @return Produto recomendado, resultado final e série de valores
+   * @throws ParametroInvalidoException Se os parâmetros ou o intervalo forem inválidos
+   */
+  @Transactional
+  public ProjecaoInvestimentoResponse projetarInvestimento(
+      SimulacaoInvestimentoRequest request,
+      Integer intervaloMeses) {
+    validacaoService.validar(request);
+    int intervalo = intervaloMeses != null ? intervaloMeses : 1;
+    if (intervalo < 1) {
+      throw new ParametroInvalidoException("Intervalo deve ser de pelo menos 1 mês");
+    }
+
+    var cliente = orchestrator.validarEObterCliente(request.getClienteId());
+    var produto = orchestrator.recomendarEValidarProduto(
+        cliente,
+        request.getTipoProduto(),
+        request.getPrazoMeses());
+
+    return new ProjecaoInvestimentoResponse(
+        orchestrator.converterProdutoParaModelo(produto),
+        orchestrator.calcularResultado(request.getValor(), produto, request.getPrazoMeses()),
+        intervalo,
+        orchestrator.projetarSerie(request.getValor(), produto, request.getPrazoMeses(), intervalo));
+  }
+
+  /**
+   * Compara o investimento em todos os produtos compatíveis com o cliente e
+   * em vários prazos, em uma única chamada. A recomendação é calculada uma
+   * vez para todos os tipos e a matriz de valores finais é calculada de uma
+   * vez (ver {@link CalculoSimulacaoService#calcularMatriz}). Nada é gravado
+   * no histórico, a menos que a requisição peça.
+   *
+   * @param request Cliente, valor, prazos, tipos de produto e se deve persistir
+   * @return Valor final de cada produto em cada prazo
+   * @throws ParametroInvalidoException Se os parâmetros forem inválidos
+   * @throws ClienteNaoEncontradoException Se o cliente não existir
+   * @throws ProdutoNaoEncontradoException Se nenhum produto for compatível
+   */
+  @Transactional
+  public VarreduraSimulacaoResponse varrerSimulacoes(VarreduraSimulacaoRequest request) {
+    validacaoService.validarVarredura(request);
+    List<TipoProdutoEnum> tipos = tiposVarredura(request.getTiposProduto());
+    int[] prazos = request.getPrazosMeses().stream()
+        .mapToInt(Integer::intValue)
+        .distinct()
+        .toArray();
+
+    var cliente = orchestrator.validarEObterCliente(request.getClienteId());
+    List<ProdutoEntity> produtos = orchestrator.obterProdutosCompativeis(cliente, tipos).values().stream()
+        .flatMap(List::stream)
+        .toList();
+    if (produtos.isEmpty()) {
+      throw new ProdutoNaoEncontradoException(tipos.stream()
+          .map(TipoProdutoEnum::getDescricao)
+          .collect(Collectors.joining(", ")));
+    }
+
+    double[][] matriz = orchestrator.calcularMatriz(request.getValor(), produtos, prazos);
+
+    if (Boolean.TRUE.equals(request.getPersistir())) {
+      var dataSimulacao = orchestrator.obterDataSimulacao();
+      List<SimulacaoEntity> historicos = new ArrayList<>(produtos.size() * prazos.length);
+      for (int i = 0; i < produtos.size(); i++) {
+        ProdutoEntity produto = produtos.get(i);
+        for (int j = 0; j < prazos.length; j++) {
+          historicos.add(orchestrator.construirSimulacaoEntity(
+              cliente,
+              produto,
+              request.getValor(),
+              new Simulacao(matriz[i][j], produto.getRentabilidade(), prazos[j]),
+              dataSimulacao));
+        }
+      }
+      orchestrator.persistirSimulacoes(historicos);
+    }
+
+    List<ProjecaoProduto> projecoes = new ArrayList<>(produtos.size());
+    for (int i = 0; i < produtos.size(); i++) {
+      projecoes.add(new ProjecaoProduto(
+          orchestrator.converterProdutoParaModelo(produtos.get(i)),
+          Arrays.stream(matriz[i]).boxed().toList()));
+    }
+    return new VarreduraSimulacaoResponse(
+        cliente.getId(),
+        request.getValor(),
+        Arrays.stream(prazos).boxed().toList(),
+        projecoes);
+  }
+
+  /**
+   * Converte os tipos pedidos na varredura; aceita a descrição (ex: "Renda
+   * Fixa") ou o nome da constante (ex: RENDA_FIXA). Sem tipos, compara todos.
+   */
+  private static List<TipoProdutoEnum> tiposVarredura(List<String> tiposProduto) {
+    if (tiposProduto == null || tiposProduto.isEmpty()) {
+      return List.of(TipoProdutoEnum.values());
+    }
+    List<TipoProdutoEnum> tipos = new ArrayList<>(tiposProduto.size());
+    for (String descricao : tiposProduto) {
+      TipoProdutoEnum tipo = TipoProdutoEnum.fromDescricaoOuNome(descricao);
+      if (tipo == null) {
+        throw new ParametroInvalidoException("Tipo de produto inválido: " + descricao);
+      }
+      if (!tipos.contains(tipo)) {
+        tipos.add(tipo);
+      }
+    }
+    return tipos;
+  }
+
+  /**
+   * Executa várias simulações em uma única transação.
+   * Cada cliente é buscado uma única vez e cada recomendação é calculada uma
+   * única vez por par cliente/tipo de produto; todas as simulações válidas são
+   * gravadas juntas ao final. Itens inválidos não interrompem o lote.
+   *
+   * @param requests Requisições de simulação
+   * @return Resultado ou erro de cada item, na ordem recebida
+   * @throws ParametroInvalidoException Se o lote for vazio ou grande demais
+   */
+  @Transactional
+  public SimulacaoLoteResponse simularLote(List<SimulacaoInvestimentoRequest> requests) {
+    validacaoService.validarLote(requests);
+
+    Map<Long, ClienteEntity> clientes = orchestrator.obterClientes(requests.stream()
+        .filter(Objects::nonNull)
+        .map(SimulacaoInvestimentoRequest::getClienteId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList());
+    Map<ChaveRecomendacao, ProdutoEntity> recomendacoes = new HashMap<>();
+
+    List<ItemSimulacaoLote> itens = new ArrayList<>(requests.size());
+    List<SimulacaoEntity> historicos = new ArrayList<>(requests.size());
+
+    for (int indice = 0; indice < requests.size(); indice++) {
+      SimulacaoInvestimentoRequest request = requests.get(indice);
+      try {
+        if (request == null) {
+          throw new ParametroInvalidoException("Simulação não informada");
+        }
+        validacaoService.validar(request);
+
+        ClienteEntity cliente = clientes.get(request.getClienteId());
+        if (cliente == null) {
+          throw new ClienteNaoEncontradoException(request.getClienteId());
+        }
+
+        ProdutoEntity produto = recomendacoes.get(new ChaveRecomendacao(cliente.getId(), request.getTipoProduto()));
+        if (produto == null) {
+          produto = orchestrator.recomendarEValidarProduto(cliente, request.getTipoProduto(), request.getPrazoMeses());
+          recomendacoes.put(new ChaveRecomendacao(cliente.getId(), request.getTipoProduto()), produto);
+        }
+
+        var resultadoSimulacao = orchestrator.calcularResultado(request.getValor(), produto, request.getPrazoMeses());
+        var dataSimulacao = orchestrator.obterDataSimulacao();
+
+        historicos.add(orchestrator.construirSimulacaoEntity(
+            cliente,
+            produto,
+            request.getValor(),
+            resultadoSimulacao,
+            dataSimulacao));
+
+        itens.add(new ItemSimulacaoLote(indice, new SimulacaoInvestimentoResponse(
+            orchestrator.converterProdutoParaModelo(produto),
+            resultadoSimulacao,
+            dataSimulacao), null));
+      } catch (ClienteNaoEncontradoException e) {
+        itens.add(new ItemSimulacaoLote(indice, null,
+            new ErrorResponse("Cliente não encontrado", "ERR_CLIENT_NOT_FOUND", e.getMessage())));
+      } catch (ProdutoNaoEncontradoException e) {
+        itens.add(new ItemSimulacaoLote(indice, null,
+            new ErrorResponse("Produto não encontrado", "ERR_PRODUCT_NOT_FOUND", e.getMessage())));
+      } catch (ParametroInvalidoException e) {
+        itens.add(new ItemSimulacaoLote(indice, null,
+            new ErrorResponse("Parâmetro inválido", "ERR_INVALID_PARAMETER", e.getMessage())));
+      }
+    }
+
+    orchestrator.persistirSimulacoes(historicos);
+
+    return new SimulacaoLoteResponse(
+        requests.size(),
+        historicos.size(),
+        requests.size() - historicos.size(),
+        itens);
+  }
+
+  private record ChaveRecomendacao(Long clienteId, String tipoProduto) {
+  }
 }
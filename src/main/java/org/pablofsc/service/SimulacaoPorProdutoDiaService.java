@@ -1,12 +1,13 @@
 package org.pablofsc.service;
 
-import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.domain.entity.SimulacaoProdutoDiaEntity;
 import org.pablofsc.domain.model.SimulacaoPorProdutoDia;
-import org.pablofsc.repository.SimulacaoRepository;
+import org.pablofsc.repository.SimulacaoProdutoDiaRepository;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -19,32 +20,42 @@ import java.util.stream.Collectors;
 /**
  * Serviço de agregação de simulações por produto e data.
  * Agrupa simulações para análise de tendências de recomendações por dia.
+ * Lê os totais por produto e dia mantidos a cada simulação gravada, então o
+ * custo do relatório depende da quantidade de produtos e dias, e não da
+ * quantidade de simulações.
  */
 @ApplicationScoped
 public class SimulacaoPorProdutoDiaService {
 
-  private final SimulacaoRepository repository;
+  private final SimulacaoProdutoDiaRepository repository;
 
   @Inject
-  public SimulacaoPorProdutoDiaService(SimulacaoRepository repository) {
+  public SimulacaoPorProdutoDiaService(SimulacaoProdutoDiaRepository repository) {
     this.repository = repository;
   }
 
+  /**
+   * Preenche os totais a partir do histórico existente na primeira execução.
+   */
+  void aoIniciar(@Observes StartupEvent event) {
+    repository.reconstruirSeVazio();
+  }
+
   /**
    * Lista simulações agregadas por produto e data da simulação.
-   * Agrupa simulações do mesmo dia e produto, calculando quantidade e média de valor final.
+   * Combina os totais do mesmo dia e nome de produto, calculando quantidade e
+   * média de valor final.
    *
    * @return Lista de simulações agregadas ordenada por data (descendente) e nome do produto
    */
   @Transactional
   public List<SimulacaoPorProdutoDia> listarSimulacoesPorProdutoDia() {
-    List<SimulacaoEntity> historicos = repository.listAll(Sort.by("dataSimulacao").descending());
-
-    Map<ProdutoDiaKey, List<SimulacaoEntity>> agrupados = historicos.stream()
-      .collect(Collectors.groupingBy(
-        this::produtoDiaKey,
-        LinkedHashMap::new,
-        Collectors.toList()));
+    Map<ProdutoDiaKey, Totais> agrupados = new LinkedHashMap<>();
+    for (SimulacaoProdutoDiaEntity registro : repository.listarComProduto()) {
+      Totais totais = agrupados.computeIfAbsent(produtoDiaKey(registro), k -> new Totais());
+      totais.quantidade += registro.getQuantidadeSimulacoes();
+      totais.somaValorFinal += registro.getSomaValorFinal();
+    }
 
     return agrupados.entrySet().stream()
       .map(this::responseFromEntry)
@@ -56,35 +67,30 @@ public class SimulacaoPorProdutoDiaService {
    * Cria agregação de simulações para um produto-dia.
    * Calcula quantidade de simulações e valor final médio.
    *
-   * @param entry Entrada mapa com chave (produto, data) e lista de simulações
+   * @param entry Entrada mapa com chave (produto, data) e totais do grupo
    * @return Objeto agregado com estatísticas do grupo
    */
-  private SimulacaoPorProdutoDia responseFromEntry(Map.Entry<ProdutoDiaKey, List<SimulacaoEntity>> entry) {
+  private SimulacaoPorProdutoDia responseFromEntry(Map.Entry<ProdutoDiaKey, Totais> entry) {
     ProdutoDiaKey key = entry.getKey();
-    List<SimulacaoEntity> registros = entry.getValue();
-    
-    double mediaValorFinal = registros.stream()
-        .mapToDouble(SimulacaoEntity::getValorFinal)
-        .average()
-        .orElse(0.0);
+    Totais totais = entry.getValue();
 
     return new SimulacaoPorProdutoDia(
         key.produto(),
         key.data(),
-        registros.size(),
-        mediaValorFinal);
+        (int) totais.quantidade,
+        totais.quantidade > 0 ? totais.somaValorFinal / totais.quantidade : 0.0);
   }
 
   /**
-   * Extrai chave de agrupamento (produto-dia) de uma simulação.
+   * Extrai chave de agrupamento (produto-dia) de um total.
    * Trata caso de produto removido após simulação.
    *
-   * @param entity Simulação a extrair chave
-   * @return Chave contendo nome do produto e data da simulação
+   * @param registro Total de um produto em um dia
+   * @return Chave contendo nome do produto e data das simulações
    */
-  private ProdutoDiaKey produtoDiaKey(SimulacaoEntity entity) {
-    String nomeProduto = entity.getProduto() != null ? entity.getProduto().getNome() : "Produto removido";
-    return new ProdutoDiaKey(nomeProduto, entity.getDataSimulacao().toLocalDate());
+  private ProdutoDiaKey produtoDiaKey(SimulacaoProdutoDiaEntity registro) {
+    String nomeProduto = registro.getProduto() != null ? registro.getProduto().getNome() : "Produto removido";
+    return new ProdutoDiaKey(nomeProduto, registro.getData());
   }
 
   /**
@@ -99,4 +105,9 @@ public class SimulacaoPorProdutoDiaService {
 
   private record ProdutoDiaKey(String produto, LocalDate data) {
   }
+
+  private static class Totais {
+    private long quantidade;
+    private double somaValorFinal;
+  }
 }
@@ -0,0 +1,208 @@
+package org.pablofsc.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.repository.SimulacaoRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Gravação assíncrona (write-behind) do histórico de simulações.
+ * Quando habilitada, as simulações são colocadas em uma fila limitada e uma
+ * thread dedicada as grava em lotes, de modo que a resposta da simulação não
+ * espera o commit no SQLite.
+ * Com a fila cheia, o chamador espera até o tempo configurado e, se ainda não
+ * houver espaço, deve gravar a simulação de forma síncrona. No encerramento da
+ * aplicação a fila é esvaziada antes de liberar o banco; o encerramento espera
+ * os enfileiramentos em andamento, então nenhuma simulação aceita fica para
+ * trás. Se um lote falhar, as simulações são gravadas uma a uma, e só as que
+ * falharem individualmente são descartadas (com log).
+ */
+@ApplicationScoped
+public class SimulacaoWriteBehindService {
+
+  private static final Logger LOG = Logger.getLogger(SimulacaoWriteBehindService.class);
+
+  // Espera máxima de cada poll, para a thread perceber o encerramento rapidamente
+  private static final long ESPERA_VERIFICACAO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final SimulacaoRepository historicoRepository;
+  private final boolean habilitado;
+  private final int tamanhoLote;
+  private final Duration intervalo;
+  private final Duration esperaMaxima;
+  private final BlockingQueue<SimulacaoEntity> fila;
+
+  // Leitura: enfileiramentos em andamento; escrita: o encerramento
+  private final ReadWriteLock bloqueio = new ReentrantReadWriteLock();
+
+  private volatile boolean executando;
+  private Thread escritor;
+
+  @Inject
+  public SimulacaoWriteBehindService(
+      SimulacaoRepository historicoRepository,
+      @ConfigProperty(name = "simulacao.write-behind.habilitado", defaultValue = "false") boolean habilitado,
+      @ConfigProperty(name = "simulacao.write-behind.capacidade", defaultValue = "10000") int capacidade,
+      @ConfigProperty(name = "simulacao.write-behind.tamanho-lote", defaultValue = "200") int tamanhoLote,
+      @ConfigProperty(name = "simulacao.write-behind.intervalo", defaultValue = "1s") Duration intervalo,
+      @ConfigProperty(name = "simulacao.write-behind.espera-maxima", defaultValue = "50ms") Duration esperaMaxima) {
+    this.historicoRepository = historicoRepository;
+    this.habilitado = habilitado;
+    this.tamanhoLote = tamanhoLote;
+    this.intervalo = intervalo;
+    this.esperaMaxima = esperaMaxima;
+    this.fila = new ArrayBlockingQueue<>(capacidade);
+  }
+
+  void aoIniciar(@Observes StartupEvent event) {
+    iniciar();
+  }
+
+  void aoEncerrar(@Observes ShutdownEvent event) {
+    encerrar();
+  }
+
+  /**
+   * Inicia a thread de gravação, se o modo write-behind estiver habilitado.
+   */
+  public synchronized void iniciar() {
+    if (!habilitado || executando) {
+      return;
+    }
+    executando = true;
+    escritor = Thread.ofPlatform()
+        .name("simulacao-write-behind")
+        .start(this::executar);
+  }
+
+  /**
+   * Interrompe o recebimento de simulações, aguarda a thread de gravação e
+   * grava o que ainda estiver na fila.
+   */
+  public synchronized void encerrar() {
+    if (!executando) {
+      return;
+    }
+    bloqueio.writeLock().lock();
+    try {
+      executando = false;
+    } finally {
+      bloqueio.writeLock().unlock();
+    }
+    try {
+      escritor.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // Itens aceitos enquanto a thread terminava
+    List<SimulacaoEntity> restantes = new ArrayList<>(tamanhoLote);
+    while (fila.drainTo(restantes, tamanhoLote) > 0) {
+      gravar(restantes);
+      restantes = new ArrayList<>(tamanhoLote);
+    }
+  }
+
+  /**
+   * Coloca simulação na fila de gravação.
+   *
+   * @param simulacao Simulação a gravar
+   * @return true se a simulação foi aceita; false se o modo está desabilitado
+   *         ou a fila permaneceu cheia pelo tempo máximo de espera, casos em
+   *         que o chamador deve gravá-la de forma síncrona
+   */
+  public boolean enfileirar(SimulacaoEntity simulacao) {
+    bloqueio.readLock().lock();
+    try {
+      if (!executando) {
+        return false;
+      }
+      return fila.offer(simulacao, esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      bloqueio.readLock().unlock();
+    }
+  }
+
+  /**
+   * Quantidade de simulações aguardando gravação.
+   */
+  public int pendentes() {
+    return fila.size();
+  }
+
+  private void executar() {
+    while (executando || !fila.isEmpty()) {
+      try {
+        SimulacaoEntity primeira = fila.poll(
+            Math.min(intervalo.toNanos(), ESPERA_VERIFICACAO_NANOS), TimeUnit.NANOSECONDS);
+        if (primeira == null) {
+          continue;
+        }
+        // Lista nova a cada lote: quem recebe o lote pode manter a referência
+        List<SimulacaoEntity> lote = new ArrayList<>(tamanhoLote);
+        lote.add(primeira);
+        completarLote(lote);
+        gravar(lote);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Acumula simulações até atingir o tamanho do lote ou até o intervalo,
+   * contado a partir da primeira simulação, se esgotar.
+   */
+  private void completarLote(List<SimulacaoEntity> lote) throws InterruptedException {
+    long limite = System.nanoTime() + intervalo.toNanos();
+    while (lote.size() < tamanhoLote) {
+      fila.drainTo(lote, tamanhoLote - lote.size());
+      long restante = limite - System.nanoTime();
+      if (lote.size() >= tamanhoLote || restante <= 0 || !executando) {
+        return;
+      }
+      SimulacaoEntity proxima = fila.poll(Math.min(restante, ESPERA_VERIFICACAO_NANOS), TimeUnit.NANOSECONDS);
+      if (proxima != null) {
+        lote.add(proxima);
+      }
+    }
+  }
+
+  private void gravar(List<SimulacaoEntity> lote) {
+    try {
+      historicoRepository.inserirEmLote(lote);
+    } catch (RuntimeException e) {
+      LOG.warnf(e, "Falha ao gravar lote de %d simulações; gravando uma a uma", lote.size());
+      for (SimulacaoEntity simulacao : lote) {
+        gravarIndividual(simulacao);
+      }
+    }
+  }
+
+  private void gravarIndividual(SimulacaoEntity simulacao) {
+    try {
+      historicoRepository.inserir(simulacao);
+    } catch (RuntimeException e) {
+      LOG.errorf(e, "Falha ao gravar simulação do cliente %s; simulação descartada",
+          simulacao.getCliente() != null ? simulacao.getCliente().getId() : null);
+    }
+  }
+}
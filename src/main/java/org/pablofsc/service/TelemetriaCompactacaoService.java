@@ -0,0 +1,165 @@
+package org.pablofsc.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.pablofsc.domain.entity.TelemetriaConsolidadaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.HistogramaTelemetria;
+import org.pablofsc.repository.TelemetriaConsolidadaRepository;
+import org.pablofsc.repository.TelemetriaRepository;
+import org.pablofsc.service.helper.HistogramaLatencia;
+import org.pablofsc.service.helper.TotaisTelemetria;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Compactação e retenção da telemetria.
+ * Registros mais antigos que a retenção configurada são consolidados por hora;
+ * horas consolidadas mais antigas que a sua retenção são consolidadas por dia;
+ * dias mais antigos que a sua retenção são excluídos. Assim a quantidade de
+ * registros, e o custo do relatório de telemetria, deixam de crescer com o
+ * tempo de execução do serviço.
+ * Cada hora ou dia é gravado em uma única transação, e o fim do período
+ * consolidado é deduzido dos próprios registros consolidados: o que estiver
+ * antes dele é ignorado pelas consultas, mesmo que a exclusão, feita em lotes
+ * para não reter o bloqueio de escrita do SQLite, ainda não tenha terminado.
+ */
+@ApplicationScoped
+public class TelemetriaCompactacaoService {
+
+  private static final Logger LOG = Logger.getLogger(TelemetriaCompactacaoService.class);
+
+  private final TelemetriaRepository telemetriaRepository;
+  private final TelemetriaConsolidadaRepository consolidadaRepository;
+  private final Duration retencaoRegistros;
+  private final Duration retencaoHoras;
+  private final Duration retencaoDias;
+  private final int tamanhoLote;
+
+  @Inject
+  public TelemetriaCompactacaoService(
+      TelemetriaRepository telemetriaRepository,
+      TelemetriaConsolidadaRepository consolidadaRepository,
+      @ConfigProperty(name = "telemetria.retencao.registros", defaultValue = "48h") Duration retencaoRegistros,
+      @ConfigProperty(name = "telemetria.retencao.horas", defaultValue = "30d") Duration retencaoHoras,
+      @ConfigProperty(name = "telemetria.retencao.dias", defaultValue = "365d") Duration retencaoDias,
+      @ConfigProperty(name = "telemetria.compactacao.tamanho-lote", defaultValue = "500") int tamanhoLote) {
+    this.telemetriaRepository = telemetriaRepository;
+    this.consolidadaRepository = consolidadaRepository;
+    this.retencaoRegistros = retencaoRegistros;
+    this.retencaoHoras = retencaoHoras;
+    this.retencaoDias = retencaoDias;
+    this.tamanhoLote = tamanhoLote;
+  }
+
+  @Scheduled(every = "${telemetria.compactacao.intervalo:1h}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void compactarAgendado() {
+    compactar(LocalDateTime.now());
+  }
+
+  /**
+   * Consolida e exclui a telemetria antiga em relação ao instante informado.
+   *
+   * @param agora Instante de referência para as retenções
+   */
+  public void compactar(LocalDateTime agora) {
+    consolidarHoras(agora.minus(retencaoRegistros).truncatedTo(ChronoUnit.HOURS));
+    LocalDateTime horaAte = consolidadaRepository.consolidadoHoraAte();
+    if (horaAte == null) {
+      return;
+    }
+
+    // Um dia só é consolidado quando todas as suas horas já foram consolidadas
+    LocalDateTime limiteDias = agora.minus(retencaoHoras).truncatedTo(ChronoUnit.DAYS);
+    LocalDateTime ultimoDiaCompleto = horaAte.truncatedTo(ChronoUnit.DAYS);
+    consolidarDias(limiteDias.isBefore(ultimoDiaCompleto) ? limiteDias : ultimoDiaCompleto);
+    LocalDateTime diaAte = consolidadaRepository.consolidadoDiaAte();
+
+    int registros = excluirEmLotes(() -> telemetriaRepository.excluirAnteriores(horaAte, tamanhoLote));
+    int horas = diaAte == null ? 0 : excluirEmLotes(() -> consolidadaRepository.excluirAnteriores(
+        GranularidadeTelemetriaEnum.HORA, diaAte, tamanhoLote));
+    int dias = excluirEmLotes(() -> consolidadaRepository.excluirAnteriores(
+        GranularidadeTelemetriaEnum.DIA, agora.minus(retencaoDias).truncatedTo(ChronoUnit.DAYS), tamanhoLote));
+
+    if (registros + horas + dias > 0) {
+      LOG.infof("Telemetria compactada: %d registros, %d horas e %d dias excluídos", registros, horas, dias);
+    }
+  }
+
+  /**
+   * Consolida por hora os registros de telemetria ainda não consolidados,
+   * pulando as horas sem registros.
+   */
+  private void consolidarHoras(LocalDateTime limite) {
+    LocalDateTime proximo = telemetriaRepository.primeiroTimestamp(consolidadaRepository.consolidadoHoraAte(), limite);
+    while (proximo != null) {
+      LocalDateTime hora = proximo.truncatedTo(ChronoUnit.HOURS);
+      LocalDateTime fim = hora.plusHours(1);
+      gravar(GranularidadeTelemetriaEnum.HORA, hora,
+          telemetriaRepository.agregar(hora, fim, false),
+          telemetriaRepository.listarHistogramas(hora, fim));
+      proximo = telemetriaRepository.primeiroTimestamp(fim, limite);
+    }
+  }
+
+  /**
+   * Consolida por dia as horas consolidadas ainda não consolidadas por dia.
+   */
+  private void consolidarDias(LocalDateTime limite) {
+    GranularidadeTelemetriaEnum hora = GranularidadeTelemetriaEnum.HORA;
+    LocalDateTime proximo = consolidadaRepository.primeiroTimestamp(hora, consolidadaRepository.consolidadoDiaAte(), limite);
+    while (proximo != null) {
+      LocalDateTime dia = proximo.truncatedTo(ChronoUnit.DAYS);
+      LocalDateTime fim = dia.plusDays(1);
+      gravar(GranularidadeTelemetriaEnum.DIA, dia,
+          consolidadaRepository.agregar(hora, dia, fim, false),
+          consolidadaRepository.listarHistogramas(hora, dia, fim));
+      proximo = consolidadaRepository.primeiroTimestamp(hora, fim, limite);
+    }
+  }
+
+  private void gravar(
+      GranularidadeTelemetriaEnum granularidade,
+      LocalDateTime inicio,
+      List<AgregadoTelemetria> agregados,
+      List<HistogramaTelemetria> histogramas) {
+    Map<String, TotaisTelemetria> totais = new TreeMap<>();
+    for (AgregadoTelemetria agregado : agregados) {
+      totais.computeIfAbsent(agregado.getEndpoint(), e -> new TotaisTelemetria()).somar(agregado);
+    }
+    for (HistogramaTelemetria registro : histogramas) {
+      totais.computeIfAbsent(registro.getEndpoint(), e -> new TotaisTelemetria())
+          .mesclar(HistogramaLatencia.desserializar(registro.getHistogramaUs()));
+    }
+
+    List<TelemetriaConsolidadaEntity> consolidados = totais.entrySet().stream()
+        .map(e -> e.getValue().toConsolidada(granularidade, e.getKey(), inicio))
+        .toList();
+    if (!consolidados.isEmpty()) {
+      consolidadaRepository.persistirConsolidados(consolidados);
+    }
+  }
+
+  /**
+   * Repete a exclusão, uma transação por lote, até um lote vir incompleto.
+   */
+  private int excluirEmLotes(IntSupplier exclusao) {
+    int total = 0;
+    int excluidos;
+    do {
+      excluidos = exclusao.getAsInt();
+      total += excluidos;
+    } while (excluidos >= tamanhoLote);
+    return total;
+  }
+}
@@ -1,118 +1,319 @@
 package org.pablofsc.service;
 
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.pablofsc.domain.entity.TelemetriaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.HistogramaTelemetria;
+import org.pablofsc.domain.model.IntervaloTelemetria;
 import org.pablofsc.domain.model.Periodo;
 import org.pablofsc.domain.model.ServicoTelemetria;
 import org.pablofsc.domain.response.TelemetriaResponse;
+import org.pablofsc.repository.TelemetriaConsolidadaRepository;
 import org.pablofsc.repository.TelemetriaRepository;
+import org.pablofsc.service.helper.AcumuladorTelemetria;
+import org.pablofsc.service.helper.HistogramaLatencia;
+import org.pablofsc.service.helper.TotaisTelemetria;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Serviço de telemetria para monitoramento de requisições HTTP.
- * Registra tempo de resposta por endpoint e fornece relatórios agregados.
+ * Registra tempo de resposta por endpoint e fornece relatórios agregados,
+ * incluindo percentis de latência calculados a partir de histogramas.
+ * As chamadas são acumuladas em memória por endpoint e intervalo de tempo, e
+ * uma tarefa agendada grava um único registro por endpoint a cada intervalo
+ * encerrado, evitando uma escrita no banco por requisição.
+ * Registros antigos são consolidados por hora e por dia pela
+ * {@link TelemetriaCompactacaoService}; o relatório combina os registros
+ * recentes com os consolidados.
  */
 @ApplicationScoped
 public class TelemetriaService {
 
+  // Folga para requisições que calcularam o intervalo antes de ele se encerrar
+  private static final long MARGEM_FECHAMENTO_MS = 1000;
+
   private final TelemetriaRepository telemetriaRepository;
+  private final TelemetriaConsolidadaRepository consolidadaRepository;
+  private final long tamanhoIntervaloMs;
+  private final Map<ChaveIntervalo, AcumuladorTelemetria> pendentes = new ConcurrentHashMap<>();
 
   @Inject
-  public TelemetriaService(TelemetriaRepository telemetriaRepository) {
+  public TelemetriaService(
+      TelemetriaRepository telemetriaRepository,
+      TelemetriaConsolidadaRepository consolidadaRepository,
+      @ConfigProperty(name = "telemetria.intervalo-agregacao", defaultValue = "1m") Duration intervaloAgregacao) {
     this.telemetriaRepository = telemetriaRepository;
+    this.consolidadaRepository = consolidadaRepository;
+    this.tamanhoIntervaloMs = intervaloAgregacao.toMillis();
+  }
+
+  // Constructor for testing
+  public TelemetriaService(
+      TelemetriaRepository telemetriaRepository,
+      TelemetriaConsolidadaRepository consolidadaRepository) {
+    this(telemetriaRepository, consolidadaRepository, Duration.ofMinutes(1));
   }
 
   /**
-   * Registra métrica de telemetria de uma requisição.
+   * Registra métrica de telemetria de uma requisição, separada em fases.
+   * Apenas acumula em memória (em microssegundos); a gravação ocorre na
+   * tarefa agendada.
    *
    * @param endpoint Caminho do endpoint (ex: /api/simulacao)
-   * @param tempoRespostaMs Tempo de resposta em milissegundos
+   * @param entradaNanos Tempo entre a chegada da requisição e o início do método do recurso
+   * @param recursoNanos Tempo de execução do método do recurso
+   * @param serializacaoNanos Tempo de serialização e escrita da resposta
+   */
+  public void registrarTelemetria(String endpoint, long entradaNanos, long recursoNanos, long serializacaoNanos) {
+    long agora = System.currentTimeMillis();
+    ChaveIntervalo chave = new ChaveIntervalo(endpoint, agora - Math.floorMod(agora, tamanhoIntervaloMs));
+    pendentes.computeIfAbsent(chave, c -> new AcumuladorTelemetria()).registrar(
+        TimeUnit.NANOSECONDS.toMicros(entradaNanos),
+        TimeUnit.NANOSECONDS.toMicros(recursoNanos),
+        TimeUnit.NANOSECONDS.toMicros(serializacaoNanos));
+  }
+
+  /**
+   * Grava os intervalos já encerrados, um registro por endpoint e intervalo.
    */
-  @Transactional
-  public void registrarTelemetria(String endpoint, Long tempoRespostaMs) {
-    TelemetriaEntity telemetria = TelemetriaEntity.builder()
-        .endpoint(endpoint)
-        .timestamp(LocalDateTime.now())
-        .tempoRespostaMs(tempoRespostaMs)
-        .build();
+  @Scheduled(every = "${telemetria.gravacao.intervalo:10s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void gravarIntervalosEncerrados() {
+    gravar(System.currentTimeMillis() - MARGEM_FECHAMENTO_MS);
+  }
 
-    telemetriaRepository.persist(telemetria);
+  void aoEncerrar(@Observes ShutdownEvent event) {
+    gravarPendentes();
+  }
+
+  /**
+   * Grava imediatamente tudo o que está acumulado, inclusive o intervalo corrente.
+   */
+  public void gravarPendentes() {
+    gravar(Long.MAX_VALUE);
+  }
+
+  /**
+   * Remove do acumulado e grava os intervalos encerrados até o instante limite.
+   * Uma chamada que chegue depois da remoção cria um novo acumulador para o
+   * mesmo intervalo, gravado na execução seguinte; nada é perdido.
+   *
+   * @param limiteMs Instante (epoch ms) até o qual o intervalo deve ter terminado
+   */
+  private void gravar(long limiteMs) {
+    List<TelemetriaEntity> registros = new ArrayList<>();
+    for (ChaveIntervalo chave : pendentes.keySet()) {
+      if (chave.inicioMs() > limiteMs - tamanhoIntervaloMs) {
+        continue;
+      }
+      AcumuladorTelemetria acumulador = pendentes.remove(chave);
+      if (acumulador != null && acumulador.getQuantidade() > 0) {
+        registros.add(acumulador.toEntity(chave.endpoint(), paraDataHora(chave.inicioMs())));
+      }
+    }
+
+    if (!registros.isEmpty()) {
+      telemetriaRepository.persistirAgregados(registros);
+    }
   }
 
   /**
    * Obtém relatório completo de telemetria agregado por endpoint.
-   * Inclui contagem de requisições, tempo médio de resposta e período.
+   * Inclui contagem de requisições, tempos médios (total e por fase),
+   * percentis de latência em microssegundos e período.
    *
    * @return Resposta contendo lista de serviços com métricas e período de coleta
    */
   public TelemetriaResponse obterTelemetrias() {
-    List<TelemetriaEntity> todasAsTelemetrias = telemetriaRepository.listAll();
+    return obterTelemetrias(null, null, GranularidadeTelemetriaEnum.TOTAL);
+  }
 
-    // Agrupa por endpoint
-    Map<String, List<TelemetriaEntity>> agrupadosPorEndpoint = todasAsTelemetrias.stream()
-        .collect(Collectors.groupingBy(TelemetriaEntity::getEndpoint));
+  /**
+   * Obtém relatório de telemetria dentro de uma janela de tempo.
+   * Contagens e somas são calculadas pelo banco; apenas os histogramas dos
+   * registros agregados são mesclados em memória. Chamadas ainda não gravadas
+   * também são consideradas. Períodos já compactados são lidos dos registros
+   * consolidados, com resolução de hora ou de dia: um registro consolidado
+   * entra na janela se o início da sua hora ou dia estiver nela.
+   *
+   * @param de Início da janela (inclusivo), ou nulo para sem limite
+   * @param ate Fim da janela (exclusivo), ou nulo para sem limite
+   * @param granularidade TOTAL para um único intervalo, ou HORA/DIA para
+   *                      incluir também os serviços de cada intervalo
+   * @return Resposta com serviços da janela, intervalos (se solicitados) e período
+   * @throws ParametroInvalidoException Se o início não for anterior ao fim
+   */
+  public TelemetriaResponse obterTelemetrias(
+      LocalDateTime de,
+      LocalDateTime ate,
+      GranularidadeTelemetriaEnum granularidade) {
+    if (de != null && ate != null && !de.isBefore(ate)) {
+      throw new ParametroInvalidoException("Início da janela deve ser anterior ao fim");
+    }
+    boolean porIntervalo = granularidade != GranularidadeTelemetriaEnum.TOTAL;
 
-    // Cria lista de ServicoTelemetria com agregações
-    List<ServicoTelemetria> servicos = agrupadosPorEndpoint.entrySet().stream()
-        .map(this::criarServicoTelemetria)
-        .toList();
+    Map<String, TotaisTelemetria> totais = new TreeMap<>();
+    Map<LocalDateTime, Map<String, TotaisTelemetria>> intervalos = new TreeMap<>();
 
-    // Calcula período de início (primeiro registro) até fim (último registro)
-    LocalDate dataInicio = LocalDate.now();
-    LocalDate dataFim = LocalDate.now();
+    // Cada fonte cobre um trecho da janela: dias consolidados, depois horas
+    // consolidadas, depois os registros ainda não compactados
+    LocalDateTime diaAte = consolidadaRepository.consolidadoDiaAte();
+    LocalDateTime horaAte = consolidadaRepository.consolidadoHoraAte();
 
-    if (!todasAsTelemetrias.isEmpty()) {
-      dataInicio = todasAsTelemetrias.stream()
-          .map(t -> t.getTimestamp().toLocalDate())
-          .min(LocalDate::compareTo)
-          .orElse(LocalDate.now());
+    LocalDateTime fimDias = primeiro(ate, diaAte);
+    if (diaAte != null && janelaNaoVazia(de, fimDias)) {
+      somar(totais, intervalos, granularidade,
+          consolidadaRepository.agregar(GranularidadeTelemetriaEnum.DIA, de, fimDias, porIntervalo),
+          consolidadaRepository.listarHistogramas(GranularidadeTelemetriaEnum.DIA, de, fimDias));
+    }
 
-      dataFim = todasAsTelemetrias.stream()
-          .map(t -> t.getTimestamp().toLocalDate())
-          .max(LocalDate::compareTo)
-          .orElse(LocalDate.now());
+    LocalDateTime inicioHoras = ultimo(de, diaAte);
+    LocalDateTime fimHoras = primeiro(ate, horaAte);
+    if (horaAte != null && janelaNaoVazia(inicioHoras, fimHoras)) {
+      somar(totais, intervalos, granularidade,
+          consolidadaRepository.agregar(GranularidadeTelemetriaEnum.HORA, inicioHoras, fimHoras, porIntervalo),
+          consolidadaRepository.listarHistogramas(GranularidadeTelemetriaEnum.HORA, inicioHoras, fimHoras));
     }
 
-    Periodo periodo = new Periodo(dataInicio, dataFim);
+    LocalDateTime inicioRegistros = ultimo(de, horaAte);
+    if (janelaNaoVazia(inicioRegistros, ate)) {
+      somar(totais, intervalos, granularidade,
+          telemetriaRepository.agregar(inicioRegistros, ate, porIntervalo),
+          telemetriaRepository.listarHistogramas(inicioRegistros, ate));
+    }
+
+    // Inclui chamadas acumuladas que ainda não foram gravadas
+    pendentes.forEach((chave, acumulador) -> {
+      LocalDateTime inicio = paraDataHora(chave.inicioMs());
+      if (acumulador.getQuantidade() > 0 && dentroDaJanela(inicio, de, ate)) {
+        AgregadoTelemetria agregado = AgregadoTelemetria.de(acumulador.toEntity(chave.endpoint(), inicio));
+        HistogramaLatencia histograma = acumulador.toHistograma();
+        totais(totais, intervalos, granularidade, chave.endpoint(), inicio).forEach(t -> {
+          t.somar(agregado);
+          t.mesclar(histograma);
+        });
+      }
+    });
 
-    return new TelemetriaResponse(servicos, periodo);
+    List<ServicoTelemetria> servicos = criarServicos(totais);
+    List<IntervaloTelemetria> listaIntervalos = porIntervalo
+        ? intervalos.entrySet().stream()
+            .map(e -> new IntervaloTelemetria(e.getKey(), criarServicos(e.getValue())))
+            .toList()
+        : null;
+
+    return new TelemetriaResponse(servicos, calcularPeriodo(totais.values(), de, ate), listaIntervalos);
+  }
+
+  private void somar(
+      Map<String, TotaisTelemetria> totais,
+      Map<LocalDateTime, Map<String, TotaisTelemetria>> intervalos,
+      GranularidadeTelemetriaEnum granularidade,
+      List<AgregadoTelemetria> agregados,
+      List<HistogramaTelemetria> histogramas) {
+    for (AgregadoTelemetria agregado : agregados) {
+      totais(totais, intervalos, granularidade, agregado.getEndpoint(), agregado.getInicio()).forEach(t -> t.somar(agregado));
+    }
+    for (HistogramaTelemetria registro : histogramas) {
+      HistogramaLatencia histograma = HistogramaLatencia.desserializar(registro.getHistogramaUs());
+      totais(totais, intervalos, granularidade, registro.getEndpoint(), registro.getTimestamp()).forEach(t -> t.mesclar(histograma));
+    }
   }
 
   /**
-   * Cria objeto de serviço de telemetria com agregações de um endpoint.
-   *
-   * @param entry Entrada mapa com endpoint e lista de telemetrias
-   * @return Objeto ServicoTelemetria com contagem e tempo médio calculados
+   * Totais do endpoint na janela e, quando houver granularidade, no intervalo
+   * ao qual o registro pertence.
    */
-  private ServicoTelemetria criarServicoTelemetria(Map.Entry<String, List<TelemetriaEntity>> entry) {
-    return new ServicoTelemetria(
-        entry.getKey(),
-        (long) entry.getValue().size(),
-        calcularMediaTempoResposta(entry.getValue()));
+  private List<TotaisTelemetria> totais(
+      Map<String, TotaisTelemetria> totais,
+      Map<LocalDateTime, Map<String, TotaisTelemetria>> intervalos,
+      GranularidadeTelemetriaEnum granularidade,
+      String endpoint,
+      LocalDateTime timestamp) {
+    TotaisTelemetria total = totais.computeIfAbsent(endpoint, e -> new TotaisTelemetria());
+    LocalDateTime inicioIntervalo = granularidade.inicioIntervalo(timestamp);
+    if (inicioIntervalo == null) {
+      return List.of(total);
+    }
+    TotaisTelemetria doIntervalo = intervalos
+        .computeIfAbsent(inicioIntervalo, i -> new TreeMap<>())
+        .computeIfAbsent(endpoint, e -> new TotaisTelemetria());
+    return List.of(total, doIntervalo);
+  }
+
+  private List<ServicoTelemetria> criarServicos(Map<String, TotaisTelemetria> totais) {
+    return totais.entrySet().stream()
+        .map(e -> e.getValue().toServico(e.getKey()))
+        .toList();
   }
 
   /**
-   * Calcula tempo médio de resposta para lista de telemetrias.
-   *
-   * @param telemetrias Lista de registros de telemetria
-   * @return Tempo médio em milissegundos
+   * Período do relatório: a janela solicitada ou, sem limites, do primeiro ao
+   * último registro (hoje, se não houver registros).
    */
-  private Long calcularMediaTempoResposta(List<TelemetriaEntity> telemetrias) {
-    if (telemetrias.isEmpty()) {
-      return 0L;
-    }
+  private Periodo calcularPeriodo(Collection<TotaisTelemetria> totais, LocalDateTime de, LocalDateTime ate) {
+    LocalDate dataInicio = de != null
+        ? de.toLocalDate()
+        : totais.stream()
+            .map(TotaisTelemetria::getPrimeiro)
+            .filter(Objects::nonNull)
+            .min(LocalDateTime::compareTo)
+            .map(LocalDateTime::toLocalDate)
+            .orElse(LocalDate.now());
+
+    LocalDate dataFim = ate != null
+        ? ate.minusNanos(1).toLocalDate()
+        : totais.stream()
+            .map(TotaisTelemetria::getUltimo)
+            .filter(Objects::nonNull)
+            .max(LocalDateTime::compareTo)
+            .map(LocalDateTime::toLocalDate)
+            .orElse(LocalDate.now());
+
+    return new Periodo(dataInicio, dataFim);
+  }
 
-    long soma = telemetrias.stream()
-        .mapToLong(TelemetriaEntity::getTempoRespostaMs)
-        .sum();
+  private boolean dentroDaJanela(LocalDateTime timestamp, LocalDateTime de, LocalDateTime ate) {
+    return (de == null || !timestamp.isBefore(de)) && (ate == null || timestamp.isBefore(ate));
+  }
+
+  private boolean janelaNaoVazia(LocalDateTime de, LocalDateTime ate) {
+    return de == null || ate == null || de.isBefore(ate);
+  }
+
+  // Maior dos inícios; nulo significa sem limite inferior
+  private LocalDateTime ultimo(LocalDateTime a, LocalDateTime b) {
+    return a == null ? b : (b == null || a.isAfter(b) ? a : b);
+  }
+
+  // Menor dos fins; nulo significa sem limite superior
+  private LocalDateTime primeiro(LocalDateTime a, LocalDateTime b) {
+    return a == null ? b : (b == null || a.isBefore(b) ? a : b);
+  }
+
+  private LocalDateTime paraDataHora(long epochMs) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+  }
 
-    return soma / telemetrias.size();
+  private record ChaveIntervalo(String endpoint, long inicioMs) {
   }
 }
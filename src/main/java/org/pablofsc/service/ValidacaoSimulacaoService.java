@@ -3,6 +3,9 @@ package org.pablofsc.service;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.request.VarreduraSimulacaoRequest;
+
+import java.util.List;
 
 /**
  * Serviço de validação de parâmetros de simulação de investimento.
@@ -15,6 +18,7 @@ public class ValidacaoSimulacaoService {
   private static final Double VALOR_MAXIMO = 1_000_000.0;
   private static final Integer PRAZO_MINIMO = 1;
   private static final Integer PRAZO_MAXIMO = 360; // 30 anos
+  private static final int TAMANHO_MAXIMO_LOTE = 1000;
 
   /**
    * Valida todos os parâmetros da requisição de simulação.
@@ -28,6 +32,40 @@ public class ValidacaoSimulacaoService {
     validarTipoProduto(request.getTipoProduto());
   }
 
+  /**
+   * Valida o tamanho de um lote de simulações.
+   * Os itens são validados individualmente durante o processamento do lote.
+   *
+   * @param requests Requisições do lote
+   * @throws ParametroInvalidoException Se o lote for vazio ou exceder o tamanho máximo
+   */
+  public void validarLote(List<SimulacaoInvestimentoRequest> requests) {
+    if (requests == null || requests.isEmpty()) {
+      throw new ParametroInvalidoException("Lote deve conter ao menos uma simulação");
+    }
+    if (requests.size() > TAMANHO_MAXIMO_LOTE) {
+      throw new ParametroInvalidoException("Lote máximo é de " + TAMANHO_MAXIMO_LOTE + " simulações");
+    }
+  }
+
+  /**
+   * Valida os parâmetros de uma comparação de produtos e prazos.
+   *
+   * @param request Requisição a validar
+   * @throws ParametroInvalidoException Se o valor, os prazos ou a quantidade de prazos forem inválidos
+   */
+  public void validarVarredura(VarreduraSimulacaoRequest request) {
+    validarValor(request.getValor());
+    List<Integer> prazos = request.getPrazosMeses();
+    if (prazos == null || prazos.isEmpty()) {
+      throw new ParametroInvalidoException("Informe ao menos um prazo");
+    }
+    if (prazos.size() > PRAZO_MAXIMO) {
+      throw new ParametroInvalidoException("Máximo de " + PRAZO_MAXIMO + " prazos por comparação");
+    }
+    prazos.forEach(this::validarPrazo);
+  }
+
   private void validarValor(Double valor) {
     if (valor == null || valor <= 0) {
       throw new ParametroInvalidoException("Valor deve ser maior que zero");
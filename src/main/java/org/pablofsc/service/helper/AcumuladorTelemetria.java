@@ -0,0 +1,90 @@
+package org.pablofsc.service.helper;
+
+import org.pablofsc.domain.entity.TelemetriaEntity;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumulador em memória das chamadas de um endpoint em um intervalo de tempo.
+ * Usa contadores distribuídos (LongAdder/LongAccumulator), então várias
+ * requisições registram ao mesmo tempo sem bloqueio. Mantém também as
+ * contagens por faixa do histograma de latência do intervalo.
+ * Todos os tempos são em microssegundos.
+ */
+public class AcumuladorTelemetria {
+
+  private final LongAdder quantidade = new LongAdder();
+  private final LongAdder soma = new LongAdder();
+  private final LongAdder somaEntrada = new LongAdder();
+  private final LongAdder somaRecurso = new LongAdder();
+  private final LongAdder somaSerializacao = new LongAdder();
+  private final LongAccumulator minimo = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator maximo = new LongAccumulator(Math::max, Long.MIN_VALUE);
+  private final AtomicLongArray faixas = new AtomicLongArray(HistogramaLatencia.TOTAL_FAIXAS);
+
+  /**
+   * Registra uma chamada, separada em fases.
+   *
+   * @param entradaUs Tempo até o início do método do recurso
+   * @param recursoUs Tempo de execução do método do recurso
+   * @param serializacaoUs Tempo de serialização e escrita da resposta
+   */
+  public void registrar(long entradaUs, long recursoUs, long serializacaoUs) {
+    long totalUs = entradaUs + recursoUs + serializacaoUs;
+    quantidade.increment();
+    soma.add(totalUs);
+    somaEntrada.add(entradaUs);
+    somaRecurso.add(recursoUs);
+    somaSerializacao.add(serializacaoUs);
+    minimo.accumulate(totalUs);
+    maximo.accumulate(totalUs);
+    faixas.incrementAndGet(HistogramaLatencia.indice(totalUs));
+  }
+
+  public long getQuantidade() {
+    return quantidade.sum();
+  }
+
+  public long getSoma() {
+    return soma.sum();
+  }
+
+  /**
+   * Cópia do histograma de latência acumulado.
+   */
+  public HistogramaLatencia toHistograma() {
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    long maximoAtual = maximo.get();
+    for (int i = 0; i < faixas.length(); i++) {
+      histograma.registrarFaixa(i, faixas.get(i), maximoAtual);
+    }
+    return histograma;
+  }
+
+  /**
+   * Converte o acumulado em um registro agregado de telemetria.
+   *
+   * @param endpoint Endpoint monitorado
+   * @param inicioIntervalo Início do intervalo agregado
+   * @return Entidade com quantidade, somas por fase, mínimo, máximo e histograma do intervalo
+   */
+  public TelemetriaEntity toEntity(String endpoint, LocalDateTime inicioIntervalo) {
+    long somaUs = soma.sum();
+    return TelemetriaEntity.builder()
+        .endpoint(endpoint)
+        .timestamp(inicioIntervalo)
+        .tempoRespostaMs(somaUs / 1000)
+        .quantidadeChamadas(quantidade.sum())
+        .tempoRespostaUs(somaUs)
+        .tempoMinimoUs(minimo.get())
+        .tempoMaximoUs(maximo.get())
+        .tempoEntradaUs(somaEntrada.sum())
+        .tempoRecursoUs(somaRecurso.sum())
+        .tempoSerializacaoUs(somaSerializacao.sum())
+        .histogramaUs(toHistograma().serializar())
+        .build();
+  }
+}
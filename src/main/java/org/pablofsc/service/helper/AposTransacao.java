@@ -0,0 +1,40 @@
+package org.pablofsc.service.helper;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Adia uma ação até o fim da transação corrente.
+ * Usado para descartar caches em memória: descartados antes do commit, uma
+ * leitura concorrente ainda vê os dados antigos e os coloca de volta no cache.
+ */
+public final class AposTransacao {
+
+  private AposTransacao() {
+  }
+
+  /**
+   * Executa a ação ao fim da transação ativa (commit ou rollback), ou
+   * imediatamente se não houver transação ativa.
+   *
+   * @param registro Registro de sincronizações do JTA; nulo executa imediatamente
+   * @param acao Ação a executar
+   */
+  public static void executar(TransactionSynchronizationRegistry registro, Runnable acao) {
+    if (registro == null || registro.getTransactionStatus() != Status.STATUS_ACTIVE) {
+      acao.run();
+      return;
+    }
+    registro.registerInterposedSynchronization(new Synchronization() {
+      @Override
+      public void beforeCompletion() {
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        acao.run();
+      }
+    });
+  }
+}
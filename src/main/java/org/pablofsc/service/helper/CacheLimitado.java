@@ -0,0 +1,219 @@
+package org.pablofsc.service.helper;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória com capacidade limitada e expiração por entrada.
+ * Ao passar da capacidade, descarta a entrada usada há mais tempo (LRU). O
+ * momento de expiração de cada entrada vem da {@link Expiracao} informada:
+ * um TTL fixo a partir da gravação ou um prazo do próprio valor (ex: o exp
+ * de um token). Entradas expiradas saem na leitura ou em
+ * {@link #removerExpirados()}.
+ * Cada invalidação avança a geração do cache; um valor calculado a partir de
+ * uma leitura anterior à invalidação é recusado em
+ * {@link #guardar(Object, Object, long)}, então não volta ao cache.
+ * Conta acertos, falhas, descartes por capacidade, expirações e invalidações.
+ * Todas as operações são sincronizadas na instância.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do valor
+ */
+public class CacheLimitado<K, V> {
+
+  private final int capacidade;
+  private final LongSupplier relogio;
+  private final Expiracao<V> expiracao;
+  private final LinkedHashMap<K, Entrada<V>> entradas;
+
+  private long acertos;
+  private long falhas;
+  private long descartes;
+  private long expiracoes;
+  private long invalidacoes;
+  private long geracao;
+
+  /**
+   * @param capacidade Quantidade máxima de entradas
+   * @param relogio Fonte de tempo; a mesma unidade é usada pela expiração
+   * @param expiracao Momento, no tempo do relógio, em que cada entrada expira
+   * @throws IllegalArgumentException Se a capacidade for menor que 1
+   */
+  public CacheLimitado(int capacidade, LongSupplier relogio, Expiracao<V> expiracao) {
+    if (capacidade < 1) {
+      throw new IllegalArgumentException("Capacidade deve ser maior que zero");
+    }
+    this.capacidade = capacidade;
+    this.relogio = relogio;
+    this.expiracao = expiracao;
+    this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+        if (size() > CacheLimitado.this.capacidade) {
+          descartes++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Cache cujas entradas expiram um TTL fixo após a gravação.
+   *
+   * @param capacidade Quantidade máxima de entradas
+   * @param ttl Tempo de vida de cada entrada
+   * @param relogioNanos Fonte de tempo monotônica em nanossegundos (ex: System::nanoTime)
+   */
+  public static <K, V> CacheLimitado<K, V> comTtl(int capacidade, Duration ttl, LongSupplier relogioNanos) {
+    long ttlNanos = ttl.toNanos();
+    return new CacheLimitado<>(capacidade, relogioNanos, (valor, agora) -> agora + ttlNanos);
+  }
+
+  /**
+   * Obtém o valor, se estiver em cache e não tiver expirado.
+   *
+   * @param chave Chave
+   * @return Valor ou null se ausente ou expirado
+   */
+  public synchronized V obter(K chave) {
+    Entrada<V> entrada = entradas.get(chave);
+    if (entrada == null) {
+      falhas++;
+      return null;
+    }
+    if (relogio.getAsLong() >= entrada.expiraEm()) {
+      entradas.remove(chave);
+      expiracoes++;
+      falhas++;
+      return null;
+    }
+    acertos++;
+    return entrada.valor();
+  }
+
+  /**
+   * Guarda o valor, substituindo o anterior. Valores que já nascem expirados
+   * não são guardados.
+   *
+   * @param chave Chave
+   * @param valor Valor
+   * @return true se o valor foi guardado
+   */
+  public synchronized boolean guardar(K chave, V valor) {
+    long agora = relogio.getAsLong();
+    long expiraEm = expiracao.expiraEm(valor, agora);
+    if (expiraEm <= agora) {
+      return false;
+    }
+    entradas.put(chave, new Entrada<>(valor, expiraEm));
+    return true;
+  }
+
+  /**
+   * Guarda o valor, desde que nenhuma invalidação tenha ocorrido desde a
+   * geração informada.
+   *
+   * @param chave Chave
+   * @param valor Valor
+   * @param geracaoLida Geração obtida com {@link #geracao()} antes de calcular o valor
+   * @return true se o valor foi guardado
+   */
+  public synchronized boolean guardar(K chave, V valor, long geracaoLida) {
+    if (geracao != geracaoLida) {
+      return false;
+    }
+    return guardar(chave, valor);
+  }
+
+  /**
+   * Geração atual; avança a cada invalidação.
+   */
+  public synchronized long geracao() {
+    return geracao;
+  }
+
+  /**
+   * Remove a entrada da chave.
+   *
+   * @param chave Chave
+   */
+  public synchronized void invalidar(K chave) {
+    geracao++;
+    if (entradas.remove(chave) != null) {
+      invalidacoes++;
+    }
+  }
+
+  /**
+   * Remove todas as entradas.
+   */
+  public synchronized void invalidarTodos() {
+    geracao++;
+    invalidacoes += entradas.size();
+    entradas.clear();
+  }
+
+  /**
+   * Remove as entradas expiradas, mesmo as que não foram mais consultadas.
+   *
+   * @return Quantidade de entradas removidas
+   */
+  public synchronized int removerExpirados() {
+    long agora = relogio.getAsLong();
+    int removidas = 0;
+    Iterator<Entrada<V>> iterator = entradas.values().iterator();
+    while (iterator.hasNext()) {
+      if (agora >= iterator.next().expiraEm()) {
+        iterator.remove();
+        removidas++;
+      }
+    }
+    expiracoes += removidas;
+    return removidas;
+  }
+
+  /**
+   * Fotografia dos contadores do cache.
+   *
+   * @return Estatísticas acumuladas desde a criação do cache
+   */
+  public synchronized Estatisticas estatisticas() {
+    return new Estatisticas(entradas.size(), capacidade, acertos, falhas, descartes, expiracoes, invalidacoes);
+  }
+
+  /**
+   * Momento de expiração de uma entrada.
+   *
+   * @param <V> Tipo do valor
+   */
+  @FunctionalInterface
+  public interface Expiracao<V> {
+
+    /**
+     * @param valor Valor sendo guardado
+     * @param agora Tempo atual do relógio do cache
+     * @return Tempo do relógio em que a entrada expira; até agora, o valor não é guardado
+     */
+    long expiraEm(V valor, long agora);
+  }
+
+  /**
+   * Contadores do cache.
+   */
+  public record Estatisticas(
+      int tamanho,
+      int capacidade,
+      long acertos,
+      long falhas,
+      long descartes,
+      long expiracoes,
+      long invalidacoes) {
+  }
+
+  private record Entrada<V>(V valor, long expiraEm) {
+  }
+}
@@ -0,0 +1,141 @@
+package org.pablofsc.service.helper;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.enums.NivelRiscoEnum;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fotografia imutável e versionada do catálogo de produtos.
+ * Mantém os produtos ordenados por ID e indexados por tipo e nível de risco,
+ * permitindo consultas em memória sem acesso ao banco de dados.
+ * Além das listas, cada tipo e cada nível de risco tem um {@link BitSet} sobre
+ * as posições dos produtos, então o conjunto de candidatos de um filtro é
+ * obtido com operações bit a bit, sem percorrer o catálogo.
+ */
+@Getter
+public final class CatalogoProdutoSnapshot {
+
+  /**
+   * Versão do catálogo, incrementada a cada reconstrução.
+   */
+  private final long versao;
+
+  /**
+   * Todos os produtos do catálogo, ordenados por ID.
+   */
+  private final List<ProdutoEntity> produtos;
+
+  private final Map<TipoProdutoEnum, List<ProdutoEntity>> produtosPorTipo;
+  private final Map<NivelRiscoEnum, List<ProdutoEntity>> produtosPorRisco;
+
+  // Posições (em produtos) de cada tipo
+  @Getter(AccessLevel.NONE)
+  private final Map<TipoProdutoEnum, BitSet> posicoesPorTipo;
+
+  // Posições dos produtos com risco até cada nível, inclusive
+  @Getter(AccessLevel.NONE)
+  private final Map<NivelRiscoEnum, BitSet> posicoesAteRisco;
+
+  public CatalogoProdutoSnapshot(long versao, List<ProdutoEntity> produtos) {
+    List<ProdutoEntity> ordenados = new ArrayList<>(produtos);
+    ordenados.sort(Comparator.comparing(ProdutoEntity::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    Map<TipoProdutoEnum, List<ProdutoEntity>> porTipo = new EnumMap<>(TipoProdutoEnum.class);
+    Map<NivelRiscoEnum, List<ProdutoEntity>> porRisco = new EnumMap<>(NivelRiscoEnum.class);
+
+    Map<TipoProdutoEnum, BitSet> bitsPorTipo = new EnumMap<>(TipoProdutoEnum.class);
+    Map<NivelRiscoEnum, BitSet> bitsPorRisco = new EnumMap<>(NivelRiscoEnum.class);
+
+    for (int i = 0; i < ordenados.size(); i++) {
+      ProdutoEntity produto = ordenados.get(i);
+      if (produto.getTipo() != null) {
+        porTipo.computeIfAbsent(produto.getTipo(), t -> new ArrayList<>()).add(produto);
+        bitsPorTipo.computeIfAbsent(produto.getTipo(), t -> new BitSet(ordenados.size())).set(i);
+      }
+      if (produto.getRisco() != null) {
+        porRisco.computeIfAbsent(produto.getRisco(), r -> new ArrayList<>()).add(produto);
+        bitsPorRisco.computeIfAbsent(produto.getRisco(), r -> new BitSet(ordenados.size())).set(i);
+      }
+    }
+
+    // Acumula os níveis: "até ALTO" = MUITO_BAIXO | BAIXO | ALTO
+    Map<NivelRiscoEnum, BitSet> ateRisco = new EnumMap<>(NivelRiscoEnum.class);
+    for (NivelRiscoEnum risco : NivelRiscoEnum.values()) {
+      BitSet ate = new BitSet(ordenados.size());
+      for (Map.Entry<NivelRiscoEnum, BitSet> entrada : bitsPorRisco.entrySet()) {
+        if (entrada.getKey().getNivel() <= risco.getNivel()) {
+          ate.or(entrada.getValue());
+        }
+      }
+      ateRisco.put(risco, ate);
+    }
+
+    porTipo.replaceAll((tipo, lista) -> List.copyOf(lista));
+    porRisco.replaceAll((risco, lista) -> List.copyOf(lista));
+
+    this.versao = versao;
+    this.produtos = List.copyOf(ordenados);
+    this.produtosPorTipo = Collections.unmodifiableMap(porTipo);
+    this.produtosPorRisco = Collections.unmodifiableMap(porRisco);
+    this.posicoesPorTipo = bitsPorTipo;
+    this.posicoesAteRisco = ateRisco;
+  }
+
+  /**
+   * Posições dos produtos de um tipo com risco até o nível informado
+   * (interseção dos índices de tipo e de risco).
+   *
+   * @param tipo Tipo de produto
+   * @param riscoMaximo Nível de risco máximo, inclusive
+   * @return Novo BitSet com as posições em {@link #getProdutos()}, em ordem de ID
+   */
+  public BitSet posicoes(TipoProdutoEnum tipo, NivelRiscoEnum riscoMaximo) {
+    BitSet doTipo = posicoesPorTipo.get(tipo);
+    if (doTipo == null) {
+      return new BitSet();
+    }
+    BitSet resultado = (BitSet) doTipo.clone();
+    resultado.and(posicoesAteRisco.get(riscoMaximo));
+    return resultado;
+  }
+
+  /**
+   * Posições dos produtos de qualquer tipo com risco até o nível informado.
+   *
+   * @param riscoMaximo Nível de risco máximo, inclusive
+   * @return Novo BitSet com as posições em {@link #getProdutos()}, em ordem de ID
+   */
+  public BitSet posicoes(NivelRiscoEnum riscoMaximo) {
+    return (BitSet) posicoesAteRisco.get(riscoMaximo).clone();
+  }
+
+  /**
+   * Retorna os produtos de um tipo, ordenados por ID.
+   *
+   * @param tipo Tipo de produto
+   * @return Lista imutável (vazia se não houver produtos do tipo)
+   */
+  public List<ProdutoEntity> porTipo(TipoProdutoEnum tipo) {
+    return produtosPorTipo.getOrDefault(tipo, List.of());
+  }
+
+  /**
+   * Retorna os produtos de um nível de risco, ordenados por ID.
+   *
+   * @param risco Nível de risco
+   * @return Lista imutável (vazia se não houver produtos com o risco)
+   */
+  public List<ProdutoEntity> porRisco(NivelRiscoEnum risco) {
+    return produtosPorRisco.getOrDefault(risco, List.of());
+  }
+}
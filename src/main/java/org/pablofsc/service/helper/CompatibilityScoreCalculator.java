@@ -2,15 +2,28 @@ package org.pablofsc.service.helper;
 
 import org.pablofsc.domain.entity.ClienteEntity;
 import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.enums.FrequenciaMovimentacoesEnum;
+import org.pablofsc.domain.enums.NivelRiscoEnum;
+import org.pablofsc.domain.enums.PreferenciaRentLiqEnum;
 import org.pablofsc.domain.model.PerfilCliente;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Calculadora de scores de compatibilidade entre produtos e clientes/perfis (0-100).
  * Isola lógica de scoring para facilitar testes independentes e manutenção do algoritmo.
  * Considera: rentabilidade, risco, preferência, volume investido e frequência de movimentações.
+ * Os scores de cliente são memorizados pelos atributos que os determinam, então
+ * clientes com o mesmo perfil de pontuação reaproveitam os scores já calculados.
  */
 public class CompatibilityScoreCalculator {
 
+  // Limita a memória usada; ao atingir o limite a tabela é esvaziada e recomeça
+  static final int LIMITE_SCORES_MEMORIZADOS = 10_000;
+
+  private final Map<ChaveScore, Double> scoresCliente = new ConcurrentHashMap<>();
+
   /**
    * Calcula score de compatibilidade entre produto e cliente (0-100).
    * Componentes: preferência (até 30), rentabilidade (até 40), risco (até 20),
@@ -21,6 +34,27 @@ public class CompatibilityScoreCalculator {
    * @return Score de 0 a 100 onde maior é mais compatível
    */
   public double calcularCompatibilidadeCliente(ProdutoEntity produto, ClienteEntity cliente) {
+    ChaveScore chave = new ChaveScore(
+        cliente.getPreferenciaRentLiq(),
+        cliente.getRiscoMaximoAceitavel().getNivel(),
+        calcularBonusVolume(cliente.getVolumeTotalInvestido()),
+        cliente.getFrequenciaMovimentacoes(),
+        produto.getId(),
+        produto.getRentabilidade(),
+        produto.getRisco());
+
+    Double score = scoresCliente.get(chave);
+    if (score == null) {
+      score = calcularSemMemoria(produto, cliente);
+      if (scoresCliente.size() >= LIMITE_SCORES_MEMORIZADOS) {
+        scoresCliente.clear();
+      }
+      scoresCliente.put(chave, score);
+    }
+    return score;
+  }
+
+  private double calcularSemMemoria(ProdutoEntity produto, ClienteEntity cliente) {
     double rentabilidade = (produto.getRentabilidade() != null) ? produto.getRentabilidade() * 100 : 0;
     int nivelRisco = produto.getRisco().getNivel();
     int nivelMaximo = cliente.getRiscoMaximoAceitavel().getNivel();
@@ -128,13 +162,12 @@ public class CompatibilityScoreCalculator {
    * @param frequencia Frequência (ALTA, MEDIA, BAIXA)
    * @return Bônus em pontos (até 5)
    */
-  private double calcularBonusFrequencia(Object frequencia) {
+  private double calcularBonusFrequencia(FrequenciaMovimentacoesEnum frequencia) {
     return switch (frequencia) {
-      case Object o when o.toString().equals("ALTA") -> 5.0;
-      case Object o when o.toString().equals("MEDIA") -> 3.0;
-      case Object o when o.toString().equals("BAIXA") -> 1.0;
+      case ALTA -> 5.0;
+      case MEDIA -> 3.0;
+      case BAIXA -> 1.0;
       case null -> 0.0;
-      default -> 0.0;
     };
   }
 
@@ -172,4 +205,19 @@ public class CompatibilityScoreCalculator {
   private double calcularScoreAgressivo(double rentabilidade, int nivelRisco) {
     return rentabilidade * 0.8 + (nivelRisco * 2);
   }
+
+  /**
+   * Atributos que determinam o score de cliente: os do cliente que entram no
+   * cálculo e os do produto. Rentabilidade e risco fazem parte da chave para
+   * que uma alteração do produto no catálogo não reaproveite score antigo.
+   */
+  private record ChaveScore(
+      PreferenciaRentLiqEnum preferencia,
+      int nivelRiscoMaximo,
+      double bonusVolume,
+      FrequenciaMovimentacoesEnum frequencia,
+      Long produtoId,
+      Double rentabilidade,
+      NivelRiscoEnum risco) {
+  }
 }
@@ -0,0 +1,117 @@
+package org.pablofsc.service.helper;
+
+import org.pablofsc.domain.exception.ServicoSobrecarregadoException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado ao hash e à verificação de senhas (bcrypt).
+ * O bcrypt é propositalmente caro em CPU; executá-lo em um número fixo de
+ * threads limita quantos núcleos um pico de logins pode ocupar, deixando os
+ * demais livres para o resto da API. A fila de espera é limitada e, quando
+ * está cheia, a tarefa é recusada na hora com
+ * {@link ServicoSobrecarregadoException}, em vez de acumular requisições.
+ * Conta tarefas concluídas, recusadas e o maior tamanho de fila observado.
+ */
+public class ExecutorHashSenha {
+
+  private final ThreadPoolExecutor executor;
+  private final ArrayBlockingQueue<Runnable> fila;
+  private final LongAdder rejeicoes = new LongAdder();
+  private final AtomicInteger maiorFila = new AtomicInteger();
+
+  /**
+   * @param threads Quantidade de threads de hash
+   * @param capacidadeFila Quantidade máxima de tarefas aguardando thread
+   * @throws IllegalArgumentException Se threads ou capacidade forem menores que 1
+   */
+  public ExecutorHashSenha(int threads, int capacidadeFila) {
+    if (threads < 1 || capacidadeFila < 1) {
+      throw new IllegalArgumentException("Threads e capacidade da fila devem ser maiores que zero");
+    }
+    this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+    this.executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        fila,
+        Thread.ofPlatform().name("hash-senha-", 0).daemon(true).factory(),
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Executa a tarefa no pool e aguarda o resultado.
+   *
+   * @param tarefa Cálculo a executar (hash ou verificação de senha)
+   * @return Resultado da tarefa
+   * @throws ServicoSobrecarregadoException Se a fila estiver cheia ou o pool encerrado
+   */
+  public <T> T executar(Supplier<T> tarefa) {
+    Future<T> futuro;
+    try {
+      futuro = executor.submit(tarefa::get);
+    } catch (RejectedExecutionException e) {
+      rejeicoes.increment();
+      throw new ServicoSobrecarregadoException("Muitas autenticações simultâneas, tente novamente em instantes");
+    }
+    maiorFila.accumulateAndGet(fila.size(), Math::max);
+
+    try {
+      return futuro.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException causa) {
+        throw causa;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      futuro.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+    }
+  }
+
+  /**
+   * Recusa novas tarefas; as já aceitas terminam normalmente.
+   */
+  public void encerrar() {
+    executor.shutdown();
+  }
+
+  /**
+   * Fotografia do pool.
+   *
+   * @return Ocupação atual e contadores acumulados desde a criação
+   */
+  public Estatisticas estatisticas() {
+    return new Estatisticas(
+        executor.getMaximumPoolSize(),
+        executor.getActiveCount(),
+        fila.size(),
+        fila.size() + fila.remainingCapacity(),
+        maiorFila.get(),
+        executor.getCompletedTaskCount(),
+        rejeicoes.sum());
+  }
+
+  /**
+   * Ocupação e contadores do pool.
+   */
+  public record Estatisticas(
+      int threads,
+      int ativas,
+      int naFila,
+      int capacidadeFila,
+      int maiorFila,
+      long concluidas,
+      long rejeicoes) {
+  }
+}
@@ -0,0 +1,170 @@
+package org.pablofsc.service.helper;
+
+/**
+ * Histograma log-linear de latências, mesclável e com erro relativo limitado.
+ * Cada potência de 2 é dividida em 16 faixas lineares, então o valor
+ * reportado para um percentil fica no máximo ~6% acima do valor real.
+ * Valores abaixo de 16 são contados exatamente.
+ * Não é thread-safe; o registro concorrente é feito em {@link AcumuladorTelemetria}.
+ */
+public class HistogramaLatencia {
+
+  static final int BITS_SUBFAIXA = 4;
+  static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+  static final int TOTAL_FAIXAS = (64 - BITS_SUBFAIXA) * SUBFAIXAS;
+
+  private final long[] contagens = new long[TOTAL_FAIXAS];
+  private long quantidade;
+  private long maximo;
+
+  /**
+   * Calcula a faixa de um valor.
+   *
+   * @param valor Valor não negativo (negativos são tratados como zero)
+   * @return Índice da faixa
+   */
+  public static int indice(long valor) {
+    if (valor < SUBFAIXAS) {
+      return (int) Math.max(valor, 0);
+    }
+    int expoente = 63 - Long.numberOfLeadingZeros(valor);
+    int deslocamento = expoente - BITS_SUBFAIXA;
+    return (deslocamento + 1) * SUBFAIXAS + (int) ((valor >>> deslocamento) - SUBFAIXAS);
+  }
+
+  /**
+   * Maior valor que cai na faixa informada.
+   *
+   * @param indice Índice da faixa
+   * @return Limite superior (inclusivo) da faixa
+   */
+  public static long limiteSuperior(int indice) {
+    if (indice < SUBFAIXAS) {
+      return indice;
+    }
+    int deslocamento = indice / SUBFAIXAS - 1;
+    long mantissa = indice % SUBFAIXAS + SUBFAIXAS;
+    return ((mantissa + 1) << deslocamento) - 1;
+  }
+
+  public void registrar(long valor) {
+    registrar(valor, 1);
+  }
+
+  /**
+   * Registra várias ocorrências de um mesmo valor.
+   *
+   * @param valor Valor observado
+   * @param ocorrencias Quantidade de ocorrências
+   */
+  public void registrar(long valor, long ocorrencias) {
+    if (ocorrencias <= 0) {
+      return;
+    }
+    contagens[indice(valor)] += ocorrencias;
+    quantidade += ocorrencias;
+    maximo = Math.max(maximo, valor);
+  }
+
+  /**
+   * Soma a contagem de uma faixa, mantendo o máximo informado.
+   */
+  void registrarFaixa(int indice, long ocorrencias, long maximoFaixa) {
+    if (ocorrencias <= 0) {
+      return;
+    }
+    contagens[indice] += ocorrencias;
+    quantidade += ocorrencias;
+    maximo = Math.max(maximo, maximoFaixa);
+  }
+
+  /**
+   * Acrescenta as contagens de outro histograma a este.
+   *
+   * @param outro Histograma a mesclar
+   */
+  public void mesclar(HistogramaLatencia outro) {
+    for (int i = 0; i < TOTAL_FAIXAS; i++) {
+      contagens[i] += outro.contagens[i];
+    }
+    quantidade += outro.quantidade;
+    maximo = Math.max(maximo, outro.maximo);
+  }
+
+  public long getQuantidade() {
+    return quantidade;
+  }
+
+  public long getMaximo() {
+    return maximo;
+  }
+
+  /**
+   * Valor do percentil informado.
+   *
+   * @param percentil Percentil entre 0 e 100 (ex: 99.9)
+   * @return Limite superior da faixa que contém o percentil, limitado ao
+   *         máximo observado; 0 se o histograma estiver vazio
+   */
+  public long percentil(double percentil) {
+    if (quantidade == 0) {
+      return 0;
+    }
+    long alvo = Math.max(1, (long) Math.ceil(quantidade * percentil / 100.0));
+    long acumulado = 0;
+    for (int i = 0; i < TOTAL_FAIXAS; i++) {
+      acumulado += contagens[i];
+      if (acumulado >= alvo) {
+        return Math.min(limiteSuperior(i), maximo);
+      }
+    }
+    return maximo;
+  }
+
+  /**
+   * Serializa apenas as faixas não vazias, no formato "max;indice:contagem,...".
+   *
+   * @return Representação compacta do histograma
+   */
+  public String serializar() {
+    StringBuilder sb = new StringBuilder().append(maximo).append(';');
+    boolean primeiro = true;
+    for (int i = 0; i < TOTAL_FAIXAS; i++) {
+      if (contagens[i] != 0) {
+        if (!primeiro) {
+          sb.append(',');
+        }
+        sb.append(i).append(':').append(contagens[i]);
+        primeiro = false;
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Reconstrói histograma serializado por {@link #serializar()}.
+   *
+   * @param texto Representação compacta; nulo ou vazio gera histograma vazio
+   * @return Histograma reconstruído
+   */
+  public static HistogramaLatencia desserializar(String texto) {
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    if (texto == null || texto.isBlank()) {
+      return histograma;
+    }
+
+    int separador = texto.indexOf(';');
+    long maximo = Long.parseLong(texto.substring(0, separador));
+    String faixas = texto.substring(separador + 1);
+    if (!faixas.isEmpty()) {
+      for (String faixa : faixas.split(",")) {
+        int doisPontos = faixa.indexOf(':');
+        histograma.registrarFaixa(
+            Integer.parseInt(faixa.substring(0, doisPontos)),
+            Long.parseLong(faixa.substring(doisPontos + 1)),
+            maximo);
+      }
+    }
+    return histograma;
+  }
+}
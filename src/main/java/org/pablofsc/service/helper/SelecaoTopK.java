@@ -0,0 +1,69 @@
+package org.pablofsc.service.helper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Seleciona os K melhores itens de uma sequência em uma única passada,
+ * mantendo apenas K itens em memória (heap limitado com o pior no topo).
+ * Custa O(n log K) em vez do O(n log n) de ordenar tudo para pegar o início.
+ * Não é thread-safe; cada seleção é usada por uma única requisição.
+ *
+ * @param <T> Tipo dos itens
+ */
+public class SelecaoTopK<T> {
+
+  private final int limite;
+  private final Comparator<T> ordem;
+  private final PriorityQueue<T> heap;
+
+  /**
+   * @param limite Quantidade máxima de itens mantidos (K)
+   * @param ordem Ordem do melhor para o pior
+   * @throws IllegalArgumentException Se o limite for menor que 1
+   */
+  public SelecaoTopK(int limite, Comparator<T> ordem) {
+    if (limite < 1) {
+      throw new IllegalArgumentException("Limite deve ser maior que zero");
+    }
+    this.limite = limite;
+    this.ordem = ordem;
+    this.heap = new PriorityQueue<>(Math.min(limite, 64), ordem.reversed());
+  }
+
+  /**
+   * Considera um item; ele é mantido se houver espaço ou se for melhor que o
+   * pior item mantido até agora.
+   *
+   * @param item Item a considerar
+   */
+  public void oferecer(T item) {
+    if (heap.size() < limite) {
+      heap.add(item);
+    } else if (ordem.compare(item, heap.peek()) < 0) {
+      heap.poll();
+      heap.add(item);
+    }
+  }
+
+  public boolean isEmpty() {
+    return heap.isEmpty();
+  }
+
+  public int size() {
+    return heap.size();
+  }
+
+  /**
+   * Itens mantidos, do melhor para o pior.
+   *
+   * @return Nova lista ordenada com até K itens
+   */
+  public List<T> resultado() {
+    List<T> itens = new ArrayList<>(heap);
+    itens.sort(ordem);
+    return itens;
+  }
+}
@@ -3,18 +3,26 @@ package org.pablofsc.service.helper;
 import org.pablofsc.domain.entity.ClienteEntity;
 import org.pablofsc.domain.entity.ProdutoEntity;
 import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
 import org.pablofsc.domain.exception.ClienteNaoEncontradoException;
 import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
 import org.pablofsc.domain.mapper.EntityToModelMapper;
+import org.pablofsc.domain.model.PontoProjecao;
 import org.pablofsc.domain.model.Produto;
 import org.pablofsc.domain.model.Simulacao;
 import org.pablofsc.repository.ClienteRepository;
 import org.pablofsc.repository.SimulacaoRepository;
 import org.pablofsc.service.CalculoSimulacaoService;
 import org.pablofsc.service.MotorRecomendacaoService;
+import org.pablofsc.service.SimulacaoWriteBehindService;
 
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Orquestrador de simulação - coordena validação, recomendação, cálculo e persistência.
@@ -28,16 +36,27 @@ public class SimulacaoOrchestrator {
   private final SimulacaoRepository historicoRepository;
   private final MotorRecomendacaoService motorRecomendacao;
   private final CalculoSimulacaoService calculoService;
+  private final SimulacaoWriteBehindService writeBehind;
 
   public SimulacaoOrchestrator(
       ClienteRepository clienteRepository,
       SimulacaoRepository historicoRepository,
       MotorRecomendacaoService motorRecomendacao,
       CalculoSimulacaoService calculoService) {
+    this(clienteRepository, historicoRepository, motorRecomendacao, calculoService, null);
+  }
+
+  public SimulacaoOrchestrator(
+      ClienteRepository clienteRepository,
+      SimulacaoRepository historicoRepository,
+      MotorRecomendacaoService motorRecomendacao,
+      CalculoSimulacaoService calculoService,
+      SimulacaoWriteBehindService writeBehind) {
     this.clienteRepository = clienteRepository;
     this.historicoRepository = historicoRepository;
     this.motorRecomendacao = motorRecomendacao;
     this.calculoService = calculoService;
+    this.writeBehind = writeBehind;
   }
 
   /**
@@ -55,6 +74,20 @@ public class SimulacaoOrchestrator {
     return cliente;
   }
 
+  /**
+   * Obtém vários clientes com uma única consulta.
+   *
+   * @param clienteIds IDs distintos dos clientes
+   * @return Mapa de ID para cliente, contendo apenas os clientes encontrados
+   */
+  public Map<Long, ClienteEntity> obterClientes(Collection<Long> clienteIds) {
+    if (clienteIds.isEmpty()) {
+      return Map.of();
+    }
+    return clienteRepository.list("id in ?1", clienteIds).stream()
+        .collect(Collectors.toMap(ClienteEntity::getId, Function.identity()));
+  }
+
   /**
    * Recomenda produto para cliente e valida se existe.
    *
@@ -75,6 +108,37 @@ public class SimulacaoOrchestrator {
     return produto;
   }
 
+  /**
+   * Obtém os produtos compatíveis com o cliente em vários tipos, com uma
+   * única classificação de perfil.
+   *
+   * @param cliente Cliente para recomendação
+   * @param tipos Tipos de produto desejados
+   * @return Produtos compatíveis de cada tipo, em ordem de compatibilidade
+   */
+  public Map<TipoProdutoEnum, List<ProdutoEntity>> obterProdutosCompativeis(
+      ClienteEntity cliente,
+      Collection<TipoProdutoEnum> tipos) {
+    return motorRecomendacao.obterProdutosCompativeis(cliente, tipos);
+  }
+
+  /**
+   * Calcula os valores finais do investimento em cada produto e prazo.
+   *
+   * @param valorInvestido Valor inicial a investir
+   * @param produtos Produtos com parâmetros de rentabilidade (linhas)
+   * @param prazosMeses Prazos em meses (colunas)
+   * @return Matriz [produto][prazo] de valores finais
+   */
+  public double[][] calcularMatriz(Double valorInvestido, List<ProdutoEntity> produtos, int[] prazosMeses) {
+    double[] taxas = new double[produtos.size()];
+    for (int i = 0; i < taxas.length; i++) {
+      Double rentabilidade = produtos.get(i).getRentabilidade();
+      taxas[i] = rentabilidade != null ? rentabilidade : 0.0;
+    }
+    return calculoService.calcularMatriz(valorInvestido, taxas, prazosMeses);
+  }
+
   /**
    * Calcula resultado da simulação de investimento.
    *
@@ -99,6 +163,28 @@ public class SimulacaoOrchestrator {
         prazoMeses);
   }
 
+  /**
+   * Projeta a evolução mensal do valor investido no produto.
+   *
+   * @param valorInvestido Valor inicial a investir
+   * @param produto Produto com parâmetros de rentabilidade
+   * @param prazoMeses Prazo em meses
+   * @param intervaloMeses Intervalo entre os pontos da série
+   * @return Série do mês 0 até o fim do prazo
+   */
+  public List<PontoProjecao> projetarSerie(
+      Double valorInvestido,
+      ProdutoEntity produto,
+      Integer prazoMeses,
+      int intervaloMeses) {
+    Double rentabilidade = produto.getRentabilidade();
+    return calculoService.projetarSerie(
+        valorInvestido,
+        rentabilidade != null ? rentabilidade : 0.0,
+        prazoMeses,
+        intervaloMeses);
+  }
+
   /**
    * Converte produto para modelo de apresentação
    */
@@ -126,10 +212,24 @@ public class SimulacaoOrchestrator {
   }
 
   /**
-   * Persiste simulação no banco de dados
+   * Persiste simulação no banco de dados, atualizando os totais por produto e dia.
+   * Com write-behind habilitado, apenas enfileira a simulação; grava de forma
+   * síncrona se a fila estiver cheia.
    */
   public void persistirSimulacao(SimulacaoEntity simulacao) {
-    historicoRepository.persistAndFlush(simulacao);
+    if (writeBehind != null && writeBehind.enfileirar(simulacao)) {
+      return;
+    }
+    historicoRepository.inserir(simulacao);
+  }
+
+  /**
+   * Persiste várias simulações de uma vez na transação corrente
+   */
+  public void persistirSimulacoes(List<SimulacaoEntity> simulacoes) {
+    if (!simulacoes.isEmpty()) {
+      historicoRepository.inserirEmLote(simulacoes);
+    }
   }
 
   /**
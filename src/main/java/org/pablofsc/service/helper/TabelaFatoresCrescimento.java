@@ -0,0 +1,49 @@
+package org.pablofsc.service.helper;
+
+/**
+ * Fatores de crescimento (1 + i)^(meses/12) de uma taxa anual, pré-calculados
+ * para todos os prazos de 0 até o prazo máximo da tabela. Cada fator é
+ * calculado uma única vez, com o mesmo Math.pow do cálculo individual, então
+ * consultar a tabela dá exatamente o mesmo resultado sem repetir o pow.
+ * Imutável depois de construída, pode ser compartilhada entre threads.
+ */
+public class TabelaFatoresCrescimento {
+
+  private final double taxaAnual;
+  private final double[] fatores;
+
+  /**
+   * @param taxaAnual Taxa de juros anual (ex: 0.12 para 12%)
+   * @param prazoMaximoMeses Maior prazo pré-calculado
+   */
+  public TabelaFatoresCrescimento(double taxaAnual, int prazoMaximoMeses) {
+    this.taxaAnual = taxaAnual;
+    this.fatores = new double[prazoMaximoMeses + 1];
+    double base = 1 + taxaAnual;
+    for (int meses = 0; meses <= prazoMaximoMeses; meses++) {
+      fatores[meses] = Math.pow(base, meses / 12.0);
+    }
+  }
+
+  /**
+   * Fator de crescimento do prazo informado. Prazos fora da tabela são
+   * calculados diretamente.
+   *
+   * @param meses Prazo em meses
+   * @return (1 + i)^(meses/12)
+   */
+  public double fator(int meses) {
+    if (meses >= 0 && meses < fatores.length) {
+      return fatores[meses];
+    }
+    return Math.pow(1 + taxaAnual, meses / 12.0);
+  }
+
+  public double getTaxaAnual() {
+    return taxaAnual;
+  }
+
+  public int getPrazoMaximoMeses() {
+    return fatores.length - 1;
+  }
+}
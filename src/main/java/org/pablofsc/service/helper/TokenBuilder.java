@@ -6,18 +6,33 @@ import org.pablofsc.domain.entity.UsuarioEntity;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.function.IntToLongFunction;
 
 /**
  * Construtor de JWT tokens com suporte a criptografia de senhas.
  * Isola lógica de geração e validação de tokens para facilitar testes.
  * Utiliza Bcrypt para hash de senhas e smallrye-jwt para geração de tokens.
+ * O custo do Bcrypt começa no padrão e pode ser ajustado após a calibração
+ * (ver {@link #calibrarCusto(Duration, int, int)}); hashes gravados com custo
+ * menor são identificados por {@link #precisaRehash(String)}.
  */
 public class TokenBuilder {
 
+  // Custo padrão do BcryptUtil, usado pelos hashes já gravados
+  public static final int CUSTO_BCRYPT_PADRAO = 10;
+
+  // Limites aceitos pelo algoritmo
+  static final int CUSTO_BCRYPT_MINIMO = 4;
+  static final int CUSTO_BCRYPT_MAXIMO = 31;
+
+  private static final String SENHA_CALIBRACAO = "calibracao-bcrypt";
+
   private final String issuer;
   private final String audience;
   private final Duration expirationDuration;
 
+  private volatile int custoBcrypt = CUSTO_BCRYPT_PADRAO;
+
   public TokenBuilder(String issuer, String audience, Duration expirationDuration) {
     this.issuer = issuer;
     this.audience = audience;
@@ -50,13 +65,13 @@ public class TokenBuilder {
   }
 
   /**
-   * Criptografa senha usando algoritmo Bcrypt com salt.
+   * Criptografa senha usando algoritmo Bcrypt com salt, no custo atual.
    *
    * @param senha Senha em texto plano
    * @return Hash Bcrypt da senha
    */
   public String criptografarSenha(String senha) {
-    return BcryptUtil.bcryptHash(senha);
+    return BcryptUtil.bcryptHash(senha, custoBcrypt);
   }
 
   /**
@@ -69,4 +84,106 @@ public class TokenBuilder {
   public boolean verificarSenha(String senhaFornecida, String senhaCriptografada) {
     return BcryptUtil.matches(senhaFornecida, senhaCriptografada);
   }
+
+  /**
+   * Indica se o hash foi gerado com custo menor que o atual e deve ser
+   * refeito no próximo login bem-sucedido.
+   *
+   * @param senhaCriptografada Hash Bcrypt armazenado no banco de dados
+   * @return true se o custo do hash for menor que o atual; false se for igual,
+   *         maior ou se o hash não estiver no formato $2a$NN$
+   */
+  public boolean precisaRehash(String senhaCriptografada) {
+    int custo = custoDoHash(senhaCriptografada);
+    return custo > 0 && custo < custoBcrypt;
+  }
+
+  public int getCustoBcrypt() {
+    return custoBcrypt;
+  }
+
+  /**
+   * Define o custo usado nos próximos hashes.
+   *
+   * @param custo Custo do Bcrypt (log2 das iterações)
+   * @throws IllegalArgumentException Se o custo estiver fora de 4 a 31
+   */
+  public void setCustoBcrypt(int custo) {
+    validarCusto(custo);
+    this.custoBcrypt = custo;
+  }
+
+  /**
+   * Lê o custo gravado no hash Bcrypt ($2a$NN$...).
+   *
+   * @param senhaCriptografada Hash Bcrypt
+   * @return Custo do hash ou -1 se o hash não estiver no formato esperado
+   */
+  public static int custoDoHash(String senhaCriptografada) {
+    if (senhaCriptografada == null || senhaCriptografada.length() < 7
+        || senhaCriptografada.charAt(0) != '$'
+        || senhaCriptografada.charAt(3) != '$'
+        || senhaCriptografada.charAt(6) != '$') {
+      return -1;
+    }
+    char dezena = senhaCriptografada.charAt(4);
+    char unidade = senhaCriptografada.charAt(5);
+    if (!Character.isDigit(dezena) || !Character.isDigit(unidade)) {
+      return -1;
+    }
+    return (dezena - '0') * 10 + (unidade - '0');
+  }
+
+  /**
+   * Escolhe o maior custo cujo hash, medido nesta máquina, não passa da
+   * latência alvo. Cada custo a mais dobra o tempo do hash, então a medição
+   * sobe um custo por vez enquanto o dobro da última medida couber no alvo,
+   * e para no primeiro custo medido acima do alvo.
+   *
+   * @param latenciaAlvo Tempo desejado para um hash
+   * @param custoMinimo Menor custo aceito, usado mesmo que passe do alvo
+   * @param custoMaximo Maior custo aceito
+   * @return Custo calibrado, entre o mínimo e o máximo
+   * @throws IllegalArgumentException Se os custos estiverem fora de 4 a 31 ou o mínimo for maior que o máximo
+   */
+  public static int calibrarCusto(Duration latenciaAlvo, int custoMinimo, int custoMaximo) {
+    return calibrarCusto(latenciaAlvo, custoMinimo, custoMaximo, custo -> {
+      long inicio = System.nanoTime();
+      BcryptUtil.bcryptHash(SENHA_CALIBRACAO, custo);
+      return System.nanoTime() - inicio;
+    });
+  }
+
+  static int calibrarCusto(Duration latenciaAlvo, int custoMinimo, int custoMaximo, IntToLongFunction medirNanos) {
+    validarCusto(custoMinimo);
+    validarCusto(custoMaximo);
+    if (custoMinimo > custoMaximo) {
+      throw new IllegalArgumentException("Custo mínimo do Bcrypt não pode ser maior que o máximo");
+    }
+    if (custoMinimo == custoMaximo) {
+      return custoMinimo;
+    }
+
+    // Primeira medida descartada: inclui aquecimento do JIT
+    medirNanos.applyAsLong(custoMinimo);
+
+    long alvoNanos = latenciaAlvo.toNanos();
+    int custo = custoMinimo;
+    long duracao = medirNanos.applyAsLong(custo);
+    while (custo < custoMaximo && duracao * 2 <= alvoNanos) {
+      long proxima = medirNanos.applyAsLong(custo + 1);
+      if (proxima > alvoNanos) {
+        break;
+      }
+      custo++;
+      duracao = proxima;
+    }
+    return custo;
+  }
+
+  private static void validarCusto(int custo) {
+    if (custo < CUSTO_BCRYPT_MINIMO || custo > CUSTO_BCRYPT_MAXIMO) {
+      throw new IllegalArgumentException("Custo do Bcrypt deve estar entre 4 e 31");
+    }
+  }
 }
@@ -0,0 +1,128 @@
+package org.pablofsc.service.helper;
+
+import org.pablofsc.domain.entity.TelemetriaConsolidadaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.ServicoTelemetria;
+
+import java.time.LocalDateTime;
+
+/**
+ * Soma os agregados e histogramas de telemetria de um endpoint em um
+ * intervalo do relatório e calcula as métricas apresentadas.
+ */
+public class TotaisTelemetria {
+
+  private final HistogramaLatencia histograma = new HistogramaLatencia();
+  private long quantidade;
+  private long somaUs;
+  private long quantidadeComFases;
+  private long somaEntradaUs;
+  private long somaRecursoUs;
+  private long somaSerializacaoUs;
+  private LocalDateTime primeiro;
+  private LocalDateTime ultimo;
+
+  /**
+   * Acrescenta os totais de um agregado. Chamadas sem histograma (registros
+   * anteriores à sua introdução) entram no histograma pelo seu tempo médio.
+   *
+   * @param agregado Totais calculados pelo banco ou de um único registro
+   */
+  public void somar(AgregadoTelemetria agregado) {
+    quantidade += valor(agregado.getQuantidadeChamadas());
+    somaUs += valor(agregado.getSomaTempoRespostaUs());
+    quantidadeComFases += valor(agregado.getQuantidadeComFases());
+    somaEntradaUs += valor(agregado.getSomaEntradaUs());
+    somaRecursoUs += valor(agregado.getSomaRecursoUs());
+    somaSerializacaoUs += valor(agregado.getSomaSerializacaoUs());
+
+    long semHistograma = valor(agregado.getQuantidadeSemHistograma());
+    if (semHistograma > 0) {
+      histograma.registrar(valor(agregado.getSomaSemHistogramaUs()) / semHistograma, semHistograma);
+    }
+
+    if (agregado.getInicio() != null && (primeiro == null || agregado.getInicio().isBefore(primeiro))) {
+      primeiro = agregado.getInicio();
+    }
+    if (agregado.getFim() != null && (ultimo == null || agregado.getFim().isAfter(ultimo))) {
+      ultimo = agregado.getFim();
+    }
+  }
+
+  /**
+   * Acrescenta o histograma de um registro.
+   *
+   * @param outro Histograma em microssegundos
+   */
+  public void mesclar(HistogramaLatencia outro) {
+    histograma.mesclar(outro);
+  }
+
+  public LocalDateTime getPrimeiro() {
+    return primeiro;
+  }
+
+  public LocalDateTime getUltimo() {
+    return ultimo;
+  }
+
+  /**
+   * Métricas do endpoint: quantidade, médias (total e por fase), percentis e máximo.
+   *
+   * @param nome Nome do endpoint
+   * @return Serviço de telemetria com as métricas calculadas
+   */
+  public ServicoTelemetria toServico(String nome) {
+    long mediaUs = media(somaUs, quantidade);
+    return new ServicoTelemetria(
+        nome,
+        quantidade,
+        mediaUs / 1000,
+        mediaUs,
+        histograma.percentil(50),
+        histograma.percentil(90),
+        histograma.percentil(99),
+        histograma.percentil(99.9),
+        histograma.getMaximo(),
+        media(somaEntradaUs, quantidadeComFases),
+        media(somaRecursoUs, quantidadeComFases),
+        media(somaSerializacaoUs, quantidadeComFases));
+  }
+
+  /**
+   * Converte os totais em um registro consolidado. Chamadas sem histograma já
+   * entraram no histograma pelo seu tempo médio, então o registro sempre tem
+   * histograma.
+   *
+   * @param granularidade HORA ou DIA
+   * @param endpoint Endpoint monitorado
+   * @param inicio Início da hora ou do dia consolidado
+   * @return Entidade com quantidade, somas por fase e histograma
+   */
+  public TelemetriaConsolidadaEntity toConsolidada(
+      GranularidadeTelemetriaEnum granularidade,
+      String endpoint,
+      LocalDateTime inicio) {
+    return TelemetriaConsolidadaEntity.builder()
+        .granularidade(granularidade)
+        .endpoint(endpoint)
+        .timestamp(inicio)
+        .quantidadeChamadas(quantidade)
+        .quantidadeComFases(quantidadeComFases)
+        .tempoRespostaUs(somaUs)
+        .tempoEntradaUs(somaEntradaUs)
+        .tempoRecursoUs(somaRecursoUs)
+        .tempoSerializacaoUs(somaSerializacaoUs)
+        .histogramaUs(histograma.serializar())
+        .build();
+  }
+
+  private static long media(long soma, long quantidade) {
+    return quantidade == 0 ? 0L : soma / quantidade;
+  }
+
+  private static long valor(Long valor) {
+    return valor != null ? valor : 0L;
+  }
+}
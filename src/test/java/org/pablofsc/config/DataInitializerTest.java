@@ -1,9 +1,13 @@
 package org.pablofsc.config;
 
 import io.quarkus.runtime.StartupEvent;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +21,7 @@ import org.pablofsc.repository.ClienteRepository;
 import org.pablofsc.repository.InvestimentoRepository;
 import org.pablofsc.repository.ProdutoRepository;
 import org.pablofsc.repository.UsuarioRepository;
+import org.pablofsc.service.CatalogoProdutoService;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -36,6 +41,12 @@ class DataInitializerTest {
   @Mock
   private UsuarioRepository usuarioRepository;
 
+  @Mock
+  private CatalogoProdutoService catalogoProdutoService;
+
+  @Mock
+  private TransactionSynchronizationRegistry transacoes;
+
   @InjectMocks
   private DataInitializer dataInitializer;
 
@@ -47,6 +58,7 @@ class DataInitializerTest {
   @Test
   void testOnStart_WhenNoDataExists() {
     // Arrange
+    when(transacoes.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
     when(produtoRepository.count()).thenReturn(0L);
     when(clienteRepository.count()).thenReturn(0L);
     when(investimentoRepository.count()).thenReturn(0L);
@@ -86,11 +98,18 @@ class DataInitializerTest {
     // Verify products were created (15 products)
     verify(produtoRepository, times(15)).persist(any(ProdutoEntity.class));
 
+    // Verify catalog is invalidated only after the transaction completes
+    verify(catalogoProdutoService, never()).invalidar();
+    ArgumentCaptor<Synchronization> aposCommit = ArgumentCaptor.forClass(Synchronization.class);
+    verify(transacoes).registerInterposedSynchronization(aposCommit.capture());
+    aposCommit.getValue().afterCompletion(Status.STATUS_COMMITTED);
+    verify(catalogoProdutoService).invalidar();
+
     // Verify clients were created (5 clients)
     verify(clienteRepository, times(5)).persist(any(ClienteEntity.class));
 
     // Verify investments were created (5 + 10 + 20 = 35 investments)
-    verify(investimentoRepository, times(35)).persist(any(InvestimentoEntity.class));
+    verify(investimentoRepository, times(35)).inserir(any(InvestimentoEntity.class));
   }
 
   @Test
@@ -116,7 +135,8 @@ class DataInitializerTest {
     verify(usuarioRepository, never()).persist(any(UsuarioEntity.class));
     verify(produtoRepository, never()).persist(any(ProdutoEntity.class));
     verify(clienteRepository, never()).persist(any(ClienteEntity.class));
-    verify(investimentoRepository, never()).persist(any(InvestimentoEntity.class));
+    verify(investimentoRepository, never()).inserir(any(InvestimentoEntity.class));
+    verify(catalogoProdutoService, never()).invalidar();
   }
 
   @Test
@@ -142,6 +162,6 @@ class DataInitializerTest {
     verify(usuarioRepository, never()).persist(any(UsuarioEntity.class)); // User exists
     verify(produtoRepository, never()).persist(any(ProdutoEntity.class)); // Products exist
     verify(clienteRepository, times(5)).persist(any(ClienteEntity.class)); // Clients created
-    verify(investimentoRepository, times(35)).persist(any(InvestimentoEntity.class)); // Investments created
+    verify(investimentoRepository, times(35)).inserir(any(InvestimentoEntity.class)); // Investments created
   }
 }
@@ -0,0 +1,44 @@
+package org.pablofsc.domain.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulacaoProdutoDiaEntityTest {
+
+  @Test
+  void testBuilderCreatesInstanceWithAllFields() {
+    // Arrange
+    ProdutoEntity produto = ProdutoEntity.builder().id(101L).nome("CDB Caixa 2026").build();
+    LocalDate data = LocalDate.of(2025, 11, 21);
+
+    // Act
+    SimulacaoProdutoDiaEntity total = SimulacaoProdutoDiaEntity.builder()
+        .id(1L)
+        .produto(produto)
+        .data(data)
+        .quantidadeSimulacoes(3L)
+        .somaValorFinal(33000.0)
+        .build();
+
+    // Assert
+    assertEquals(1L, total.getId());
+    assertEquals(produto, total.getProduto());
+    assertEquals(data, total.getData());
+    assertEquals(3L, total.getQuantidadeSimulacoes());
+    assertEquals(33000.0, total.getSomaValorFinal());
+  }
+
+  @Test
+  void testDefaultConstructor() {
+    // Act
+    SimulacaoProdutoDiaEntity total = new SimulacaoProdutoDiaEntity();
+
+    // Assert
+    assertNull(total.getId());
+    assertNull(total.getProduto());
+    assertNull(total.getQuantidadeSimulacoes());
+  }
+}
@@ -0,0 +1,56 @@
+package org.pablofsc.domain.entity;
+
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetriaConsolidadaEntityTest {
+
+  @Test
+  void testBuilderCreatesInstanceWithAllFields() {
+    // Arrange
+    LocalDateTime dia = LocalDateTime.of(2025, 11, 21, 0, 0);
+
+    // Act
+    TelemetriaConsolidadaEntity telemetria = TelemetriaConsolidadaEntity.builder()
+        .id(1L)
+        .granularidade(GranularidadeTelemetriaEnum.DIA)
+        .endpoint("/api/produtos")
+        .timestamp(dia)
+        .quantidadeChamadas(10L)
+        .quantidadeComFases(8L)
+        .tempoRespostaUs(5_000L)
+        .tempoEntradaUs(400L)
+        .tempoRecursoUs(3_200L)
+        .tempoSerializacaoUs(400L)
+        .histogramaUs("600;41:10")
+        .build();
+
+    // Assert
+    assertEquals(1L, telemetria.getId());
+    assertEquals(GranularidadeTelemetriaEnum.DIA, telemetria.getGranularidade());
+    assertEquals("/api/produtos", telemetria.getEndpoint());
+    assertEquals(dia, telemetria.getTimestamp());
+    assertEquals(10L, telemetria.getQuantidadeChamadas());
+    assertEquals(8L, telemetria.getQuantidadeComFases());
+    assertEquals(5_000L, telemetria.getTempoRespostaUs());
+    assertEquals(400L, telemetria.getTempoEntradaUs());
+    assertEquals(3_200L, telemetria.getTempoRecursoUs());
+    assertEquals(400L, telemetria.getTempoSerializacaoUs());
+    assertEquals("600;41:10", telemetria.getHistogramaUs());
+  }
+
+  @Test
+  void testDefaultConstructor() {
+    // Act
+    TelemetriaConsolidadaEntity telemetria = new TelemetriaConsolidadaEntity();
+
+    // Assert
+    assertNull(telemetria.getId());
+    assertNull(telemetria.getGranularidade());
+    assertNull(telemetria.getHistogramaUs());
+  }
+}
@@ -0,0 +1,32 @@
+package org.pablofsc.domain.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TipoProdutoEnumTest {
+
+  @Test
+  void testFromDescricaoOuNome_Descricao() {
+    // Act & Assert
+    assertEquals(TipoProdutoEnum.CDB, TipoProdutoEnum.fromDescricaoOuNome("CDB"));
+    assertEquals(TipoProdutoEnum.FUNDO, TipoProdutoEnum.fromDescricaoOuNome("Fundo"));
+    assertEquals(TipoProdutoEnum.RENDA_FIXA, TipoProdutoEnum.fromDescricaoOuNome("Renda Fixa"));
+  }
+
+  @Test
+  void testFromDescricaoOuNome_NomeDaConstante() {
+    // Act & Assert
+    assertEquals(TipoProdutoEnum.RENDA_FIXA, TipoProdutoEnum.fromDescricaoOuNome("RENDA_FIXA"));
+    assertEquals(TipoProdutoEnum.RENDA_FIXA, TipoProdutoEnum.fromDescricaoOuNome(" renda fixa "));
+    assertEquals(TipoProdutoEnum.FUNDO, TipoProdutoEnum.fromDescricaoOuNome("fundo"));
+  }
+
+  @Test
+  void testFromDescricaoOuNome_NaoReconhecido() {
+    // Act & Assert
+    assertNull(TipoProdutoEnum.fromDescricaoOuNome("Ações"));
+    assertNull(TipoProdutoEnum.fromDescricaoOuNome(""));
+    assertNull(TipoProdutoEnum.fromDescricaoOuNome(null));
+  }
+}
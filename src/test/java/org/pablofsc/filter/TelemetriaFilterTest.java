@@ -11,8 +11,10 @@ import org.mockito.MockitoAnnotations;
 import org.pablofsc.service.TelemetriaService;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -20,6 +22,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @QuarkusTest
 class TelemetriaFilterTest {
@@ -50,7 +55,7 @@ class TelemetriaFilterTest {
         filter.filter(requestContext, responseContext);
 
         // Assert
-        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong());
+        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -67,7 +72,7 @@ class TelemetriaFilterTest {
         filter.filter(requestContext, responseContext);
 
         // Assert
-        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong());
+        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -79,13 +84,14 @@ class TelemetriaFilterTest {
 
         when(requestContext.getUriInfo()).thenReturn(uriInfo);
         when(uriInfo.getPath()).thenReturn("/investimentos");
-        when(requestContext.getProperty("tempoInicio")).thenReturn(System.currentTimeMillis() - 100L);
+        Map<String, Object> propriedades = propriedades(requestContext);
+        propriedades.put(TelemetriaRequestFilter.INICIO, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(100));
 
         // Act
         filter.filter(requestContext, responseContext);
 
         // Assert
-        verify(telemetriaService).registrarTelemetria(eq("investimentos"), anyLong());
+        verify(telemetriaService).registrarTelemetria(eq("investimentos"), anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -97,13 +103,14 @@ class TelemetriaFilterTest {
 
         when(requestContext.getUriInfo()).thenReturn(uriInfo);
         when(uriInfo.getPath()).thenReturn("/investimentos/123");
-        when(requestContext.getProperty("tempoInicio")).thenReturn(System.currentTimeMillis() - 200L);
+        Map<String, Object> propriedades = propriedades(requestContext);
+        propriedades.put(TelemetriaRequestFilter.INICIO, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200));
 
         // Act
         filter.filter(requestContext, responseContext);
 
         // Assert
-        verify(telemetriaService).registrarTelemetria(eq("investimentos"), anyLong());
+        verify(telemetriaService).registrarTelemetria(eq("investimentos"), anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -115,13 +122,14 @@ class TelemetriaFilterTest {
 
         when(requestContext.getUriInfo()).thenReturn(uriInfo);
         when(uriInfo.getPath()).thenReturn("/simulacoes/por-produto-dia");
-        when(requestContext.getProperty("tempoInicio")).thenReturn(System.currentTimeMillis() - 150L);
+        Map<String, Object> propriedades = propriedades(requestContext);
+        propriedades.put(TelemetriaRequestFilter.INICIO, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(150));
 
         // Act
         filter.filter(requestContext, responseContext);
 
         // Assert
-        verify(telemetriaService).registrarTelemetria(eq("simulacoes/por-produto-dia"), anyLong());
+        verify(telemetriaService).registrarTelemetria(eq("simulacoes/por-produto-dia"), anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -133,13 +141,58 @@ class TelemetriaFilterTest {
 
         when(requestContext.getUriInfo()).thenReturn(uriInfo);
         when(uriInfo.getPath()).thenReturn("/investimentos");
-        when(requestContext.getProperty("tempoInicio")).thenReturn(null);
+        propriedades(requestContext);
 
         // Act
         filter.filter(requestContext, responseContext);
 
         // Assert
-        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong());
+        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testFilterSeparaFasesDaRequisicao() throws IOException {
+        // Arrange
+        ContainerRequestContext requestContext = mock(ContainerRequestContext.class);
+        ContainerResponseContext responseContext = mock(ContainerResponseContext.class);
+        UriInfo uriInfo = mock(UriInfo.class);
+
+        when(requestContext.getUriInfo()).thenReturn(uriInfo);
+        when(uriInfo.getPath()).thenReturn("/investimentos/1");
+        Map<String, Object> propriedades = propriedades(requestContext);
+        long agora = System.nanoTime();
+        propriedades.put(TelemetriaRequestFilter.INICIO, agora - 5_000_000L);
+        propriedades.put(TelemetriaRequestFilter.INICIO_RECURSO, agora - 4_000_000L);
+
+        // Act
+        filter.filter(requestContext, responseContext);
+
+        // Assert
+        long fimRecurso = (Long) propriedades.get(TelemetriaRequestFilter.FIM_RECURSO);
+        verify(telemetriaService).registrarTelemetria(
+            "investimentos", 1_000_000L, fimRecurso - (agora - 4_000_000L), 0L);
+    }
+
+    @Test
+    void testFilterDeixaRespostaComCorpoParaInterceptor() throws IOException {
+        // Arrange
+        ContainerRequestContext requestContext = mock(ContainerRequestContext.class);
+        ContainerResponseContext responseContext = mock(ContainerResponseContext.class);
+        UriInfo uriInfo = mock(UriInfo.class);
+
+        when(requestContext.getUriInfo()).thenReturn(uriInfo);
+        when(uriInfo.getPath()).thenReturn("/investimentos");
+        when(responseContext.hasEntity()).thenReturn(true);
+        Map<String, Object> propriedades = propriedades(requestContext);
+        propriedades.put(TelemetriaRequestFilter.INICIO, System.nanoTime());
+
+        // Act
+        filter.filter(requestContext, responseContext);
+
+        // Assert
+        verify(telemetriaService, never()).registrarTelemetria(anyString(), anyLong(), anyLong(), anyLong());
+        assertEquals("investimentos", propriedades.get(TelemetriaRequestFilter.ENDPOINT));
+        assertNotNull(propriedades.get(TelemetriaRequestFilter.FIM_RECURSO));
     }
 
     @Test
@@ -148,7 +201,24 @@ class TelemetriaFilterTest {
         assertEquals("investimentos", filter.extrairNomeEndpoint("/investimentos"));
         assertEquals("investimentos", filter.extrairNomeEndpoint("investimentos/123"));
         assertEquals("simulacoes/por-produto-dia", filter.extrairNomeEndpoint("simulacoes/por-produto-dia"));
+        assertEquals("simulacoes/stream", filter.extrairNomeEndpoint("/simulacoes/stream"));
+        assertEquals("simulacoes", filter.extrairNomeEndpoint("/simulacoes"));
+        assertEquals("simular-investimento/projecao", filter.extrairNomeEndpoint("/simular-investimento/projecao"));
+        assertEquals("simular-investimento/varredura", filter.extrairNomeEndpoint("/simular-investimento/varredura"));
+        assertEquals("perfil-risco/cache", filter.extrairNomeEndpoint("/perfil-risco/cache"));
+        assertEquals("investimentos/resumo", filter.extrairNomeEndpoint("/investimentos/123/resumo"));
+        assertEquals("investimentos/projecao", filter.extrairNomeEndpoint("/investimentos/123/projecao"));
+        assertEquals("simular-investimento", filter.extrairNomeEndpoint("/simular-investimento"));
         assertEquals("auth", filter.extrairNomeEndpoint("/auth/login"));
         assertEquals("perfil-risco", filter.extrairNomeEndpoint("perfil-risco/456"));
     }
+
+    private Map<String, Object> propriedades(ContainerRequestContext requestContext) {
+        Map<String, Object> propriedades = new HashMap<>();
+        when(requestContext.getProperty(anyString()))
+            .thenAnswer(invocation -> propriedades.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> propriedades.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(requestContext).setProperty(anyString(), any());
+        return propriedades;
+    }
 }
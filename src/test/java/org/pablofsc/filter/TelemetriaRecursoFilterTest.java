@@ -0,0 +1,26 @@
+package org.pablofsc.filter;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class TelemetriaRecursoFilterTest {
+
+    @Test
+    void testFilterSetsInicioRecursoProperty() throws IOException {
+        // Arrange
+        TelemetriaRecursoFilter filter = new TelemetriaRecursoFilter();
+        ContainerRequestContext requestContext = mock(ContainerRequestContext.class);
+
+        // Act
+        filter.filter(requestContext);
+
+        // Assert
+        verify(requestContext).setProperty(eq(TelemetriaRequestFilter.INICIO_RECURSO), anyLong());
+    }
+}
@@ -21,6 +21,6 @@ class TelemetriaRequestFilterTest {
         filter.filter(requestContext);
 
         // Assert
-        verify(requestContext).setProperty(eq("tempoInicio"), anyLong());
+        verify(requestContext).setProperty(eq(TelemetriaRequestFilter.INICIO), anyLong());
     }
 }
@@ -0,0 +1,61 @@
+package org.pablofsc.filter;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pablofsc.service.TelemetriaService;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class TelemetriaWriterInterceptorTest {
+
+    @Mock
+    TelemetriaService telemetriaService;
+
+    TelemetriaWriterInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        interceptor = new TelemetriaWriterInterceptor();
+        interceptor.telemetriaService = telemetriaService;
+    }
+
+    @Test
+    void testRegistraAposSerializacao() throws IOException {
+        // Arrange
+        WriterInterceptorContext context = mock(WriterInterceptorContext.class);
+        long agora = System.nanoTime();
+        when(context.getProperty(TelemetriaRequestFilter.ENDPOINT)).thenReturn("investimentos");
+        when(context.getProperty(TelemetriaRequestFilter.INICIO)).thenReturn(agora - 3_000_000L);
+        when(context.getProperty(TelemetriaRequestFilter.INICIO_RECURSO)).thenReturn(agora - 2_500_000L);
+        when(context.getProperty(TelemetriaRequestFilter.FIM_RECURSO)).thenReturn(agora - 1_000_000L);
+
+        // Act
+        interceptor.aroundWriteTo(context);
+
+        // Assert
+        verify(context).proceed();
+        verify(telemetriaService).registrarTelemetria(
+            eq("investimentos"), eq(500_000L), eq(1_500_000L), longThat(s -> s >= 1_000_000L));
+    }
+
+    @Test
+    void testIgnoraRequisicaoNaoMonitorada() throws IOException {
+        // Arrange
+        WriterInterceptorContext context = mock(WriterInterceptorContext.class);
+
+        // Act
+        interceptor.aroundWriteTo(context);
+
+        // Assert
+        verify(context).proceed();
+        verifyNoInteractions(telemetriaService);
+    }
+}
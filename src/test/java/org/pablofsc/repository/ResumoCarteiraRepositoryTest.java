@@ -0,0 +1,72 @@
+package org.pablofsc.repository;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.ClienteEntity;
+import org.pablofsc.domain.entity.InvestimentoEntity;
+import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resumo da carteira gravado pelo upsert no esquema real do SQLite.
+ */
+@QuarkusTest
+class ResumoCarteiraRepositoryTest {
+
+  @Inject
+  InvestimentoRepository investimentoRepository;
+
+  @Inject
+  ResumoCarteiraRepository resumoCarteiraRepository;
+
+  @Inject
+  ClienteRepository clienteRepository;
+
+  @Inject
+  ProdutoRepository produtoRepository;
+
+  @Test
+  void testInvestimentosDoMesmoTipoSomamNoMesmoRegistro() {
+    // Arrange
+    // Maria (cliente 2) já tem investimentos em CDB da carga inicial
+    ClienteEntity cliente = clienteRepository.findById(2L);
+    ProdutoEntity produto = produtoRepository.findById(101L);
+    Object[] antes = totais(2L, TipoProdutoEnum.CDB);
+
+    // Act
+    investimentoRepository.inserir(investimento(cliente, produto, 1000.0));
+    investimentoRepository.inserir(investimento(cliente, produto, 500.0));
+
+    // Assert
+    Object[] depois = totais(2L, TipoProdutoEnum.CDB);
+    assertEquals((Long) antes[0] + 2, (Long) depois[0]);
+    assertEquals((Double) antes[1] + 1500.0, (Double) depois[1], 0.001);
+    assertEquals((Double) antes[2] + 1500.0 * produto.getRentabilidade(), (Double) depois[2], 0.001);
+  }
+
+  private InvestimentoEntity investimento(ClienteEntity cliente, ProdutoEntity produto, double valor) {
+    return InvestimentoEntity.builder()
+        .cliente(cliente)
+        .produto(produto)
+        .valor(valor)
+        .data(LocalDate.now())
+        .build();
+  }
+
+  private Object[] totais(Long clienteId, TipoProdutoEnum tipo) {
+    List<Object[]> linhas = resumoCarteiraRepository.getEntityManager()
+        .createQuery("select r.quantidadeInvestimentos, r.totalInvestido, r.somaValorRentabilidade "
+            + "from ResumoCarteiraEntity r where r.cliente.id = :clienteId and r.tipo = :tipo", Object[].class)
+        .setParameter("clienteId", clienteId)
+        .setParameter("tipo", tipo)
+        .getResultList();
+    assertEquals(1, linhas.size());
+    return linhas.get(0);
+  }
+}
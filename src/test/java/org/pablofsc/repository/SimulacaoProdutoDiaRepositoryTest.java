@@ -0,0 +1,61 @@
+package org.pablofsc.repository;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.response.SimulacaoInvestimentoResponse;
+import org.pablofsc.service.SimulacaoInvestimentoService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Totais por produto e dia gravados pelo upsert no esquema real do SQLite.
+ */
+@QuarkusTest
+class SimulacaoProdutoDiaRepositoryTest {
+
+  @Inject
+  SimulacaoInvestimentoService simulacaoInvestimentoService;
+
+  @Inject
+  SimulacaoProdutoDiaRepository simulacaoProdutoDiaRepository;
+
+  @Test
+  void testDuasSimulacoesDoMesmoProdutoNoDiaSomamNoMesmoRegistro() {
+    // Arrange
+    SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest(1L, 1000.0, 12, "CDB");
+    SimulacaoInvestimentoResponse primeira = simulacaoInvestimentoService.simularInvestimento(request);
+    Long produtoId = primeira.getProdutoValidado().getId();
+    LocalDate data = primeira.getDataSimulacao().toLocalDate();
+    Object[] antes = totais(produtoId, data);
+
+    // Act
+    SimulacaoInvestimentoResponse segunda = simulacaoInvestimentoService.simularInvestimento(request);
+    SimulacaoInvestimentoResponse terceira = simulacaoInvestimentoService.simularInvestimento(request);
+
+    // Assert
+    assertEquals(produtoId, segunda.getProdutoValidado().getId());
+    assertEquals(produtoId, terceira.getProdutoValidado().getId());
+    assertEquals(data, terceira.getDataSimulacao().toLocalDate());
+    Object[] depois = totais(produtoId, data);
+    assertEquals((Long) antes[0] + 2, (Long) depois[0]);
+    assertEquals((Double) antes[1]
+        + segunda.getResultadoSimulacao().getValorFinal()
+        + terceira.getResultadoSimulacao().getValorFinal(), (Double) depois[1], 0.001);
+  }
+
+  private Object[] totais(Long produtoId, LocalDate data) {
+    List<Object[]> linhas = simulacaoProdutoDiaRepository.getEntityManager()
+        .createQuery("select s.quantidadeSimulacoes, s.somaValorFinal from SimulacaoProdutoDiaEntity s "
+            + "where s.produto.id = :produtoId and s.data = :data", Object[].class)
+        .setParameter("produtoId", produtoId)
+        .setParameter("data", data)
+        .getResultList();
+    assertEquals(1, linhas.size());
+    return linhas.get(0);
+  }
+}
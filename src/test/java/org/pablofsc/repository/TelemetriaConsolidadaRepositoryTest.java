@@ -0,0 +1,55 @@
+package org.pablofsc.repository;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.TelemetriaConsolidadaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Índice único da telemetria consolidada no esquema real do SQLite.
+ */
+@QuarkusTest
+class TelemetriaConsolidadaRepositoryTest {
+
+  private static final String ENDPOINT = "GET /teste-indice-unico";
+  private static final LocalDateTime HORA = LocalDateTime.of(2000, 1, 1, 10, 0);
+
+  @Inject
+  TelemetriaConsolidadaRepository telemetriaConsolidadaRepository;
+
+  @AfterEach
+  void tearDown() {
+    QuarkusTransaction.requiringNew().run(() -> telemetriaConsolidadaRepository.delete("endpoint", ENDPOINT));
+  }
+
+  @Test
+  void testMesmoPeriodoNaoEGravadoDuasVezes() {
+    // Arrange
+    telemetriaConsolidadaRepository.persistirConsolidados(List.of(consolidado()));
+
+    // Act & Assert
+    assertThrows(Exception.class,
+        () -> telemetriaConsolidadaRepository.persistirConsolidados(List.of(consolidado())));
+    assertEquals(1, telemetriaConsolidadaRepository.count("endpoint", ENDPOINT));
+  }
+
+  private TelemetriaConsolidadaEntity consolidado() {
+    return TelemetriaConsolidadaEntity.builder()
+        .granularidade(GranularidadeTelemetriaEnum.HORA)
+        .endpoint(ENDPOINT)
+        .timestamp(HORA)
+        .quantidadeChamadas(1L)
+        .quantidadeComFases(0L)
+        .tempoRespostaUs(1000L)
+        .histogramaUs("")
+        .build();
+  }
+}
@@ -1,14 +1,17 @@
 package org.pablofsc.resources;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pablofsc.domain.exception.ServicoSobrecarregadoException;
 import org.pablofsc.domain.request.LoginRequest;
 import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.EstatisticasHashSenhaResponse;
 import org.pablofsc.domain.response.LoginResponse;
 import org.pablofsc.service.AutenticacaoService;
 
@@ -18,6 +21,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
+@TestSecurity(authorizationEnabled = false)
 class AutenticacaoResourceTest {
 
     @Inject
@@ -90,4 +94,49 @@ class AutenticacaoResourceTest {
         assertTrue(response.getEntity() instanceof ErrorResponse);
         assertEquals("Erro ao registrar usuário", ((ErrorResponse) response.getEntity()).getMensagem());
     }
+
+    @Test
+    void testLoginPoolSaturado() {
+        // Arrange
+        LoginRequest request = new LoginRequest("user", "pass");
+        when(autenticacaoService.autenticar(any(LoginRequest.class)))
+                .thenThrow(new ServicoSobrecarregadoException("Muitas autenticações simultâneas"));
+
+        // Act
+        Response response = resource.login(request);
+
+        // Assert
+        assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), response.getStatus());
+        assertEquals("1", response.getHeaderString("Retry-After"));
+        assertEquals("ERR_OVERLOADED_503", ((ErrorResponse) response.getEntity()).getCodigo());
+    }
+
+    @Test
+    void testRegistrarPoolSaturado() {
+        // Arrange
+        LoginRequest request = new LoginRequest("newuser", "pass");
+        doThrow(new ServicoSobrecarregadoException("Muitas autenticações simultâneas"))
+                .when(autenticacaoService).registrar(any(LoginRequest.class));
+
+        // Act
+        Response response = resource.registrar(request);
+
+        // Assert
+        assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), response.getStatus());
+        assertEquals("ERR_OVERLOADED_503", ((ErrorResponse) response.getEntity()).getCodigo());
+    }
+
+    @Test
+    void testObterEstatisticasHash() {
+        // Arrange
+        EstatisticasHashSenhaResponse estatisticas = new EstatisticasHashSenhaResponse(12, 2, 0, 0, 64, 5, 100L, 0L);
+        when(autenticacaoService.obterEstatisticasHash()).thenReturn(estatisticas);
+
+        // Act
+        Response response = resource.obterEstatisticasHash();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(estatisticas, response.getEntity());
+    }
 }
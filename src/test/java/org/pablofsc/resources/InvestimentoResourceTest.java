@@ -3,18 +3,27 @@ package org.pablofsc.resources;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Link;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.model.Investimento;
+import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.ProjecaoCarteiraResponse;
+import org.pablofsc.domain.response.ResumoCarteiraResponse;
 import org.pablofsc.service.InvestimentoService;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -38,13 +47,90 @@ class InvestimentoResourceTest {
         // Arrange
         Long clienteId = 1L;
         List<Investimento> expectedInvestimentos = List.of(new Investimento());
-        when(investimentoService.obterInvestimentosPorCliente(anyLong())).thenReturn(expectedInvestimentos);
+        when(investimentoService.obterInvestimentosPorCliente(anyLong(), isNull(), eq(100))).thenReturn(expectedInvestimentos);
 
         // Act
-        Response response = resource.obterInvestimentosPorCliente(clienteId);
+        Response response = resource.obterInvestimentosPorCliente(clienteId, null, null);
 
         // Assert
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertEquals(expectedInvestimentos, response.getEntity());
+        assertNull(response.getLink("next"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObterInvestimentosPorClientePaginaCheiaIncluiProximaPagina() {
+        // Arrange
+        Investimento primeiro = new Investimento();
+        primeiro.setId(11L);
+        Investimento segundo = new Investimento();
+        segundo.setId(12L);
+        when(investimentoService.obterInvestimentosPorCliente(7L, 10L, 2)).thenReturn(List.of(primeiro, segundo));
+
+        // Act
+        Response response = resource.obterInvestimentosPorCliente(7L, 2, 10L);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        Link proxima = response.getLink("next");
+        assertNotNull(proxima);
+        assertEquals("/investimentos/7?after=12&limit=2", proxima.getUri().toString());
+    }
+
+    @Test
+    void testObterInvestimentosPorClienteLimiteInvalido() {
+        // Arrange
+        when(investimentoService.obterInvestimentosPorCliente(1L, null, 5000))
+            .thenThrow(new ParametroInvalidoException("Limite deve estar entre 1 e 1000"));
+
+        // Act
+        Response response = resource.obterInvestimentosPorCliente(1L, 5000, null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertEquals("ERR_INVALID_PARAMETER", error.getCodigo());
+        assertEquals("Limite deve estar entre 1 e 1000", error.getDetalhes());
+    }
+
+    @Test
+    void testObterResumo() {
+        // Arrange
+        ResumoCarteiraResponse expectedResponse = new ResumoCarteiraResponse(1L, 0L, 0.0, null, List.of());
+        when(investimentoService.obterResumo(1L)).thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.obterResumo(1L);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+
+    @Test
+    void testProjetarCarteira() {
+        // Arrange
+        LocalDate dataAlvo = LocalDate.of(2030, 1, 1);
+        ProjecaoCarteiraResponse expectedResponse = new ProjecaoCarteiraResponse(1L, dataAlvo, 0L, 0.0, 0.0, List.of());
+        when(investimentoService.projetarCarteira(1L, dataAlvo)).thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.projetarCarteira(1L, "2030-01-01");
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+
+    @Test
+    void testProjetarCarteiraDataInvalida() {
+        // Act
+        Response response = resource.projetarCarteira(1L, "01/01/2030");
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertEquals("Parâmetro data deve estar no formato AAAA-MM-DD", error.getDetalhes());
+        verifyNoInteractions(investimentoService);
+    }
+}
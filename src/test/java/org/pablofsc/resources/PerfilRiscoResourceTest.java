@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pablofsc.domain.response.EstatisticasCacheResponse;
 import org.pablofsc.domain.response.PerfilRiscoResponse;
 import org.pablofsc.service.PerfilRiscoService;
 
@@ -45,4 +46,18 @@ class PerfilRiscoResourceTest {
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertEquals(expectedResponse, response.getEntity());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObterEstatisticasCache() {
+        // Arrange
+        EstatisticasCacheResponse expectedResponse = new EstatisticasCacheResponse(1, 10, 3L, 1L, 0.75, 0L, 0L, 0L);
+        when(perfilRiscoService.obterEstatisticasCache()).thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.obterEstatisticasCache();
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+}
@@ -8,14 +8,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.pablofsc.domain.model.ProdutoRecomendado;
+import org.pablofsc.domain.model.PerfilCliente;
 import org.pablofsc.domain.response.ErrorResponse;
 import org.pablofsc.service.ProdutoRecomendadoService;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -38,15 +37,16 @@ class ProdutoRecomendadoResourceTest {
     void testObterProdutosRecomendadosSuccess() {
         // Arrange
         String perfil = "conservador";
-        List<ProdutoRecomendado> expectedProdutos = List.of(new ProdutoRecomendado());
-        when(produtoRecomendadoService.obterProdutosRecomendados(any())).thenReturn(expectedProdutos);
+        byte[] expectedJson = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(produtoRecomendadoService.obterProdutosRecomendadosJson(PerfilCliente.CONSERVADOR))
+                .thenReturn(expectedJson);
 
         // Act
         Response response = resource.obterProdutosRecomendados(perfil);
 
         // Assert
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        assertEquals(expectedProdutos, response.getEntity());
+        assertSame(expectedJson, response.getEntity());
     }
 
     @Test
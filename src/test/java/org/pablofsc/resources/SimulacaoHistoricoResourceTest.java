@@ -3,19 +3,33 @@ package org.pablofsc.resources;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Link;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.model.FiltroSimulacao;
 import org.pablofsc.domain.model.SimulacaoHistorico;
 import org.pablofsc.domain.model.SimulacaoPorProdutoDia;
+import org.pablofsc.domain.response.ErrorResponse;
 import org.pablofsc.service.SimulacaoHistoricoService;
 import org.pablofsc.service.SimulacaoPorProdutoDiaService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -42,14 +56,139 @@ class SimulacaoHistoricoResourceTest {
     void testListarSimulacoes() {
         // Arrange
         List<SimulacaoHistorico> expectedSimulacoes = List.of(new SimulacaoHistorico());
-        when(simulacaoHistoricoService.listarSimulacoes()).thenReturn(expectedSimulacoes);
+        when(simulacaoHistoricoService.listarSimulacoes(new FiltroSimulacao(), null, 100)).thenReturn(expectedSimulacoes);
 
         // Act
-        Response response = resource.listarSimulacoes();
+        Response response = resource.listarSimulacoes(null, null, null, null, null, null, null);
 
         // Assert
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertEquals(expectedSimulacoes, response.getEntity());
+        assertNull(response.getLink("next"));
+    }
+
+    @Test
+    void testListarSimulacoesPaginaCheiaIncluiProximaPagina() {
+        // Arrange
+        SimulacaoHistorico primeira = new SimulacaoHistorico();
+        primeira.setId(11L);
+        SimulacaoHistorico segunda = new SimulacaoHistorico();
+        segunda.setId(12L);
+        when(simulacaoHistoricoService.listarSimulacoes(new FiltroSimulacao(), 10L, 2)).thenReturn(List.of(primeira, segunda));
+
+        // Act
+        Response response = resource.listarSimulacoes(2, 10L, null, null, null, null, null);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        Link proxima = response.getLink("next");
+        assertNotNull(proxima);
+        assertEquals("/simulacoes?after=12&limit=2", proxima.getUri().toString());
+    }
+
+    @Test
+    void testListarSimulacoesLimiteInvalido() {
+        // Arrange
+        when(simulacaoHistoricoService.listarSimulacoes(new FiltroSimulacao(), null, 5000))
+            .thenThrow(new ParametroInvalidoException("Limite deve estar entre 1 e 1000"));
+
+        // Act
+        Response response = resource.listarSimulacoes(5000, null, null, null, null, null, null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertEquals("ERR_INVALID_PARAMETER", error.getCodigo());
+    }
+
+    @Test
+    void testExportarSimulacoes() throws IOException {
+        // Arrange
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        Response response = resource.exportarSimulacoes(null, null, null, null, null);
+        ((StreamingOutput) response.getEntity()).write(saida);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        verify(simulacaoHistoricoService).exportarSimulacoes(new FiltroSimulacao(), saida);
+    }
+
+    @Test
+    void testListarSimulacoesComFiltros() {
+        // Arrange
+        FiltroSimulacao filtro = FiltroSimulacao.builder()
+            .clienteId(7L)
+            .produtoId(3L)
+            .tipo(TipoProdutoEnum.CDB)
+            .de(LocalDateTime.parse("2025-11-20T00:00:00").atZone(ZoneId.systemDefault()))
+            .ate(LocalDateTime.parse("2025-11-22T00:00:00").atZone(ZoneId.systemDefault()))
+            .build();
+        SimulacaoHistorico simulacao = new SimulacaoHistorico();
+        simulacao.setId(40L);
+        when(simulacaoHistoricoService.listarSimulacoes(filtro, null, 1)).thenReturn(List.of(simulacao));
+
+        // Act
+        Response response = resource.listarSimulacoes(1, null, 7L, 3L, "CDB", "2025-11-20", "2025-11-21");
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(
+            "/simulacoes?after=40&limit=1&clienteId=7&produtoId=3&tipo=CDB&from=2025-11-20&to=2025-11-21",
+            response.getLink("next").getUri().toString());
+    }
+
+    @Test
+    void testListarSimulacoesTipoPeloNomeDaConstante() {
+        // Arrange
+        FiltroSimulacao filtro = FiltroSimulacao.builder().tipo(TipoProdutoEnum.FUNDO).build();
+        when(simulacaoHistoricoService.listarSimulacoes(filtro, null, 100)).thenReturn(List.of());
+
+        // Act
+        Response response = resource.listarSimulacoes(null, null, null, null, "fundo", null, null);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        verify(simulacaoHistoricoService).listarSimulacoes(filtro, null, 100);
+    }
+
+    @Test
+    void testListarSimulacoesTipoInvalido() {
+        // Act
+        Response response = resource.listarSimulacoes(null, null, null, null, "Acoes", null, null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertEquals("ERR_INVALID_PARAMETER", error.getCodigo());
+        verifyNoInteractions(simulacaoHistoricoService);
+    }
+
+    @Test
+    void testListarSimulacoesDataInvalida() {
+        // Act
+        Response response = resource.listarSimulacoes(null, null, null, null, null, "20/11/2025", null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertTrue(error.getDetalhes().contains("from"));
+    }
+
+    @Test
+    void testExportarSimulacoesPeriodoInvalido() {
+        // Arrange
+        doThrow(new ParametroInvalidoException("Início do período deve ser anterior ao fim"))
+            .when(simulacaoHistoricoService).validarFiltro(any());
+
+        // Act
+        Response response = resource.exportarSimulacoes(null, null, null, "2025-11-21", "2025-11-20");
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertEquals("Início do período deve ser anterior ao fim", error.getDetalhes());
     }
 
     @Test
@@ -12,10 +12,16 @@ import org.pablofsc.domain.exception.ClienteNaoEncontradoException;
 import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
 import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.request.VarreduraSimulacaoRequest;
 import org.pablofsc.domain.response.ErrorResponse;
+import org.pablofsc.domain.response.ProjecaoInvestimentoResponse;
 import org.pablofsc.domain.response.SimulacaoInvestimentoResponse;
+import org.pablofsc.domain.response.SimulacaoLoteResponse;
+import org.pablofsc.domain.response.VarreduraSimulacaoResponse;
 import org.pablofsc.service.SimulacaoInvestimentoService;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -95,4 +101,125 @@ class SimulacaoInvestimentoResourceTest {
         assertTrue(response.getEntity() instanceof ErrorResponse);
         assertEquals("Parâmetro inválido", ((ErrorResponse) response.getEntity()).getMensagem());
     }
+
+    @Test
+    void testSimularLoteSuccess() {
+        // Arrange
+        List<SimulacaoInvestimentoRequest> requests = List.of(new SimulacaoInvestimentoRequest());
+        SimulacaoLoteResponse expectedResponse = new SimulacaoLoteResponse(1, 1, 0, List.of());
+        when(simulacaoInvestimentoService.simularLote(requests)).thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.simularLote(requests);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+
+    @Test
+    void testSimularLoteInvalido() {
+        // Arrange
+        List<SimulacaoInvestimentoRequest> requests = List.of();
+        when(simulacaoInvestimentoService.simularLote(requests))
+                .thenThrow(new ParametroInvalidoException("Lote deve conter ao menos uma simulação"));
+
+        // Act
+        Response response = resource.simularLote(requests);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertTrue(response.getEntity() instanceof ErrorResponse);
+        assertEquals("Lote deve conter ao menos uma simulação", ((ErrorResponse) response.getEntity()).getDetalhes());
+    }
+
+    @Test
+    void testProjetarInvestimentoSuccess() {
+        // Arrange
+        SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest();
+        ProjecaoInvestimentoResponse expectedResponse = new ProjecaoInvestimentoResponse();
+        when(simulacaoInvestimentoService.projetarInvestimento(request, 12)).thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.projetarInvestimento(request, 12);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+
+    @Test
+    void testProjetarInvestimentoClienteNaoEncontrado() {
+        // Arrange
+        SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest();
+        when(simulacaoInvestimentoService.projetarInvestimento(request, null))
+                .thenThrow(new ClienteNaoEncontradoException("Cliente não encontrado"));
+
+        // Act
+        Response response = resource.projetarInvestimento(request, null);
+
+        // Assert
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+        assertEquals("ERR_CLIENT_NOT_FOUND", ((ErrorResponse) response.getEntity()).getCodigo());
+    }
+
+    @Test
+    void testProjetarInvestimentoIntervaloInvalido() {
+        // Arrange
+        SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest();
+        when(simulacaoInvestimentoService.projetarInvestimento(request, 0))
+                .thenThrow(new ParametroInvalidoException("Intervalo deve ser de pelo menos 1 mês"));
+
+        // Act
+        Response response = resource.projetarInvestimento(request, 0);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertEquals("ERR_INVALID_PARAMETER", ((ErrorResponse) response.getEntity()).getCodigo());
+    }
+
+    @Test
+    void testVarrerSimulacoesSuccess() {
+        // Arrange
+        VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest();
+        VarreduraSimulacaoResponse expectedResponse = new VarreduraSimulacaoResponse();
+        when(simulacaoInvestimentoService.varrerSimulacoes(request)).thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.varrerSimulacoes(request);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+
+    @Test
+    void testVarrerSimulacoesSemProdutos() {
+        // Arrange
+        VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest();
+        when(simulacaoInvestimentoService.varrerSimulacoes(request))
+                .thenThrow(new ProdutoNaoEncontradoException("CDB"));
+
+        // Act
+        Response response = resource.varrerSimulacoes(request);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertEquals("ERR_PRODUCT_NOT_FOUND", ((ErrorResponse) response.getEntity()).getCodigo());
+    }
+
+    @Test
+    void testVarrerSimulacoesPrazoInvalido() {
+        // Arrange
+        VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest();
+        when(simulacaoInvestimentoService.varrerSimulacoes(request))
+                .thenThrow(new ParametroInvalidoException("Informe ao menos um prazo"));
+
+        // Act
+        Response response = resource.varrerSimulacoes(request);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertEquals("Informe ao menos um prazo", ((ErrorResponse) response.getEntity()).getDetalhes());
+    }
 }
@@ -8,12 +8,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.response.ErrorResponse;
 import org.pablofsc.domain.response.TelemetriaResponse;
 import org.pablofsc.service.TelemetriaService;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+
 @QuarkusTest
 @TestSecurity(authorizationEnabled = false)
 class TelemetriaResourceTest {
@@ -34,13 +41,85 @@ class TelemetriaResourceTest {
     void testObterTelemetrias() {
         // Arrange
         TelemetriaResponse expectedResponse = new TelemetriaResponse();
-        when(telemetriaService.obterTelemetrias()).thenReturn(expectedResponse);
+        when(telemetriaService.obterTelemetrias(null, null, GranularidadeTelemetriaEnum.TOTAL))
+            .thenReturn(expectedResponse);
 
         // Act
-        Response response = resource.obterTelemetrias();
+        Response response = resource.obterTelemetrias(null, null, null);
 
         // Assert
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertEquals(expectedResponse, response.getEntity());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testObterTelemetriasComJanelaEGranularidade() {
+        // Arrange
+        TelemetriaResponse expectedResponse = new TelemetriaResponse();
+        when(telemetriaService.obterTelemetrias(
+            LocalDateTime.of(2025, 11, 20, 0, 0),
+            LocalDateTime.of(2025, 11, 22, 0, 0),
+            GranularidadeTelemetriaEnum.HORA))
+            .thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.obterTelemetrias("2025-11-20", "2025-11-21", "hora");
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(expectedResponse, response.getEntity());
+    }
+
+    @Test
+    void testObterTelemetriasComDataHora() {
+        // Arrange
+        TelemetriaResponse expectedResponse = new TelemetriaResponse();
+        when(telemetriaService.obterTelemetrias(
+            LocalDateTime.of(2025, 11, 21, 10, 0),
+            LocalDateTime.of(2025, 11, 21, 12, 30),
+            GranularidadeTelemetriaEnum.TOTAL))
+            .thenReturn(expectedResponse);
+
+        // Act
+        Response response = resource.obterTelemetrias("2025-11-21T10:00", "2025-11-21T12:30:00", null);
+
+        // Assert
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    void testObterTelemetriasGranularidadeInvalida() {
+        // Act
+        Response response = resource.obterTelemetrias(null, null, "semana");
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertEquals("ERR_INVALID_PARAMETER", error.getCodigo());
+        verifyNoInteractions(telemetriaService);
+    }
+
+    @Test
+    void testObterTelemetriasDataInvalida() {
+        // Act
+        Response response = resource.obterTelemetrias("21/11/2025", null, null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+        assertTrue(error.getDetalhes().contains("from"));
+    }
+
+    @Test
+    void testObterTelemetriasJanelaInvalida() {
+        // Arrange
+        when(telemetriaService.obterTelemetrias(any(), any(), any()))
+            .thenThrow(new ParametroInvalidoException("Início da janela deve ser anterior ao fim"));
+
+        // Act
+        Response response = resource.obterTelemetrias("2025-11-22", "2025-11-21", null);
+
+        // Assert
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+    }
+}
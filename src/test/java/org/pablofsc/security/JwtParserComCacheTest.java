@@ -0,0 +1,122 @@
+package org.pablofsc.security;
+
+import io.smallrye.jwt.auth.principal.ParseException;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtParserComCacheTest {
+
+  // Agora: 1000 s desde a época, em milissegundos
+  private final AtomicLong relogio = new AtomicLong(1_000_000);
+  private final AtomicInteger verificacoes = new AtomicInteger();
+
+  private JsonWebToken jwt;
+  private JwtParserComCache parser;
+
+  @BeforeEach
+  void setUp() {
+    jwt = jwtExpirandoEm(2000);
+    parser = new JwtParserComCache(JwtParserComCache.criarCache(10, relogio::get));
+  }
+
+  private static JsonWebToken jwtExpirandoEm(long expSegundos) {
+    JsonWebToken token = mock(JsonWebToken.class);
+    when(token.getExpirationTime()).thenReturn(expSegundos);
+    return token;
+  }
+
+  private JsonWebToken verificar(String token) {
+    verificacoes.incrementAndGet();
+    return jwt;
+  }
+
+  @Test
+  void testVerificaApenasNaPrimeiraVez() throws ParseException {
+    // Act
+    JsonWebToken primeiro = parser.obterOuVerificar("token-a", this::verificar);
+    JsonWebToken segundo = parser.obterOuVerificar("token-a", this::verificar);
+
+    // Assert
+    assertSame(jwt, primeiro);
+    assertSame(jwt, segundo);
+    assertEquals(1, verificacoes.get());
+    assertEquals(1, parser.estatisticas().acertos());
+  }
+
+  @Test
+  void testTokensDiferentesSaoVerificadosSeparadamente() throws ParseException {
+    // Act
+    parser.obterOuVerificar("token-a", this::verificar);
+    parser.obterOuVerificar("token-b", this::verificar);
+
+    // Assert
+    assertEquals(2, verificacoes.get());
+    assertEquals(2, parser.estatisticas().tamanho());
+  }
+
+  @Test
+  void testVerificaNovamenteNoExp() throws ParseException {
+    // Arrange
+    parser.obterOuVerificar("token-a", this::verificar);
+
+    // Act
+    relogio.set(1_999_999);
+    parser.obterOuVerificar("token-a", this::verificar);
+    relogio.set(2_000_000);
+    parser.obterOuVerificar("token-a", this::verificar);
+
+    // Assert
+    assertEquals(2, verificacoes.get());
+  }
+
+  @Test
+  void testTokenSemExpNaoEntraNoCache() throws ParseException {
+    // Arrange
+    jwt = jwtExpirandoEm(0);
+
+    // Act
+    parser.obterOuVerificar("token-a", this::verificar);
+    parser.obterOuVerificar("token-a", this::verificar);
+
+    // Assert
+    assertEquals(2, verificacoes.get());
+    assertEquals(0, parser.estatisticas().tamanho());
+  }
+
+  @Test
+  void testRemoveTokensExpirados() throws ParseException {
+    // Arrange
+    parser.obterOuVerificar("token-a", this::verificar);
+    relogio.set(2_000_000);
+
+    // Act
+    parser.removerExpirados();
+
+    // Assert
+    assertEquals(0, parser.estatisticas().tamanho());
+    assertEquals(1, parser.estatisticas().expiracoes());
+  }
+
+  @Test
+  void testTokenInvalidoNaoEntraNoCache() {
+    // Arrange
+    JwtParserComCache.Verificacao recusa = token -> {
+      verificacoes.incrementAndGet();
+      throw new ParseException("Assinatura inválida");
+    };
+
+    // Act & Assert
+    assertThrows(ParseException.class, () -> parser.obterOuVerificar("token-falso", recusa));
+    assertThrows(ParseException.class, () -> parser.obterOuVerificar("token-falso", recusa));
+    assertEquals(2, verificacoes.get());
+    assertEquals(0, parser.estatisticas().tamanho());
+  }
+}
@@ -1,18 +1,27 @@
 package org.pablofsc.service;
 
+import io.quarkus.elytron.security.common.BcryptUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.pablofsc.domain.entity.UsuarioEntity;
 import org.pablofsc.domain.enums.RoleUsuarioEnum;
+import org.pablofsc.domain.exception.ServicoSobrecarregadoException;
 import org.pablofsc.domain.request.LoginRequest;
+import org.pablofsc.domain.response.EstatisticasHashSenhaResponse;
 import org.pablofsc.domain.response.LoginResponse;
 import org.pablofsc.repository.UsuarioRepository;
+import org.pablofsc.service.helper.ExecutorHashSenha;
 import org.pablofsc.service.helper.TokenBuilder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AutenticacaoServiceTest {
@@ -143,4 +152,158 @@ class AutenticacaoServiceTest {
     verify(tokenBuilder, never()).criptografarSenha(any());
     verify(usuarioRepository, never()).persist(any(UsuarioEntity.class));
   }
+
+  @Test
+  void testAutenticarRefazHashComCustoMenor() {
+    // Arrange
+    LoginRequest request = new LoginRequest("user@test.com", "password123");
+    UsuarioEntity usuario = UsuarioEntity.builder()
+        .id(1L)
+        .email("user@test.com")
+        .nome("Test User")
+        .senha("$2a$10$hashAntigo")
+        .role(RoleUsuarioEnum.USER)
+        .build();
+
+    when(usuarioRepository.findByEmail("user@test.com")).thenReturn(Optional.of(usuario));
+    when(tokenBuilder.verificarSenha("password123", "$2a$10$hashAntigo")).thenReturn(true);
+    when(tokenBuilder.precisaRehash("$2a$10$hashAntigo")).thenReturn(true);
+    when(tokenBuilder.criptografarSenha("password123")).thenReturn("$2a$12$hashNovo");
+    when(tokenBuilder.buildToken(usuario)).thenReturn("jwt-token-123");
+
+    // Act
+    LoginResponse response = autenticacaoService.autenticar(request);
+
+    // Assert
+    assertEquals("jwt-token-123", response.getToken());
+    verify(usuarioRepository).atualizarSenha(1L, "$2a$10$hashAntigo", "$2a$12$hashNovo");
+  }
+
+  @Test
+  void testAutenticarSemRehashComCustoAtual() {
+    // Arrange
+    LoginRequest request = new LoginRequest("user@test.com", "password123");
+    UsuarioEntity usuario = UsuarioEntity.builder()
+        .id(1L)
+        .email("user@test.com")
+        .nome("Test User")
+        .senha("$2a$12$hashAtual")
+        .role(RoleUsuarioEnum.USER)
+        .build();
+
+    when(usuarioRepository.findByEmail("user@test.com")).thenReturn(Optional.of(usuario));
+    when(tokenBuilder.verificarSenha("password123", "$2a$12$hashAtual")).thenReturn(true);
+    when(tokenBuilder.precisaRehash("$2a$12$hashAtual")).thenReturn(false);
+
+    // Act
+    autenticacaoService.autenticar(request);
+
+    // Assert
+    verify(tokenBuilder, never()).criptografarSenha(any());
+    verify(usuarioRepository, never()).atualizarSenha(anyLong(), anyString(), anyString());
+  }
+
+  @Test
+  void testAutenticarRefazHashComCustoCalibrado() {
+    // Arrange
+    TokenBuilder tokenBuilderReal = new TokenBuilder("caixaverso-investimentos", "caixaverso-investimentos",
+        Duration.ofHours(1));
+    autenticacaoService = new AutenticacaoService(usuarioRepository, tokenBuilderReal, new ExecutorHashSenha(1, 16),
+        Duration.ofSeconds(1), 4, 5);
+    String hashAntigo = BcryptUtil.bcryptHash("password123", 4);
+    LoginRequest request = new LoginRequest("user@test.com", "password123");
+    UsuarioEntity usuario = UsuarioEntity.builder()
+        .id(1L)
+        .email("user@test.com")
+        .nome("Test User")
+        .senha(hashAntigo)
+        .role(RoleUsuarioEnum.USER)
+        .build();
+
+    when(usuarioRepository.findByEmail("user@test.com")).thenReturn(Optional.of(usuario));
+
+    // Act
+    int custo = autenticacaoService.calibrarCusto();
+    LoginResponse response = autenticacaoService.autenticar(request);
+
+    // Assert
+    assertEquals(5, custo);
+    assertNotNull(response.getToken());
+    ArgumentCaptor<String> novoHash = ArgumentCaptor.forClass(String.class);
+    verify(usuarioRepository).atualizarSenha(eq(1L), eq(hashAntigo), novoHash.capture());
+    assertEquals(5, TokenBuilder.custoDoHash(novoHash.getValue()));
+    assertTrue(tokenBuilderReal.verificarSenha("password123", novoHash.getValue()));
+  }
+
+  @Test
+  void testAutenticarPoolSaturado() {
+    // Arrange
+    ExecutorHashSenha executorHash = mock(ExecutorHashSenha.class);
+    autenticacaoService = new AutenticacaoService(usuarioRepository, tokenBuilder, executorHash);
+    LoginRequest request = new LoginRequest("user@test.com", "password123");
+    UsuarioEntity usuario = UsuarioEntity.builder()
+        .id(1L)
+        .email("user@test.com")
+        .senha("hashedPassword")
+        .role(RoleUsuarioEnum.USER)
+        .build();
+
+    when(usuarioRepository.findByEmail("user@test.com")).thenReturn(Optional.of(usuario));
+    when(executorHash.executar(any())).thenThrow(new ServicoSobrecarregadoException("saturado"));
+
+    // Act & Assert
+    assertThrows(ServicoSobrecarregadoException.class, () -> autenticacaoService.autenticar(request));
+    verify(tokenBuilder, never()).buildToken(any());
+  }
+
+  @Test
+  void testAutenticarRehashAdiadoNaoImpedeLogin() {
+    // Arrange
+    ExecutorHashSenha executorHash = mock(ExecutorHashSenha.class);
+    autenticacaoService = new AutenticacaoService(usuarioRepository, tokenBuilder, executorHash);
+    LoginRequest request = new LoginRequest("user@test.com", "password123");
+    UsuarioEntity usuario = UsuarioEntity.builder()
+        .id(1L)
+        .email("user@test.com")
+        .nome("Test User")
+        .senha("$2a$10$hashAntigo")
+        .role(RoleUsuarioEnum.USER)
+        .build();
+
+    when(usuarioRepository.findByEmail("user@test.com")).thenReturn(Optional.of(usuario));
+    when(executorHash.executar(any()))
+        .thenReturn(true)
+        .thenThrow(new ServicoSobrecarregadoException("saturado"));
+    when(tokenBuilder.precisaRehash("$2a$10$hashAntigo")).thenReturn(true);
+    when(tokenBuilder.buildToken(usuario)).thenReturn("jwt-token-123");
+
+    // Act
+    LoginResponse response = autenticacaoService.autenticar(request);
+
+    // Assert
+    assertEquals("jwt-token-123", response.getToken());
+    verify(usuarioRepository, never()).atualizarSenha(anyLong(), anyString(), anyString());
+  }
+
+  @Test
+  void testObterEstatisticasHash() {
+    // Arrange
+    ExecutorHashSenha executorHash = mock(ExecutorHashSenha.class);
+    autenticacaoService = new AutenticacaoService(usuarioRepository, tokenBuilder, executorHash);
+    when(executorHash.estatisticas()).thenReturn(new ExecutorHashSenha.Estatisticas(2, 1, 3, 64, 10, 500, 4));
+    when(tokenBuilder.getCustoBcrypt()).thenReturn(12);
+
+    // Act
+    EstatisticasHashSenhaResponse response = autenticacaoService.obterEstatisticasHash();
+
+    // Assert
+    assertEquals(12, response.getCusto());
+    assertEquals(2, response.getThreads());
+    assertEquals(1, response.getAtivas());
+    assertEquals(3, response.getNaFila());
+    assertEquals(64, response.getCapacidadeFila());
+    assertEquals(10, response.getMaiorFila());
+    assertEquals(500L, response.getConcluidas());
+    assertEquals(4L, response.getRejeicoes());
+  }
 }
@@ -3,6 +3,9 @@ package org.pablofsc.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.model.PontoProjecao;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -144,4 +147,203 @@ class CalculoSimulacaoServiceTest {
     assertEquals(resultadoCDB, resultadoFundo);
     assertEquals(1100.00, resultadoCDB);
   }
+
+  @Test
+  void testCalcularValorFinalPrimitivoIgualAoBoxed() {
+    // Act
+    double primitivo = calculoSimulacaoService.calcularValorFinal(75000.0, 0.105, 36);
+    Double boxed = calculoSimulacaoService.calcularValorFinal(75000.0, 0.105, 36, TipoProdutoEnum.FUNDO);
+
+    // Assert
+    assertEquals(boxed, primitivo);
+    assertEquals(Math.round(75000.0 * Math.pow(1.105, 3) * 100.0) / 100.0, primitivo);
+  }
+
+  @Test
+  void testCalcularValoresFinaisIgualAoCalculoIndividual() {
+    // Arrange
+    double[] valores = {1000.0, 1000.0, 50000.0, 1000.0, 2500.0};
+    double[] taxas = {0.12, 0.12, 0.095, 0.0, 0.12};
+    int[] prazos = {12, 6, 24, 12, 360};
+
+    // Act
+    double[] resultado = calculoSimulacaoService.calcularValoresFinais(valores, taxas, prazos);
+
+    // Assert
+    assertEquals(valores.length, resultado.length);
+    for (int i = 0; i < valores.length; i++) {
+      assertEquals(calculoSimulacaoService.calcularValorFinal(valores[i], taxas[i], prazos[i]), resultado[i]);
+    }
+    assertEquals(1120.00, resultado[0]);
+    assertEquals(1000.00, resultado[3]);
+  }
+
+  @Test
+  void testCalcularValoresFinaisTamanhosDiferentes() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> calculoSimulacaoService.calcularValoresFinais(new double[2], new double[2], new int[1]));
+  }
+
+  @Test
+  void testCalcularValorFinalPrazoAcimaDaTabela() {
+    // Act
+    double valorFinal = calculoSimulacaoService.calcularValorFinal(1000.0, 0.10, 480);
+
+    // Assert
+    assertEquals(Math.round(1000.0 * Math.pow(1.10, 40) * 100.0) / 100.0, valorFinal);
+  }
+
+  @Test
+  void testFatorCrescimentoAlemDoLimiteDeTabelas() {
+    // Arrange
+    for (int i = 1; i <= CalculoSimulacaoService.LIMITE_TABELAS; i++) {
+      calculoSimulacaoService.fatorCrescimento(i / 1000.0, 12);
+    }
+
+    // Act
+    double fator = calculoSimulacaoService.fatorCrescimento(0.5, 12);
+
+    // Assert
+    assertEquals(1.5, fator);
+  }
+
+  @Test
+  void testProjetarSerieMensal() {
+    // Act
+    List<PontoProjecao> serie = calculoSimulacaoService.projetarSerie(1000.0, 0.12, 12, 1);
+
+    // Assert
+    assertEquals(13, serie.size());
+    for (int mes = 0; mes <= 12; mes++) {
+      assertEquals(mes, serie.get(mes).getMes());
+      assertEquals(calculoSimulacaoService.calcularValorFinal(1000.0, 0.12, mes), serie.get(mes).getValor(), 0.01);
+    }
+    assertEquals(1000.00, serie.get(0).getValor());
+    assertEquals(1120.00, serie.get(12).getValor());
+  }
+
+  @Test
+  void testProjetarSerieComIntervaloIncluiUltimoMes() {
+    // Act
+    List<PontoProjecao> serie = calculoSimulacaoService.projetarSerie(1000.0, 0.08, 30, 12);
+
+    // Assert
+    assertEquals(List.of(0, 12, 24, 30), serie.stream().map(PontoProjecao::getMes).toList());
+    assertEquals(1166.40, serie.get(2).getValor());
+    assertEquals(calculoSimulacaoService.calcularValorFinal(1000.0, 0.08, 30), serie.get(3).getValor());
+  }
+
+  @Test
+  void testProjetarSerieLongaTerminaNoValorFinal() {
+    // Act
+    List<PontoProjecao> serie = calculoSimulacaoService.projetarSerie(75000.0, 0.1234, 360, 1);
+
+    // Assert
+    assertEquals(361, serie.size());
+    assertEquals(calculoSimulacaoService.calcularValorFinal(75000.0, 0.1234, 360), serie.get(360).getValor());
+    assertEquals(calculoSimulacaoService.calcularValorFinal(75000.0, 0.1234, 359), serie.get(359).getValor(), 0.01);
+  }
+
+  @Test
+  void testProjetarSerieSemRentabilidade() {
+    // Act
+    List<PontoProjecao> serie = calculoSimulacaoService.projetarSerie(1000.0, 0.0, 3, 1);
+
+    // Assert
+    assertEquals(4, serie.size());
+    assertTrue(serie.stream().allMatch(ponto -> ponto.getValor() == 1000.0));
+  }
+
+  @Test
+  void testCalcularMatriz() {
+    // Arrange
+    double[] taxas = {0.12, 0.0, 0.08};
+    int[] prazos = {6, 12, 24};
+
+    // Act
+    double[][] matriz = calculoSimulacaoService.calcularMatriz(1000.0, taxas, prazos);
+
+    // Assert
+    assertEquals(3, matriz.length);
+    for (int i = 0; i < taxas.length; i++) {
+      for (int j = 0; j < prazos.length; j++) {
+        assertEquals(calculoSimulacaoService.calcularValorFinal(1000.0, taxas[i], prazos[j]), matriz[i][j]);
+      }
+    }
+    assertEquals(1120.00, matriz[0][1]);
+    assertEquals(1000.00, matriz[1][2]);
+    assertEquals(1166.40, matriz[2][2]);
+  }
+
+  @Test
+  void testCalcularMatrizGrandeEmParalelo() {
+    // Arrange
+    double[] taxas = new double[40];
+    for (int i = 0; i < taxas.length; i++) {
+      taxas[i] = 0.05 + i / 1000.0;
+    }
+    int[] prazos = new int[360];
+    for (int j = 0; j < prazos.length; j++) {
+      prazos[j] = j + 1;
+    }
+
+    // Act
+    double[][] matriz = calculoSimulacaoService.calcularMatriz(5000.0, taxas, prazos);
+
+    // Assert
+    assertTrue((long) taxas.length * prazos.length >= CalculoSimulacaoService.CELULAS_CALCULO_PARALELO);
+    for (int i = 0; i < taxas.length; i++) {
+      assertEquals(calculoSimulacaoService.calcularValorFinal(5000.0, taxas[i], 360), matriz[i][359]);
+    }
+  }
+
+  @Test
+  void testSomarValoresFinaisPorGrupo() {
+    // Arrange
+    double[] valores = {1000.0, 2000.0, 500.0};
+    double[] taxas = {0.12, 0.10, 0.0};
+    int[] prazos = {12, 24, 6};
+    int[] grupos = {0, 1, 0};
+
+    // Act
+    double[] totais = calculoSimulacaoService.somarValoresFinaisPorGrupo(valores, taxas, prazos, grupos, 3);
+
+    // Assert
+    assertEquals(1620.00, totais[0], 1e-9);
+    assertEquals(2420.00, totais[1], 1e-9);
+    assertEquals(0.0, totais[2]);
+  }
+
+  @Test
+  void testSomarValoresFinaisPorGrupoEmBlocosParalelos() {
+    // Arrange
+    int quantidade = CalculoSimulacaoService.POSICOES_POR_BLOCO * 3 + 17;
+    double[] valores = new double[quantidade];
+    double[] taxas = new double[quantidade];
+    int[] prazos = new int[quantidade];
+    int[] grupos = new int[quantidade];
+    double[] esperado = new double[2];
+    for (int i = 0; i < quantidade; i++) {
+      valores[i] = 1000.0 + i;
+      taxas[i] = 0.05 + (i % 7) / 100.0;
+      prazos[i] = 1 + i % 120;
+      grupos[i] = i % 2;
+      esperado[grupos[i]] += calculoSimulacaoService.calcularValorFinal(valores[i], taxas[i], prazos[i]);
+    }
+
+    // Act
+    double[] totais = calculoSimulacaoService.somarValoresFinaisPorGrupo(valores, taxas, prazos, grupos, 2);
+
+    // Assert
+    assertEquals(esperado[0], totais[0], 1e-3);
+    assertEquals(esperado[1], totais[1], 1e-3);
+  }
+
+  @Test
+  void testSomarValoresFinaisPorGrupoTamanhosDiferentes() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> calculoSimulacaoService.somarValoresFinaisPorGrupo(
+        new double[1], new double[1], new int[1], new int[2], 1));
+  }
 }
@@ -0,0 +1,86 @@
+package org.pablofsc.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.enums.NivelRiscoEnum;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.repository.ProdutoRepository;
+import org.pablofsc.service.helper.CatalogoProdutoSnapshot;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogoProdutoServiceTest {
+
+  private ProdutoRepository produtoRepository;
+  private CatalogoProdutoService catalogoProdutoService;
+
+  @BeforeEach
+  void setUp() {
+    produtoRepository = mock(ProdutoRepository.class);
+    catalogoProdutoService = new CatalogoProdutoService(produtoRepository);
+  }
+
+  @Test
+  void testObterSnapshotCarregaUmaUnicaVez() {
+    // Arrange
+    when(produtoRepository.listAll()).thenReturn(List.of(produto(1L, TipoProdutoEnum.CDB)));
+
+    // Act
+    CatalogoProdutoSnapshot primeiro = catalogoProdutoService.obterSnapshot();
+    CatalogoProdutoSnapshot segundo = catalogoProdutoService.obterSnapshot();
+
+    // Assert
+    assertSame(primeiro, segundo);
+    assertEquals(1, primeiro.getProdutos().size());
+    verify(produtoRepository, times(1)).listAll();
+  }
+
+  @Test
+  void testInvalidarReconstroiComNovaVersao() {
+    // Arrange
+    when(produtoRepository.listAll())
+        .thenReturn(List.of(produto(1L, TipoProdutoEnum.CDB)))
+        .thenReturn(Arrays.asList(produto(1L, TipoProdutoEnum.CDB), produto(2L, TipoProdutoEnum.FUNDO)));
+
+    CatalogoProdutoSnapshot antigo = catalogoProdutoService.obterSnapshot();
+
+    // Act
+    catalogoProdutoService.invalidar();
+    CatalogoProdutoSnapshot novo = catalogoProdutoService.obterSnapshot();
+
+    // Assert
+    assertNotSame(antigo, novo);
+    assertTrue(novo.getVersao() > antigo.getVersao());
+    assertEquals(1, antigo.getProdutos().size());
+    assertEquals(2, novo.getProdutos().size());
+    verify(produtoRepository, times(2)).listAll();
+  }
+
+  @Test
+  void testRecarregarPublicaNovoSnapshot() {
+    // Arrange
+    when(produtoRepository.listAll()).thenReturn(List.of(produto(1L, TipoProdutoEnum.CDB)));
+
+    // Act
+    CatalogoProdutoSnapshot recarregado = catalogoProdutoService.recarregar();
+
+    // Assert
+    assertSame(recarregado, catalogoProdutoService.obterSnapshot());
+    verify(produtoRepository, times(1)).listAll();
+  }
+
+  private ProdutoEntity produto(Long id, TipoProdutoEnum tipo) {
+    return ProdutoEntity.builder()
+        .id(id)
+        .nome("Produto " + id)
+        .tipo(tipo)
+        .rentabilidade(0.10)
+        .risco(NivelRiscoEnum.BAIXO)
+        .build();
+  }
+}
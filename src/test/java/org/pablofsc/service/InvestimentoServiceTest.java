@@ -1,159 +1,188 @@
 package org.pablofsc.service;
 
-import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.pablofsc.domain.entity.ClienteEntity;
-import org.pablofsc.domain.entity.InvestimentoEntity;
-import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.entity.ResumoCarteiraEntity;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.model.Investimento;
+import org.pablofsc.domain.model.PosicaoInvestimento;
+import org.pablofsc.domain.model.ProjecaoPorTipo;
+import org.pablofsc.domain.model.TotalPorTipo;
+import org.pablofsc.domain.response.ProjecaoCarteiraResponse;
+import org.pablofsc.domain.response.ResumoCarteiraResponse;
 import org.pablofsc.repository.InvestimentoRepository;
+import org.pablofsc.repository.ResumoCarteiraRepository;
 
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class InvestimentoServiceTest {
 
   private InvestimentoRepository investimentoRepository;
+  private ResumoCarteiraRepository resumoRepository;
   private InvestimentoService investimentoService;
 
   @BeforeEach
   void setUp() {
     investimentoRepository = mock(InvestimentoRepository.class);
-    investimentoService = new InvestimentoService(investimentoRepository);
+    resumoRepository = mock(ResumoCarteiraRepository.class);
+    investimentoService = new InvestimentoService(investimentoRepository, resumoRepository,
+        new CalculoSimulacaoService());
   }
 
   @Test
   void testObterInvestimentosPorClienteComInvestimentos() {
     // Arrange
     Long clienteId = 1L;
+    List<Investimento> investimentos = List.of(
+        new Investimento(2L, TipoProdutoEnum.FUNDO, 2000.0, 0.10, LocalDate.of(2024, 1, 10)),
+        new Investimento(1L, TipoProdutoEnum.CDB, 1000.0, 0.08, LocalDate.of(2024, 3, 15)));
+    when(investimentoRepository.listarPagina(clienteId, null, null, 100)).thenReturn(investimentos);
 
-    ClienteEntity cliente = ClienteEntity.builder().id(clienteId).build();
-    ProdutoEntity produto1 = ProdutoEntity.builder()
-        .id(1L)
-        .nome("CDB Teste")
-        .tipo(TipoProdutoEnum.CDB)
-        .rentabilidade(0.08)
-        .build();
-    ProdutoEntity produto2 = ProdutoEntity.builder()
-        .id(2L)
-        .nome("Fundo Teste")
-        .tipo(TipoProdutoEnum.FUNDO)
-        .rentabilidade(0.10)
-        .build();
+    // Act
+    List<Investimento> result = investimentoService.obterInvestimentosPorCliente(clienteId, null, 100);
 
-    InvestimentoEntity investimento1 = InvestimentoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(produto1)
-        .valor(1000.0)
-        .data(LocalDate.of(2024, 3, 15))
-        .build();
+    // Assert
+    assertEquals(investimentos, result);
+    verify(investimentoRepository, never()).dataDoInvestimento(any(), any());
+  }
 
-    InvestimentoEntity investimento2 = InvestimentoEntity.builder()
-        .id(2L)
-        .cliente(cliente)
-        .produto(produto2)
-        .valor(2000.0)
-        .data(LocalDate.of(2024, 1, 10))
-        .build();
+  @Test
+  void testObterInvestimentosPorClienteSemInvestimentos() {
+    // Arrange
+    Long clienteId = 1L;
+    when(investimentoRepository.listarPagina(clienteId, null, null, 100)).thenReturn(Collections.emptyList());
 
-    List<InvestimentoEntity> investimentos = Arrays.asList(investimento1, investimento2);
+    // Act
+    List<Investimento> result = investimentoService.obterInvestimentosPorCliente(clienteId, null, 100);
 
-    // Mock do PanacheQuery
-    @SuppressWarnings("unchecked")
-    PanacheQuery<InvestimentoEntity> panacheQuery = mock(PanacheQuery.class);
-    when(panacheQuery.page(0, Integer.MAX_VALUE)).thenReturn(panacheQuery);
-    when(panacheQuery.list()).thenReturn(investimentos);
+    // Assert
+    assertTrue(result.isEmpty());
+  }
 
-    when(investimentoRepository.find(eq("cliente.id"), eq(clienteId))).thenReturn(panacheQuery);
+  @Test
+  void testObterInvestimentosPorClienteAposCursor() {
+    // Arrange
+    Long clienteId = 1L;
+    LocalDate dataCursor = LocalDate.of(2024, 1, 10);
+    List<Investimento> pagina = List.of(
+        new Investimento(5L, TipoProdutoEnum.CDB, 1000.0, 0.08, LocalDate.of(2024, 3, 15)));
+    when(investimentoRepository.dataDoInvestimento(clienteId, 2L)).thenReturn(Optional.of(dataCursor));
+    when(investimentoRepository.listarPagina(clienteId, dataCursor, 2L, 10)).thenReturn(pagina);
 
     // Act
-    List<Investimento> result = investimentoService.obterInvestimentosPorCliente(clienteId);
+    List<Investimento> result = investimentoService.obterInvestimentosPorCliente(clienteId, 2L, 10);
 
     // Assert
-    assertEquals(2, result.size());
-
-    // Verificar ordenação por data (mais antigo primeiro)
-    assertEquals(2L, result.get(0).getId());
-    assertEquals(TipoProdutoEnum.FUNDO, result.get(0).getTipo());
-    assertEquals(2000.0, result.get(0).getValor());
-    assertEquals(0.10, result.get(0).getRentabilidade());
-    assertEquals(LocalDate.of(2024, 1, 10), result.get(0).getData());
-
-    assertEquals(1L, result.get(1).getId());
-    assertEquals(TipoProdutoEnum.CDB, result.get(1).getTipo());
-    assertEquals(1000.0, result.get(1).getValor());
-    assertEquals(0.08, result.get(1).getRentabilidade());
-    assertEquals(LocalDate.of(2024, 3, 15), result.get(1).getData());
-
-    verify(investimentoRepository).find(eq("cliente.id"), eq(clienteId));
+    assertEquals(pagina, result);
   }
 
   @Test
-  void testObterInvestimentosPorClienteSemInvestimentos() {
+  void testObterInvestimentosPorClienteCursorDeOutroCliente() {
     // Arrange
-    Long clienteId = 1L;
+    when(investimentoRepository.dataDoInvestimento(1L, 99L)).thenReturn(Optional.empty());
 
-    // Mock do PanacheQuery
-    @SuppressWarnings("unchecked")
-    PanacheQuery<InvestimentoEntity> panacheQuery = mock(PanacheQuery.class);
-    when(panacheQuery.page(0, Integer.MAX_VALUE)).thenReturn(panacheQuery);
-    when(panacheQuery.list()).thenReturn(Collections.emptyList());
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class,
+        () -> investimentoService.obterInvestimentosPorCliente(1L, 99L, 10));
+    assertEquals("Cursor after não é um investimento do cliente", exception.getMessage());
+    verify(investimentoRepository, never()).listarPagina(any(), any(), any(), anyInt());
+  }
 
-    when(investimentoRepository.find(eq("cliente.id"), eq(clienteId))).thenReturn(panacheQuery);
+  @Test
+  void testObterInvestimentosPorClienteLimiteInvalido() {
+    // Act & Assert
+    ParametroInvalidoException zero = assertThrows(ParametroInvalidoException.class,
+        () -> investimentoService.obterInvestimentosPorCliente(1L, null, 0));
+    assertThrows(ParametroInvalidoException.class,
+        () -> investimentoService.obterInvestimentosPorCliente(1L, null, 1001));
+    assertEquals("Limite deve estar entre 1 e 1000", zero.getMessage());
+    verifyNoInteractions(investimentoRepository);
+  }
+
+  @Test
+  void testObterResumoSomaTotaisPorTipo() {
+    // Arrange
+    ResumoCarteiraEntity fundo = ResumoCarteiraEntity.builder()
+        .tipo(TipoProdutoEnum.FUNDO)
+        .quantidadeInvestimentos(1L)
+        .totalInvestido(10000.0)
+        .somaValorRentabilidade(1000.0)
+        .build();
+    ResumoCarteiraEntity cdb = ResumoCarteiraEntity.builder()
+        .tipo(TipoProdutoEnum.CDB)
+        .quantidadeInvestimentos(2L)
+        .totalInvestido(30000.0)
+        .somaValorRentabilidade(3600.0)
+        .build();
+    when(resumoRepository.listarPorCliente(1L)).thenReturn(List.of(fundo, cdb));
 
     // Act
-    List<Investimento> result = investimentoService.obterInvestimentosPorCliente(clienteId);
+    ResumoCarteiraResponse resumo = investimentoService.obterResumo(1L);
 
     // Assert
-    assertTrue(result.isEmpty());
-    verify(investimentoRepository).find(eq("cliente.id"), eq(clienteId));
+    assertEquals(1L, resumo.getClienteId());
+    assertEquals(3L, resumo.getQuantidadeInvestimentos());
+    assertEquals(40000.0, resumo.getTotalInvestido());
+    assertEquals(0.115, resumo.getRentabilidadeMedia(), 1e-12);
+    assertEquals(List.of(
+        new TotalPorTipo(TipoProdutoEnum.CDB, 2L, 30000.0, 0.12),
+        new TotalPorTipo(TipoProdutoEnum.FUNDO, 1L, 10000.0, 0.10)), resumo.getPorTipo());
+    verifyNoInteractions(investimentoRepository);
   }
 
   @Test
-  void testObterInvestimentosPorClienteComProdutoNull() {
+  void testObterResumoSemInvestimentos() {
     // Arrange
-    Long clienteId = 1L;
+    when(resumoRepository.listarPorCliente(1L)).thenReturn(Collections.emptyList());
 
-    ClienteEntity cliente = ClienteEntity.builder().id(clienteId).build();
-
-    InvestimentoEntity investimento = InvestimentoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(null) // Produto null
-        .valor(1000.0)
-        .data(LocalDate.of(2024, 3, 15))
-        .build();
-
-    List<InvestimentoEntity> investimentos = Arrays.asList(investimento);
+    // Act
+    ResumoCarteiraResponse resumo = investimentoService.obterResumo(1L);
 
-    // Mock do PanacheQuery
-    @SuppressWarnings("unchecked")
-    PanacheQuery<InvestimentoEntity> panacheQuery = mock(PanacheQuery.class);
-    when(panacheQuery.page(0, Integer.MAX_VALUE)).thenReturn(panacheQuery);
-    when(panacheQuery.list()).thenReturn(investimentos);
+    // Assert
+    assertEquals(0L, resumo.getQuantidadeInvestimentos());
+    assertEquals(0.0, resumo.getTotalInvestido());
+    assertNull(resumo.getRentabilidadeMedia());
+    assertTrue(resumo.getPorTipo().isEmpty());
+  }
 
-    when(investimentoRepository.find(eq("cliente.id"), eq(clienteId))).thenReturn(panacheQuery);
+  @Test
+  void testProjetarCarteiraSomaPorTipo() {
+    // Arrange
+    LocalDate dataAlvo = LocalDate.of(2026, 1, 10);
+    when(investimentoRepository.listarPosicoes(1L)).thenReturn(List.of(
+        new PosicaoInvestimento(TipoProdutoEnum.CDB, 1000.0, 0.12, LocalDate.of(2025, 1, 10)),
+        new PosicaoInvestimento(TipoProdutoEnum.CDB, 2000.0, 0.12, LocalDate.of(2025, 7, 10)),
+        new PosicaoInvestimento(TipoProdutoEnum.FUNDO, 500.0, null, LocalDate.of(2025, 3, 1)),
+        new PosicaoInvestimento(TipoProdutoEnum.FUNDO, 9999.0, 0.10, LocalDate.of(2026, 2, 1))));
+    CalculoSimulacaoService calculo = new CalculoSimulacaoService();
+    double cdb = calculo.calcularValorFinal(1000.0, 0.12, 12) + calculo.calcularValorFinal(2000.0, 0.12, 6);
 
     // Act
-    List<Investimento> result = investimentoService.obterInvestimentosPorCliente(clienteId);
+    ProjecaoCarteiraResponse projecao = investimentoService.projetarCarteira(1L, dataAlvo);
 
     // Assert
-    assertEquals(1, result.size());
-    assertEquals(1L, result.get(0).getId());
-    assertNull(result.get(0).getTipo());
-    assertNull(result.get(0).getRentabilidade());
-    assertEquals(1000.0, result.get(0).getValor());
-    assertEquals(LocalDate.of(2024, 3, 15), result.get(0).getData());
-
-    verify(investimentoRepository).find(eq("cliente.id"), eq(clienteId));
+    assertEquals(dataAlvo, projecao.getDataAlvo());
+    assertEquals(3L, projecao.getQuantidadeInvestimentos());
+    assertEquals(3500.0, projecao.getTotalInvestido());
+    assertEquals(List.of(
+        new ProjecaoPorTipo(TipoProdutoEnum.CDB, 2L, 3000.0, Math.round(cdb * 100.0) / 100.0),
+        new ProjecaoPorTipo(TipoProdutoEnum.FUNDO, 1L, 500.0, 500.0)), projecao.getPorTipo());
+    assertEquals(Math.round((cdb + 500.0) * 100.0) / 100.0, projecao.getValorProjetado());
+  }
+
+  @Test
+  void testProjetarCarteiraSemDataAlvo() {
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class,
+        () -> investimentoService.projetarCarteira(1L, null));
+    assertEquals("Informe a data alvo", exception.getMessage());
+    verifyNoInteractions(investimentoRepository);
   }
 }
@@ -15,6 +15,7 @@ import org.pablofsc.repository.ProdutoRepository;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,7 +30,8 @@ class MotorRecomendacaoServiceTest {
   void setUp() {
     produtoRepository = mock(ProdutoRepository.class);
     perfilRiscoService = mock(PerfilRiscoService.class);
-    motorRecomendacaoService = new MotorRecomendacaoService(produtoRepository, perfilRiscoService);
+    motorRecomendacaoService = new MotorRecomendacaoService(new CatalogoProdutoService(produtoRepository),
+        perfilRiscoService);
   }
 
   @Test
@@ -329,4 +331,127 @@ class MotorRecomendacaoServiceTest {
     });
     assertEquals("Produto do tipo 'CDB' não encontrado", exception.getMessage());
   }
+
+  @Test
+  void testObterProdutosCompativeisVariosTiposClassificaPerfilUmaVez() {
+    // Arrange
+    ClienteEntity cliente = ClienteEntity.builder()
+        .id(1L)
+        .nome("João Moderado")
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.MEDIA)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.EQUILIBRIO)
+        .riscoMaximoAceitavel(NivelRiscoEnum.ALTO)
+        .volumeTotalInvestido(50000.0)
+        .build();
+
+    ProdutoEntity cdb = ProdutoEntity.builder()
+        .id(1L)
+        .nome("CDB Baixo")
+        .tipo(TipoProdutoEnum.CDB)
+        .rentabilidade(0.08)
+        .risco(NivelRiscoEnum.BAIXO)
+        .build();
+
+    ProdutoEntity fundo = ProdutoEntity.builder()
+        .id(2L)
+        .nome("Fundo Alto")
+        .tipo(TipoProdutoEnum.FUNDO)
+        .rentabilidade(0.11)
+        .risco(NivelRiscoEnum.ALTO)
+        .build();
+
+    when(perfilRiscoService.classificarPerfil(cliente)).thenReturn(PerfilCliente.MODERADO);
+    when(produtoRepository.listAll()).thenReturn(Arrays.asList(cdb, fundo));
+
+    // Act
+    Map<TipoProdutoEnum, List<ProdutoEntity>> result = motorRecomendacaoService.obterProdutosCompativeis(
+        cliente, List.of(TipoProdutoEnum.FUNDO, TipoProdutoEnum.RENDA_FIXA, TipoProdutoEnum.CDB));
+
+    // Assert
+    assertEquals(List.of(TipoProdutoEnum.FUNDO, TipoProdutoEnum.CDB), List.copyOf(result.keySet()));
+    assertEquals(List.of(fundo), result.get(TipoProdutoEnum.FUNDO));
+    assertEquals(List.of(cdb), result.get(TipoProdutoEnum.CDB));
+    verify(perfilRiscoService, times(1)).classificarPerfil(cliente);
+  }
+
+  @Test
+  void testRecomendarProdutoEscolheOMaisCompativel() {
+    // Arrange
+    ClienteEntity cliente = ClienteEntity.builder()
+        .id(1L)
+        .nome("João")
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.BAIXA)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.RENTABILIDADE)
+        .riscoMaximoAceitavel(NivelRiscoEnum.BAIXO)
+        .volumeTotalInvestido(5000.0)
+        .build();
+
+    ProdutoEntity baixa = ProdutoEntity.builder()
+        .id(1L).nome("CDB 1").tipo(TipoProdutoEnum.CDB).rentabilidade(0.05).risco(NivelRiscoEnum.BAIXO).build();
+    ProdutoEntity alta = ProdutoEntity.builder()
+        .id(2L).nome("CDB 2").tipo(TipoProdutoEnum.CDB).rentabilidade(0.15).risco(NivelRiscoEnum.BAIXO).build();
+    ProdutoEntity media = ProdutoEntity.builder()
+        .id(3L).nome("CDB 3").tipo(TipoProdutoEnum.CDB).rentabilidade(0.10).risco(NivelRiscoEnum.BAIXO).build();
+
+    when(perfilRiscoService.classificarPerfil(cliente)).thenReturn(PerfilCliente.CONSERVADOR);
+    when(produtoRepository.listAll()).thenReturn(Arrays.asList(baixa, alta, media));
+
+    // Act
+    ProdutoEntity result = motorRecomendacaoService.recomendarProduto(cliente, "CDB", 12);
+
+    // Assert
+    assertEquals(alta, result);
+  }
+
+  @Test
+  void testObterProdutosCompativeisLimitadoMantemOrdemDeEmpate() {
+    // Arrange
+    ClienteEntity cliente = ClienteEntity.builder()
+        .id(1L)
+        .nome("João")
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.BAIXA)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.RENTABILIDADE)
+        .riscoMaximoAceitavel(NivelRiscoEnum.BAIXO)
+        .build();
+
+    ProdutoEntity empate1 = ProdutoEntity.builder()
+        .id(1L).nome("CDB 1").tipo(TipoProdutoEnum.CDB).rentabilidade(0.10).risco(NivelRiscoEnum.BAIXO).build();
+    ProdutoEntity alta = ProdutoEntity.builder()
+        .id(2L).nome("CDB 2").tipo(TipoProdutoEnum.CDB).rentabilidade(0.15).risco(NivelRiscoEnum.BAIXO).build();
+    ProdutoEntity empate2 = ProdutoEntity.builder()
+        .id(3L).nome("CDB 3").tipo(TipoProdutoEnum.CDB).rentabilidade(0.10).risco(NivelRiscoEnum.BAIXO).build();
+
+    when(perfilRiscoService.classificarPerfil(cliente)).thenReturn(PerfilCliente.CONSERVADOR);
+    when(produtoRepository.listAll()).thenReturn(Arrays.asList(empate1, alta, empate2));
+
+    // Act
+    List<ProdutoEntity> todos = motorRecomendacaoService.obterProdutosCompativeis(cliente, "CDB");
+    List<ProdutoEntity> dois = motorRecomendacaoService.obterProdutosCompativeis(cliente, "CDB", 2);
+
+    // Assert
+    assertEquals(List.of(alta, empate1, empate2), todos);
+    assertEquals(List.of(alta, empate1), dois);
+  }
+
+  @Test
+  void testObterProdutosPorPerfilRespeitaLimiteDaListagem() {
+    // Arrange
+    MotorRecomendacaoService motorLimitado = new MotorRecomendacaoService(
+        new CatalogoProdutoService(produtoRepository), perfilRiscoService, 2);
+
+    ProdutoEntity produto1 = ProdutoEntity.builder()
+        .id(1L).nome("Fundo 1").tipo(TipoProdutoEnum.FUNDO).rentabilidade(0.10).risco(NivelRiscoEnum.ALTO).build();
+    ProdutoEntity produto2 = ProdutoEntity.builder()
+        .id(2L).nome("Fundo 2").tipo(TipoProdutoEnum.FUNDO).rentabilidade(0.30).risco(NivelRiscoEnum.ALTO).build();
+    ProdutoEntity produto3 = ProdutoEntity.builder()
+        .id(3L).nome("Fundo 3").tipo(TipoProdutoEnum.FUNDO).rentabilidade(0.20).risco(NivelRiscoEnum.ALTO).build();
+
+    when(produtoRepository.listAll()).thenReturn(Arrays.asList(produto1, produto2, produto3));
+
+    // Act
+    List<ProdutoEntity> result = motorLimitado.obterProdutosPorPerfil(PerfilCliente.AGRESSIVO);
+
+    // Assert
+    assertEquals(List.of(produto2, produto3), result);
+  }
 }
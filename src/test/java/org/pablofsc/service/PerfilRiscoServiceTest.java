@@ -7,6 +7,7 @@ import org.pablofsc.domain.enums.FrequenciaMovimentacoesEnum;
 import org.pablofsc.domain.enums.NivelRiscoEnum;
 import org.pablofsc.domain.enums.PreferenciaRentLiqEnum;
 import org.pablofsc.domain.model.PerfilCliente;
+import org.pablofsc.domain.response.EstatisticasCacheResponse;
 import org.pablofsc.domain.response.PerfilRiscoResponse;
 import org.pablofsc.repository.ClienteRepository;
 
@@ -283,4 +284,96 @@ class PerfilRiscoServiceTest {
     // score=6.5 -> AGRESSIVO (score >=5)
     assertEquals(PerfilCliente.AGRESSIVO, perfil);
   }
+
+  @Test
+  void testObterPerfilRiscoUsaCache() {
+    // Arrange
+    Long clienteId = 1L;
+    ClienteEntity cliente = ClienteEntity.builder()
+        .id(clienteId)
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.ALTA)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.RENTABILIDADE)
+        .riscoMaximoAceitavel(NivelRiscoEnum.MUITO_ALTO)
+        .volumeTotalInvestido(600000.0)
+        .build();
+    when(clienteRepository.findById(clienteId)).thenReturn(cliente);
+
+    // Act
+    PerfilRiscoResponse primeira = perfilRiscoService.obterPerfilRisco(clienteId);
+    PerfilRiscoResponse segunda = perfilRiscoService.obterPerfilRisco(clienteId);
+
+    // Assert
+    assertEquals(primeira, segunda);
+    assertEquals(100, segunda.getPontuacao());
+    verify(clienteRepository, times(1)).findById(clienteId);
+
+    EstatisticasCacheResponse estatisticas = perfilRiscoService.obterEstatisticasCache();
+    assertEquals(1, estatisticas.getAcertos());
+    assertEquals(1, estatisticas.getFalhas());
+    assertEquals(0.5, estatisticas.getTaxaAcerto());
+  }
+
+  @Test
+  void testInvalidarPerfilRecalculaDoBanco() {
+    // Arrange
+    Long clienteId = 1L;
+    ClienteEntity cliente = ClienteEntity.builder()
+        .id(clienteId)
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.BAIXA)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.LIQUIDEZ)
+        .riscoMaximoAceitavel(NivelRiscoEnum.BAIXO)
+        .volumeTotalInvestido(5000.0)
+        .build();
+    when(clienteRepository.findById(clienteId)).thenReturn(cliente);
+    perfilRiscoService.obterPerfilRisco(clienteId);
+
+    // Act
+    cliente.setFrequenciaMovimentacoes(FrequenciaMovimentacoesEnum.ALTA);
+    perfilRiscoService.invalidarPerfil(clienteId);
+    PerfilRiscoResponse response = perfilRiscoService.obterPerfilRisco(clienteId);
+
+    // Assert
+    assertEquals(60, response.getPontuacao());
+    verify(clienteRepository, times(2)).findById(clienteId);
+  }
+
+  @Test
+  void testClienteNaoExistenteNaoEntraNoCache() {
+    // Arrange
+    when(clienteRepository.findById(999L)).thenReturn(null);
+
+    // Act
+    perfilRiscoService.obterPerfilRisco(999L);
+    perfilRiscoService.obterPerfilRisco(999L);
+
+    // Assert
+    verify(clienteRepository, times(2)).findById(999L);
+    assertEquals(0, perfilRiscoService.obterEstatisticasCache().getTamanho());
+  }
+
+  @Test
+  void testInvalidacaoDuranteLeituraNaoGuardaPerfilAntigo() {
+    // Arrange: o cliente é alterado e invalidado enquanto a leitura antiga está em andamento
+    Long clienteId = 1L;
+    ClienteEntity cliente = ClienteEntity.builder()
+        .id(clienteId)
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.BAIXA)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.LIQUIDEZ)
+        .riscoMaximoAceitavel(NivelRiscoEnum.BAIXO)
+        .volumeTotalInvestido(5000.0)
+        .build();
+    when(clienteRepository.findById(clienteId))
+        .thenAnswer(invocation -> {
+          perfilRiscoService.invalidarPerfil(clienteId);
+          return cliente;
+        })
+        .thenReturn(cliente);
+
+    // Act
+    perfilRiscoService.obterPerfilRisco(clienteId);
+    perfilRiscoService.obterPerfilRisco(clienteId);
+
+    // Assert
+    verify(clienteRepository, times(2)).findById(clienteId);
+  }
 }
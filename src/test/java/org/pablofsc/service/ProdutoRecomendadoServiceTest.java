@@ -1,5 +1,6 @@
 package org.pablofsc.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.pablofsc.domain.entity.ProdutoEntity;
@@ -7,6 +8,9 @@ import org.pablofsc.domain.enums.NivelRiscoEnum;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
 import org.pablofsc.domain.model.PerfilCliente;
 import org.pablofsc.domain.model.ProdutoRecomendado;
+import org.pablofsc.service.helper.CatalogoProdutoSnapshot;
+
+import java.nio.charset.StandardCharsets;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,12 +22,16 @@ import static org.mockito.Mockito.*;
 class ProdutoRecomendadoServiceTest {
 
   private MotorRecomendacaoService motorRecomendacaoService;
+  private CatalogoProdutoService catalogoProdutoService;
   private ProdutoRecomendadoService produtoRecomendadoService;
 
   @BeforeEach
   void setUp() {
     motorRecomendacaoService = mock(MotorRecomendacaoService.class);
-    produtoRecomendadoService = new ProdutoRecomendadoService(motorRecomendacaoService);
+    catalogoProdutoService = mock(CatalogoProdutoService.class);
+    when(catalogoProdutoService.obterSnapshot()).thenReturn(new CatalogoProdutoSnapshot(1L, List.of()));
+    produtoRecomendadoService = new ProdutoRecomendadoService(
+        motorRecomendacaoService, catalogoProdutoService, new ObjectMapper());
   }
 
   @Test
@@ -179,4 +187,70 @@ class ProdutoRecomendadoServiceTest {
 
     verify(motorRecomendacaoService).obterProdutosPorPerfil(null);
   }
+
+  @Test
+  void testRankingReutilizadoEnquantoCatalogoNaoMuda() {
+    // Arrange
+    PerfilCliente perfil = PerfilCliente.MODERADO;
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .id(3L)
+        .nome("Fundo Multimercado")
+        .tipo(TipoProdutoEnum.FUNDO)
+        .rentabilidade(0.12)
+        .risco(NivelRiscoEnum.ALTO)
+        .build();
+
+    when(motorRecomendacaoService.obterProdutosPorPerfil(perfil))
+        .thenReturn(Collections.singletonList(produto));
+
+    // Act
+    List<ProdutoRecomendado> primeiro = produtoRecomendadoService.obterProdutosRecomendados(perfil);
+    byte[] json = produtoRecomendadoService.obterProdutosRecomendadosJson(perfil);
+    List<ProdutoRecomendado> segundo = produtoRecomendadoService.obterProdutosRecomendados(perfil);
+
+    // Assert
+    assertSame(primeiro, segundo);
+    assertSame(json, produtoRecomendadoService.obterProdutosRecomendadosJson(perfil));
+    verify(motorRecomendacaoService, times(1)).obterProdutosPorPerfil(perfil);
+  }
+
+  @Test
+  void testRankingRecalculadoQuandoCatalogoMuda() {
+    // Arrange
+    PerfilCliente perfil = PerfilCliente.CONSERVADOR;
+    when(motorRecomendacaoService.obterProdutosPorPerfil(perfil)).thenReturn(Collections.emptyList());
+
+    produtoRecomendadoService.obterProdutosRecomendados(perfil);
+    when(catalogoProdutoService.obterSnapshot()).thenReturn(new CatalogoProdutoSnapshot(2L, List.of()));
+
+    // Act
+    produtoRecomendadoService.obterProdutosRecomendados(perfil);
+
+    // Assert
+    verify(motorRecomendacaoService, times(2)).obterProdutosPorPerfil(perfil);
+  }
+
+  @Test
+  void testObterProdutosRecomendadosJson() {
+    // Arrange
+    PerfilCliente perfil = PerfilCliente.MODERADO;
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .id(3L)
+        .nome("Fundo Multimercado")
+        .tipo(TipoProdutoEnum.FUNDO)
+        .rentabilidade(0.12)
+        .risco(NivelRiscoEnum.ALTO)
+        .build();
+
+    when(motorRecomendacaoService.obterProdutosPorPerfil(perfil))
+        .thenReturn(Collections.singletonList(produto));
+
+    // Act
+    String json = new String(produtoRecomendadoService.obterProdutosRecomendadosJson(perfil), StandardCharsets.UTF_8);
+
+    // Assert
+    assertEquals(
+        "[{\"id\":3,\"nome\":\"Fundo Multimercado\",\"tipo\":\"Fundo\",\"rentabilidade\":0.12,\"risco\":\"Alto\"}]",
+        json);
+  }
 }
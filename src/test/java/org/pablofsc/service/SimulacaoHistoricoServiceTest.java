@@ -1,20 +1,21 @@
 package org.pablofsc.service;
 
-import io.quarkus.panache.common.Sort;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.pablofsc.domain.entity.ClienteEntity;
-import org.pablofsc.domain.entity.ProdutoEntity;
-import org.pablofsc.domain.entity.SimulacaoEntity;
-import org.pablofsc.domain.enums.NivelRiscoEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.model.FiltroSimulacao;
 import org.pablofsc.domain.model.SimulacaoHistorico;
 import org.pablofsc.repository.SimulacaoRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,58 +23,32 @@ import static org.mockito.Mockito.*;
 
 class SimulacaoHistoricoServiceTest {
 
+  private static final FiltroSimulacao SEM_FILTRO = new FiltroSimulacao();
+
   private SimulacaoRepository simulacaoRepository;
   private SimulacaoHistoricoService simulacaoHistoricoService;
 
   @BeforeEach
   void setUp() {
     simulacaoRepository = mock(SimulacaoRepository.class);
-    simulacaoHistoricoService = new SimulacaoHistoricoService(simulacaoRepository);
+    simulacaoHistoricoService = new SimulacaoHistoricoService(simulacaoRepository, new ObjectMapper().findAndRegisterModules());
   }
 
   @Test
   void testListarSimulacoesComDados() {
     // Arrange
-    ClienteEntity cliente = ClienteEntity.builder()
-        .id(1L)
-        .nome("João Silva")
-        .build();
-
-    ProdutoEntity produto = ProdutoEntity.builder()
-        .id(1L)
-        .nome("CDB Pós-Fixado")
-        .tipo(TipoProdutoEnum.CDB)
-        .rentabilidade(0.10)
-        .risco(NivelRiscoEnum.BAIXO)
-        .build();
-
     ZonedDateTime dataSimulacao = ZonedDateTime.now();
 
-    SimulacaoEntity simulacao1 = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(produto)
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(dataSimulacao)
-        .build();
-
-    SimulacaoEntity simulacao2 = SimulacaoEntity.builder()
-        .id(2L)
-        .cliente(cliente)
-        .produto(produto)
-        .valorInvestido(5000.0)
-        .valorFinal(5250.0)
-        .prazoMeses(6)
-        .dataSimulacao(dataSimulacao.minusDays(1))
-        .build();
+    SimulacaoHistorico simulacao1 = new SimulacaoHistorico(
+        1L, 1L, "CDB Pós-Fixado", 10000.0, 11000.0, 12, dataSimulacao);
+    SimulacaoHistorico simulacao2 = new SimulacaoHistorico(
+        2L, 1L, "CDB Pós-Fixado", 5000.0, 5250.0, 6, dataSimulacao.minusDays(1));
 
-    when(simulacaoRepository.listAll(any(Sort.class)))
+    when(simulacaoRepository.listarPagina(SEM_FILTRO, null, 100))
         .thenReturn(Arrays.asList(simulacao1, simulacao2));
 
     // Act
-    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes();
+    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes(SEM_FILTRO, null, 100);
 
     // Assert
     assertEquals(2, result.size());
@@ -89,115 +64,118 @@ class SimulacaoHistoricoServiceTest {
 
     SimulacaoHistorico segunda = result.get(1);
     assertEquals(2L, segunda.getId());
-    assertEquals(1L, segunda.getClienteId());
-    assertEquals("CDB Pós-Fixado", segunda.getProduto());
-    assertEquals(5000.0, segunda.getValorInvestido());
     assertEquals(5250.0, segunda.getValorFinal());
-    assertEquals(6, segunda.getPrazoMeses());
     assertEquals(dataSimulacao.minusDays(1), segunda.getDataSimulacao());
+
+    // Uma única consulta, sem acesso a entidades
+    verify(simulacaoRepository).listarPagina(SEM_FILTRO, null, 100);
+    verifyNoMoreInteractions(simulacaoRepository);
   }
 
   @Test
   void testListarSimulacoesListaVazia() {
     // Arrange
-    when(simulacaoRepository.listAll(any(Sort.class)))
+    when(simulacaoRepository.listarPagina(SEM_FILTRO, null, 100))
         .thenReturn(Collections.emptyList());
 
     // Act
-    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes();
+    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes(SEM_FILTRO, null, 100);
 
     // Assert
     assertTrue(result.isEmpty());
   }
 
   @Test
-  void testListarSimulacoesComClienteNull() {
+  void testListarSimulacoesAposCursor() {
     // Arrange
-    ProdutoEntity produto = ProdutoEntity.builder()
-        .id(1L)
-        .nome("CDB Pós-Fixado")
-        .tipo(TipoProdutoEnum.CDB)
-        .rentabilidade(0.10)
-        .risco(NivelRiscoEnum.BAIXO)
-        .build();
-
-    SimulacaoEntity simulacao = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(null) // Cliente null
-        .produto(produto)
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(ZonedDateTime.now())
-        .build();
-
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Collections.singletonList(simulacao));
+    SimulacaoHistorico simulacao = new SimulacaoHistorico(51L, 1L, "Produto", null, null, null, null);
+    when(simulacaoRepository.listarPagina(SEM_FILTRO, 50L, 10)).thenReturn(List.of(simulacao));
 
     // Act
-    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes();
+    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes(SEM_FILTRO, 50L, 10);
 
     // Assert
     assertEquals(1, result.size());
-    SimulacaoHistorico historico = result.get(0);
-    assertNull(historico.getClienteId());
-    assertEquals("CDB Pós-Fixado", historico.getProduto());
+    assertEquals(51L, result.get(0).getId());
+    verify(simulacaoRepository).listarPagina(SEM_FILTRO, 50L, 10);
+  }
 
+  @Test
+  void testListarSimulacoesLimiteInvalido() {
+    // Act & Assert
+    assertThrows(ParametroInvalidoException.class, () -> simulacaoHistoricoService.listarSimulacoes(SEM_FILTRO, null, 0));
+    assertThrows(ParametroInvalidoException.class,
+        () -> simulacaoHistoricoService.listarSimulacoes(SEM_FILTRO, null, SimulacaoHistoricoService.LIMITE_MAXIMO + 1));
+    assertThrows(ParametroInvalidoException.class, () -> simulacaoHistoricoService.listarSimulacoes(SEM_FILTRO, -1L, 10));
+    verifyNoInteractions(simulacaoRepository);
   }
 
   @Test
-  void testListarSimulacoesComProdutoNull() {
+  void testListarSimulacoesRepassaFiltro() {
     // Arrange
-    ClienteEntity cliente = ClienteEntity.builder()
-        .id(1L)
-        .nome("João Silva")
-        .build();
-
-    SimulacaoEntity simulacao = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(null) // Produto null
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(ZonedDateTime.now())
+    FiltroSimulacao filtro = FiltroSimulacao.builder()
+        .clienteId(7L)
+        .tipo(TipoProdutoEnum.CDB)
+        .de(ZonedDateTime.parse("2025-11-20T00:00:00-03:00"))
+        .ate(ZonedDateTime.parse("2025-11-21T00:00:00-03:00"))
         .build();
-
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Collections.singletonList(simulacao));
+    SimulacaoHistorico simulacao = new SimulacaoHistorico(3L, 7L, "CDB", 1000.0, 1100.0, 12, null);
+    when(simulacaoRepository.listarPagina(filtro, null, 100)).thenReturn(List.of(simulacao));
 
     // Act
-    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes();
+    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes(filtro, null, 100);
 
     // Assert
-    assertEquals(1, result.size());
-    SimulacaoHistorico historico = result.get(0);
-    assertEquals(1L, historico.getClienteId());
-    assertEquals("Produto removido", historico.getProduto());
+    assertEquals(List.of(simulacao), result);
+    verify(simulacaoRepository).listarPagina(filtro, null, 100);
+  }
 
+  @Test
+  void testListarSimulacoesPeriodoInvalido() {
+    // Arrange
+    ZonedDateTime data = ZonedDateTime.parse("2025-11-21T00:00:00-03:00");
+    FiltroSimulacao filtro = FiltroSimulacao.builder().de(data).ate(data).build();
+
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class,
+        () -> simulacaoHistoricoService.listarSimulacoes(filtro, null, 100));
+    assertEquals("Início do período deve ser anterior ao fim", exception.getMessage());
+    verifyNoInteractions(simulacaoRepository);
   }
 
   @Test
-  void testListarSimulacoesComEntityNull() {
-    // Arrange - O filtro entity != null remove nulls, então testamos com lista
-    // vazia após filtro
-    SimulacaoEntity simulacaoValida = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(ClienteEntity.builder().id(1L).build())
-        .produto(ProdutoEntity.builder().id(1L).nome("Produto").build())
-        .valorInvestido(1000.0)
-        .valorFinal(1100.0)
-        .prazoMeses(12)
-        .dataSimulacao(ZonedDateTime.now())
-        .build();
+  @SuppressWarnings("unchecked")
+  void testExportarSimulacoesEscreveArrayJson() {
+    // Arrange
+    SimulacaoHistorico simulacao1 = new SimulacaoHistorico(1L, 7L, "CDB", null, 1100.0, null, null);
+    SimulacaoHistorico simulacao2 = new SimulacaoHistorico(2L, 8L, "Produto removido", null, null, null, null);
+    doAnswer(invocation -> {
+      Consumer<SimulacaoHistorico> consumidor = invocation.getArgument(1);
+      consumidor.accept(simulacao1);
+      consumidor.accept(simulacao2);
+      return null;
+    }).when(simulacaoRepository).percorrer(any(), any());
+    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+    // Act
+    simulacaoHistoricoService.exportarSimulacoes(SEM_FILTRO, saida);
+
+    // Assert
+    String json = saida.toString(StandardCharsets.UTF_8);
+    assertTrue(json.startsWith("[{\"id\":1,\"clienteId\":7,\"produto\":\"CDB\""));
+    assertTrue(json.contains("{\"id\":2,\"clienteId\":8,\"produto\":\"Produto removido\""));
+    assertTrue(json.endsWith("}]"));
+  }
 
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Collections.singletonList(simulacaoValida));
+  @Test
+  void testExportarSimulacoesSemRegistros() {
+    // Arrange
+    ByteArrayOutputStream saida = new ByteArrayOutputStream();
 
     // Act
-    List<SimulacaoHistorico> result = simulacaoHistoricoService.listarSimulacoes();
+    simulacaoHistoricoService.exportarSimulacoes(SEM_FILTRO, saida);
 
     // Assert
-    assertEquals(1, result.size()); // Apenas o entity válido é processado
+    assertEquals("[]", saida.toString(StandardCharsets.UTF_8));
   }
 }
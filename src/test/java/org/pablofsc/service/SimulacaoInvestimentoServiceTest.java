@@ -4,17 +4,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.pablofsc.domain.entity.ClienteEntity;
 import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.entity.SimulacaoEntity;
 import org.pablofsc.domain.enums.NivelRiscoEnum;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
+import org.pablofsc.domain.model.PontoProjecao;
 import org.pablofsc.domain.model.Produto;
 import org.pablofsc.domain.model.Simulacao;
 import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.request.VarreduraSimulacaoRequest;
+import org.pablofsc.domain.response.ProjecaoInvestimentoResponse;
 import org.pablofsc.domain.response.SimulacaoInvestimentoResponse;
+import org.pablofsc.domain.response.SimulacaoLoteResponse;
+import org.pablofsc.domain.response.VarreduraSimulacaoResponse;
 import org.pablofsc.service.helper.SimulacaoOrchestrator;
 
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -190,4 +202,229 @@ class SimulacaoInvestimentoServiceTest {
         eq(dataSimulacao));
     verify(orchestrator).persistirSimulacao(any());
   }
+
+  @Test
+  void testSimularLoteReutilizaClientesERecomendacoes() {
+    // Arrange
+    SimulacaoInvestimentoRequest request1 = new SimulacaoInvestimentoRequest(1L, 10000.0, 12, "CDB");
+    SimulacaoInvestimentoRequest request2 = new SimulacaoInvestimentoRequest(1L, 20000.0, 24, "CDB");
+    List<SimulacaoInvestimentoRequest> requests = List.of(request1, request2);
+
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).nome("João Silva").build();
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .id(1L)
+        .nome("CDB Pós-Fixado")
+        .tipo(TipoProdutoEnum.CDB)
+        .rentabilidade(0.10)
+        .risco(NivelRiscoEnum.BAIXO)
+        .build();
+    SimulacaoEntity historico = SimulacaoEntity.builder().build();
+
+    when(orchestrator.obterClientes(List.of(1L))).thenReturn(Map.of(1L, cliente));
+    when(orchestrator.recomendarEValidarProduto(cliente, "CDB", 12)).thenReturn(produto);
+    when(orchestrator.calcularResultado(any(), eq(produto), any())).thenReturn(new Simulacao(11000.0, 0.10, 12));
+    when(orchestrator.construirSimulacaoEntity(eq(cliente), eq(produto), any(), any(), any())).thenReturn(historico);
+
+    // Act
+    SimulacaoLoteResponse response = simulacaoInvestimentoService.simularLote(requests);
+
+    // Assert
+    assertEquals(2, response.getQuantidadeTotal());
+    assertEquals(2, response.getQuantidadeSucesso());
+    assertEquals(0, response.getQuantidadeErro());
+    assertEquals(0, response.getItens().get(0).getIndice());
+    assertEquals(1, response.getItens().get(1).getIndice());
+    assertNotNull(response.getItens().get(1).getSimulacao());
+    assertNull(response.getItens().get(1).getErro());
+
+    verify(validacaoService).validarLote(requests);
+    verify(orchestrator, times(1)).obterClientes(List.of(1L));
+    verify(orchestrator, times(1)).recomendarEValidarProduto(cliente, "CDB", 12);
+    verify(orchestrator).persistirSimulacoes(List.of(historico, historico));
+    verify(orchestrator, never()).persistirSimulacao(any());
+  }
+
+  @Test
+  void testSimularLoteComItensInvalidos() {
+    // Arrange
+    SimulacaoInvestimentoRequest valido = new SimulacaoInvestimentoRequest(1L, 10000.0, 12, "CDB");
+    SimulacaoInvestimentoRequest clienteInexistente = new SimulacaoInvestimentoRequest(999L, 10000.0, 12, "CDB");
+    SimulacaoInvestimentoRequest tipoInexistente = new SimulacaoInvestimentoRequest(1L, 10000.0, 12, "POUPANCA");
+    SimulacaoInvestimentoRequest valorInvalido = new SimulacaoInvestimentoRequest(1L, 10.0, 12, "CDB");
+    List<SimulacaoInvestimentoRequest> requests = List.of(valido, clienteInexistente, tipoInexistente, valorInvalido);
+
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).nome("João Silva").build();
+    ProdutoEntity produto = ProdutoEntity.builder().id(1L).nome("CDB").tipo(TipoProdutoEnum.CDB).build();
+    SimulacaoEntity historico = SimulacaoEntity.builder().build();
+
+    when(orchestrator.obterClientes(List.of(1L, 999L))).thenReturn(Map.of(1L, cliente));
+    when(orchestrator.recomendarEValidarProduto(cliente, "CDB", 12)).thenReturn(produto);
+    when(orchestrator.recomendarEValidarProduto(cliente, "POUPANCA", 12))
+        .thenThrow(new ProdutoNaoEncontradoException("POUPANCA"));
+    doThrow(new ParametroInvalidoException("Valor mínimo é 100.0")).when(validacaoService).validar(valorInvalido);
+    when(orchestrator.calcularResultado(10000.0, produto, 12)).thenReturn(new Simulacao(11000.0, 0.10, 12));
+    when(orchestrator.construirSimulacaoEntity(eq(cliente), eq(produto), any(), any(), any())).thenReturn(historico);
+
+    // Act
+    SimulacaoLoteResponse response = simulacaoInvestimentoService.simularLote(requests);
+
+    // Assert
+    assertEquals(4, response.getQuantidadeTotal());
+    assertEquals(1, response.getQuantidadeSucesso());
+    assertEquals(3, response.getQuantidadeErro());
+    assertNotNull(response.getItens().get(0).getSimulacao());
+    assertEquals("ERR_CLIENT_NOT_FOUND", response.getItens().get(1).getErro().getCodigo());
+    assertEquals("ERR_PRODUCT_NOT_FOUND", response.getItens().get(2).getErro().getCodigo());
+    assertEquals("ERR_INVALID_PARAMETER", response.getItens().get(3).getErro().getCodigo());
+    verify(orchestrator).persistirSimulacoes(List.of(historico));
+  }
+
+  @Test
+  void testProjetarInvestimentoNaoGravaHistorico() {
+    // Arrange
+    SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest(1L, 10000.0, 24, "CDB");
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).build();
+    ProdutoEntity produto = ProdutoEntity.builder().id(1L).tipo(TipoProdutoEnum.CDB).rentabilidade(0.13).build();
+    Produto produtoModel = new Produto(1L, "CDB", TipoProdutoEnum.CDB, 0.13, NivelRiscoEnum.BAIXO);
+    Simulacao simulacao = new Simulacao(12769.0, 0.13, 24);
+    List<PontoProjecao> serie = List.of(
+        new PontoProjecao(0, 10000.0),
+        new PontoProjecao(12, 11300.0),
+        new PontoProjecao(24, 12769.0));
+
+    when(orchestrator.validarEObterCliente(1L)).thenReturn(cliente);
+    when(orchestrator.recomendarEValidarProduto(cliente, "CDB", 24)).thenReturn(produto);
+    when(orchestrator.converterProdutoParaModelo(produto)).thenReturn(produtoModel);
+    when(orchestrator.calcularResultado(10000.0, produto, 24)).thenReturn(simulacao);
+    when(orchestrator.projetarSerie(10000.0, produto, 24, 12)).thenReturn(serie);
+
+    // Act
+    ProjecaoInvestimentoResponse response = simulacaoInvestimentoService.projetarInvestimento(request, 12);
+
+    // Assert
+    assertEquals(produtoModel, response.getProdutoValidado());
+    assertEquals(simulacao, response.getResultadoSimulacao());
+    assertEquals(12, response.getIntervaloMeses());
+    assertEquals(serie, response.getSerie());
+    verify(validacaoService).validar(request);
+    verify(orchestrator, never()).persistirSimulacao(any());
+  }
+
+  @Test
+  void testProjetarInvestimentoIntervaloPadrao() {
+    // Arrange
+    SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest(1L, 10000.0, 3, "CDB");
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).build();
+    ProdutoEntity produto = ProdutoEntity.builder().id(1L).build();
+    when(orchestrator.validarEObterCliente(1L)).thenReturn(cliente);
+    when(orchestrator.recomendarEValidarProduto(cliente, "CDB", 3)).thenReturn(produto);
+
+    // Act
+    ProjecaoInvestimentoResponse response = simulacaoInvestimentoService.projetarInvestimento(request, null);
+
+    // Assert
+    assertEquals(1, response.getIntervaloMeses());
+    verify(orchestrator).projetarSerie(10000.0, produto, 3, 1);
+  }
+
+  @Test
+  void testProjetarInvestimentoIntervaloInvalido() {
+    // Arrange
+    SimulacaoInvestimentoRequest request = new SimulacaoInvestimentoRequest(1L, 10000.0, 12, "CDB");
+
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class,
+        () -> simulacaoInvestimentoService.projetarInvestimento(request, 0));
+    assertEquals("Intervalo deve ser de pelo menos 1 mês", exception.getMessage());
+    verifyNoInteractions(orchestrator);
+  }
+
+  @Test
+  void testVarrerSimulacoesSemPersistir() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 10000.0, List.of(12, 24, 12), null, null);
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).build();
+    ProdutoEntity cdb = ProdutoEntity.builder().id(1L).tipo(TipoProdutoEnum.CDB).rentabilidade(0.12).build();
+    ProdutoEntity fundo = ProdutoEntity.builder().id(2L).tipo(TipoProdutoEnum.FUNDO).rentabilidade(0.10).build();
+    Produto cdbModel = new Produto(1L, "CDB", TipoProdutoEnum.CDB, 0.12, NivelRiscoEnum.BAIXO);
+    Produto fundoModel = new Produto(2L, "Fundo", TipoProdutoEnum.FUNDO, 0.10, NivelRiscoEnum.ALTO);
+    Map<TipoProdutoEnum, List<ProdutoEntity>> compativeis = new LinkedHashMap<>();
+    compativeis.put(TipoProdutoEnum.CDB, List.of(cdb));
+    compativeis.put(TipoProdutoEnum.FUNDO, List.of(fundo));
+
+    when(orchestrator.validarEObterCliente(1L)).thenReturn(cliente);
+    when(orchestrator.obterProdutosCompativeis(cliente, List.of(TipoProdutoEnum.values()))).thenReturn(compativeis);
+    when(orchestrator.converterProdutoParaModelo(cdb)).thenReturn(cdbModel);
+    when(orchestrator.converterProdutoParaModelo(fundo)).thenReturn(fundoModel);
+    when(orchestrator.calcularMatriz(eq(10000.0), eq(List.of(cdb, fundo)), aryEq(new int[] {12, 24})))
+        .thenReturn(new double[][] {{11200.0, 12544.0}, {11000.0, 12100.0}});
+
+    // Act
+    VarreduraSimulacaoResponse response = simulacaoInvestimentoService.varrerSimulacoes(request);
+
+    // Assert
+    assertEquals(1L, response.getClienteId());
+    assertEquals(10000.0, response.getValor());
+    assertEquals(List.of(12, 24), response.getPrazosMeses());
+    assertEquals(2, response.getProdutos().size());
+    assertEquals(cdbModel, response.getProdutos().get(0).getProduto());
+    assertEquals(List.of(11200.0, 12544.0), response.getProdutos().get(0).getValoresFinais());
+    assertEquals(fundoModel, response.getProdutos().get(1).getProduto());
+    assertEquals(List.of(11000.0, 12100.0), response.getProdutos().get(1).getValoresFinais());
+    verify(validacaoService).validarVarredura(request);
+    verify(orchestrator, never()).persistirSimulacoes(any());
+  }
+
+  @Test
+  void testVarrerSimulacoesPersistindo() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(
+        1L, 10000.0, List.of(12, 24), List.of("Renda Fixa", "cdb"), true);
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).build();
+    ProdutoEntity cdb = ProdutoEntity.builder().id(1L).tipo(TipoProdutoEnum.CDB).rentabilidade(0.12).build();
+    ZonedDateTime dataSimulacao = ZonedDateTime.now();
+    SimulacaoEntity historico = new SimulacaoEntity();
+
+    when(orchestrator.validarEObterCliente(1L)).thenReturn(cliente);
+    when(orchestrator.obterProdutosCompativeis(cliente, List.of(TipoProdutoEnum.RENDA_FIXA, TipoProdutoEnum.CDB)))
+        .thenReturn(Map.of(TipoProdutoEnum.CDB, List.of(cdb)));
+    when(orchestrator.calcularMatriz(eq(10000.0), eq(List.of(cdb)), any()))
+        .thenReturn(new double[][] {{11200.0, 12544.0}});
+    when(orchestrator.obterDataSimulacao()).thenReturn(dataSimulacao);
+    when(orchestrator.construirSimulacaoEntity(eq(cliente), eq(cdb), eq(10000.0), any(), eq(dataSimulacao)))
+        .thenReturn(historico);
+
+    // Act
+    simulacaoInvestimentoService.varrerSimulacoes(request);
+
+    // Assert
+    verify(orchestrator).construirSimulacaoEntity(cliente, cdb, 10000.0, new Simulacao(11200.0, 0.12, 12), dataSimulacao);
+    verify(orchestrator).construirSimulacaoEntity(cliente, cdb, 10000.0, new Simulacao(12544.0, 0.12, 24), dataSimulacao);
+    verify(orchestrator).persistirSimulacoes(List.of(historico, historico));
+  }
+
+  @Test
+  void testVarrerSimulacoesTipoInvalido() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 10000.0, List.of(12), List.of("Ações"), null);
+
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class,
+        () -> simulacaoInvestimentoService.varrerSimulacoes(request));
+    assertEquals("Tipo de produto inválido: Ações", exception.getMessage());
+    verifyNoInteractions(orchestrator);
+  }
+
+  @Test
+  void testVarrerSimulacoesSemProdutosCompativeis() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 10000.0, List.of(12), List.of("CDB"), null);
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).build();
+    when(orchestrator.validarEObterCliente(1L)).thenReturn(cliente);
+    when(orchestrator.obterProdutosCompativeis(cliente, List.of(TipoProdutoEnum.CDB))).thenReturn(Map.of());
+
+    // Act & Assert
+    assertThrows(ProdutoNaoEncontradoException.class, () -> simulacaoInvestimentoService.varrerSimulacoes(request));
+    verify(orchestrator, never()).calcularMatriz(any(), any(), any());
+  }
 }
@@ -0,0 +1,45 @@
+package org.pablofsc.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.response.SimulacaoLoteResponse;
+import org.pablofsc.repository.SimulacaoRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lote com itens válidos e inválidos na transação real: o erro de um item
+ * não pode desfazer a gravação dos demais.
+ */
+@QuarkusTest
+class SimulacaoLoteTransacaoTest {
+
+  @Inject
+  SimulacaoInvestimentoService simulacaoInvestimentoService;
+
+  @Inject
+  SimulacaoRepository simulacaoRepository;
+
+  @Test
+  void testLoteMistoGravaItensValidos() {
+    // Arrange
+    List<SimulacaoInvestimentoRequest> requests = List.of(
+        new SimulacaoInvestimentoRequest(1L, 1000.0, 12, "CDB"),
+        new SimulacaoInvestimentoRequest(1L, 1000.0, 12, "Ações"),
+        new SimulacaoInvestimentoRequest(2L, 5000.0, 24, "Renda Fixa"));
+    long antes = simulacaoRepository.count();
+
+    // Act
+    SimulacaoLoteResponse response = simulacaoInvestimentoService.simularLote(requests);
+
+    // Assert
+    assertEquals(2, response.getQuantidadeSucesso());
+    assertEquals(1, response.getQuantidadeErro());
+    assertEquals("ERR_PRODUCT_NOT_FOUND", response.getItens().get(1).getErro().getCodigo());
+    assertEquals(antes + 2, simulacaoRepository.count());
+  }
+}
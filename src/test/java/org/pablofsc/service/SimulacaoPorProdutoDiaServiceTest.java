@@ -1,45 +1,36 @@
 package org.pablofsc.service;
 
-import io.quarkus.panache.common.Sort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.pablofsc.domain.entity.ClienteEntity;
 import org.pablofsc.domain.entity.ProdutoEntity;
-import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.domain.entity.SimulacaoProdutoDiaEntity;
 import org.pablofsc.domain.enums.NivelRiscoEnum;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
 import org.pablofsc.domain.model.SimulacaoPorProdutoDia;
-import org.pablofsc.repository.SimulacaoRepository;
+import org.pablofsc.repository.SimulacaoProdutoDiaRepository;
 
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class SimulacaoPorProdutoDiaServiceTest {
 
-  private SimulacaoRepository simulacaoRepository;
+  private SimulacaoProdutoDiaRepository produtoDiaRepository;
   private SimulacaoPorProdutoDiaService simulacaoPorProdutoDiaService;
 
   @BeforeEach
   void setUp() {
-    simulacaoRepository = mock(SimulacaoRepository.class);
-    simulacaoPorProdutoDiaService = new SimulacaoPorProdutoDiaService(simulacaoRepository);
+    produtoDiaRepository = mock(SimulacaoProdutoDiaRepository.class);
+    simulacaoPorProdutoDiaService = new SimulacaoPorProdutoDiaService(produtoDiaRepository);
   }
 
   @Test
   void testListarSimulacoesPorProdutoDiaComDados() {
     // Arrange
-    ClienteEntity cliente = ClienteEntity.builder()
-        .id(1L)
-        .nome("João Silva")
-        .build();
-
     ProdutoEntity produto1 = ProdutoEntity.builder()
         .id(1L)
         .nome("CDB Pós-Fixado")
@@ -56,41 +47,12 @@ class SimulacaoPorProdutoDiaServiceTest {
         .risco(NivelRiscoEnum.ALTO)
         .build();
 
-    ZonedDateTime hoje = ZonedDateTime.now();
-    ZonedDateTime ontem = hoje.minusDays(1);
-
-    SimulacaoEntity simulacao1 = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(produto1)
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(hoje)
-        .build();
-
-    SimulacaoEntity simulacao2 = SimulacaoEntity.builder()
-        .id(2L)
-        .cliente(cliente)
-        .produto(produto1)
-        .valorInvestido(5000.0)
-        .valorFinal(5250.0)
-        .prazoMeses(6)
-        .dataSimulacao(hoje)
-        .build();
-
-    SimulacaoEntity simulacao3 = SimulacaoEntity.builder()
-        .id(3L)
-        .cliente(cliente)
-        .produto(produto2)
-        .valorInvestido(8000.0)
-        .valorFinal(8960.0)
-        .prazoMeses(12)
-        .dataSimulacao(ontem)
-        .build();
+    LocalDate hoje = LocalDate.now();
+    LocalDate ontem = hoje.minusDays(1);
 
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Arrays.asList(simulacao1, simulacao2, simulacao3));
+    when(produtoDiaRepository.listarComProduto()).thenReturn(Arrays.asList(
+        total(produto2, ontem, 1L, 8960.0),
+        total(produto1, hoje, 2L, 16250.0)));
 
     // Act
     List<SimulacaoPorProdutoDia> result = simulacaoPorProdutoDiaService.listarSimulacoesPorProdutoDia();
@@ -101,14 +63,14 @@ class SimulacaoPorProdutoDiaServiceTest {
     // Primeiro resultado deve ser o mais recente (hoje) com CDB
     SimulacaoPorProdutoDia primeiro = result.get(0);
     assertEquals("CDB Pós-Fixado", primeiro.getProduto());
-    assertEquals(hoje.toLocalDate(), primeiro.getData());
+    assertEquals(hoje, primeiro.getData());
     assertEquals(2, primeiro.getQuantidadeSimulacoes());
     assertEquals(8125.0, primeiro.getMediaValorFinal()); // (11000 + 5250) / 2
 
     // Segundo resultado deve ser ontem com Fundo
     SimulacaoPorProdutoDia segundo = result.get(1);
     assertEquals("Fundo Multimercado", segundo.getProduto());
-    assertEquals(ontem.toLocalDate(), segundo.getData());
+    assertEquals(ontem, segundo.getData());
     assertEquals(1, segundo.getQuantidadeSimulacoes());
     assertEquals(8960.0, segundo.getMediaValorFinal());
   }
@@ -116,8 +78,7 @@ class SimulacaoPorProdutoDiaServiceTest {
   @Test
   void testListarSimulacoesPorProdutoDiaListaVazia() {
     // Arrange
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Collections.emptyList());
+    when(produtoDiaRepository.listarComProduto()).thenReturn(Collections.emptyList());
 
     // Act
     List<SimulacaoPorProdutoDia> result = simulacaoPorProdutoDiaService.listarSimulacoesPorProdutoDia();
@@ -129,23 +90,8 @@ class SimulacaoPorProdutoDiaServiceTest {
   @Test
   void testListarSimulacoesPorProdutoDiaComProdutoNull() {
     // Arrange
-    ClienteEntity cliente = ClienteEntity.builder()
-        .id(1L)
-        .nome("João Silva")
-        .build();
-
-    SimulacaoEntity simulacao = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(null) // Produto null
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(ZonedDateTime.now())
-        .build();
-
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Collections.singletonList(simulacao));
+    when(produtoDiaRepository.listarComProduto())
+        .thenReturn(Collections.singletonList(total(null, LocalDate.now(), 1L, 11000.0)));
 
     // Act
     List<SimulacaoPorProdutoDia> result = simulacaoPorProdutoDiaService.listarSimulacoesPorProdutoDia();
@@ -161,11 +107,6 @@ class SimulacaoPorProdutoDiaServiceTest {
   @Test
   void testListarSimulacoesPorProdutoDiaAgrupamentoCorreto() {
     // Arrange
-    ClienteEntity cliente = ClienteEntity.builder()
-        .id(1L)
-        .nome("João Silva")
-        .build();
-
     ProdutoEntity produto = ProdutoEntity.builder()
         .id(1L)
         .nome("CDB Pós-Fixado")
@@ -174,41 +115,20 @@ class SimulacaoPorProdutoDiaServiceTest {
         .risco(NivelRiscoEnum.BAIXO)
         .build();
 
-    LocalDate data = LocalDate.of(2024, 1, 15);
-
-    // Múltiplas simulações no mesmo dia para o mesmo produto
-    SimulacaoEntity simulacao1 = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(produto)
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(data.atStartOfDay(ZonedDateTime.now().getZone()))
-        .build();
-
-    SimulacaoEntity simulacao2 = SimulacaoEntity.builder()
+    ProdutoEntity produtoMesmoNome = ProdutoEntity.builder()
         .id(2L)
-        .cliente(cliente)
-        .produto(produto)
-        .valorInvestido(20000.0)
-        .valorFinal(22000.0)
-        .prazoMeses(12)
-        .dataSimulacao(data.atStartOfDay(ZonedDateTime.now().getZone()))
+        .nome("CDB Pós-Fixado")
+        .tipo(TipoProdutoEnum.CDB)
+        .rentabilidade(0.11)
+        .risco(NivelRiscoEnum.BAIXO)
         .build();
 
-    SimulacaoEntity simulacao3 = SimulacaoEntity.builder()
-        .id(3L)
-        .cliente(cliente)
-        .produto(produto)
-        .valorInvestido(5000.0)
-        .valorFinal(5500.0)
-        .prazoMeses(12)
-        .dataSimulacao(data.atStartOfDay(ZonedDateTime.now().getZone()))
-        .build();
+    LocalDate data = LocalDate.of(2024, 1, 15);
 
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Arrays.asList(simulacao1, simulacao2, simulacao3));
+    // Produtos com o mesmo nome no mesmo dia são combinados
+    when(produtoDiaRepository.listarComProduto()).thenReturn(Arrays.asList(
+        total(produto, data, 2L, 33000.0),
+        total(produtoMesmoNome, data, 1L, 5500.0)));
 
     // Act
     List<SimulacaoPorProdutoDia> result = simulacaoPorProdutoDiaService.listarSimulacoesPorProdutoDia();
@@ -225,11 +145,6 @@ class SimulacaoPorProdutoDiaServiceTest {
   @Test
   void testListarSimulacoesPorProdutoDiaOrdenacao() {
     // Arrange
-    ClienteEntity cliente = ClienteEntity.builder()
-        .id(1L)
-        .nome("João Silva")
-        .build();
-
     ProdutoEntity produtoA = ProdutoEntity.builder()
         .id(1L)
         .nome("Produto A")
@@ -249,41 +164,43 @@ class SimulacaoPorProdutoDiaServiceTest {
     LocalDate ontem = LocalDate.now().minusDays(1);
     LocalDate hoje = LocalDate.now();
 
-    SimulacaoEntity simulacao1 = SimulacaoEntity.builder()
-        .id(1L)
-        .cliente(cliente)
-        .produto(produtoB)
-        .valorInvestido(10000.0)
-        .valorFinal(11000.0)
-        .prazoMeses(12)
-        .dataSimulacao(ontem.atStartOfDay(ZonedDateTime.now().getZone()))
-        .build();
-
-    SimulacaoEntity simulacao2 = SimulacaoEntity.builder()
-        .id(2L)
-        .cliente(cliente)
-        .produto(produtoA)
-        .valorInvestido(5000.0)
-        .valorFinal(5250.0)
-        .prazoMeses(6)
-        .dataSimulacao(hoje.atStartOfDay(ZonedDateTime.now().getZone()))
-        .build();
-
-    when(simulacaoRepository.listAll(any(Sort.class)))
-        .thenReturn(Arrays.asList(simulacao1, simulacao2));
+    when(produtoDiaRepository.listarComProduto()).thenReturn(Arrays.asList(
+        total(produtoB, ontem, 1L, 11000.0),
+        total(produtoB, hoje, 1L, 9000.0),
+        total(produtoA, hoje, 1L, 5250.0)));
 
     // Act
     List<SimulacaoPorProdutoDia> result = simulacaoPorProdutoDiaService.listarSimulacoesPorProdutoDia();
 
     // Assert
-    assertEquals(2, result.size());
+    assertEquals(3, result.size());
 
-    // Primeiro deve ser o mais recente (hoje) com Produto A
+    // Primeiros devem ser os mais recentes (hoje), por nome do produto
     assertEquals("Produto A", result.get(0).getProduto());
     assertEquals(hoje, result.get(0).getData());
-
-    // Segundo deve ser ontem com Produto B
     assertEquals("Produto B", result.get(1).getProduto());
-    assertEquals(ontem, result.get(1).getData());
+    assertEquals(hoje, result.get(1).getData());
+
+    // Último deve ser ontem com Produto B
+    assertEquals("Produto B", result.get(2).getProduto());
+    assertEquals(ontem, result.get(2).getData());
+  }
+
+  @Test
+  void testAoIniciarReconstroiTotais() {
+    // Act
+    simulacaoPorProdutoDiaService.aoIniciar(null);
+
+    // Assert
+    verify(produtoDiaRepository).reconstruirSeVazio();
+  }
+
+  private SimulacaoProdutoDiaEntity total(ProdutoEntity produto, LocalDate data, Long quantidade, Double soma) {
+    return SimulacaoProdutoDiaEntity.builder()
+        .produto(produto)
+        .data(data)
+        .quantidadeSimulacoes(quantidade)
+        .somaValorFinal(soma)
+        .build();
   }
 }
@@ -0,0 +1,205 @@
+package org.pablofsc.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.SimulacaoEntity;
+import org.pablofsc.repository.SimulacaoRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SimulacaoWriteBehindServiceTest {
+
+  private SimulacaoRepository historicoRepository;
+  private SimulacaoWriteBehindService writeBehind;
+
+  @BeforeEach
+  void setUp() {
+    historicoRepository = mock(SimulacaoRepository.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writeBehind != null) {
+      writeBehind.encerrar();
+    }
+  }
+
+  @Test
+  void testDesabilitadoNaoEnfileira() {
+    // Arrange
+    writeBehind = criar(false, 10, 10, Duration.ofMillis(50));
+    writeBehind.iniciar();
+
+    // Act
+    boolean aceita = writeBehind.enfileirar(simulacao(1L));
+
+    // Assert
+    assertFalse(aceita);
+    assertEquals(0, writeBehind.pendentes());
+  }
+
+  @Test
+  void testGravaEmLoteAoAtingirTamanho() throws InterruptedException {
+    // Arrange
+    CountDownLatch gravado = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      gravado.countDown();
+      return null;
+    }).when(historicoRepository).inserirEmLote(anyList());
+    writeBehind = criar(true, 10, 3, Duration.ofSeconds(30));
+    writeBehind.iniciar();
+
+    // Act
+    assertTrue(writeBehind.enfileirar(simulacao(1L)));
+    assertTrue(writeBehind.enfileirar(simulacao(2L)));
+    assertTrue(writeBehind.enfileirar(simulacao(3L)));
+
+    // Assert
+    assertTrue(gravado.await(5, TimeUnit.SECONDS));
+    verify(historicoRepository).inserirEmLote(argThat(lote -> lote.size() == 3));
+  }
+
+  @Test
+  void testEncerrarEsvaziaFila() {
+    // Arrange
+    List<Long> gravadas = new ArrayList<>();
+    doAnswer(invocation -> {
+      List<SimulacaoEntity> lote = invocation.getArgument(0);
+      lote.forEach(s -> gravadas.add(s.getId()));
+      return null;
+    }).when(historicoRepository).inserirEmLote(anyList());
+    writeBehind = criar(true, 10, 100, Duration.ofSeconds(30));
+    writeBehind.iniciar();
+    writeBehind.enfileirar(simulacao(1L));
+    writeBehind.enfileirar(simulacao(2L));
+
+    // Act
+    writeBehind.encerrar();
+
+    // Assert
+    assertEquals(List.of(1L, 2L), gravadas);
+    assertEquals(0, writeBehind.pendentes());
+    assertFalse(writeBehind.enfileirar(simulacao(3L)));
+  }
+
+  @Test
+  void testFilaCheiaRecusaAposEspera() throws InterruptedException {
+    // Arrange
+    CountDownLatch liberar = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      liberar.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(historicoRepository).inserirEmLote(anyList());
+    writeBehind = criar(true, 1, 1, Duration.ofMillis(10));
+    writeBehind.iniciar();
+
+    // Act
+    writeBehind.enfileirar(simulacao(1L));
+    // Aguarda a thread retirar a primeira simulação e ficar bloqueada gravando
+    while (writeBehind.pendentes() > 0) {
+      Thread.sleep(5);
+    }
+    boolean segunda = writeBehind.enfileirar(simulacao(2L));
+    boolean terceira = writeBehind.enfileirar(simulacao(3L));
+    liberar.countDown();
+
+    // Assert
+    assertTrue(segunda);
+    assertFalse(terceira);
+  }
+
+  @Test
+  void testFalhaNaGravacaoNaoInterrompeEscritor() {
+    // Arrange
+    doThrow(new RuntimeException("falha")).doNothing()
+        .when(historicoRepository).inserirEmLote(anyList());
+    writeBehind = criar(true, 10, 1, Duration.ofMillis(10));
+    writeBehind.iniciar();
+
+    // Act
+    writeBehind.enfileirar(simulacao(1L));
+    writeBehind.enfileirar(simulacao(2L));
+    writeBehind.encerrar();
+
+    // Assert
+    verify(historicoRepository, times(2)).inserirEmLote(anyList());
+    verify(historicoRepository).inserir(argThat(s -> s.getId() == 1L));
+  }
+
+  @Test
+  void testFalhaNoLoteGravaUmaAUma() {
+    // Arrange
+    doThrow(new RuntimeException("falha no lote")).when(historicoRepository).inserirEmLote(anyList());
+    doThrow(new RuntimeException("linha inválida"))
+        .when(historicoRepository).inserir(argThat(s -> s != null && s.getId() == 2L));
+    writeBehind = criar(true, 10, 100, Duration.ofSeconds(30));
+    writeBehind.iniciar();
+    writeBehind.enfileirar(simulacao(1L));
+    writeBehind.enfileirar(simulacao(2L));
+    writeBehind.enfileirar(simulacao(3L));
+
+    // Act
+    writeBehind.encerrar();
+
+    // Assert
+    verify(historicoRepository).inserir(argThat(s -> s.getId() == 1L));
+    verify(historicoRepository).inserir(argThat(s -> s.getId() == 2L));
+    verify(historicoRepository).inserir(argThat(s -> s.getId() == 3L));
+  }
+
+  @Test
+  void testEncerrarAguardaEnfileiramentoEmAndamento() throws InterruptedException {
+    // Arrange: escritor preso no primeiro lote e fila cheia
+    CountDownLatch liberar = new CountDownLatch(1);
+    List<Long> gravadas = new ArrayList<>();
+    doAnswer(invocation -> {
+      liberar.await();
+      List<SimulacaoEntity> lote = invocation.getArgument(0);
+      synchronized (gravadas) {
+        lote.forEach(s -> gravadas.add(s.getId()));
+      }
+      return null;
+    }).when(historicoRepository).inserirEmLote(anyList());
+    writeBehind = new SimulacaoWriteBehindService(
+        historicoRepository, true, 1, 1, Duration.ofMillis(10), Duration.ofSeconds(5));
+    writeBehind.iniciar();
+    writeBehind.enfileirar(simulacao(1L));
+    while (writeBehind.pendentes() > 0) {
+      Thread.sleep(5);
+    }
+    writeBehind.enfileirar(simulacao(2L));
+
+    boolean[] aceita = new boolean[1];
+    Thread produtor = Thread.ofPlatform().start(() -> aceita[0] = writeBehind.enfileirar(simulacao(3L)));
+    while (produtor.getState() != Thread.State.TIMED_WAITING) {
+      Thread.sleep(5);
+    }
+    Thread encerramento = Thread.ofPlatform().start(writeBehind::encerrar);
+
+    // Act
+    liberar.countDown();
+    produtor.join();
+    encerramento.join();
+
+    // Assert
+    assertTrue(aceita[0]);
+    assertEquals(List.of(1L, 2L, 3L), gravadas);
+  }
+
+  private SimulacaoWriteBehindService criar(boolean habilitado, int capacidade, int tamanhoLote, Duration intervalo) {
+    return new SimulacaoWriteBehindService(
+        historicoRepository, habilitado, capacidade, tamanhoLote, intervalo, Duration.ofMillis(20));
+  }
+
+  private SimulacaoEntity simulacao(Long id) {
+    return SimulacaoEntity.builder().id(id).build();
+  }
+}
@@ -0,0 +1,141 @@
+package org.pablofsc.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.pablofsc.domain.entity.TelemetriaConsolidadaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.HistogramaTelemetria;
+import org.pablofsc.repository.TelemetriaConsolidadaRepository;
+import org.pablofsc.repository.TelemetriaRepository;
+import org.pablofsc.service.helper.HistogramaLatencia;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TelemetriaCompactacaoServiceTest {
+
+  private static final LocalDateTime AGORA = LocalDateTime.of(2025, 11, 23, 12, 30);
+
+  private TelemetriaRepository telemetriaRepository;
+  private TelemetriaConsolidadaRepository consolidadaRepository;
+  private TelemetriaCompactacaoService compactacaoService;
+
+  @BeforeEach
+  void setUp() {
+    telemetriaRepository = mock(TelemetriaRepository.class);
+    consolidadaRepository = mock(TelemetriaConsolidadaRepository.class);
+    compactacaoService = new TelemetriaCompactacaoService(
+        telemetriaRepository,
+        consolidadaRepository,
+        Duration.ofHours(48),
+        Duration.ofDays(30),
+        Duration.ofDays(365),
+        2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testConsolidaRegistrosPorHora() {
+    // Arrange
+    LocalDateTime limite = LocalDateTime.of(2025, 11, 21, 12, 0);
+    LocalDateTime hora = LocalDateTime.of(2025, 11, 21, 10, 0);
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    histograma.registrar(500, 2);
+
+    when(consolidadaRepository.consolidadoHoraAte()).thenReturn(null, hora.plusHours(1));
+    when(telemetriaRepository.primeiroTimestamp(null, limite)).thenReturn(hora.plusMinutes(15));
+    when(telemetriaRepository.agregar(hora, hora.plusHours(1), false)).thenReturn(List.of(
+        new AgregadoTelemetria("investimentos", hora.plusMinutes(15), hora.plusMinutes(16),
+            2L, 1_000L, 2L, 100L, 800L, 100L, 0L, 0L)));
+    when(telemetriaRepository.listarHistogramas(hora, hora.plusHours(1))).thenReturn(List.of(
+        new HistogramaTelemetria("investimentos", hora.plusMinutes(15), histograma.serializar())));
+    ArgumentCaptor<List<TelemetriaConsolidadaEntity>> captor = ArgumentCaptor.forClass(List.class);
+
+    // Act
+    compactacaoService.compactar(AGORA);
+
+    // Assert
+    verify(consolidadaRepository).persistirConsolidados(captor.capture());
+    TelemetriaConsolidadaEntity consolidado = captor.getValue().get(0);
+    assertEquals(GranularidadeTelemetriaEnum.HORA, consolidado.getGranularidade());
+    assertEquals("investimentos", consolidado.getEndpoint());
+    assertEquals(hora, consolidado.getTimestamp());
+    assertEquals(2L, consolidado.getQuantidadeChamadas());
+    assertEquals(1_000L, consolidado.getTempoRespostaUs());
+    assertEquals(800L, consolidado.getTempoRecursoUs());
+    assertEquals(2L, HistogramaLatencia.desserializar(consolidado.getHistogramaUs()).getQuantidade());
+
+    verify(telemetriaRepository).primeiroTimestamp(hora.plusHours(1), limite);
+    verify(telemetriaRepository).excluirAnteriores(hora.plusHours(1), 2);
+    verify(consolidadaRepository, never()).excluirAnteriores(eq(GranularidadeTelemetriaEnum.HORA), any(), anyInt());
+    verify(consolidadaRepository).excluirAnteriores(
+        GranularidadeTelemetriaEnum.DIA, LocalDateTime.of(2024, 11, 23, 0, 0), 2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testConsolidaHorasPorDia() {
+    // Arrange
+    LocalDateTime dia = LocalDateTime.of(2025, 10, 1, 0, 0);
+    LocalDateTime limiteDias = LocalDateTime.of(2025, 10, 24, 0, 0);
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    histograma.registrar(40, 3);
+
+    when(consolidadaRepository.consolidadoHoraAte()).thenReturn(LocalDateTime.of(2025, 11, 21, 11, 0));
+    when(consolidadaRepository.consolidadoDiaAte()).thenReturn(null, dia.plusDays(1));
+    when(consolidadaRepository.primeiroTimestamp(GranularidadeTelemetriaEnum.HORA, null, limiteDias))
+        .thenReturn(dia.plusHours(5));
+    when(consolidadaRepository.agregar(GranularidadeTelemetriaEnum.HORA, dia, dia.plusDays(1), false))
+        .thenReturn(List.of(new AgregadoTelemetria("produtos", dia.plusHours(5), dia.plusHours(7),
+            3L, 120L, 0L, null, null, null, 0L, 0L)));
+    when(consolidadaRepository.listarHistogramas(GranularidadeTelemetriaEnum.HORA, dia, dia.plusDays(1)))
+        .thenReturn(List.of(new HistogramaTelemetria("produtos", dia.plusHours(5), histograma.serializar())));
+    ArgumentCaptor<List<TelemetriaConsolidadaEntity>> captor = ArgumentCaptor.forClass(List.class);
+
+    // Act
+    compactacaoService.compactar(AGORA);
+
+    // Assert
+    verify(consolidadaRepository).persistirConsolidados(captor.capture());
+    TelemetriaConsolidadaEntity consolidado = captor.getValue().get(0);
+    assertEquals(GranularidadeTelemetriaEnum.DIA, consolidado.getGranularidade());
+    assertEquals(dia, consolidado.getTimestamp());
+    assertEquals(3L, consolidado.getQuantidadeChamadas());
+    assertEquals(0L, consolidado.getQuantidadeComFases());
+    assertEquals(40L, HistogramaLatencia.desserializar(consolidado.getHistogramaUs()).percentil(50));
+
+    verify(consolidadaRepository).excluirAnteriores(GranularidadeTelemetriaEnum.HORA, dia.plusDays(1), 2);
+  }
+
+  @Test
+  void testExcluiEmLotesAteLoteIncompleto() {
+    // Arrange
+    LocalDateTime horaAte = LocalDateTime.of(2025, 11, 21, 11, 0);
+    when(consolidadaRepository.consolidadoHoraAte()).thenReturn(horaAte);
+    when(telemetriaRepository.excluirAnteriores(horaAte, 2)).thenReturn(2, 2, 1);
+
+    // Act
+    compactacaoService.compactar(AGORA);
+
+    // Assert
+    verify(telemetriaRepository, times(3)).excluirAnteriores(horaAte, 2);
+    verify(consolidadaRepository, never()).persistirConsolidados(any());
+  }
+
+  @Test
+  void testSemRegistrosConsolidadosNaoExclui() {
+    // Act
+    compactacaoService.compactar(AGORA);
+
+    // Assert
+    verify(telemetriaRepository, never()).excluirAnteriores(any(), anyInt());
+    verify(consolidadaRepository, never()).persistirConsolidados(any());
+  }
+}
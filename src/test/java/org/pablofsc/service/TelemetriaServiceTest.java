@@ -2,41 +2,166 @@ package org.pablofsc.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.pablofsc.domain.entity.TelemetriaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.exception.ParametroInvalidoException;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.HistogramaTelemetria;
+import org.pablofsc.domain.model.IntervaloTelemetria;
 import org.pablofsc.domain.model.ServicoTelemetria;
 import org.pablofsc.domain.response.TelemetriaResponse;
+import org.pablofsc.repository.TelemetriaConsolidadaRepository;
 import org.pablofsc.repository.TelemetriaRepository;
+import org.pablofsc.service.helper.HistogramaLatencia;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.*;
 
 class TelemetriaServiceTest {
 
   private TelemetriaRepository telemetriaRepository;
+  private TelemetriaConsolidadaRepository consolidadaRepository;
   private TelemetriaService telemetriaService;
 
   @BeforeEach
   void setUp() {
     telemetriaRepository = mock(TelemetriaRepository.class);
-    telemetriaService = new TelemetriaService(telemetriaRepository);
+    consolidadaRepository = mock(TelemetriaConsolidadaRepository.class);
+    telemetriaService = new TelemetriaService(telemetriaRepository, consolidadaRepository);
   }
 
   @Test
   void testRegistrarTelemetria() {
     // Arrange
     String endpoint = "/api/simulacao";
-    Long tempoRespostaMs = 150L;
 
     // Act
-    telemetriaService.registrarTelemetria(endpoint, tempoRespostaMs);
+    telemetriaService.registrarTelemetria(endpoint, 20_000L, 150_000_000L, 30_000L);
 
     // Assert
-    verify(telemetriaRepository).persist(any(TelemetriaEntity.class));
+    verifyNoInteractions(telemetriaRepository);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testGravarPendentesAgregaPorEndpoint() {
+    // Arrange
+    telemetriaService.registrarTelemetria("/api/simulacao", 10_000L, 100_000_000L, 0L);
+    telemetriaService.registrarTelemetria("/api/simulacao", 30_000L, 300_000_000L, 5_000L);
+    telemetriaService.registrarTelemetria("/api/produtos", 0L, 50_000_000L, 0L);
+    ArgumentCaptor<List<TelemetriaEntity>> captor = ArgumentCaptor.forClass(List.class);
+
+    // Act
+    telemetriaService.gravarPendentes();
+
+    // Assert
+    verify(telemetriaRepository).persistirAgregados(captor.capture());
+    List<TelemetriaEntity> registros = captor.getValue();
+    assertEquals(2, registros.size());
+
+    TelemetriaEntity simulacao = registros.stream()
+        .filter(t -> "/api/simulacao".equals(t.getEndpoint()))
+        .findFirst()
+        .orElseThrow();
+    assertEquals(2L, simulacao.getQuantidadeChamadas());
+    assertEquals(400L, simulacao.getTempoRespostaMs());
+    assertEquals(400_045L, simulacao.getTempoRespostaUs());
+    assertEquals(100_010L, simulacao.getTempoMinimoUs());
+    assertEquals(300_035L, simulacao.getTempoMaximoUs());
+    assertEquals(40L, simulacao.getTempoEntradaUs());
+    assertEquals(400_000L, simulacao.getTempoRecursoUs());
+    assertEquals(5L, simulacao.getTempoSerializacaoUs());
+  }
+
+  @Test
+  void testGravarPendentesSemChamadasNaoGrava() {
+    // Act
+    telemetriaService.gravarPendentes();
+
+    // Assert
+    verify(telemetriaRepository, never()).persistirAgregados(any());
+  }
+
+  @Test
+  void testGravarIntervalosEncerradosMantemIntervaloCorrente() {
+    // Arrange
+    telemetriaService.registrarTelemetria("/api/simulacao", 0L, 100_000_000L, 0L);
+
+    // Act
+    telemetriaService.gravarIntervalosEncerrados();
+
+    // Assert
+    verify(telemetriaRepository, never()).persistirAgregados(any());
+  }
+
+  @Test
+  void testObterTelemetriasCombinaAgregadosEPendentes() {
+    // Arrange
+    LocalDateTime agora = LocalDateTime.now();
+
+    TelemetriaEntity agregado = TelemetriaEntity.builder()
+        .id(1L)
+        .endpoint("/api/simulacao")
+        .timestamp(agora)
+        .tempoRespostaMs(600L)
+        .quantidadeChamadas(3L)
+        .build();
+
+    TelemetriaEntity individual = TelemetriaEntity.builder()
+        .id(2L)
+        .endpoint("/api/simulacao")
+        .timestamp(agora)
+        .tempoRespostaMs(100L)
+        .build();
+
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
+        .thenReturn(agregados(agregado, individual));
+    telemetriaService.registrarTelemetria("/api/simulacao", 0L, 300_000_000L, 0L);
+
+    // Act
+    TelemetriaResponse response = telemetriaService.obterTelemetrias();
+
+    // Assert
+    assertEquals(1, response.getServicos().size());
+    ServicoTelemetria servico = response.getServicos().get(0);
+    assertEquals(5L, servico.getQuantidadeChamadas());
+    assertEquals(200L, servico.getMediaTempoRespostaMs()); // (600 + 100 + 300) / 5
+  }
+
+  @Test
+  void testObterTelemetriasPercentisEFasesEmMicrossegundos() {
+    // Arrange
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
+        .thenReturn(Collections.emptyList());
+    for (int i = 0; i < 99; i++) {
+      telemetriaService.registrarTelemetria("/api/simulacao", 2_000L, 6_000L, 2_000L);
+    }
+    telemetriaService.registrarTelemetria("/api/simulacao", 100_000L, 700_000L, 100_000L);
+
+    // Act
+    TelemetriaResponse response = telemetriaService.obterTelemetrias();
+
+    // Assert
+    ServicoTelemetria servico = response.getServicos().get(0);
+    assertEquals(100L, servico.getQuantidadeChamadas());
+    assertEquals(10L, servico.getP50Us());
+    assertEquals(10L, servico.getP90Us());
+    assertEquals(10L, servico.getP99Us());
+    assertEquals(900L, servico.getP999Us());
+    assertEquals(900L, servico.getMaximoUs());
+    assertEquals(18L, servico.getMediaTempoRespostaUs()); // (99 * 10 + 900) / 100
+    assertEquals(0L, servico.getMediaTempoRespostaMs());
+    assertEquals(2L, servico.getMediaEntradaUs()); // (99 * 2 + 100) / 100
+    assertEquals(12L, servico.getMediaRecursoUs()); // (99 * 6 + 700) / 100
+    assertEquals(2L, servico.getMediaSerializacaoUs());
   }
 
   @Test
@@ -66,8 +191,8 @@ class TelemetriaServiceTest {
         .tempoRespostaMs(50L)
         .build();
 
-    when(telemetriaRepository.listAll())
-        .thenReturn(Arrays.asList(telemetria1, telemetria2, telemetria3));
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
+        .thenReturn(agregados(telemetria1, telemetria2, telemetria3));
 
     // Act
     TelemetriaResponse response = telemetriaService.obterTelemetrias();
@@ -106,7 +231,7 @@ class TelemetriaServiceTest {
   @Test
   void testObterTelemetriasListaVazia() {
     // Arrange
-    when(telemetriaRepository.listAll())
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
         .thenReturn(Collections.emptyList());
 
     // Act
@@ -150,8 +275,8 @@ class TelemetriaServiceTest {
         .tempoRespostaMs(80L)
         .build();
 
-    when(telemetriaRepository.listAll())
-        .thenReturn(Arrays.asList(telemetria1, telemetria2, telemetria3));
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
+        .thenReturn(agregados(telemetria1, telemetria2, telemetria3));
 
     // Act
     TelemetriaResponse response = telemetriaService.obterTelemetrias();
@@ -189,8 +314,8 @@ class TelemetriaServiceTest {
         .tempoRespostaMs(300L)
         .build();
 
-    when(telemetriaRepository.listAll())
-        .thenReturn(Arrays.asList(telemetria1, telemetria2));
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
+        .thenReturn(agregados(telemetria1, telemetria2));
 
     // Act
     TelemetriaResponse response = telemetriaService.obterTelemetrias();
@@ -212,11 +337,169 @@ class TelemetriaServiceTest {
   void testCalcularMediaTempoRespostaListaVazia() {
     // Este teste verifica o comportamento interno através do método público
     // Quando não há telemetrias, deve retornar resposta vazia
-    when(telemetriaRepository.listAll())
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean()))
         .thenReturn(Collections.emptyList());
 
     TelemetriaResponse response = telemetriaService.obterTelemetrias();
 
     assertTrue(response.getServicos().isEmpty());
   }
+
+  @Test
+  void testObterTelemetriasMesclaHistogramasDoBanco() {
+    // Arrange
+    LocalDateTime agora = LocalDateTime.now();
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    histograma.registrar(10, 99);
+    histograma.registrar(900);
+
+    TelemetriaEntity agregado = TelemetriaEntity.builder()
+        .endpoint("investimentos")
+        .timestamp(agora)
+        .tempoRespostaMs(1L)
+        .tempoRespostaUs(1_890L)
+        .quantidadeChamadas(100L)
+        .histogramaUs(histograma.serializar())
+        .build();
+
+    when(telemetriaRepository.agregar(any(), any(), anyBoolean())).thenReturn(agregados(agregado));
+    when(telemetriaRepository.listarHistogramas(any(), any()))
+        .thenReturn(List.of(new HistogramaTelemetria("investimentos", agora, agregado.getHistogramaUs())));
+
+    // Act
+    TelemetriaResponse response = telemetriaService.obterTelemetrias();
+
+    // Assert
+    ServicoTelemetria servico = response.getServicos().get(0);
+    assertEquals(100L, servico.getQuantidadeChamadas());
+    assertEquals(18L, servico.getMediaTempoRespostaUs());
+    assertEquals(10L, servico.getP99Us());
+    assertEquals(900L, servico.getP999Us());
+  }
+
+  @Test
+  void testObterTelemetriasPorHora() {
+    // Arrange
+    LocalDateTime dezHoras = LocalDateTime.of(2025, 11, 21, 10, 5);
+    LocalDateTime onzeHoras = LocalDateTime.of(2025, 11, 21, 11, 30);
+    LocalDateTime de = LocalDateTime.of(2025, 11, 21, 0, 0);
+    LocalDateTime ate = LocalDateTime.of(2025, 11, 22, 0, 0);
+
+    TelemetriaEntity primeiro = TelemetriaEntity.builder()
+        .endpoint("investimentos").timestamp(dezHoras).tempoRespostaMs(100L).build();
+    TelemetriaEntity segundo = TelemetriaEntity.builder()
+        .endpoint("investimentos").timestamp(dezHoras.plusMinutes(10)).tempoRespostaMs(300L).build();
+    TelemetriaEntity terceiro = TelemetriaEntity.builder()
+        .endpoint("investimentos").timestamp(onzeHoras).tempoRespostaMs(50L).build();
+
+    when(telemetriaRepository.agregar(de, ate, true)).thenReturn(agregados(primeiro, segundo, terceiro));
+
+    // Act
+    TelemetriaResponse response = telemetriaService.obterTelemetrias(de, ate, GranularidadeTelemetriaEnum.HORA);
+
+    // Assert
+    assertEquals(3L, response.getServicos().get(0).getQuantidadeChamadas());
+    assertEquals(2, response.getIntervalos().size());
+
+    IntervaloTelemetria primeiraHora = response.getIntervalos().get(0);
+    assertEquals(LocalDateTime.of(2025, 11, 21, 10, 0), primeiraHora.getInicio());
+    assertEquals(2L, primeiraHora.getServicos().get(0).getQuantidadeChamadas());
+    assertEquals(200L, primeiraHora.getServicos().get(0).getMediaTempoRespostaMs());
+
+    IntervaloTelemetria segundaHora = response.getIntervalos().get(1);
+    assertEquals(LocalDateTime.of(2025, 11, 21, 11, 0), segundaHora.getInicio());
+    assertEquals(1L, segundaHora.getServicos().get(0).getQuantidadeChamadas());
+
+    assertEquals(LocalDate.of(2025, 11, 21), response.getPeriodo().getInicio());
+    assertEquals(LocalDate.of(2025, 11, 21), response.getPeriodo().getFim());
+  }
+
+  @Test
+  void testObterTelemetriasJanelaIgnoraPendentesForaDaJanela() {
+    // Arrange
+    LocalDateTime de = LocalDateTime.now().minusDays(3);
+    LocalDateTime ate = LocalDateTime.now().minusDays(2);
+    telemetriaService.registrarTelemetria("investimentos", 0L, 1_000_000L, 0L);
+    when(telemetriaRepository.agregar(de, ate, false)).thenReturn(Collections.emptyList());
+
+    // Act
+    TelemetriaResponse response = telemetriaService.obterTelemetrias(de, ate, GranularidadeTelemetriaEnum.TOTAL);
+
+    // Assert
+    assertTrue(response.getServicos().isEmpty());
+    assertNull(response.getIntervalos());
+    assertEquals(de.toLocalDate(), response.getPeriodo().getInicio());
+  }
+
+  @Test
+  void testObterTelemetriasJanelaInvalida() {
+    // Arrange
+    LocalDateTime de = LocalDateTime.of(2025, 11, 21, 0, 0);
+
+    // Act & Assert
+    assertThrows(ParametroInvalidoException.class,
+        () -> telemetriaService.obterTelemetrias(de, de, GranularidadeTelemetriaEnum.TOTAL));
+    verifyNoInteractions(telemetriaRepository);
+  }
+
+  @Test
+  void testObterTelemetriasCombinaRegistrosEConsolidados() {
+    // Arrange
+    LocalDateTime diaAte = LocalDateTime.of(2025, 11, 20, 0, 0);
+    LocalDateTime horaAte = LocalDateTime.of(2025, 11, 21, 10, 0);
+    when(consolidadaRepository.consolidadoDiaAte()).thenReturn(diaAte);
+    when(consolidadaRepository.consolidadoHoraAte()).thenReturn(horaAte);
+
+    HistogramaLatencia diario = new HistogramaLatencia();
+    diario.registrar(99, 8);
+    HistogramaLatencia horario = new HistogramaLatencia();
+    horario.registrar(2_000);
+
+    when(consolidadaRepository.agregar(GranularidadeTelemetriaEnum.DIA, null, diaAte, false))
+        .thenReturn(List.of(new AgregadoTelemetria("investimentos", diaAte.minusDays(1), diaAte.minusDays(1),
+            8L, 792L, 8L, 80L, 632L, 80L, 0L, 0L)));
+    when(consolidadaRepository.listarHistogramas(GranularidadeTelemetriaEnum.DIA, null, diaAte))
+        .thenReturn(List.of(new HistogramaTelemetria("investimentos", diaAte.minusDays(1), diario.serializar())));
+    when(consolidadaRepository.agregar(GranularidadeTelemetriaEnum.HORA, diaAte, horaAte, false))
+        .thenReturn(List.of(new AgregadoTelemetria("investimentos", horaAte.minusHours(1), horaAte.minusHours(1),
+            1L, 2_000L, 1L, 100L, 1_800L, 100L, 0L, 0L)));
+    when(consolidadaRepository.listarHistogramas(GranularidadeTelemetriaEnum.HORA, diaAte, horaAte))
+        .thenReturn(List.of(new HistogramaTelemetria("investimentos", horaAte.minusHours(1), horario.serializar())));
+    when(telemetriaRepository.agregar(horaAte, null, false)).thenReturn(agregados(TelemetriaEntity.builder()
+        .endpoint("investimentos").timestamp(horaAte.plusMinutes(5)).tempoRespostaMs(1L).build()));
+
+    // Act
+    TelemetriaResponse response = telemetriaService.obterTelemetrias();
+
+    // Assert
+    ServicoTelemetria servico = response.getServicos().get(0);
+    assertEquals(10L, servico.getQuantidadeChamadas());
+    assertEquals(379L, servico.getMediaTempoRespostaUs()); // (792 + 2000 + 1000) / 10
+    assertEquals(2_000L, servico.getMaximoUs());
+    assertEquals(99L, servico.getP50Us());
+    assertEquals(20L, servico.getMediaEntradaUs()); // (80 + 100) / 9 chamadas com fases
+    assertEquals(diaAte.minusDays(1).toLocalDate(), response.getPeriodo().getInicio());
+    verify(telemetriaRepository, never()).agregar(isNull(), any(), anyBoolean());
+  }
+
+  @Test
+  void testObterTelemetriasJanelaAposConsolidacaoConsultaApenasRegistros() {
+    // Arrange
+    LocalDateTime horaAte = LocalDateTime.of(2025, 11, 21, 10, 0);
+    LocalDateTime de = horaAte.plusHours(2);
+    LocalDateTime ate = horaAte.plusHours(3);
+    when(consolidadaRepository.consolidadoHoraAte()).thenReturn(horaAte);
+    when(telemetriaRepository.agregar(de, ate, false)).thenReturn(Collections.emptyList());
+
+    // Act
+    telemetriaService.obterTelemetrias(de, ate, GranularidadeTelemetriaEnum.TOTAL);
+
+    // Assert
+    verify(telemetriaRepository).agregar(de, ate, false);
+    verify(consolidadaRepository, never()).agregar(any(), any(), any(), anyBoolean());
+  }
+
+  private List<AgregadoTelemetria> agregados(TelemetriaEntity... telemetrias) {
+    return Arrays.stream(telemetrias).map(AgregadoTelemetria::de).toList();
+  }
 }
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.pablofsc.domain.exception.ParametroInvalidoException;
 import org.pablofsc.domain.request.SimulacaoInvestimentoRequest;
+import org.pablofsc.domain.request.VarreduraSimulacaoRequest;
+
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -228,4 +232,77 @@ class ValidacaoSimulacaoServiceTest {
     });
     assertEquals("Valor deve ser maior que zero", exception.getMessage());
   }
+
+  @Test
+  void testValidarLoteValido() {
+    // Arrange
+    List<SimulacaoInvestimentoRequest> requests = List.of(new SimulacaoInvestimentoRequest(1L, 1000.0, 12, "CDB"));
+
+    // Act & Assert
+    assertDoesNotThrow(() -> validacaoSimulacaoService.validarLote(requests));
+  }
+
+  @Test
+  void testValidarLoteVazio() {
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class, () -> {
+      validacaoSimulacaoService.validarLote(List.of());
+    });
+    assertEquals("Lote deve conter ao menos uma simulação", exception.getMessage());
+  }
+
+  @Test
+  void testValidarLoteAcimaDoMaximo() {
+    // Arrange
+    List<SimulacaoInvestimentoRequest> requests = Collections.nCopies(1001,
+        new SimulacaoInvestimentoRequest(1L, 1000.0, 12, "CDB"));
+
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class, () -> {
+      validacaoSimulacaoService.validarLote(requests);
+    });
+    assertEquals("Lote máximo é de 1000 simulações", exception.getMessage());
+  }
+
+  @Test
+  void testValidarVarreduraValida() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 1000.0, List.of(12, 24, 360), null, null);
+
+    // Act & Assert
+    assertDoesNotThrow(() -> validacaoSimulacaoService.validarVarredura(request));
+  }
+
+  @Test
+  void testValidarVarreduraSemPrazos() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 1000.0, List.of(), null, null);
+
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class, () -> {
+      validacaoSimulacaoService.validarVarredura(request);
+    });
+    assertEquals("Informe ao menos um prazo", exception.getMessage());
+  }
+
+  @Test
+  void testValidarVarreduraPrazoInvalido() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 1000.0, List.of(12, 361), null, null);
+
+    // Act & Assert
+    ParametroInvalidoException exception = assertThrows(ParametroInvalidoException.class, () -> {
+      validacaoSimulacaoService.validarVarredura(request);
+    });
+    assertEquals("Prazo máximo é 360 meses", exception.getMessage());
+  }
+
+  @Test
+  void testValidarVarreduraValorAbaixoMinimo() {
+    // Arrange
+    VarreduraSimulacaoRequest request = new VarreduraSimulacaoRequest(1L, 50.0, List.of(12), null, null);
+
+    // Act & Assert
+    assertThrows(ParametroInvalidoException.class, () -> validacaoSimulacaoService.validarVarredura(request));
+  }
 }
@@ -0,0 +1,62 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.TelemetriaEntity;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcumuladorTelemetriaTest {
+
+  @Test
+  void testRegistrarAcumulaQuantidadeSomaMinimoMaximo() {
+    // Arrange
+    AcumuladorTelemetria acumulador = new AcumuladorTelemetria();
+    LocalDateTime inicio = LocalDateTime.of(2025, 11, 21, 10, 0);
+
+    // Act
+    acumulador.registrar(20L, 100L, 0L);
+    acumulador.registrar(5L, 20L, 5L);
+    acumulador.registrar(10L, 70L, 10L);
+    TelemetriaEntity entity = acumulador.toEntity("investimentos", inicio);
+
+    // Assert
+    assertEquals("investimentos", entity.getEndpoint());
+    assertEquals(inicio, entity.getTimestamp());
+    assertEquals(3L, entity.getQuantidadeChamadas());
+    assertEquals(240L, entity.getTempoRespostaUs());
+    assertEquals(0L, entity.getTempoRespostaMs());
+    assertEquals(30L, entity.getTempoMinimoUs());
+    assertEquals(120L, entity.getTempoMaximoUs());
+    assertEquals(35L, entity.getTempoEntradaUs());
+    assertEquals(190L, entity.getTempoRecursoUs());
+    assertEquals(15L, entity.getTempoSerializacaoUs());
+    assertEquals(3L, HistogramaLatencia.desserializar(entity.getHistogramaUs()).getQuantidade());
+  }
+
+  @Test
+  void testRegistrarConcorrente() throws InterruptedException {
+    // Arrange
+    AcumuladorTelemetria acumulador = new AcumuladorTelemetria();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // Act
+    for (int i = 0; i < 4; i++) {
+      executor.submit(() -> {
+        for (int j = 0; j < 1000; j++) {
+          acumulador.registrar(0L, 2L, 0L);
+        }
+      });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    // Assert
+    assertEquals(4000L, acumulador.getQuantidade());
+    assertEquals(8000L, acumulador.getSoma());
+  }
+}
@@ -0,0 +1,158 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLimitadoTest {
+
+  private final AtomicLong relogio = new AtomicLong();
+
+  private CacheLimitado<Long, String> comTtl(int capacidade, Duration ttl) {
+    return CacheLimitado.comTtl(capacidade, ttl, relogio::get);
+  }
+
+  @Test
+  void testAcertoEFalha() {
+    // Arrange
+    CacheLimitado<Long, String> cache = comTtl(10, Duration.ofMinutes(1));
+
+    // Act
+    String antes = cache.obter(1L);
+    cache.guardar(1L, "moderado");
+    String depois = cache.obter(1L);
+
+    // Assert
+    assertNull(antes);
+    assertEquals("moderado", depois);
+    CacheLimitado.Estatisticas estatisticas = cache.estatisticas();
+    assertEquals(1, estatisticas.tamanho());
+    assertEquals(1, estatisticas.acertos());
+    assertEquals(1, estatisticas.falhas());
+  }
+
+  @Test
+  void testDescartaOMenosUsadoRecentemente() {
+    // Arrange
+    CacheLimitado<Long, String> cache = comTtl(2, Duration.ofMinutes(1));
+    cache.guardar(1L, "conservador");
+    cache.guardar(2L, "moderado");
+
+    // Act
+    cache.obter(1L);
+    cache.guardar(3L, "agressivo");
+
+    // Assert
+    assertNotNull(cache.obter(1L));
+    assertNull(cache.obter(2L));
+    assertNotNull(cache.obter(3L));
+    assertEquals(1, cache.estatisticas().descartes());
+    assertEquals(2, cache.estatisticas().tamanho());
+  }
+
+  @Test
+  void testExpiraAposTtl() {
+    // Arrange
+    CacheLimitado<Long, String> cache = comTtl(10, Duration.ofSeconds(30));
+    cache.guardar(1L, "conservador");
+
+    // Act
+    relogio.addAndGet(Duration.ofSeconds(29).toNanos());
+    String dentroDoTtl = cache.obter(1L);
+    relogio.addAndGet(Duration.ofSeconds(1).toNanos());
+    String expirado = cache.obter(1L);
+
+    // Assert
+    assertNotNull(dentroDoTtl);
+    assertNull(expirado);
+    assertEquals(1, cache.estatisticas().expiracoes());
+    assertEquals(0, cache.estatisticas().tamanho());
+  }
+
+  @Test
+  void testExpiracaoPorValor() {
+    // Arrange: o valor informa o próprio prazo
+    CacheLimitado<String, Long> cache = new CacheLimitado<>(10, relogio::get, (prazo, agora) -> prazo);
+    relogio.set(100);
+
+    // Act
+    boolean vigente = cache.guardar("a", 150L);
+    boolean vencido = cache.guardar("b", 100L);
+    relogio.set(149);
+    Long antesDoPrazo = cache.obter("a");
+    relogio.set(150);
+    Long noPrazo = cache.obter("a");
+
+    // Assert
+    assertTrue(vigente);
+    assertFalse(vencido);
+    assertEquals(150L, antesDoPrazo);
+    assertNull(noPrazo);
+  }
+
+  @Test
+  void testRemoverExpirados() {
+    // Arrange
+    CacheLimitado<String, Long> cache = new CacheLimitado<>(10, relogio::get, (prazo, agora) -> prazo);
+    cache.guardar("a", 10L);
+    cache.guardar("b", 20L);
+    cache.guardar("c", 100L);
+    relogio.set(20);
+
+    // Act
+    int removidas = cache.removerExpirados();
+
+    // Assert
+    assertEquals(2, removidas);
+    assertEquals(1, cache.estatisticas().tamanho());
+    assertEquals(2, cache.estatisticas().expiracoes());
+  }
+
+  @Test
+  void testInvalidacao() {
+    // Arrange
+    CacheLimitado<Long, String> cache = comTtl(10, Duration.ofMinutes(1));
+    cache.guardar(1L, "conservador");
+    cache.guardar(2L, "moderado");
+    cache.guardar(3L, "agressivo");
+
+    // Act
+    cache.invalidar(1L);
+    cache.invalidar(99L);
+    String invalidado = cache.obter(1L);
+    cache.invalidarTodos();
+
+    // Assert
+    assertNull(invalidado);
+    assertNull(cache.obter(2L));
+    assertEquals(3, cache.estatisticas().invalidacoes());
+    assertEquals(0, cache.estatisticas().tamanho());
+  }
+
+  @Test
+  void testGuardarRecusaLeituraAnteriorAInvalidacao() {
+    // Arrange
+    CacheLimitado<Long, String> cache = comTtl(10, Duration.ofMinutes(1));
+    long geracao = cache.geracao();
+
+    // Act
+    cache.invalidar(1L);
+    boolean guardadoAposInvalidacao = cache.guardar(1L, "moderado", geracao);
+    boolean guardadoNaGeracaoAtual = cache.guardar(2L, "moderado", cache.geracao());
+
+    // Assert
+    assertFalse(guardadoAposInvalidacao);
+    assertTrue(guardadoNaGeracaoAtual);
+    assertNull(cache.obter(1L));
+    assertEquals("moderado", cache.obter(2L));
+  }
+
+  @Test
+  void testCapacidadeInvalida() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> comTtl(0, Duration.ofMinutes(1)));
+  }
+}
@@ -0,0 +1,104 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.ProdutoEntity;
+import org.pablofsc.domain.enums.NivelRiscoEnum;
+import org.pablofsc.domain.enums.TipoProdutoEnum;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogoProdutoSnapshotTest {
+
+  @Test
+  void testProdutosOrdenadosPorId() {
+    // Arrange & Act
+    CatalogoProdutoSnapshot snapshot = new CatalogoProdutoSnapshot(1L, List.of(
+        produto(3L, TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO),
+        produto(1L, TipoProdutoEnum.FUNDO, NivelRiscoEnum.ALTO),
+        produto(2L, TipoProdutoEnum.CDB, NivelRiscoEnum.ALTO)));
+
+    // Assert
+    assertEquals(1L, snapshot.getVersao());
+    assertEquals(List.of(1L, 2L, 3L), snapshot.getProdutos().stream().map(ProdutoEntity::getId).toList());
+  }
+
+  @Test
+  void testIndicePorTipoERisco() {
+    // Arrange & Act
+    CatalogoProdutoSnapshot snapshot = new CatalogoProdutoSnapshot(1L, List.of(
+        produto(3L, TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO),
+        produto(1L, TipoProdutoEnum.FUNDO, NivelRiscoEnum.ALTO),
+        produto(2L, TipoProdutoEnum.CDB, NivelRiscoEnum.ALTO)));
+
+    // Assert
+    assertEquals(List.of(2L, 3L), snapshot.porTipo(TipoProdutoEnum.CDB).stream().map(ProdutoEntity::getId).toList());
+    assertEquals(List.of(1L, 2L), snapshot.porRisco(NivelRiscoEnum.ALTO).stream().map(ProdutoEntity::getId).toList());
+    assertTrue(snapshot.porTipo(TipoProdutoEnum.RENDA_FIXA).isEmpty());
+    assertTrue(snapshot.porRisco(NivelRiscoEnum.MUITO_ALTO).isEmpty());
+  }
+
+  @Test
+  void testSnapshotImutavel() {
+    // Arrange
+    CatalogoProdutoSnapshot snapshot = new CatalogoProdutoSnapshot(1L, List.of(
+        produto(1L, TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO)));
+
+    // Act & Assert
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.getProdutos().clear());
+    assertThrows(UnsupportedOperationException.class, () -> snapshot.porTipo(TipoProdutoEnum.CDB).clear());
+  }
+
+  @Test
+  void testPosicoesPorTipoERiscoMaximo() {
+    // Arrange
+    CatalogoProdutoSnapshot snapshot = new CatalogoProdutoSnapshot(1L, List.of(
+        produto(4L, TipoProdutoEnum.CDB, NivelRiscoEnum.MUITO_ALTO),
+        produto(3L, TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO),
+        produto(1L, TipoProdutoEnum.FUNDO, NivelRiscoEnum.ALTO),
+        produto(2L, TipoProdutoEnum.CDB, NivelRiscoEnum.ALTO)));
+
+    // Act
+    BitSet cdbAteAlto = snapshot.posicoes(TipoProdutoEnum.CDB, NivelRiscoEnum.ALTO);
+    BitSet cdbAteBaixo = snapshot.posicoes(TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO);
+    BitSet ateAlto = snapshot.posicoes(NivelRiscoEnum.ALTO);
+
+    // Assert
+    assertEquals(List.of(2L, 3L), ids(snapshot, cdbAteAlto));
+    assertEquals(List.of(3L), ids(snapshot, cdbAteBaixo));
+    assertEquals(List.of(1L, 2L, 3L), ids(snapshot, ateAlto));
+    assertTrue(snapshot.posicoes(TipoProdutoEnum.RENDA_FIXA, NivelRiscoEnum.MUITO_ALTO).isEmpty());
+    assertTrue(snapshot.posicoes(NivelRiscoEnum.MUITO_BAIXO).isEmpty());
+  }
+
+  @Test
+  void testPosicoesRetornaCopia() {
+    // Arrange
+    CatalogoProdutoSnapshot snapshot = new CatalogoProdutoSnapshot(1L, List.of(
+        produto(1L, TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO)));
+
+    // Act
+    snapshot.posicoes(TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO).clear();
+    snapshot.posicoes(NivelRiscoEnum.BAIXO).clear();
+
+    // Assert
+    assertEquals(List.of(1L), ids(snapshot, snapshot.posicoes(TipoProdutoEnum.CDB, NivelRiscoEnum.BAIXO)));
+    assertEquals(List.of(1L), ids(snapshot, snapshot.posicoes(NivelRiscoEnum.BAIXO)));
+  }
+
+  private List<Long> ids(CatalogoProdutoSnapshot snapshot, BitSet posicoes) {
+    return posicoes.stream().mapToObj(i -> snapshot.getProdutos().get(i).getId()).toList();
+  }
+
+  private ProdutoEntity produto(Long id, TipoProdutoEnum tipo, NivelRiscoEnum risco) {
+    return ProdutoEntity.builder()
+        .id(id)
+        .nome("Produto " + id)
+        .tipo(tipo)
+        .rentabilidade(0.10)
+        .risco(risco)
+        .build();
+  }
+}
@@ -332,4 +332,86 @@ class CompatibilityScoreCalculatorTest {
     // Assert - Risco incompatível deve penalizar o score (risco 3 vs max 1)
     assertTrue(score < 20); // Score reduzido devido à incompatibilidade
   }
+
+  @Test
+  void testCalcularBonusFrequenciaPorNivel() {
+    // Arrange
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .rentabilidade(0.10)
+        .risco(NivelRiscoEnum.BAIXO)
+        .build();
+
+    // Act
+    double semFrequencia = calculator.calcularCompatibilidadeCliente(produto, clienteComFrequencia(null));
+    double baixa = calculator.calcularCompatibilidadeCliente(produto, clienteComFrequencia(FrequenciaMovimentacoesEnum.BAIXA));
+    double media = calculator.calcularCompatibilidadeCliente(produto, clienteComFrequencia(FrequenciaMovimentacoesEnum.MEDIA));
+    double alta = calculator.calcularCompatibilidadeCliente(produto, clienteComFrequencia(FrequenciaMovimentacoesEnum.ALTA));
+
+    // Assert
+    assertEquals(1.0, baixa - semFrequencia, 1e-9);
+    assertEquals(3.0, media - semFrequencia, 1e-9);
+    assertEquals(5.0, alta - semFrequencia, 1e-9);
+  }
+
+  @Test
+  void testScoreMemorizadoIgualParaClientesComMesmoPerfil() {
+    // Arrange
+    ClienteEntity cliente1 = ClienteEntity.builder()
+        .id(1L)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.EQUILIBRIO)
+        .riscoMaximoAceitavel(NivelRiscoEnum.ALTO)
+        .volumeTotalInvestido(20000.0)
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.MEDIA)
+        .build();
+    ClienteEntity cliente2 = ClienteEntity.builder()
+        .id(2L)
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.EQUILIBRIO)
+        .riscoMaximoAceitavel(NivelRiscoEnum.ALTO)
+        .volumeTotalInvestido(90000.0)
+        .frequenciaMovimentacoes(FrequenciaMovimentacoesEnum.MEDIA)
+        .build();
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .id(10L)
+        .rentabilidade(0.12)
+        .risco(NivelRiscoEnum.ALTO)
+        .build();
+
+    // Act
+    double primeiro = calculator.calcularCompatibilidadeCliente(produto, cliente1);
+    double repetido = calculator.calcularCompatibilidadeCliente(produto, cliente1);
+    double outroCliente = calculator.calcularCompatibilidadeCliente(produto, cliente2);
+
+    // Assert
+    assertEquals(primeiro, repetido);
+    assertEquals(primeiro, outroCliente);
+    assertEquals(primeiro, new CompatibilityScoreCalculator().calcularCompatibilidadeCliente(produto, cliente2));
+  }
+
+  @Test
+  void testScoreRecalculadoQuandoProdutoMuda() {
+    // Arrange
+    ClienteEntity cliente = clienteComFrequencia(FrequenciaMovimentacoesEnum.ALTA);
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .id(10L)
+        .rentabilidade(0.05)
+        .risco(NivelRiscoEnum.BAIXO)
+        .build();
+    double antes = calculator.calcularCompatibilidadeCliente(produto, cliente);
+
+    // Act
+    produto.setRentabilidade(0.15);
+    double depois = calculator.calcularCompatibilidadeCliente(produto, cliente);
+
+    // Assert
+    assertTrue(depois > antes);
+    assertEquals(depois, new CompatibilityScoreCalculator().calcularCompatibilidadeCliente(produto, cliente));
+  }
+
+  private static ClienteEntity clienteComFrequencia(FrequenciaMovimentacoesEnum frequencia) {
+    return ClienteEntity.builder()
+        .preferenciaRentLiq(PreferenciaRentLiqEnum.RENTABILIDADE)
+        .riscoMaximoAceitavel(NivelRiscoEnum.BAIXO)
+        .frequenciaMovimentacoes(frequencia)
+        .build();
+  }
 }
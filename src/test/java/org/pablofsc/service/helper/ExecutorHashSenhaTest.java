@@ -0,0 +1,94 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.exception.ServicoSobrecarregadoException;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorHashSenhaTest {
+
+  @Test
+  void testExecutaNoPoolERetornaResultado() {
+    // Arrange
+    ExecutorHashSenha executor = new ExecutorHashSenha(1, 4);
+
+    // Act
+    String thread = executor.executar(() -> Thread.currentThread().getName());
+
+    // Assert
+    assertTrue(thread.startsWith("hash-senha-"));
+    executor.encerrar();
+  }
+
+  @Test
+  void testPropagaExcecaoDaTarefa() {
+    // Arrange
+    ExecutorHashSenha executor = new ExecutorHashSenha(1, 4);
+
+    // Act & Assert
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> executor.executar(() -> {
+          throw new IllegalArgumentException("hash inválido");
+        }));
+    assertEquals("hash inválido", exception.getMessage());
+    executor.encerrar();
+  }
+
+  @Test
+  void testRecusaQuandoFilaCheia() throws InterruptedException {
+    // Arrange
+    ExecutorHashSenha executor = new ExecutorHashSenha(1, 1);
+    CountDownLatch liberar = new CountDownLatch(1);
+    Runnable bloqueante = () -> executor.executar(() -> {
+      try {
+        liberar.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    });
+    Thread emExecucao = Thread.ofPlatform().start(bloqueante);
+    while (executor.estatisticas().ativas() < 1) {
+      Thread.sleep(5);
+    }
+    Thread naFila = Thread.ofPlatform().start(bloqueante);
+    while (executor.estatisticas().naFila() < 1) {
+      Thread.sleep(5);
+    }
+
+    // Act & Assert
+    assertThrows(ServicoSobrecarregadoException.class, () -> executor.executar(() -> "recusada"));
+    ExecutorHashSenha.Estatisticas saturado = executor.estatisticas();
+    assertEquals(1, saturado.ativas());
+    assertEquals(1, saturado.naFila());
+    assertEquals(1, saturado.capacidadeFila());
+    assertEquals(1, saturado.rejeicoes());
+
+    liberar.countDown();
+    emExecucao.join();
+    naFila.join();
+    assertEquals(1, executor.estatisticas().maiorFila());
+    executor.encerrar();
+  }
+
+  @Test
+  void testRecusaAposEncerrar() {
+    // Arrange
+    ExecutorHashSenha executor = new ExecutorHashSenha(1, 4);
+
+    // Act
+    executor.encerrar();
+
+    // Assert
+    assertThrows(ServicoSobrecarregadoException.class, () -> executor.executar(() -> "recusada"));
+  }
+
+  @Test
+  void testParametrosInvalidos() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new ExecutorHashSenha(0, 4));
+    assertThrows(IllegalArgumentException.class, () -> new ExecutorHashSenha(1, 0));
+  }
+}
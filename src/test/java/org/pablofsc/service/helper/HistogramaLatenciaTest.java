@@ -0,0 +1,104 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramaLatenciaTest {
+
+  @Test
+  void testIndiceEhContinuoEMonotonico() {
+    // Act & Assert
+    int anterior = HistogramaLatencia.indice(0);
+    for (long valor = 1; valor < 100_000; valor++) {
+      int atual = HistogramaLatencia.indice(valor);
+      assertTrue(atual == anterior || atual == anterior + 1, "valor " + valor);
+      assertTrue(HistogramaLatencia.limiteSuperior(atual) >= valor);
+      anterior = atual;
+    }
+  }
+
+  @Test
+  void testValoresPequenosSaoExatos() {
+    // Arrange
+    HistogramaLatencia histograma = new HistogramaLatencia();
+
+    // Act
+    for (long valor = 1; valor <= 10; valor++) {
+      histograma.registrar(valor);
+    }
+
+    // Assert
+    assertEquals(10, histograma.getQuantidade());
+    assertEquals(5, histograma.percentil(50));
+    assertEquals(9, histograma.percentil(90));
+    assertEquals(10, histograma.percentil(99));
+    assertEquals(10, histograma.getMaximo());
+  }
+
+  @Test
+  void testErroRelativoLimitado() {
+    // Arrange
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    for (long valor = 1; valor <= 10_000; valor++) {
+      histograma.registrar(valor);
+    }
+
+    // Act
+    long p99 = histograma.percentil(99);
+    long p999 = histograma.percentil(99.9);
+
+    // Assert
+    assertTrue(p99 >= 9_900 && p99 <= 9_900 * 1.07, "p99 = " + p99);
+    assertTrue(p999 >= 9_990 && p999 <= 10_000, "p999 = " + p999);
+  }
+
+  @Test
+  void testMesclar() {
+    // Arrange
+    HistogramaLatencia rapido = new HistogramaLatencia();
+    rapido.registrar(10, 99);
+    HistogramaLatencia lento = new HistogramaLatencia();
+    lento.registrar(5_000);
+
+    // Act
+    rapido.mesclar(lento);
+
+    // Assert
+    assertEquals(100, rapido.getQuantidade());
+    assertEquals(10, rapido.percentil(50));
+    assertEquals(10, rapido.percentil(99));
+    assertEquals(5_000, rapido.percentil(99.9));
+    assertEquals(5_000, rapido.getMaximo());
+  }
+
+  @Test
+  void testSerializarEDesserializar() {
+    // Arrange
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    histograma.registrar(3, 4);
+    histograma.registrar(250);
+    histograma.registrar(1_000_000);
+
+    // Act
+    String texto = histograma.serializar();
+    HistogramaLatencia copia = HistogramaLatencia.desserializar(texto);
+
+    // Assert
+    assertEquals(texto, copia.serializar());
+    assertEquals(6, copia.getQuantidade());
+    assertEquals(1_000_000, copia.getMaximo());
+    assertEquals(histograma.percentil(90), copia.percentil(90));
+  }
+
+  @Test
+  void testHistogramaVazio() {
+    // Act
+    HistogramaLatencia histograma = HistogramaLatencia.desserializar(null);
+
+    // Assert
+    assertEquals(0, histograma.getQuantidade());
+    assertEquals(0, histograma.percentil(99));
+    assertEquals("0;", histograma.serializar());
+  }
+}
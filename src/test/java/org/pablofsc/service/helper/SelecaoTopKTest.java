@@ -0,0 +1,56 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelecaoTopKTest {
+
+  @Test
+  void testMantemOsKMelhores() {
+    // Arrange
+    SelecaoTopK<Integer> selecao = new SelecaoTopK<Integer>(3, Comparator.<Integer>reverseOrder());
+
+    // Act
+    for (int valor : new int[] { 5, 1, 9, 3, 7, 8, 2 }) {
+      selecao.oferecer(valor);
+    }
+
+    // Assert
+    assertEquals(3, selecao.size());
+    assertEquals(List.of(9, 8, 7), selecao.resultado());
+  }
+
+  @Test
+  void testLimiteMaiorQueQuantidade() {
+    // Arrange
+    SelecaoTopK<Integer> selecao = new SelecaoTopK<Integer>(10, Comparator.<Integer>reverseOrder());
+
+    // Act
+    selecao.oferecer(2);
+    selecao.oferecer(4);
+
+    // Assert
+    assertFalse(selecao.isEmpty());
+    assertEquals(List.of(4, 2), selecao.resultado());
+  }
+
+  @Test
+  void testSemItens() {
+    // Arrange
+    SelecaoTopK<Integer> selecao = new SelecaoTopK<Integer>(1, Comparator.<Integer>reverseOrder());
+
+    // Act & Assert
+    assertTrue(selecao.isEmpty());
+    assertEquals(List.of(), selecao.resultado());
+  }
+
+  @Test
+  void testLimiteInvalido() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new SelecaoTopK<Integer>(0, Comparator.naturalOrder()));
+  }
+}
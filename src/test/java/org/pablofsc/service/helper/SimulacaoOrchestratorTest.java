@@ -12,16 +12,21 @@ import org.pablofsc.domain.enums.NivelRiscoEnum;
 import org.pablofsc.domain.enums.TipoProdutoEnum;
 import org.pablofsc.domain.exception.ClienteNaoEncontradoException;
 import org.pablofsc.domain.exception.ProdutoNaoEncontradoException;
+import org.pablofsc.domain.model.PontoProjecao;
 import org.pablofsc.domain.model.Produto;
 import org.pablofsc.domain.model.Simulacao;
 import org.pablofsc.repository.ClienteRepository;
 import org.pablofsc.repository.SimulacaoRepository;
 import org.pablofsc.service.CalculoSimulacaoService;
 import org.pablofsc.service.MotorRecomendacaoService;
+import org.pablofsc.service.SimulacaoWriteBehindService;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -180,6 +185,70 @@ class SimulacaoOrchestratorTest {
         produto.getTipo());
   }
 
+  @Test
+  void testProjetarSerie() {
+    // Arrange
+    ProdutoEntity produto = ProdutoEntity.builder()
+        .id(1L)
+        .tipo(TipoProdutoEnum.CDB)
+        .rentabilidade(0.12)
+        .build();
+    List<PontoProjecao> serie = List.of(new PontoProjecao(0, 10000.0), new PontoProjecao(12, 11200.0));
+    when(calculoService.projetarSerie(10000.0, 0.12, 12, 12)).thenReturn(serie);
+
+    // Act
+    List<PontoProjecao> result = orchestrator.projetarSerie(10000.0, produto, 12, 12);
+
+    // Assert
+    assertEquals(serie, result);
+  }
+
+  @Test
+  void testProjetarSerieProdutoSemRentabilidade() {
+    // Arrange
+    ProdutoEntity produto = ProdutoEntity.builder().id(1L).build();
+    when(calculoService.projetarSerie(10000.0, 0.0, 6, 1)).thenReturn(List.of());
+
+    // Act
+    orchestrator.projetarSerie(10000.0, produto, 6, 1);
+
+    // Assert
+    verify(calculoService).projetarSerie(10000.0, 0.0, 6, 1);
+  }
+
+  @Test
+  void testObterProdutosCompativeisPorTipos() {
+    // Arrange
+    ClienteEntity cliente = ClienteEntity.builder().id(1L).build();
+    ProdutoEntity produto = ProdutoEntity.builder().id(1L).tipo(TipoProdutoEnum.CDB).build();
+    List<TipoProdutoEnum> tipos = List.of(TipoProdutoEnum.CDB, TipoProdutoEnum.FUNDO);
+    when(motorRecomendacao.obterProdutosCompativeis(cliente, tipos))
+        .thenReturn(Map.of(TipoProdutoEnum.CDB, List.of(produto)));
+
+    // Act
+    Map<TipoProdutoEnum, List<ProdutoEntity>> result = orchestrator.obterProdutosCompativeis(cliente, tipos);
+
+    // Assert
+    assertEquals(List.of(produto), result.get(TipoProdutoEnum.CDB));
+  }
+
+  @Test
+  void testCalcularMatriz() {
+    // Arrange
+    ProdutoEntity cdb = ProdutoEntity.builder().id(1L).rentabilidade(0.12).build();
+    ProdutoEntity semRentabilidade = ProdutoEntity.builder().id(2L).build();
+    int[] prazos = {12, 24};
+    double[][] matriz = {{11200.0, 12544.0}, {10000.0, 10000.0}};
+    when(calculoService.calcularMatriz(eq(10000.0), aryEq(new double[] {0.12, 0.0}), same(prazos)))
+        .thenReturn(matriz);
+
+    // Act
+    double[][] result = orchestrator.calcularMatriz(10000.0, List.of(cdb, semRentabilidade), prazos);
+
+    // Assert
+    assertSame(matriz, result);
+  }
+
   @Test
   void testConverterProdutoParaModelo() {
     // Arrange
@@ -251,7 +320,7 @@ class SimulacaoOrchestratorTest {
     orchestrator.persistirSimulacao(simulacao);
 
     // Assert
-    verify(historicoRepository).persistAndFlush(simulacao);
+    verify(historicoRepository).inserir(simulacao);
   }
 
   @Test
@@ -264,4 +333,89 @@ class SimulacaoOrchestratorTest {
     // Verifica se é UTC (não podemos testar exatamente o timestamp pois varia)
     assertEquals("Z", result.getOffset().toString());
   }
+
+  @Test
+  void testObterClientes() {
+    // Arrange
+    ClienteEntity cliente1 = ClienteEntity.builder().id(1L).nome("João").build();
+    ClienteEntity cliente2 = ClienteEntity.builder().id(2L).nome("Maria").build();
+    List<Long> ids = List.of(1L, 2L, 3L);
+
+    when(clienteRepository.list("id in ?1", ids)).thenReturn(List.of(cliente1, cliente2));
+
+    // Act
+    Map<Long, ClienteEntity> result = orchestrator.obterClientes(ids);
+
+    // Assert
+    assertEquals(2, result.size());
+    assertEquals(cliente1, result.get(1L));
+    assertEquals(cliente2, result.get(2L));
+    assertNull(result.get(3L));
+  }
+
+  @Test
+  void testObterClientesSemIds() {
+    // Act
+    Map<Long, ClienteEntity> result = orchestrator.obterClientes(List.of());
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verifyNoInteractions(clienteRepository);
+  }
+
+  @Test
+  void testPersistirSimulacoes() {
+    // Arrange
+    List<SimulacaoEntity> simulacoes = List.of(
+        SimulacaoEntity.builder().valorInvestido(1000.0).build(),
+        SimulacaoEntity.builder().valorInvestido(2000.0).build());
+
+    // Act
+    orchestrator.persistirSimulacoes(simulacoes);
+
+    // Assert
+    verify(historicoRepository).inserirEmLote(simulacoes);
+  }
+
+  @Test
+  void testPersistirSimulacoesListaVazia() {
+    // Act
+    orchestrator.persistirSimulacoes(List.of());
+
+    // Assert
+    verifyNoInteractions(historicoRepository);
+  }
+
+  @Test
+  void testPersistirSimulacaoEnfileiradaNoWriteBehind() {
+    // Arrange
+    SimulacaoWriteBehindService writeBehind = mock(SimulacaoWriteBehindService.class);
+    SimulacaoEntity simulacao = SimulacaoEntity.builder().id(1L).build();
+    when(writeBehind.enfileirar(simulacao)).thenReturn(true);
+    orchestrator = new SimulacaoOrchestrator(
+        clienteRepository, historicoRepository, motorRecomendacao, calculoService, writeBehind);
+
+    // Act
+    orchestrator.persistirSimulacao(simulacao);
+
+    // Assert
+    verify(writeBehind).enfileirar(simulacao);
+    verifyNoInteractions(historicoRepository);
+  }
+
+  @Test
+  void testPersistirSimulacaoSincronaQuandoFilaCheia() {
+    // Arrange
+    SimulacaoWriteBehindService writeBehind = mock(SimulacaoWriteBehindService.class);
+    SimulacaoEntity simulacao = SimulacaoEntity.builder().id(1L).build();
+    when(writeBehind.enfileirar(simulacao)).thenReturn(false);
+    orchestrator = new SimulacaoOrchestrator(
+        clienteRepository, historicoRepository, motorRecomendacao, calculoService, writeBehind);
+
+    // Act
+    orchestrator.persistirSimulacao(simulacao);
+
+    // Assert
+    verify(historicoRepository).inserir(simulacao);
+  }
 }
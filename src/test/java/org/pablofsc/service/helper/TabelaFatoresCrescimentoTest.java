@@ -0,0 +1,41 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabelaFatoresCrescimentoTest {
+
+  @Test
+  void testFatoresIguaisAoPow() {
+    // Arrange
+    TabelaFatoresCrescimento tabela = new TabelaFatoresCrescimento(0.1234, 360);
+
+    // Act & Assert
+    for (int meses = 0; meses <= 360; meses++) {
+      assertEquals(Math.pow(1.1234, meses / 12.0), tabela.fator(meses), "meses " + meses);
+    }
+    assertEquals(360, tabela.getPrazoMaximoMeses());
+    assertEquals(0.1234, tabela.getTaxaAnual());
+  }
+
+  @Test
+  void testPrazoForaDaTabelaCalculadoDiretamente() {
+    // Arrange
+    TabelaFatoresCrescimento tabela = new TabelaFatoresCrescimento(0.10, 12);
+
+    // Act & Assert
+    assertEquals(Math.pow(1.10, 2), tabela.fator(24));
+    assertEquals(1.0, tabela.fator(0));
+  }
+
+  @Test
+  void testTabelaVazia() {
+    // Arrange
+    TabelaFatoresCrescimento tabela = new TabelaFatoresCrescimento(0.08, -1);
+
+    // Act & Assert
+    assertEquals(-1, tabela.getPrazoMaximoMeses());
+    assertEquals(Math.pow(1.08, 2), tabela.fator(24));
+  }
+}
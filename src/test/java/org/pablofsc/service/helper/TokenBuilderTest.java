@@ -6,6 +6,9 @@ import org.pablofsc.domain.entity.UsuarioEntity;
 import org.pablofsc.domain.enums.RoleUsuarioEnum;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -157,4 +160,92 @@ class TokenBuilderTest {
     assertThrows(NullPointerException.class,
         () -> tokenBuilder.verificarSenha(senha, null));
   }
+
+  @Test
+  void testCriptografarSenha_UsaCustoDefinido() {
+    // Arrange
+    tokenBuilder.setCustoBcrypt(5);
+
+    // Act
+    String hash = tokenBuilder.criptografarSenha("senha123");
+
+    // Assert
+    assertEquals(5, TokenBuilder.custoDoHash(hash));
+    assertTrue(tokenBuilder.verificarSenha("senha123", hash));
+  }
+
+  @Test
+  void testCustoDoHash() {
+    // Act & Assert
+    assertEquals(10, TokenBuilder.custoDoHash("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+    assertEquals(-1, TokenBuilder.custoDoHash("hashedPassword"));
+    assertEquals(-1, TokenBuilder.custoDoHash("$2a$xx$abc"));
+    assertEquals(-1, TokenBuilder.custoDoHash(null));
+  }
+
+  @Test
+  void testPrecisaRehash_SomenteComCustoMenor() {
+    // Arrange
+    tokenBuilder.setCustoBcrypt(12);
+
+    // Act & Assert
+    assertTrue(tokenBuilder.precisaRehash("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+    assertFalse(tokenBuilder.precisaRehash("$2a$12$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+    assertFalse(tokenBuilder.precisaRehash("$2a$13$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+    assertFalse(tokenBuilder.precisaRehash("hashedPassword"));
+  }
+
+  @Test
+  void testSetCustoBcrypt_ForaDosLimites() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> tokenBuilder.setCustoBcrypt(3));
+    assertThrows(IllegalArgumentException.class, () -> tokenBuilder.setCustoBcrypt(32));
+  }
+
+  @Test
+  void testCalibrarCusto_MaiorCustoDentroDoAlvo() {
+    // Arrange: 1 ms no custo 4, dobrando a cada custo
+    Duration alvo = Duration.ofMillis(100);
+
+    // Act
+    int custo = TokenBuilder.calibrarCusto(alvo, 4, 31, c -> Duration.ofMillis(1L << (c - 4)).toNanos());
+
+    // Assert: custo 10 leva 64 ms, custo 11 levaria 128 ms
+    assertEquals(10, custo);
+  }
+
+  @Test
+  void testCalibrarCusto_ParaNoPrimeiroCustoAcimaDoAlvo() {
+    // Arrange: o custo 11 passa muito do previsto e o 12 não deve ser medido
+    List<Integer> medidos = new ArrayList<>();
+    IntToLongFunction medir = c -> {
+      medidos.add(c);
+      return Duration.ofMillis(c == 11 ? 500 : 10).toNanos();
+    };
+
+    // Act
+    int custo = TokenBuilder.calibrarCusto(Duration.ofMillis(100), 10, 14, medir);
+
+    // Assert
+    assertEquals(10, custo);
+    assertEquals(List.of(10, 10, 11), medidos);
+  }
+
+  @Test
+  void testCalibrarCusto_RespeitaMinimoEMaximo() {
+    // Act
+    int lento = TokenBuilder.calibrarCusto(Duration.ofMillis(100), 10, 14, c -> Duration.ofSeconds(1).toNanos());
+    int rapido = TokenBuilder.calibrarCusto(Duration.ofMillis(100), 10, 12, c -> 1L);
+
+    // Assert
+    assertEquals(10, lento);
+    assertEquals(12, rapido);
+  }
+
+  @Test
+  void testCalibrarCusto_LimitesInvalidos() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> TokenBuilder.calibrarCusto(Duration.ofMillis(100), 12, 10));
+    assertThrows(IllegalArgumentException.class, () -> TokenBuilder.calibrarCusto(Duration.ofMillis(100), 3, 10));
+  }
 }
@@ -0,0 +1,89 @@
+package org.pablofsc.service.helper;
+
+import org.junit.jupiter.api.Test;
+import org.pablofsc.domain.entity.TelemetriaConsolidadaEntity;
+import org.pablofsc.domain.enums.GranularidadeTelemetriaEnum;
+import org.pablofsc.domain.model.AgregadoTelemetria;
+import org.pablofsc.domain.model.ServicoTelemetria;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TotaisTelemetriaTest {
+
+  @Test
+  void testSomarAgregadosComESemFases() {
+    // Arrange
+    LocalDateTime inicio = LocalDateTime.of(2025, 11, 21, 10, 0);
+    TotaisTelemetria totais = new TotaisTelemetria();
+
+    // Act
+    totais.somar(new AgregadoTelemetria("investimentos", inicio, inicio.plusMinutes(5),
+        4L, 4_000L, 4L, 400L, 3_200L, 400L, 0L, 0L));
+    totais.somar(new AgregadoTelemetria("investimentos", inicio.minusMinutes(1), inicio,
+        1L, 6_000L, 0L, null, null, null, 1L, 6_000L));
+    ServicoTelemetria servico = totais.toServico("investimentos");
+
+    // Assert
+    assertEquals(5L, servico.getQuantidadeChamadas());
+    assertEquals(2_000L, servico.getMediaTempoRespostaUs());
+    assertEquals(2L, servico.getMediaTempoRespostaMs());
+    assertEquals(100L, servico.getMediaEntradaUs());
+    assertEquals(800L, servico.getMediaRecursoUs());
+    assertEquals(100L, servico.getMediaSerializacaoUs());
+    assertEquals(6_000L, servico.getMaximoUs());
+    assertEquals(inicio.minusMinutes(1), totais.getPrimeiro());
+    assertEquals(inicio.plusMinutes(5), totais.getUltimo());
+  }
+
+  @Test
+  void testMesclarHistogramas() {
+    // Arrange
+    TotaisTelemetria totais = new TotaisTelemetria();
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    histograma.registrar(12, 9);
+    histograma.registrar(15);
+
+    // Act
+    totais.mesclar(histograma);
+    ServicoTelemetria servico = totais.toServico("investimentos");
+
+    // Assert
+    assertEquals(12L, servico.getP50Us());
+    assertEquals(15L, servico.getP99Us());
+    assertEquals(15L, servico.getMaximoUs());
+  }
+
+  @Test
+  void testTotaisVazios() {
+    // Act
+    ServicoTelemetria servico = new TotaisTelemetria().toServico("investimentos");
+
+    // Assert
+    assertEquals(0L, servico.getQuantidadeChamadas());
+    assertEquals(0L, servico.getMediaTempoRespostaUs());
+    assertEquals(0L, servico.getP99Us());
+  }
+
+  @Test
+  void testToConsolidadaIncluiChamadasSemHistograma() {
+    // Arrange
+    LocalDateTime hora = LocalDateTime.of(2025, 11, 21, 10, 0);
+    TotaisTelemetria totais = new TotaisTelemetria();
+    totais.somar(new AgregadoTelemetria("investimentos", hora, hora.plusMinutes(30),
+        2L, 3_000L, 0L, null, null, null, 2L, 3_000L));
+
+    // Act
+    TelemetriaConsolidadaEntity consolidada = totais.toConsolidada(GranularidadeTelemetriaEnum.HORA, "investimentos", hora);
+
+    // Assert
+    assertEquals(GranularidadeTelemetriaEnum.HORA, consolidada.getGranularidade());
+    assertEquals("investimentos", consolidada.getEndpoint());
+    assertEquals(hora, consolidada.getTimestamp());
+    assertEquals(2L, consolidada.getQuantidadeChamadas());
+    assertEquals(0L, consolidada.getQuantidadeComFases());
+    assertEquals(3_000L, consolidada.getTempoRespostaUs());
+    assertEquals(2L, HistogramaLatencia.desserializar(consolidada.getHistogramaUs()).getQuantidade());
+  }
+}